@@ -0,0 +1,73 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.utils.EncryptionUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the field encryption done on every user read and write.
+ *
+ * <p>
+ * Measures {@link EncryptionUtil#encrypt}, {@link EncryptionUtil#decrypt} and
+ * {@link EncryptionUtil#blindIndex} on values the length of a phone number and of an
+ * e-mail address. The cipher and MAC pools are warm after the first call, so this is
+ * the steady state cost of one operation; run with {@code -t} to see the pools under
+ * concurrent callers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionUtilBenchmark {
+
+    private static final int CASES = 1_024;
+
+    /**
+     * Length of the plain text values.
+     */
+    @Param({"11", "40"})
+    public int length;
+
+    private String[] plain;
+    private String[] encrypted;
+    private int i;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        plain = new String[CASES];
+        encrypted = new String[CASES];
+        for (int c = 0; c < CASES; c++) {
+            StringBuilder value = new StringBuilder(length);
+            for (int k = 0; k < length; k++) {
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+            plain[c] = value.toString();
+            encrypted[c] = EncryptionUtil.encrypt(plain[c]);
+        }
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return EncryptionUtil.encrypt(plain[next()]);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return EncryptionUtil.decrypt(encrypted[next()]);
+    }
+
+    @Benchmark
+    public String blindIndex() {
+        return EncryptionUtil.blindIndex(plain[next()]);
+    }
+
+    private int next() {
+        return i = (i + 1) & (CASES - 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.config.AdmissionProperties;
+import com.mch.unicoursehub.model.dto.AdmissionTicket;
+import com.mch.unicoursehub.model.enums.AdmissionStatus;
+import com.mch.unicoursehub.repository.SemesterRepository;
+import com.mch.unicoursehub.service.impl.EnrollmentAdmission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency distribution of enrollments when 64 request threads arrive at once.
+ *
+ * <p>
+ * The enrollment is simulated as holding one of {@value #CONNECTIONS} database
+ * connections for 2 ms. {@code direct} is the previous behaviour: the request thread
+ * waits for a connection and runs the enrollment. {@code admittedResponse} measures how
+ * long the request thread is held when the enrollment goes through
+ * {@link EnrollmentAdmission} with a concurrency equal to the pool size, i.e. until
+ * the response or ticket is returned; the queue holds the default 2,000 enrollments and
+ * turns further ones away. {@code admittedCompletion} measures the same request until
+ * the enrollment has finished, without the delay of polling the ticket.
+ * Run with {@code -bm sample} to read the p99/p99.9 columns.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(64)
+@Fork(1)
+public class EnrollmentAdmissionBenchmark {
+
+    private static final int CONNECTIONS = 16;
+    private static final long ENROLLMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final Semaphore connections = new Semaphore(CONNECTIONS, true);
+    private final UUID student = UUID.randomUUID();
+
+    private ExecutorService executor;
+    private EnrollmentAdmission admission;
+
+    @Setup
+    public void setup() {
+        SemesterRepository semesters = mock(SemesterRepository.class);
+        when(semesters.existsByName("1404-1")).thenReturn(true);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        admission = new EnrollmentAdmission(
+                new AdmissionProperties(CONNECTIONS, 2_000, Duration.ofMinutes(1), Map.of()),
+                semesters,
+                new SimpleMeterRegistry(),
+                executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void direct() {
+        enroll();
+    }
+
+    @Benchmark
+    public AdmissionTicket admittedResponse() {
+        return admission.admit("1404-1", student, this::enroll);
+    }
+
+    @Benchmark
+    public AdmissionTicket admittedCompletion() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AdmissionTicket ticket = admission.admit("1404-1", student, () -> {
+            try {
+                enroll();
+            } finally {
+                done.countDown();
+            }
+        });
+        if (ticket.status() != AdmissionStatus.FULL) {
+            done.await();
+        }
+        return ticket;
+    }
+
+    private void enroll() {
+        connections.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(ENROLLMENT_NANOS);
+        } finally {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.EnrollmentContextRow;
+import com.mch.unicoursehub.model.dto.PrerequisiteStatusRow;
+import com.mch.unicoursehub.model.dto.RegistrationContext;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.CourseOffering;
+import com.mch.unicoursehub.model.entity.Semester;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import com.mch.unicoursehub.repository.EnrollmentRepository;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import com.mch.unicoursehub.repository.TimeSlotRepository;
+import com.mch.unicoursehub.service.impl.EnrollmentValidator;
+import com.mch.unicoursehub.service.impl.TimeSlotRegistry;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * In-memory part of {@code EnrollmentServiceImpl.enrollStudent}: the registration rules of
+ * {@link EnrollmentValidator} against a student's selections in the semester.
+ *
+ * <p>
+ * {@code validate} checks a target offering against an already assembled
+ * {@link RegistrationContext}; {@code assembleAndValidate} also builds the context from the
+ * flat rows the two context queries return, as every enroll call does. The queries
+ * themselves are not included. Selections hold two slots each out of the seeded 30-slot
+ * grid and the targets are random offerings with one prerequisite, so the cases end in a
+ * mix of successes, class time and exam conflicts and failed prerequisites.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrollmentValidationBenchmark {
+
+    private static final int CASES = 1_024;
+
+    /**
+     * Number of courses the student has already selected.
+     */
+    @Param({"3", "7"})
+    public int selections;
+
+    private EnrollmentValidator validator;
+
+    private CourseOffering[] targets;
+    private List<EnrollmentContextRow>[] rows;
+    private List<PrerequisiteStatusRow>[] prerequisites;
+    private RegistrationContext[] contexts;
+    private int i;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        List<TimeSlot> grid = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int hour = 8; hour < 20; hour += 2) {
+                grid.add(TimeSlot.builder()
+                        .id(UUID.randomUUID())
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(hour, 0))
+                        .endTime(LocalTime.of(hour + 2, 0))
+                        .build());
+            }
+        }
+        TimeSlotRepository timeSlotRepository = mock(TimeSlotRepository.class, withSettings().stubOnly());
+        when(timeSlotRepository.findAll()).thenReturn(grid);
+        TimeSlotRegistry registry = new TimeSlotRegistry(timeSlotRepository, JsonMapper.builder().build());
+        registry.reload();
+
+        validator = new EnrollmentValidator(
+                mock(EnrollmentRepository.class, withSettings().stubOnly()),
+                mock(PrerequisiteRepository.class, withSettings().stubOnly()),
+                registry);
+
+        Semester semester = Semester.builder().id(UUID.randomUUID()).name("1404-1").maxUnits(20).build();
+        LocalDateTime examStart = LocalDateTime.of(2026, 1, 10, 9, 0);
+
+        Random random = new Random(42);
+        targets = new CourseOffering[CASES];
+        rows = new List[CASES];
+        prerequisites = new List[CASES];
+        contexts = new RegistrationContext[CASES];
+        for (int c = 0; c < CASES; c++) {
+            rows[c] = new ArrayList<>();
+            for (int s = 0; s < selections; s++) {
+                UUID enrollmentId = UUID.randomUUID();
+                UUID offeringId = UUID.randomUUID();
+                UUID courseId = UUID.randomUUID();
+                LocalDateTime examDate = examStart.plusDays(random.nextInt(40));
+                List<TimeSlot> picked = pick(grid, random);
+                for (TimeSlot slot : picked) {
+                    rows[c].add(new EnrollmentContextRow(enrollmentId, offeringId, courseId,
+                            EnrollmentStatus.SELECTED, examDate, 2, mask(picked), slot.getId()));
+                }
+            }
+            List<TimeSlot> targetSlots = pick(grid, random);
+            targets[c] = CourseOffering.builder()
+                    .id(UUID.randomUUID())
+                    .course(Course.builder().cid(UUID.randomUUID()).code("C" + c).unit(3).build())
+                    .semester(semester)
+                    .examDate(examStart.plusDays(random.nextInt(40)))
+                    .timeSlots(targetSlots)
+                    .slotMask(mask(targetSlots))
+                    .build();
+            prerequisites[c] = List.of(new PrerequisiteStatusRow(UUID.randomUUID(), "P" + c, random.nextInt(10) > 0));
+            contexts[c] = RegistrationContext.of(rows[c], prerequisites[c]);
+        }
+    }
+
+    @Benchmark
+    public int validate() {
+        int c = next();
+        return outcome(contexts[c], targets[c]);
+    }
+
+    @Benchmark
+    public int assembleAndValidate() {
+        int c = next();
+        return outcome(RegistrationContext.of(rows[c], prerequisites[c]), targets[c]);
+    }
+
+    private int outcome(RegistrationContext context, CourseOffering target) {
+        try {
+            validator.validate(context, target);
+            return 0;
+        } catch (BadRequestException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    private int next() {
+        return i = (i + 1) & (CASES - 1);
+    }
+
+    private static List<TimeSlot> pick(List<TimeSlot> grid, Random random) {
+        int a = random.nextInt(grid.size());
+        int b = (a + 1 + random.nextInt(grid.size() - 1)) % grid.size();
+        return List.of(grid.get(a), grid.get(b));
+    }
+
+    private static long mask(List<TimeSlot> slots) {
+        long mask = 0L;
+        for (TimeSlot t : slots) {
+            mask |= WeeklySchedule.mask(t);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,97 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.ParsedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens per second for generating and validating access tokens.
+ *
+ * <p>
+ * Compares {@link JwtService} (cached key, shared parser, single parse) with the previous
+ * implementation, which decoded the key and built a parser on every call and parsed the
+ * token three times per request (username, uuid, expiry).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private UUID uuid;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        user = User.builder().userNumber("S1001").role(Role.STUDENT).build();
+        uuid = UUID.randomUUID();
+        token = jwtService.generateToken(user, uuid);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user, uuid);
+    }
+
+    @Benchmark
+    public String generateLegacy() {
+        return Legacy.generate(user, uuid);
+    }
+
+    @Benchmark
+    public ParsedToken validate() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public boolean validateLegacy() {
+        String username = Legacy.extractAllClaims(token).getSubject();
+        String id = (String) Legacy.extractAllClaims(token).get(ConstVal.UUID_KEY);
+        return username.equals(user.getUsername())
+                && id != null
+                && Legacy.extractAllClaims(token).getExpiration().after(new Date());
+    }
+
+    /**
+     * Copy of the per-call key and parser construction used before the rework.
+     */
+    static final class Legacy {
+
+        static String generate(User user, UUID uuid) {
+            return Jwts.builder()
+                    .setClaims(Map.of(ConstVal.UUID_KEY, uuid))
+                    .setSubject(user.getUsername())
+                    .setIssuedAt(new Date(System.currentTimeMillis()))
+                    .setExpiration(new Date(System.currentTimeMillis() + ConstVal.JWT_EXPIRATION_STUDENT))
+                    .signWith(signInKey(), SignatureAlgorithm.HS256).compact();
+        }
+
+        static Claims extractAllClaims(String token) {
+            return Jwts.parserBuilder().setSigningKey(signInKey()).build().parseClaimsJws(token).getBody();
+        }
+
+        private static Key signInKey() {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(ConstVal.SECRET_KEY));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mch.unicoursehub.benchmark;
+
+import brave.Tracer;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.mch.unicoursehub.config.aspectLogging.LoggingAspect;
+import com.mch.unicoursehub.model.dto.PrerequisiteEdge;
+import com.mch.unicoursehub.service.impl.PrerequisiteGraph;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link LoggingAspect}.
+ *
+ * <p>
+ * Calls a cheap service method directly, through the timer-based aspect, and through
+ * a copy of the previous aspect that wrote two INFO lines per call. Log output of the
+ * previous aspect is formatted but written to a discarding stream, so disk and console
+ * I/O are not included.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    private PrerequisiteGraph direct;
+    private PrerequisiteGraph timed;
+    private PrerequisiteGraph legacy;
+    private UUID course;
+
+    @Setup
+    public void setup() {
+        discardLogOutput();
+
+        course = UUID.randomUUID();
+        direct = new PrerequisiteGraph(null, null);
+        direct.rebuild(List.of(new PrerequisiteEdge(course, UUID.randomUUID())));
+
+        timed = proxy(new LoggingAspect(
+                new SimpleMeterRegistry(),
+                new DefaultListableBeanFactory().getBeanProvider(Tracer.class),
+                Duration.ofMillis(500),
+                0.0,
+                false
+        ));
+        legacy = proxy(new LegacyLoggingAspect());
+    }
+
+    @Benchmark
+    public List<UUID> direct() {
+        return direct.transitivePrerequisites(course);
+    }
+
+    @Benchmark
+    public List<UUID> timed() {
+        return timed.transitivePrerequisites(course);
+    }
+
+    @Benchmark
+    public List<UUID> legacy() {
+        return legacy.transitivePrerequisites(course);
+    }
+
+    private PrerequisiteGraph proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static void discardLogOutput() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5level %pid --- [%thread] %logger{39} : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+    }
+
+    /**
+     * Copy of the advice used before the timer-based aspect.
+     */
+    @Aspect
+    public static class LegacyLoggingAspect {
+
+        private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
+
+        @Around("execution(* com.mch.unicoursehub.service.*.*.*(..))")
+        public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+            String methodName = joinPoint.getSignature().toShortString();
+            long startTime = System.currentTimeMillis();
+
+            log.info("Method {} started ", methodName);
+
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Exception e) {
+                log.error("Method {} threw an exception: {}", methodName, e.getMessage());
+                throw e;
+            }
+
+            long timeTaken = System.currentTimeMillis() - startTime;
+            log.info("Method {} completed in {} ms", methodName, timeTaken);
+
+            return result;
+        }
+    }
+}
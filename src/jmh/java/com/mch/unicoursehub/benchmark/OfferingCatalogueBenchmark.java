@@ -0,0 +1,138 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.CourseOffering;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.service.impl.OfferingCatalogue;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogue search latency for a semester of 2,000 offerings.
+ *
+ * <p>
+ * Compares {@link OfferingCatalogue#search} with the previous stream over the semester's
+ * offering entities, which rebuilt and lower-cased the professor name of every row on
+ * every request. The previous approach additionally loaded all offerings with their
+ * course, professor, semester and time slots from the database on each request; that
+ * cost is not included here.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferingCatalogueBenchmark {
+
+    private static final int OFFERINGS = 2_000;
+    private static final String[] FIRST = {"Ali", "Sara", "Reza", "Mina", "John", "Nima", "Leila", "Omid"};
+    private static final String[] LAST = {"Ahmadi", "Karimi", "Rezaei", "Moradi", "Doe", "Hosseini", "Jafari", "Sadeghi"};
+
+    /**
+     * {@code all} lists the whole semester, the others filter it as students do.
+     */
+    @Param({"all", "professor", "code", "name"})
+    public String filter;
+
+    private final UUID semesterId = UUID.randomUUID();
+    private OfferingCatalogue catalogue;
+    private List<CourseOffering> offerings;
+
+    private String professorName;
+    private String courseCode;
+    private String courseName;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<CatalogueOfferingRow> rows = new ArrayList<>();
+        List<OfferingSlotRow> slots = new ArrayList<>();
+        offerings = new ArrayList<>();
+
+        List<User> professors = new ArrayList<>();
+        for (String first : FIRST) {
+            for (String last : LAST) {
+                professors.add(User.builder().uid(UUID.randomUUID()).firstName(first).lastName(last).build());
+            }
+        }
+        List<TimeSlot> timeSlots = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            timeSlots.add(TimeSlot.builder().id(UUID.randomUUID()).build());
+        }
+
+        for (int i = 0; i < OFFERINGS; i++) {
+            Course course = Course.builder()
+                    .cid(UUID.randomUUID())
+                    .code("C" + (1000 + i / 3))
+                    .name("Course Title " + (i / 3))
+                    .unit(3)
+                    .build();
+            User professor = professors.get(random.nextInt(professors.size()));
+            List<TimeSlot> assigned = List.of(timeSlots.get(random.nextInt(30)), timeSlots.get(random.nextInt(30)));
+
+            CourseOffering offering = CourseOffering.builder()
+                    .id(UUID.randomUUID())
+                    .course(course)
+                    .professor(professor)
+                    .capacity(40)
+                    .seatsTaken(random.nextInt(40))
+                    .examDate(LocalDateTime.of(2025, 6, 1, 9, 0).plusHours(i))
+                    .classRoom(String.valueOf(100 + random.nextInt(200)))
+                    .section(i % 3 + 1)
+                    .timeSlots(assigned)
+                    .build();
+            offerings.add(offering);
+
+            rows.add(new CatalogueOfferingRow(offering.getId(), semesterId, course.getCode(), course.getName(),
+                    professor.getFirstName(), professor.getLastName(), offering.getCapacity(),
+                    offering.getSeatsTaken(), offering.getExamDate(), offering.getClassRoom(), offering.getSection()));
+            for (TimeSlot t : assigned) {
+                slots.add(new OfferingSlotRow(offering.getId(), t.getId()));
+            }
+        }
+
+        catalogue = new OfferingCatalogue(null);
+        catalogue.rebuild(semesterId, rows, slots);
+
+        professorName = "professor".equals(filter) ? "sara kar" : null;
+        courseCode = "code".equals(filter) ? "c1200" : null;
+        courseName = "name".equals(filter) ? "title 12" : null;
+    }
+
+    @Benchmark
+    public List<CourseOfferingResponse> catalogue() {
+        return catalogue.search(semesterId, professorName, courseCode, courseName);
+    }
+
+    @Benchmark
+    public List<CourseOfferingResponse> entityStream() {
+        return offerings.stream()
+                .filter(co -> professorName == null ||
+                        (co.getProfessor().getFirstName() + " " + co.getProfessor().getLastName())
+                                .toLowerCase()
+                                .contains(professorName.trim().toLowerCase()))
+                .filter(co -> courseCode == null || co.getCourse().getCode().equalsIgnoreCase(courseCode.trim()))
+                .filter(co -> courseName == null || co.getCourse().getName().toLowerCase().contains(courseName.trim().toLowerCase()))
+                .map(co -> CourseOfferingResponse.builder()
+                        .courseCode(co.getCourse().getCode())
+                        .courseName(co.getCourse().getName())
+                        .professorName(co.getProfessor().fullName())
+                        .capacity(co.getCapacity())
+                        .examDate(co.getExamDate())
+                        .classroomNumber(Integer.parseInt(co.getClassRoom()))
+                        .groupNumber(co.getSection())
+                        .timeSlotIds(co.getTimeSlots().stream().map(TimeSlot::getId).toList())
+                        .seatsTaken(co.getSeatsTaken())
+                        .build())
+                .toList();
+    }
+}
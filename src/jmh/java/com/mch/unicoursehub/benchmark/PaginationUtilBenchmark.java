@@ -0,0 +1,72 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.utils.pagination.Pagination;
+import com.mch.unicoursehub.utils.pagination.PaginationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an in-memory page of a loaded list against the list size.
+ *
+ * <p>
+ * {@code pagination} takes a random page of {@value #PAGE_SIZE} out of an already loaded
+ * list with {@link PaginationUtil#pagination(List, int, int)}, which is a view and does not
+ * depend on the list size. {@code pageFromCopy} adds the copy of the list that callers
+ * make when they map or filter the loaded entities first, to show what loading the
+ * whole list before paging costs compared to paging in the query.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationUtilBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CASES = 1_024;
+
+    /**
+     * Number of loaded elements.
+     */
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<UUID> list;
+    private int[] pages;
+    private int i;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(size);
+        for (int k = 0; k < size; k++) {
+            list.add(UUID.randomUUID());
+        }
+        int lastPage = (size + PAGE_SIZE - 1) / PAGE_SIZE;
+        Random random = new Random(42);
+        pages = new int[CASES];
+        for (int c = 0; c < CASES; c++) {
+            pages[c] = 1 + random.nextInt(lastPage);
+        }
+    }
+
+    @Benchmark
+    public Pagination<UUID> pagination() {
+        return PaginationUtil.pagination(list, pages[next()], PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Pagination<UUID> pageFromCopy() {
+        return PaginationUtil.pagination(new ArrayList<>(list), pages[next()], PAGE_SIZE);
+    }
+
+    private int next() {
+        return i = (i + 1) & (CASES - 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.model.dto.PrerequisiteEdge;
+import com.mch.unicoursehub.service.impl.PrerequisiteGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle-check latency against catalogue size.
+ *
+ * <p>
+ * Compares the reachability check of {@link PrerequisiteGraph} with the previous
+ * approach of running a DFS over a UUID-keyed adjacency map of the whole catalogue.
+ * The previous approach additionally loaded every course from the database on each
+ * write, and a write now confirms the answer with one query per prerequisite level;
+ * neither cost is included here.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+public class PrerequisiteGraphBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "5000", "20000"})
+    public int courses;
+
+    private PrerequisiteGraph graph;
+    private Map<UUID, List<UUID>> adjacency;
+
+    private UUID[] queryCourse;
+    private List<UUID>[] queryPrerequisites;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Random random = new Random(42);
+        UUID[] ids = new UUID[courses];
+        for (int i = 0; i < courses; i++) ids[i] = UUID.randomUUID();
+
+        // random DAG: every course depends on up to three recent courses
+        List<PrerequisiteEdge> edges = new ArrayList<>();
+        adjacency = new HashMap<>();
+        for (int i = 0; i < courses; i++) {
+            List<UUID> prereqs = new ArrayList<>();
+            for (int k = 0; i > 0 && k < 3; k++) {
+                UUID p = ids[Math.max(0, i - 1 - random.nextInt(Math.min(i, 200)))];
+                if (!prereqs.contains(p)) {
+                    prereqs.add(p);
+                    edges.add(new PrerequisiteEdge(ids[i], p));
+                }
+            }
+            adjacency.put(ids[i], prereqs);
+        }
+
+        graph = new PrerequisiteGraph(null, null);
+        graph.rebuild(edges);
+
+        // updates that keep the graph acyclic: a course gets prerequisites among older courses
+        queryCourse = new UUID[QUERIES];
+        queryPrerequisites = new List[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            int target = courses / 2 + random.nextInt(courses / 2);
+            queryCourse[q] = ids[target];
+            queryPrerequisites[q] = List.of(ids[random.nextInt(target)], ids[random.nextInt(target)]);
+        }
+    }
+
+    @Benchmark
+    public boolean indexedReachability() {
+        int q = cursor++ & (QUERIES - 1);
+        return graph.reaches(queryPrerequisites[q], queryCourse[q]);
+    }
+
+    @Benchmark
+    public boolean fullGraphDfs() {
+        int q = cursor++ & (QUERIES - 1);
+        Map<UUID, List<UUID>> adj = new HashMap<>(adjacency);
+        adj.put(queryCourse[q], queryPrerequisites[q]);
+
+        Set<UUID> visiting = new HashSet<>();
+        Set<UUID> visited = new HashSet<>();
+        for (UUID node : adj.keySet()) {
+            if (hasCycle(node, adj, visiting, visited)) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public List<UUID> transitivePrerequisites() {
+        int q = cursor++ & (QUERIES - 1);
+        return graph.transitivePrerequisites(queryCourse[q]);
+    }
+
+    private static boolean hasCycle(UUID node, Map<UUID, List<UUID>> adj, Set<UUID> visiting, Set<UUID> visited) {
+        if (visited.contains(node)) return false;
+        if (visiting.contains(node)) return true;
+        visiting.add(node);
+        for (UUID nei : adj.getOrDefault(node, Collections.emptyList())) {
+            if (hasCycle(nei, adj, visiting, visited)) return true;
+        }
+        visiting.remove(node);
+        visited.add(node);
+        return false;
+    }
+}
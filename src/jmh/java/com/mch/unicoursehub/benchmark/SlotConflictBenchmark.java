@@ -0,0 +1,119 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class time conflict check of one target offering against a student's selections.
+ *
+ * <p>
+ * Compares the {@link WeeklySchedule} mask test with the previous scan, which compared
+ * the time slot ids of every selection with the slot list of the target offering.
+ * Selections hold two slots each out of the seeded 30-slot grid; roughly half of the
+ * checks end in a conflict.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotConflictBenchmark {
+
+    private static final int CASES = 1_024;
+
+    /**
+     * Number of courses the student has already selected.
+     */
+    @Param({"3", "7"})
+    public int selections;
+
+    private long[][] selectionMasks;
+    private long[] targetMasks;
+    private List<Set<UUID>>[] selectionSlots;
+    private List<TimeSlot>[] targetSlots;
+    private int i;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        List<TimeSlot> grid = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int hour = 8; hour < 20; hour += 2) {
+                grid.add(TimeSlot.builder()
+                        .id(UUID.randomUUID())
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(hour, 0))
+                        .endTime(LocalTime.of(hour + 2, 0))
+                        .build());
+            }
+        }
+
+        Random random = new Random(42);
+        selectionMasks = new long[CASES][];
+        targetMasks = new long[CASES];
+        selectionSlots = new List[CASES];
+        targetSlots = new List[CASES];
+        for (int c = 0; c < CASES; c++) {
+            selectionMasks[c] = new long[selections];
+            selectionSlots[c] = new ArrayList<>();
+            for (int s = 0; s < selections; s++) {
+                List<TimeSlot> picked = pick(grid, random);
+                selectionMasks[c][s] = mask(picked);
+                selectionSlots[c].add(Set.of(picked.get(0).getId(), picked.get(1).getId()));
+            }
+            targetSlots[c] = pick(grid, random);
+            targetMasks[c] = mask(targetSlots[c]);
+        }
+    }
+
+    @Benchmark
+    public boolean mask() {
+        int c = next();
+        long target = targetMasks[c];
+        for (long selection : selectionMasks[c]) {
+            if ((selection & target) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean listScan() {
+        int c = next();
+        List<TimeSlot> target = targetSlots[c];
+        for (Set<UUID> selection : selectionSlots[c]) {
+            boolean conflict = target.stream().anyMatch(t -> selection.contains(t.getId()));
+            if (conflict) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int next() {
+        return i = (i + 1) & (CASES - 1);
+    }
+
+    private static List<TimeSlot> pick(List<TimeSlot> grid, Random random) {
+        int a = random.nextInt(grid.size());
+        int b = (a + 1 + random.nextInt(grid.size() - 1)) % grid.size();
+        return List.of(grid.get(a), grid.get(b));
+    }
+
+    private static long mask(List<TimeSlot> slots) {
+        long mask = 0L;
+        for (TimeSlot t : slots) {
+            mask |= WeeklySchedule.mask(t);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.model.dto.TimeSlotByDayResponseDto;
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.repository.TimeSlotRepository;
+import com.mch.unicoursehub.service.impl.TimeSlotRegistry;
+import com.mch.unicoursehub.service.impl.TimeSlotServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Cost of serving the time slot grid.
+ *
+ * <p>
+ * {@code groupedByDay} and {@code grid} are the two reads of {@link TimeSlotServiceImpl},
+ * served from the {@link TimeSlotRegistry} snapshot. {@code rebuild} sorts, groups and
+ * serializes the slots again, which is what every request paid for before the snapshot
+ * was kept, minus the query. The slots are handed to the registry in random order.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSlotGridBenchmark {
+
+    /**
+     * Number of slots per day between 8:00 and 20:00.
+     */
+    @Param({"6", "12"})
+    public int slotsPerDay;
+
+    private TimeSlotRegistry registry;
+    private TimeSlotServiceImpl service;
+
+    @Setup
+    public void setup() {
+        int minutes = 12 * 60 / slotsPerDay;
+        List<TimeSlot> slots = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int k = 0; k < slotsPerDay; k++) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes((long) k * minutes);
+                slots.add(TimeSlot.builder()
+                        .id(UUID.randomUUID())
+                        .dayOfWeek(day)
+                        .startTime(start)
+                        .endTime(start.plusMinutes(minutes))
+                        .build());
+            }
+        }
+        Collections.shuffle(slots, new Random(42));
+
+        TimeSlotRepository repository = mock(TimeSlotRepository.class, withSettings().stubOnly());
+        when(repository.findAll()).thenReturn(slots);
+        registry = new TimeSlotRegistry(repository, JsonMapper.builder().build());
+        registry.reload();
+        service = new TimeSlotServiceImpl(registry);
+    }
+
+    @Benchmark
+    public List<TimeSlotByDayResponseDto> groupedByDay() {
+        return service.getAllGroupedByDay();
+    }
+
+    @Benchmark
+    public TimeSlotGrid grid() {
+        return service.getGrid();
+    }
+
+    @Benchmark
+    public TimeSlotGrid rebuild() {
+        registry.reload();
+        return registry.grid();
+    }
+}
@@ -0,0 +1,123 @@
+package com.mch.unicoursehub.benchmark;
+
+import com.mch.unicoursehub.UniCourseHubApplication;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of loading the whole user table (10k users) into entities.
+ *
+ * <p>
+ * Runs against the embedded test database. {@code hydrate} loads the entities without
+ * touching the national code, which is now decrypted lazily; {@code hydrateAndReadNationalCode}
+ * reads it from every entity through the pooled ciphers; {@code hydrateLegacy} decrypts every
+ * national code with a new {@link Cipher} and key per value, as the attribute converter did
+ * during hydration before.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHydrationBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setup() {
+        context = SpringApplication.run(UniCourseHubApplication.class,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .firstName("First")
+                    .lastName("Last" + i)
+                    .userNumber("B" + i)
+                    .phoneNumber("0916" + i)
+                    .password("pass")
+                    .nationalCode(String.format("%010d", i))
+                    .role(Role.STUDENT)
+                    .isAccountLocked(false)
+                    .build());
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int hydrate() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("select u from User u", User.class).getResultList().size();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public int hydrateAndReadNationalCode() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            int length = 0;
+            for (User user : entityManager.createQuery("select u from User u", User.class).getResultList()) {
+                length += user.getNationalCode().length();
+            }
+            return length;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public int hydrateLegacy() throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            int length = 0;
+            List<Object[]> rows = entityManager
+                    .createQuery("select u, u.encryptedNationalCode from User u", Object[].class)
+                    .getResultList();
+            for (Object[] row : rows) {
+                length += legacyDecrypt((String) row[1]).length();
+            }
+            return length;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Copy of the decryption used before the cipher pool.
+     */
+    private static String legacyDecrypt(String encryptedData) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec("mysecretkey12345".getBytes(), "AES"));
+        return new String(cipher.doFinal(Base64.getDecoder().decode(encryptedData)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.mch.unicoursehub.loadtest;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcomes of the requests of a load test, per endpoint.
+ *
+ * <p>
+ * Every response is counted by its status: below 400 is {@code ok}, a 4xx is
+ * {@code rejected} (a broken registration rule, a full section, the rate limiter) and
+ * a 5xx, timeout or broken connection is {@code failed}. The error rate is the share of
+ * failed requests. Latency percentiles come from a Micrometer timer whose histogram is
+ * kept for the whole run.
+ * </p>
+ */
+final class EndpointStats {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Duration window;
+
+    /**
+     * @param window how long the percentile histograms are kept; longer than the run
+     */
+    EndpointStats(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Per-endpoint summary of a run.
+     *
+     * @param endpoint   the method and path template
+     * @param requests   number of requests sent
+     * @param throughput requests per second over the run
+     * @param ok         responses below 400
+     * @param rejected   4xx responses
+     * @param failed     5xx responses, timeouts and I/O errors
+     * @param errorRate  failed requests over all requests
+     * @param p50Ms      median latency in milliseconds
+     * @param p95Ms      95th percentile latency in milliseconds
+     * @param p99Ms      99th percentile latency in milliseconds
+     * @param maxMs      highest latency in milliseconds
+     * @param statuses   number of responses by status code, 0 for requests without response
+     */
+    record Result(
+            String endpoint,
+            long requests,
+            double throughput,
+            long ok,
+            long rejected,
+            long failed,
+            double errorRate,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs,
+            SortedMap<Integer, Long> statuses
+    ) {
+    }
+
+    void record(String endpoint, long nanos, int status) {
+        Endpoint e = endpoint(endpoint);
+        e.add(nanos, status, status < 400 ? e.ok : status < 500 ? e.rejected : e.failed);
+    }
+
+    void failed(String endpoint, long nanos) {
+        Endpoint e = endpoint(endpoint);
+        e.add(nanos, 0, e.failed);
+    }
+
+    /**
+     * Summarizes the run, ordered by endpoint.
+     *
+     * @param elapsed the time the run took
+     * @return one result per endpoint that received requests
+     */
+    List<Result> results(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint e = entry.getValue();
+            HistogramSnapshot snapshot = e.timer.takeSnapshot();
+            double[] values = new double[PERCENTILES.length];
+            for (ValueAtPercentile p : snapshot.percentileValues()) {
+                values[Arrays.binarySearch(PERCENTILES, p.percentile())] = p.value(TimeUnit.MILLISECONDS);
+            }
+            long requests = snapshot.count();
+            SortedMap<Integer, Long> statuses = new TreeMap<>();
+            e.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            results.add(new Result(
+                    entry.getKey(),
+                    requests,
+                    requests / seconds,
+                    e.ok.sum(),
+                    e.rejected.sum(),
+                    e.failed.sum(),
+                    requests == 0 ? 0 : (double) e.failed.sum() / requests,
+                    values[0],
+                    values[1],
+                    values[2],
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    statuses));
+        }
+        return results;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, n -> new Endpoint(Timer.builder("loadtest.requests")
+                .tag("endpoint", n)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(3)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(1)
+                .register(registry)));
+    }
+
+    private static final class Endpoint {
+
+        final Timer timer;
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        Endpoint(Timer timer) {
+            this.timer = timer;
+        }
+
+        void add(long nanos, int status, LongAdder outcome) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            outcome.increment();
+        }
+    }
+}
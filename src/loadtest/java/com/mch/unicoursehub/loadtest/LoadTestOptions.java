@@ -0,0 +1,100 @@
+package com.mch.unicoursehub.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, parsed from {@code key=value} arguments.
+ *
+ * <p>
+ * Arguments starting with {@code --} are not settings of the run but Spring properties,
+ * passed on to the application, e.g. {@code --application.admission.concurrency=8}.
+ * </p>
+ *
+ * @param students        number of students, each one a session that starts when registration opens
+ * @param courses         number of courses offered in the semester
+ * @param sections        number of sections of every course
+ * @param capacity        seats of every section
+ * @param enrollments     number of enrollments every student attempts
+ * @param durationSeconds length of the run
+ * @param thinkMillis     upper bound of the random pause of a student between two calls; well below
+ *                        two seconds the per-user rate limit turns part of the calls away
+ * @param output          file the JSON result is written to
+ * @param springArgs      arguments passed on to the application
+ */
+public record LoadTestOptions(
+        int students,
+        int courses,
+        int sections,
+        int capacity,
+        int enrollments,
+        int durationSeconds,
+        int thinkMillis,
+        String output,
+        List<String> springArgs
+) {
+
+    /**
+     * Parses the command line of the load test.
+     *
+     * @param args {@code key=value} settings and {@code --spring.property=value} arguments
+     * @return the settings, with defaults for everything not given
+     * @throws IllegalArgumentException if an argument is malformed or unknown
+     */
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("expected key=value but was: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                positive(values, "students", 1000),
+                positive(values, "courses", 80),
+                positive(values, "sections", 2),
+                positive(values, "capacity", 40),
+                positive(values, "enrollments", 5),
+                positive(values, "duration", 60),
+                Integer.parseInt(remove(values, "think", "3000")),
+                remove(values, "output", "target/loadtest-result.json"),
+                List.copyOf(springArgs));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("unknown settings: " + values.keySet());
+        }
+        return options;
+    }
+
+    /**
+     * Returns the length of the run.
+     *
+     * @return the duration
+     */
+    public Duration duration() {
+        return Duration.ofSeconds(durationSeconds);
+    }
+
+    private static int positive(Map<String, String> values, String key, int defaultValue) {
+        int value = Integer.parseInt(remove(values, key, String.valueOf(defaultValue)));
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+
+    private static String remove(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value != null ? value : defaultValue;
+    }
+}
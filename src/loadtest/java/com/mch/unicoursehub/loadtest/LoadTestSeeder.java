@@ -0,0 +1,151 @@
+package com.mch.unicoursehub.loadtest;
+
+import com.mch.unicoursehub.model.entity.*;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.*;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the embedded database with one semester of registration data.
+ *
+ * <p>
+ * Everything is derived from a fixed seed, so two runs with the same settings see the
+ * same catalogue: {@link LoadTestOptions#courses()} courses of 1 to 3 units, each offered
+ * in {@link LoadTestOptions#sections()} sections with two random slots of the grid seeded
+ * by {@code TimeSlotInitializer}, a shared exam date per course, and
+ * {@link LoadTestOptions#students()} students who all have the same password. The
+ * password is hashed once, not once per student.
+ * </p>
+ */
+final class LoadTestSeeder {
+
+    static final String SEMESTER = "1405-1";
+    static final String PASSWORD = "#LoadTest2026";
+
+    private static final int PROFESSORS = 20;
+    private static final long SEED = 42;
+
+    private LoadTestSeeder() {
+    }
+
+    /**
+     * A section students can enroll in.
+     *
+     * @param courseCode the code of the course
+     * @param section    the section number
+     */
+    record Section(String courseCode, int section) {
+    }
+
+    /**
+     * What the student sessions need to know about the seeded data.
+     *
+     * @param semesterName   the name of the seeded semester
+     * @param password       the password of every student
+     * @param studentNumbers the user numbers of the students
+     * @param courseCodes    the codes of the offered courses
+     * @param sections       the offered sections
+     */
+    record SeedData(
+            String semesterName,
+            String password,
+            List<String> studentNumbers,
+            List<String> courseCodes,
+            List<Section> sections
+    ) {
+    }
+
+    static SeedData seed(ApplicationContext context, LoadTestOptions options) {
+        Random random = new Random(SEED);
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        Semester semester = context.getBean(SemesterRepository.class).save(Semester.builder()
+                .name(SEMESTER)
+                .startDate(LocalDate.of(2026, 2, 1))
+                .endDate(LocalDate.of(2026, 6, 30))
+                .minUnits(12)
+                .maxUnits(20)
+                .build());
+
+        List<User> professors = new ArrayList<>(PROFESSORS);
+        for (int i = 0; i < PROFESSORS; i++) {
+            professors.add(user(Role.PROFESSOR, "LP" + (1000 + i), "0931" + String.format("%07d", i), password));
+        }
+        professors = context.getBean(UserRepository.class).saveAll(professors);
+
+        List<User> students = new ArrayList<>(options.students());
+        for (int i = 0; i < options.students(); i++) {
+            students.add(user(Role.STUDENT, "LS" + (100000 + i), "0930" + String.format("%07d", i), password));
+        }
+        context.getBean(UserRepository.class).saveAll(students);
+
+        List<Course> courses = new ArrayList<>(options.courses());
+        for (int i = 0; i < options.courses(); i++) {
+            courses.add(Course.builder()
+                    .code("LT" + (1000 + i))
+                    .name("Load test course " + i)
+                    .unit(1 + random.nextInt(3))
+                    .build());
+        }
+        courses = context.getBean(CourseRepository.class).saveAll(courses);
+
+        List<TimeSlot> grid = context.getBean(TimeSlotRepository.class).findAll();
+        List<CourseOffering> offerings = new ArrayList<>();
+        List<Section> sections = new ArrayList<>();
+        for (Course course : courses) {
+            LocalDateTime examDate = LocalDateTime.of(2026, 6, 1, 9, 0)
+                    .plusDays(random.nextInt(14))
+                    .plusHours(random.nextBoolean() ? 0 : 5);
+            for (int section = 1; section <= options.sections(); section++) {
+                List<TimeSlot> slots = pick(grid, random);
+                offerings.add(CourseOffering.builder()
+                        .course(course)
+                        .professor(professors.get(random.nextInt(PROFESSORS)))
+                        .semester(semester)
+                        .capacity(options.capacity())
+                        .examDate(examDate)
+                        .section(section)
+                        .classRoom(String.valueOf(100 + random.nextInt(50)))
+                        .timeSlots(new ArrayList<>(slots))
+                        .slotMask(WeeklySchedule.mask(slots.get(0)) | WeeklySchedule.mask(slots.get(1)))
+                        .build());
+                sections.add(new Section(course.getCode(), section));
+            }
+        }
+        context.getBean(CourseOfferingRepository.class).saveAll(offerings);
+
+        return new SeedData(
+                SEMESTER,
+                PASSWORD,
+                students.stream().map(User::getUserNumber).toList(),
+                courses.stream().map(Course::getCode).toList(),
+                List.copyOf(sections));
+    }
+
+    private static User user(Role role, String userNumber, String phoneNumber, String password) {
+        return User.builder()
+                .firstName("Load")
+                .lastName("Test " + userNumber)
+                .userNumber(userNumber)
+                .phoneNumber(phoneNumber)
+                .password(password)
+                .nationalCode(phoneNumber.substring(1))
+                .role(role)
+                .isAccountLocked(false)
+                .build();
+    }
+
+    private static List<TimeSlot> pick(List<TimeSlot> grid, Random random) {
+        int a = random.nextInt(grid.size());
+        int b = (a + 1 + random.nextInt(grid.size() - 1)) % grid.size();
+        return List.of(grid.get(a), grid.get(b));
+    }
+}
@@ -0,0 +1,151 @@
+package com.mch.unicoursehub.loadtest;
+
+import com.mch.unicoursehub.UniCourseHubApplication;
+import com.mch.unicoursehub.loadtest.LoadTestSeeder.SeedData;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration-day load test of the whole stack.
+ *
+ * <p>
+ * Boots the application on a random port against the embedded test database, seeds one
+ * semester with {@link LoadTestSeeder} and then starts one {@link StudentSession} per
+ * student on a virtual thread. All sessions are released at the same moment, the way
+ * traffic arrives when registration opens, and run until the end of the run. Latency,
+ * throughput and outcomes of {@code /auth}, {@code /time-slots}, {@code /course-offerings}
+ * and {@code /enrollments} are printed per endpoint and written as JSON.
+ * </p>
+ *
+ * <p>
+ * The students and the server share the JVM and its CPUs, so the numbers are a lower
+ * bound of what a dedicated server sustains; compare runs made on the same machine.
+ * The rate limiter and the admission queue run with their configured limits, so 429 and
+ * 503 responses are part of the result, as they are on the real day.
+ * </p>
+ *
+ * <p>
+ * Run with: {@code mvn -Pload-test -DskipTests verify -Dloadtest.args="students=2000 duration=120"}.
+ * See {@link LoadTestOptions} for the settings.
+ * </p>
+ */
+public final class RegistrationDayLoadTest {
+
+    private RegistrationDayLoadTest() {
+    }
+
+    /**
+     * Result file of a run.
+     *
+     * @param options        the settings of the run
+     * @param elapsedSeconds how long the sessions ran
+     * @param endpoints      the results per endpoint
+     */
+    record Report(LoadTestOptions options, double elapsedSeconds, List<EndpointStats.Result> endpoints) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        List<String> springArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        springArgs.addAll(options.springArgs());
+
+        try (ConfigurableApplicationContext context =
+                     SpringApplication.run(UniCourseHubApplication.class, springArgs.toArray(String[]::new))) {
+            SeedData seed = LoadTestSeeder.seed(context, options);
+            Report report = run(context.getEnvironment(), seed, options);
+            print(report);
+            write(report, Path.of(options.output()));
+        }
+    }
+
+    private static Report run(Environment environment, SeedData seed, LoadTestOptions options)
+            throws InterruptedException {
+        String baseUrl = "http://localhost:" + environment.getRequiredProperty("local.server.port")
+                + environment.getProperty("server.servlet.context-path", "");
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        EndpointStats stats = new EndpointStats(options.duration().plusHours(1));
+
+        try (ExecutorService students = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(io)
+                     .build()) {
+
+            CountDownLatch open = new CountDownLatch(1);
+            long start = System.nanoTime();
+            long deadline = start + options.duration().toNanos();
+            for (int i = 0; i < options.students(); i++) {
+                StudentSession session = new StudentSession(
+                        client, jsonMapper, stats, baseUrl, seed, i, options, deadline);
+                students.execute(() -> {
+                    try {
+                        open.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    session.run();
+                });
+            }
+
+            open.countDown();
+            students.shutdown();
+            if (!students.awaitTermination(options.durationSeconds() + 60L, TimeUnit.SECONDS)) {
+                students.shutdownNow();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new Report(options, elapsed.toMillis() / 1000.0, stats.results(elapsed));
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%nRegistration day: %d students, %d sections, %.1f s%n%n",
+                report.options().students(),
+                report.options().courses() * report.options().sections(),
+                report.elapsedSeconds());
+        System.out.printf("%-32s %9s %9s %9s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "ok", "rejected", "failed", "errors",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats.Result r : report.endpoints()) {
+            System.out.printf("%-32s %9d %9.1f %9d %9d %9d %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    r.endpoint(), r.requests(), r.throughput(), r.ok(), r.rejected(), r.failed(),
+                    r.errorRate() * 100, r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs());
+        }
+        System.out.println();
+    }
+
+    private static void write(Report report, Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build()
+                .writeValue(output.toFile(), report);
+        System.out.println("Load test result is saved to " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,202 @@
+package com.mch.unicoursehub.loadtest;
+
+import com.mch.unicoursehub.loadtest.LoadTestSeeder.SeedData;
+import com.mch.unicoursehub.loadtest.LoadTestSeeder.Section;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One student on registration day, run on its own virtual thread.
+ *
+ * <p>
+ * The student logs in and loads the time slot grid, then until the deadline repeatedly
+ * pauses for a random think time and picks a call: browsing the semester's offerings
+ * (40%, a third of them filtered by course code), enrolling in a random section (30%,
+ * until {@link LoadTestOptions#enrollments()} attempts were made), listing its own
+ * enrollments, or reloading the grid with its ETag. A queued enrollment is followed by
+ * polling its ticket until it finished. The choices of a student come from a seed of
+ * its own, so runs with the same settings send the same mix.
+ * </p>
+ */
+final class StudentSession implements Runnable {
+
+    static final String AUTH = "POST /auth";
+    static final String TIME_SLOTS = "GET /time-slots";
+    static final String OFFERINGS = "GET /course-offerings";
+    static final String ENROLL = "POST /enrollments/{semester}";
+    static final String TICKET = "GET /enrollments/tickets/{id}";
+    static final String MY_ENROLLMENTS = "GET /enrollments";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long TICKET_POLL_MILLIS = 250;
+
+    private final HttpClient client;
+    private final JsonMapper jsonMapper;
+    private final EndpointStats stats;
+    private final String baseUrl;
+    private final SeedData seed;
+    private final String userNumber;
+    private final LoadTestOptions options;
+    private final long deadline;
+    private final Random random;
+
+    private String accessToken;
+    private String timeSlotsTag;
+    private int enrollAttempts;
+
+    StudentSession(HttpClient client, JsonMapper jsonMapper, EndpointStats stats, String baseUrl,
+                   SeedData seed, int student, LoadTestOptions options, long deadline) {
+        this.client = client;
+        this.jsonMapper = jsonMapper;
+        this.stats = stats;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.userNumber = seed.studentNumbers().get(student);
+        this.options = options;
+        this.deadline = deadline;
+        this.random = new Random(student);
+    }
+
+    @Override
+    public void run() {
+        if (!login()) {
+            return;
+        }
+        timeSlots();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            think();
+            int roll = random.nextInt(100);
+            if (roll < 40) {
+                offerings();
+            } else if (roll < 70 && enrollAttempts < options.enrollments()) {
+                enroll();
+            } else if (roll < 85) {
+                myEnrollments();
+            } else {
+                timeSlots();
+            }
+        }
+    }
+
+    private boolean login() {
+        String body = jsonMapper.writeValueAsString(Map.of("userNumber", userNumber, "password", seed.password()));
+        HttpResponse<String> response = send(AUTH, HttpRequest.newBuilder(uri("/auth"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response == null || response.statusCode() != 200) {
+            return false;
+        }
+        accessToken = jsonMapper.readTree(response.body()).path("accessToken").asString();
+        return true;
+    }
+
+    private void timeSlots() {
+        HttpRequest.Builder request = authorized("/time-slots").GET();
+        if (timeSlotsTag != null) {
+            request.header("If-None-Match", timeSlotsTag);
+        }
+        HttpResponse<String> response = send(TIME_SLOTS, request);
+        if (response != null && response.statusCode() == 200) {
+            timeSlotsTag = response.headers().firstValue("ETag").orElse(null);
+        }
+    }
+
+    private void offerings() {
+        String path = "/course-offerings?semesterName=" + seed.semesterName();
+        if (random.nextInt(3) == 0) {
+            path += "&courseCode=" + seed.courseCodes().get(random.nextInt(seed.courseCodes().size()));
+        }
+        send(OFFERINGS, authorized(path).GET());
+    }
+
+    private void enroll() {
+        enrollAttempts++;
+        Section section = seed.sections().get(random.nextInt(seed.sections().size()));
+        String body = jsonMapper.writeValueAsString(
+                Map.of("courseCode", section.courseCode(), "groupNumber", section.section()));
+        HttpResponse<String> response = send(ENROLL, authorized("/enrollments/" + seed.semesterName())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response != null && response.statusCode() == 202) {
+            awaitTicket(jsonMapper.readTree(response.body()).path("id").asString());
+        }
+    }
+
+    private void awaitTicket(String ticketId) {
+        while (System.nanoTime() < deadline) {
+            if (!sleep(TICKET_POLL_MILLIS)) {
+                return;
+            }
+            HttpResponse<String> response = send(TICKET, authorized("/enrollments/tickets/" + ticketId).GET());
+            if (response == null || response.statusCode() != 200) {
+                return;
+            }
+            JsonNode ticket = jsonMapper.readTree(response.body());
+            String status = ticket.path("status").asString();
+            if (!"QUEUED".equals(status) && !"RUNNING".equals(status)) {
+                return;
+            }
+        }
+    }
+
+    private void myEnrollments() {
+        send(MY_ENROLLMENTS, authorized("/enrollments?semester=" + seed.semesterName()).GET());
+    }
+
+    private void think() {
+        if (options.thinkMillis() > 0) {
+            sleep(random.nextInt(options.thinkMillis()));
+        }
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + accessToken);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Sends a request and records its latency and outcome under the given endpoint.
+     *
+     * @return the response, or {@code null} if none was received
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            stats.failed(endpoint, System.nanoTime() - start);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class ConstErrors {
     public static final Error notEditInThisWay = new Error("Admin user can't edit in this way ", 1005);
     public static final Error convertToAdmin = new Error("You can't change anyone's role to admin.", 1006);
     public static final Error doesNotBelongCourse = new Error("This course does not belong to you.", 1007);
+    public static final Error invalidCursor = new Error("Invalid page cursor", 1008);
+    public static final Error loginBusy = new Error("Too many logins at the moment, please try again shortly", 1009);
 
     //======================= SEMESTER ==============================
     public static final Error notFoundSemester = new Error("Semester not found", 2001);
@@ -38,6 +40,8 @@ public class ConstErrors {
     public static final Error notFoundEnrollment = new Error("Enrollment not found for this course", 5001);
     public static final Error nonSelectedStatus = new Error("You can only drop courses with SELECTED status", 5002);
     public static final Error droppedCourse = new Error("You have already dropped this course in this semester", 5003);
+    public static final Error ticketNotFound = new Error("Enrollment ticket not found", 5004);
+    public static final Error enrollmentFailed = new Error("Enrollment could not be completed, please try again", 5005);
 
     public static class Error {
 
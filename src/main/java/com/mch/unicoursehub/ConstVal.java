@@ -11,4 +11,28 @@ public class ConstVal {
     public static final long JWT_EXPIRATION_ADMIN = 3600000L;//1h
     public static final long REFRESH_EXPIRATION = 259200000L;//3 day
     public static final String UUID_KEY = "uuid";
-}
\ No newline at end of file
+    public static final String ROLE_KEY = "role";
+
+    public static final long ACCESS_TOKEN_CACHE_TTL = 300000L;//5m -> max staleness of a revocation made on another instance
+    public static final long ACCESS_TOKEN_CACHE_MAX_SIZE = 100_000L;
+    public static final long USER_CACHE_TTL = 60000L;//1m
+    public static final long USER_CACHE_MAX_SIZE = 10_000L;
+
+    public static final long RATE_LIMIT_API_IDLE_TIMEOUT = 600000L;//10m -> an api bucket refills completely within 1m
+    public static final long RATE_LIMIT_API_MAX_BUCKETS = 100_000L;
+    public static final long RATE_LIMIT_AUTH_IDLE_TIMEOUT = 1800000L;//30m -> an auth bucket refills completely within 20m
+    public static final long RATE_LIMIT_AUTH_MAX_BUCKETS = 20_000L;
+    public static final long RATE_LIMIT_PURGE_INTERVAL = 60000L;//1m
+
+    public static final long TOKEN_PURGE_INTERVAL = 600000L;//10m
+    public static final int TOKEN_PURGE_BATCH_SIZE = 1_000;
+
+    public static final long EXAM_DURATION_MINUTES = 120L;//2h -> exams starting closer than this overlap
+    public static final int MAX_BATCH_ENROLLMENT = 12;
+
+    public static final long SEAT_FEED_FLUSH_INTERVAL = 500L;//0.5s -> changes within this window are sent as one event
+    public static final long SEAT_FEED_HEARTBEAT_INTERVAL = 15000L;//15s -> keeps idle connections open through proxies
+    public static final long SEAT_FEED_TIMEOUT = 1800000L;//30m -> clients reconnect after this
+    public static final long CATALOGUE_RESYNC_INTERVAL = 10000L;//10s -> max staleness of offerings changed on another instance
+    public static final long PREREQUISITE_RESYNC_INTERVAL = 60000L;//1m -> max staleness of prerequisites changed on another instance
+}
@@ -0,0 +1,27 @@
+package com.mch.unicoursehub.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Infrastructure of the enrollment admission queue.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    /**
+     * Executor running queued enrollments, one virtual thread per enrollment.
+     * A queued enrollment waits for its turn without holding a platform thread.
+     *
+     * @return the admission executor
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService admissionExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("admission-", 0).factory());
+    }
+}
@@ -0,0 +1,54 @@
+package com.mch.unicoursehub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limits of the enrollment admission queue.
+ *
+ * <p>
+ * {@code concurrency} is the number of enrollments of one semester that may run at the
+ * same time and {@code queueCapacity} the number that may wait for a turn; both can be
+ * overridden per semester name, e.g.
+ * {@code application.admission.semesters.1404-1.concurrency=16}.
+ * </p>
+ *
+ * @param concurrency   default number of concurrently running enrollments per semester
+ * @param queueCapacity default number of waiting enrollments per semester
+ * @param ticketTtl     how long the outcome of a queued enrollment can be read
+ * @param semesters     per-semester overrides by semester name
+ */
+@ConfigurationProperties(prefix = "application.admission")
+public record AdmissionProperties(
+        @DefaultValue("32") int concurrency,
+        @DefaultValue("2000") int queueCapacity,
+        @DefaultValue("10m") Duration ticketTtl,
+        Map<String, Limits> semesters
+) {
+
+    public AdmissionProperties {
+        semesters = semesters == null ? Map.of() : Map.copyOf(semesters);
+    }
+
+    /**
+     * Overrides of one semester; unset values fall back to the defaults.
+     *
+     * @param concurrency   number of concurrently running enrollments
+     * @param queueCapacity number of waiting enrollments
+     */
+    public record Limits(Integer concurrency, Integer queueCapacity) {
+    }
+
+    public int concurrencyOf(String semester) {
+        Limits limits = semesters.get(semester);
+        return limits != null && limits.concurrency() != null ? limits.concurrency() : concurrency;
+    }
+
+    public int queueCapacityOf(String semester) {
+        Limits limits = semesters.get(semester);
+        return limits != null && limits.queueCapacity() != null ? limits.queueCapacity() : queueCapacity;
+    }
+}
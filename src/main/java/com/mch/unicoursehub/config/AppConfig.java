@@ -2,6 +2,8 @@ package com.mch.unicoursehub.config;
 
 import com.mch.unicoursehub.security.filter.JwtAuthenticationFilter;
 import com.mch.unicoursehub.security.filter.RateLimitFilter;
+import com.mch.unicoursehub.security.password.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -10,12 +12,14 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.concurrent.ThreadPoolExecutor;
 /**
  * Application-level configuration class.
  *
@@ -31,16 +35,27 @@ public class AppConfig {
      */
     private final UserDetailsService userDetailsService;
 
+    /**
+     * Service storing the new hash of a password that was hashed with another cost.
+     */
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
     /**
      * Provides a password encoder bean.
      *
-     * Uses BCrypt hashing algorithm to securely encode user passwords.
+     * Uses BCrypt hashing algorithm to securely encode user passwords, hashing on the
+     * bounded authentication executor.
      *
+     * @param properties    limits and hashing policy of password verification
+     * @param authExecutor  executor the hashes run on
+     * @param meterRegistry registry of the hashing metrics
      * @return a {@link PasswordEncoder} implementation
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AuthProperties properties,
+                                           ThreadPoolExecutor authExecutor,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(properties.bcryptStrength(), properties.rehash(), authExecutor, meterRegistry);
     }
 
     /**
@@ -48,15 +63,18 @@ public class AppConfig {
      *
      * <p>
      * Uses {@link DaoAuthenticationProvider} with a custom
-     * {@link UserDetailsService} and password encoder.
+     * {@link UserDetailsService} and password encoder. Hashes the encoder asks to
+     * upgrade are replaced through the {@link UserDetailsPasswordService}.
      * </p>
      *
+     * @param passwordEncoder the password encoder
      * @return an {@link AuthenticationProvider} instance
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -0,0 +1,34 @@
+package com.mch.unicoursehub.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Infrastructure of password verification.
+ */
+@Configuration
+@EnableConfigurationProperties(AuthProperties.class)
+public class AuthConfig {
+
+    /**
+     * Executor hashing passwords on a fixed number of platform threads.
+     * Hashing is CPU bound, so the pool caps the cores a burst of logins can take from the
+     * other endpoints; a hash that finds the queue full is rejected instead of queued.
+     *
+     * @param properties the limits of password verification
+     * @return the authentication executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor authExecutor(AuthProperties properties) {
+        int workers = properties.workers();
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("auth-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
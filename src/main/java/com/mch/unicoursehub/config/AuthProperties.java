@@ -0,0 +1,48 @@
+package com.mch.unicoursehub.config;
+
+import com.mch.unicoursehub.security.password.RehashPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits and hashing policy of password verification.
+ *
+ * <p>
+ * Passwords are hashed by a pool of {@code threads} workers; {@code queueCapacity} more
+ * hashes may wait for a worker before further logins are turned away. {@code bcryptStrength}
+ * is the cost new hashes are made with and {@code rehash} decides whether a stored hash of
+ * another cost is replaced on the next successful login, e.g. lowering the strength to 9
+ * with {@code rehash=match} moves every active user to cost 9 without a password reset.
+ * </p>
+ *
+ * @param threads        number of hashing workers; {@code 0} sizes the pool to half of the available cores
+ * @param queueCapacity  number of hashes waiting for a worker
+ * @param bcryptStrength log2 rounds of new hashes, 4 to 31
+ * @param rehash         when a stored hash is replaced by one of {@code bcryptStrength}
+ */
+@ConfigurationProperties(prefix = "application.auth")
+public record AuthProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("10") int bcryptStrength,
+        @DefaultValue("upgrade") RehashPolicy rehash
+) {
+
+    public AuthProperties {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("application.auth.queue-capacity must be positive");
+        }
+        if (bcryptStrength < 4 || bcryptStrength > 31) {
+            throw new IllegalArgumentException("application.auth.bcrypt-strength must be between 4 and 31");
+        }
+    }
+
+    /**
+     * Returns the number of hashing workers.
+     *
+     * @return {@code threads}, or half of the available cores (at least one) when not set
+     */
+    public int workers() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mch.unicoursehub.config;
+
+import com.mch.unicoursehub.repository.RateLimitBucketRepository;
+import com.mch.unicoursehub.security.ratelimit.BucketStore;
+import com.mch.unicoursehub.security.ratelimit.JdbcBucketStore;
+import com.mch.unicoursehub.security.ratelimit.LocalBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link BucketStore} used for rate limiting.
+ *
+ * <p>
+ * {@code application.rate-limit.store=local} (the default) keeps the buckets in memory of
+ * each instance; {@code jdbc} shares them between all instances through the database.
+ * </p>
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public BucketStore localBucketStore(MeterRegistry meterRegistry) {
+        return new LocalBucketStore(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.rate-limit.store", havingValue = "jdbc")
+    public BucketStore jdbcBucketStore(RateLimitBucketRepository repository, MeterRegistry meterRegistry) {
+        return new JdbcBucketStore(repository, meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mch.unicoursehub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs.
+ *
+ * <p>
+ * With {@code spring.threads.virtual.enabled} they run on virtual threads, like the
+ * request handling: the scheduler starts a new virtual thread per task instead of using
+ * a pool of platform threads.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
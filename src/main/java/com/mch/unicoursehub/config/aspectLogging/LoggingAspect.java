@@ -2,31 +2,74 @@ package com.mch.unicoursehub.config.aspectLogging;
 
 import brave.Span;
 import brave.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 
 /**
- * Aspect for logging and tracing method executions in the application.
+ * Aspect for timing, logging and tracing method executions in the application.
+ *
+ * <p>
+ * Every call is recorded in the {@value #METRIC} timer (with a percentile histogram),
+ * tagged by class, method and exception. Log lines are only written for calls slower
+ * than {@code application.method-metrics.slow-threshold} and for a random
+ * {@code application.method-metrics.sample-rate} fraction of the others. Brave spans
+ * are created only when {@code application.method-metrics.tracing-enabled} is set and
+ * a {@link Tracer} is available.
+ * </p>
  */
 @Aspect
 @Component
 @Slf4j
 public class LoggingAspect {
 
+    static final String METRIC = "method.execution";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The Tracer used for distributed tracing, or {@code null} when tracing is off.
+     */
+    private final Tracer tracer;
+
+    private final long slowThresholdNanos;
+
+    private final double sampleRate;
+
     /**
-     * The Tracer used for distributed tracing.
+     * Timers of successful calls, one per advised method.
      */
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
 
-    private Tracer tracer;
+    public LoggingAspect(MeterRegistry meterRegistry,
+                         ObjectProvider<Tracer> tracer,
+                         @Value("${application.method-metrics.slow-threshold:500ms}") Duration slowThreshold,
+                         @Value("${application.method-metrics.sample-rate:0.0}") double sampleRate,
+                         @Value("${application.method-metrics.tracing-enabled:false}") boolean tracingEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracingEnabled ? tracer.getIfAvailable() : null;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
 
     /**
-     * Logs the execution of methods in the service and security layers.
-     * Captures the method name, arguments, execution time, and exceptions if any.
+     * Times the execution of methods in the service and security layers.
+     * Logs slow and sampled calls with their execution time, and exceptions if any.
      *
      * @param joinPoint the join point providing method details.
      * @return the result of the method execution.
@@ -35,22 +78,30 @@ public class LoggingAspect {
     @Around("execution(* com.mch.unicoursehub.service.*.*.*(..)) " +
             "|| execution(* com.mch.unicoursehub.security.*.*(..)) ")
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        long startTime = System.currentTimeMillis();
-
-        log.info("Method {} started ", methodName);
-//        log.info("Method {} started with arguments: {}", methodName, joinPoint.getArgs());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long startTime = System.nanoTime();
 
         Object result;
         try {
-            result = joinPoint.proceed();  // Proceed with the original method execution
+            result = tracer == null ? joinPoint.proceed() : traceMethods(joinPoint);
         } catch (Exception e) {
-            log.error("Method {} threw an exception: {}", methodName, e.getMessage());
+            long timeTaken = System.nanoTime() - startTime;
+            timer(method, e.getClass().getSimpleName()).record(timeTaken, TimeUnit.NANOSECONDS);
+            log.error("Method {} threw an exception after {} ms: {}",
+                    joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(timeTaken), e.getMessage());
             throw e;
         }
 
-        long timeTaken = System.currentTimeMillis() - startTime;
-        log.info("Method {} completed in {} ms", methodName, timeTaken);
+        long timeTaken = System.nanoTime() - startTime;
+        timers.computeIfAbsent(method, m -> timer(m, "none")).record(timeTaken, TimeUnit.NANOSECONDS);
+
+        if (timeTaken >= slowThresholdNanos) {
+            log.warn("Method {} completed in {} ms (slow)",
+                    joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(timeTaken));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Method {} completed in {} ms",
+                    joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(timeTaken));
+        }
 
         return result;
     }
@@ -58,25 +109,19 @@ public class LoggingAspect {
 
     /**
      * Adds tracing information to methods in the service layer.
-     * Captures details such as class name, method name, arguments, and results, and tags them into the trace.
+     * Tags the span with the class and method name; arguments and results are not
+     * recorded since they may contain credentials.
      *
      * @param joinPoint the join point providing method details.
      * @return the result of the method execution.
      * @throws Throwable if the underlying method throws an exception.
      */
-
     public Object traceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
         Span span = tracer.nextSpan().name(joinPoint.getSignature().getName()).start();
         span.tag("class", joinPoint.getTarget().getClass().getSimpleName());
         span.tag("method", joinPoint.getSignature().getName());
-        Object[] args = joinPoint.getArgs();
-        for (int i = 0; i < args.length; i++) {
-            span.tag("arg" + i, String.valueOf(args[i]));
-        }
         try (Tracer.SpanInScope scope = tracer.withSpanInScope(span)) {
-            Object result = joinPoint.proceed();
-            span.tag("result", String.valueOf(result)); // Optional, based on your performance needs
-            return result;
+            return joinPoint.proceed();
         } catch (Throwable t) {
             span.error(t); // Log the error into the span
             throw t;
@@ -85,4 +130,14 @@ public class LoggingAspect {
         }
     }
 
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC)
+                .description("Execution time of service and security methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.mch.unicoursehub.config.diagnostics;
+
+import com.mch.unicoursehub.model.dto.PinningReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/pinning} with the virtual thread pinning recorded by
+ * {@link PinningMonitor}.
+ */
+@Component
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+    private final PinningMonitor pinningMonitor;
+
+    /**
+     * Returns the pinning recorded since startup.
+     *
+     * @return the pinning report
+     */
+    @ReadOperation
+    public PinningReport pinning() {
+        return pinningMonitor.report();
+    }
+}
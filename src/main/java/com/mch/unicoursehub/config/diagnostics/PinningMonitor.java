@@ -0,0 +1,216 @@
+package com.mch.unicoursehub.config.diagnostics;
+
+import com.mch.unicoursehub.model.dto.PinningReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records virtual threads that stay pinned to their carrier thread.
+ *
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block or below a native frame
+ * cannot unmount and keeps its carrier busy, so a few of them stall unrelated requests.
+ * When {@code application.pinning.enabled} is set, a JFR {@link RecordingStream} in the
+ * application's own JVM captures the {@value #EVENT} events longer than
+ * {@code application.pinning.threshold} with their stack traces. Events are grouped by
+ * the first application frame on the stack, or the top frame when there is none, counted
+ * in the {@value #METRIC} timer and served by the {@code pinning} actuator endpoint. Sites
+ * with new events are logged every {@code application.pinning.log-interval}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PinningMonitor {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    static final String METRIC = "jvm.threads.virtual.pinned";
+
+    private static final String APPLICATION_PACKAGE = "com.mch.unicoursehub.";
+    private static final String OTHER_SITES = "other";
+    private static final int MAX_SITES = 100;
+    private static final int STACK_DEPTH = 12;
+    private static final int LOGGED_SITES = 5;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer timer;
+
+    /**
+     * Site to the pinning recorded there; further sites beyond {@value #MAX_SITES} are
+     * counted under {@value #OTHER_SITES}.
+     */
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public PinningMonitor(MeterRegistry meterRegistry,
+                          @Value("${application.pinning.enabled:false}") boolean enabled,
+                          @Value("${application.pinning.threshold:20ms}") Duration threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.timer = Timer.builder(METRIC)
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::record);
+            stream.startAsync();
+            log.info("recording virtual thread pinning longer than {} ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            // JFR is not available in this runtime
+            log.warn("virtual thread pinning can not be recorded -> {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Returns the pinning recorded since startup.
+     *
+     * @return the report, longest pinned sites first
+     */
+    public PinningReport report() {
+        List<PinningReport.Site> result = new ArrayList<>(sites.size());
+        long events = 0;
+        long totalNanos = 0;
+        for (Site site : sites.values()) {
+            PinningReport.Site s = site.toReport();
+            result.add(s);
+            events += s.events();
+            totalNanos += site.totalNanos.sum();
+        }
+        result.sort(Comparator.comparingDouble(PinningReport.Site::totalMs).reversed());
+        return new PinningReport(stream != null, threshold.toMillis(), events, millis(totalNanos), result);
+    }
+
+    /**
+     * Logs the sites that were pinned since the previous summary.
+     */
+    @Scheduled(initialDelayString = "${application.pinning.log-interval:5m}",
+            fixedDelayString = "${application.pinning.log-interval:5m}")
+    void logSummary() {
+        List<Site> pinned = new ArrayList<>();
+        for (Site site : sites.values()) {
+            if (site.sinceLastSummary() > 0) {
+                pinned.add(site);
+            }
+        }
+        if (pinned.isEmpty()) {
+            return;
+        }
+        pinned.sort(Comparator.comparingLong((Site s) -> s.lastSummaryDelta).reversed());
+        for (Site site : pinned.subList(0, Math.min(LOGGED_SITES, pinned.size()))) {
+            log.warn("virtual threads pinned {} times at {} (max {} ms)",
+                    site.lastSummaryDelta, site.site, millis(site.maxNanos.get()));
+        }
+    }
+
+    void record(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+
+        RecordedStackTrace trace = event.getStackTrace();
+        List<RecordedFrame> frames = trace == null ? List.of() : trace.getFrames();
+        String key = siteOf(frames);
+        Site site = sites.get(key);
+        if (site == null) {
+            String bounded = sites.size() < MAX_SITES ? key : OTHER_SITES;
+            site = sites.computeIfAbsent(bounded, k -> new Site(k, stackOf(frames)));
+        }
+        site.add(nanos);
+    }
+
+    private static String siteOf(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : format(frames.getFirst());
+    }
+
+    private static List<String> stackOf(List<RecordedFrame> frames) {
+        return frames.stream().limit(STACK_DEPTH).map(PinningMonitor::format).toList();
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Pinning recorded at one site.
+     */
+    private static final class Site {
+
+        final String site;
+        final List<String> stack;
+        final LongAdder events = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        long summarized;
+        long lastSummaryDelta;
+
+        Site(String site, List<String> stack) {
+            this.site = site;
+            this.stack = stack;
+        }
+
+        void add(long nanos) {
+            events.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * Returns and remembers the number of events since the previous call; only called by the summary.
+         */
+        long sinceLastSummary() {
+            long now = events.sum();
+            lastSummaryDelta = now - summarized;
+            summarized = now;
+            return lastSummaryDelta;
+        }
+
+        PinningReport.Site toReport() {
+            return new PinningReport.Site(site, events.sum(), millis(totalNanos.sum()), millis(maxNanos.get()), stack);
+        }
+    }
+}
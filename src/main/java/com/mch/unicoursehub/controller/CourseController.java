@@ -15,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Course management controller.
  *
@@ -139,4 +141,16 @@ public class CourseController {
         courseServiceImpl.deleteCourse(code);
     }
 
+    /**
+     * Retrieves all direct and indirect prerequisites of a course.
+     *
+     * @param code course code
+     * @return codes of the transitive prerequisites, nearest first
+     */
+    @Operation(summary = "Get transitive prerequisites", description = "This route is for ADMIN only")
+    @GetMapping("/{code}/prerequisites")
+    public List<String> getTransitivePrerequisites(@PathVariable String code) {
+        return courseServiceImpl.getTransitivePrerequisites(code);
+    }
+
 }
@@ -7,8 +7,10 @@ import com.mch.unicoursehub.service.impl.CourseOfferingServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -78,6 +80,24 @@ public class CourseOfferingController {
         return ResponseEntity.ok(offerings);
     }
 
+    /**
+     * Streams seat availability changes of the offerings of a semester.
+     *
+     * <p>
+     * Replaces polling of the offerings list during registration. Each {@code seats}
+     * event carries a JSON array with the offerings whose free seats changed since the
+     * previous event. Clients should subscribe before fetching the offerings list.
+     * </p>
+     *
+     * @param semesterName the semester to follow
+     * @return the server-sent event stream
+     */
+    @Operation(summary = "Stream seat availability changes of a semester")
+    @GetMapping(path = "/seats", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@RequestParam(name = "semesterName") String semesterName) {
+        return courseOfferingServiceImpl.subscribeSeats(semesterName);
+    }
+
     /**
      * Updates an existing course offering.
      *
@@ -1,20 +1,29 @@
 package com.mch.unicoursehub.controller;
 
+import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.AdmissionTicket;
+import com.mch.unicoursehub.model.dto.BatchEnrollRequest;
+import com.mch.unicoursehub.model.dto.BatchEnrollResult;
 import com.mch.unicoursehub.model.dto.DropCourseRequest;
 import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
 import com.mch.unicoursehub.model.dto.StudentEnrollmentResponse;
 import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.service.EnrollmentService;
+import com.mch.unicoursehub.service.impl.EnrollmentAdmission;
 import com.mch.unicoursehub.service.impl.EnrollmentServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
+
+import static com.mch.unicoursehub.ConstErrors.ticketNotFound;
 
 /**
  * Controller for managing student course enrollments.
@@ -34,6 +43,11 @@ public class EnrollmentController {
      */
     private final EnrollmentServiceImpl enrollmentServiceImpl;
 
+    /**
+     * Admission queue in front of single enrollments.
+     */
+    private final EnrollmentAdmission enrollmentAdmission;
+
     /**
      * Enrolls a student in a course for a specific semester.
      *
@@ -43,19 +57,86 @@ public class EnrollmentController {
      * enroll in the course.
      * </p>
      *
+     * <p>
+     * Enrollments pass through the {@link EnrollmentAdmission} queue of the semester.
+     * If the semester has spare capacity the enrollment runs immediately and the
+     * response is {@code 200 OK}. Otherwise it is queued and the response is
+     * {@code 202 Accepted} with a ticket that can be polled at
+     * {@code /enrollments/tickets/{ticketId}}, or {@code 503 Service Unavailable}
+     * when the queue is full. Both carry a {@code Retry-After} header.
+     * </p>
+     *
      * @param student      the authenticated student
      * @param semesterName the semester to enroll in
      * @param req          enrollment request data
+     * @return empty on success, otherwise the admission ticket
      */
     @Operation(summary = "Taking course.", description = "This route can be used by student.")
     @PostMapping("/{semesterName}")
-    @ResponseStatus(HttpStatus.OK)
-    public void enroll(
+    public ResponseEntity<AdmissionTicket> enroll(
             @AuthenticationPrincipal User student,
             @PathVariable String semesterName,
             @RequestBody @Valid EnrollCourseRequest req
             ) {
-        enrollmentServiceImpl.enrollStudent(student,semesterName, req);
+        AdmissionTicket ticket = enrollmentAdmission.admit(semesterName, student.getUid(),
+                () -> enrollmentServiceImpl.enrollStudent(student, semesterName, req));
+
+        return switch (ticket.status()) {
+            case QUEUED -> ResponseEntity.accepted()
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ticket.retryAfterSeconds()))
+                    .body(ticket);
+            case FULL -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ticket.retryAfterSeconds()))
+                    .body(ticket);
+            default -> ResponseEntity.ok().build();
+        };
+    }
+
+    /**
+     * Returns the state of a queued enrollment of the authenticated student.
+     *
+     * @param student  the authenticated student
+     * @param ticketId the id of the ticket returned by the enroll endpoint
+     * @return the admission ticket
+     */
+    @Operation(summary = "State of a queued enrollment.", description = "This route can be used by student.")
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<AdmissionTicket> getTicket(
+            @AuthenticationPrincipal User student,
+            @PathVariable UUID ticketId
+    ) {
+        AdmissionTicket ticket = enrollmentAdmission.ticket(ticketId, student.getUid())
+                .orElseThrow(() -> new NotFoundException(ticketNotFound));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (ticket.retryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ticket.retryAfterSeconds()));
+        }
+        return response.body(ticket);
+    }
+
+    /**
+     * Enrolls a student in a whole timetable of course sections for a specific semester.
+     *
+     * <p>
+     * All sections are validated together and enrolled in a single transaction.
+     * The response holds one result per requested section, in request order,
+     * telling whether it was enrolled or why it was rejected.
+     * </p>
+     *
+     * @param student      the authenticated student
+     * @param semesterName the semester to enroll in
+     * @param req          the sections to enroll in
+     * @return per-section enrollment results
+     */
+    @Operation(summary = "Taking several courses at once.", description = "This route can be used by student.")
+    @PostMapping("/{semesterName}/batch")
+    public ResponseEntity<List<BatchEnrollResult>> enrollBatch(
+            @AuthenticationPrincipal User student,
+            @PathVariable String semesterName,
+            @RequestBody @Valid BatchEnrollRequest req
+    ) {
+        return ResponseEntity.ok(enrollmentServiceImpl.enrollBatch(student, semesterName, req));
     }
 
     /**
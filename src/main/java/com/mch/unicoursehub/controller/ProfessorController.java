@@ -2,8 +2,9 @@ package com.mch.unicoursehub.controller;
 
 import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
 import com.mch.unicoursehub.model.dto.DropEnrollmentRequest;
-import com.mch.unicoursehub.model.dto.UserListResponse;
+import com.mch.unicoursehub.model.dto.RosterStudentResponse;
 import com.mch.unicoursehub.service.impl.ProfessorServiceImpl;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -54,21 +55,52 @@ public class ProfessorController {
      * @param courseCode  the code of the course
      * @param groupNumber the group number of the course offering
      * @param semesterName the semester of the course offering
-     * @return a list of students enrolled in the specified course offering
+     * @return the roster of the specified course offering, ordered by last name
      */
     @Operation(summary = "Get students of a course offering assigned to the logged-in professor")
     @GetMapping("/course-offerings/students")
-    public ResponseEntity<List<UserListResponse>> getStudentsOfCourseOffering(
+    public ResponseEntity<List<RosterStudentResponse>> getStudentsOfCourseOffering(
             @RequestParam String courseCode,
             @RequestParam int groupNumber,
             @RequestParam String semesterName) {
 
-        List<UserListResponse> students = professorServiceImpl.getStudentsOfOfferingByKeys(
+        List<RosterStudentResponse> students = professorServiceImpl.getStudentsOfOfferingByKeys(
                 courseCode.trim(), groupNumber, semesterName.trim()
         );
         return ResponseEntity.ok(students);
     }
 
+    /**
+     * Retrieves the students of a course offering page by page using a cursor.
+     *
+     * <p>
+     * Intended for large sections. The order is the same as
+     * {@code GET /professor/course-offerings/students}; the {@code next} value of a
+     * response is passed as {@code after} to fetch the following page, and is
+     * {@code null} on the last page.
+     * </p>
+     *
+     * @param courseCode   the code of the course
+     * @param groupNumber  the group number of the course offering
+     * @param semesterName the semester of the course offering
+     * @param size         page size (default is 50)
+     * @param after        cursor of the previous page, omitted for the first page
+     * @return a page of the roster and the cursor of the next page
+     */
+    @Operation(summary = "Get students of a course offering assigned to the logged-in professor by cursor")
+    @GetMapping("/course-offerings/students/seek")
+    public ResponseEntity<SeekPagination<RosterStudentResponse>> seekStudentsOfCourseOffering(
+            @RequestParam String courseCode,
+            @RequestParam int groupNumber,
+            @RequestParam String semesterName,
+            @RequestParam(defaultValue = "50", required = false, name = "s") int size,
+            @RequestParam(required = false, name = "after") String after) {
+
+        return ResponseEntity.ok(professorServiceImpl.seekStudentsOfOffering(
+                courseCode.trim(), groupNumber, semesterName.trim(), size, after
+        ));
+    }
+
     /**
      * Removes a student from a course offering.
      *
@@ -86,4 +118,4 @@ public class ProfessorController {
                                                 @RequestBody @Valid DropEnrollmentRequest req) {
         professorServiceImpl.removeStudentFromOffering(semesterName.trim(),req);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.mch.unicoursehub.controller;
 
 import com.mch.unicoursehub.model.dto.TimeSlotByDayResponseDto;
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
 import com.mch.unicoursehub.service.TimeSlotService;
 import com.mch.unicoursehub.service.impl.TimeSlotServiceImpl;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for managing time slots.
@@ -31,10 +38,28 @@ public class TimeSlotController {
     /**
      * Retrieves all time slots grouped by day.
      *
-     * @return list of time slots grouped by day
+     * <p>
+     * The body is serialized once at startup and sent with an ETag; a request whose
+     * {@code If-None-Match} header carries that tag gets {@code 304 Not Modified}
+     * without a body.
+     * </p>
+     *
+     * @param request the current request, used for the conditional check
+     * @return list of time slots grouped by day, or 304 if the client copy is current
      */
     @GetMapping
-    public List<TimeSlotByDayResponseDto> getTimeSlots() {
-        return timeSlotServiceImpl.getAllGroupedByDay();
+    @ApiResponse(responseCode = "200", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TimeSlotByDayResponseDto.class))))
+    public ResponseEntity<byte[]> getTimeSlots(WebRequest request) {
+        TimeSlotGrid grid = timeSlotServiceImpl.getGrid();
+        if (request.checkNotModified(grid.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(grid.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(grid.body());
     }
 }
@@ -6,6 +6,7 @@ import com.mch.unicoursehub.model.dto.UserListResponse;
 import com.mch.unicoursehub.model.enums.Role;
 import com.mch.unicoursehub.service.impl.UserServiceImpl;
 import com.mch.unicoursehub.utils.pagination.Pagination;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -90,6 +91,41 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Retrieves users page by page using a cursor instead of a page number.
+     *
+     * <p>
+     * This endpoint is restricted to ADMIN users. The order and filters are the
+     * same as {@code GET /users}; the {@code next} value of a response is passed
+     * as {@code after} to fetch the following page, and is {@code null} on the last page.
+     * </p>
+     *
+     * @param role       optional filter by user role
+     * @param size       page size (default is 8)
+     * @param after      cursor of the previous page, omitted for the first page
+     * @param userNumber optional filter by user number
+     * @return a page of users and the cursor of the next page
+     */
+    @Operation(
+            summary = "Get list of users by cursor.",
+            description = "This method can only used by admins. Pass the returned next cursor as after to get the following page."
+    )
+    @GetMapping("/seek")
+    public ResponseEntity<SeekPagination<UserListResponse>> seekUsers(@RequestParam(required = false, defaultValue = "")Role role,
+
+                                                                      @RequestParam(defaultValue = "8", required = false, name = "s")
+                                                                      @Parameter(name = "s", in = ParameterIn.DEFAULT, allowEmptyValue = true, description = "size of page") int size,
+
+                                                                      @RequestParam(required = false, name = "after")
+                                                                      @Parameter(name = "after", in = ParameterIn.QUERY, allowEmptyValue = true, description = "cursor of the previous page")String after,
+
+                                                                      @RequestParam(required = false, name = "userNumber")
+                                                                      @Parameter(name = "userNumber", in = ParameterIn.QUERY, allowEmptyValue = true, description = "User number filter.")String userNumber){
+
+        SeekPagination<UserListResponse> users = userService.seekUsers(role, size, after, userNumber);
+        return ResponseEntity.ok(users);
+    }
+
     /**
      * Updates an existing user.
      *
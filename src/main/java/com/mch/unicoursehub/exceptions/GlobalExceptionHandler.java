@@ -13,6 +13,7 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -64,6 +65,20 @@ public class GlobalExceptionHandler {
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
     }
 
+    /**
+     * Handles service unavailable exceptions, telling the client when to retry.
+     *
+     * @param ex the exception to handle
+     * @return a response entity with the error message and a {@code Retry-After} header
+     */
+    @ExceptionHandler({ServiceUnavailableException.class})
+    public ResponseEntity<?> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("service unavailable -> " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new BadRequestResponse(ex.getMessage(), 503, ex.getErrorCode()));
+    }
+
     /**
      * Handles not found exceptions (e.g., NotFoundException, NullPointerException).
      *
@@ -0,0 +1,37 @@
+package com.mch.unicoursehub.exceptions;
+
+import com.mch.unicoursehub.ConstErrors;
+
+/**
+ * Exception thrown when the server is too busy to take a request now.
+ *
+ * <p>
+ * This exception maps to HTTP status code 503 (SERVICE UNAVAILABLE) with a
+ * {@code Retry-After} header telling the client when to try again.
+ * </p>
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final int errorCode;
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceUnavailableException.
+     *
+     * @param error             the error describing what is busy
+     * @param retryAfterSeconds seconds the client should wait before trying again
+     */
+    public ServiceUnavailableException(ConstErrors.Error error, long retryAfterSeconds) {
+        super(error.getMessage());
+        this.errorCode = error.getErrorCode();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mch.unicoursehub.init;
+
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Component responsible for backfilling the national code blind index.
+ *
+ * <p>
+ * Users created before the {@code national_code_hash} column existed have no index
+ * and cannot be found by national code. On startup their national codes are decrypted
+ * once and the index is computed and stored.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NationalCodeIndexInitializer {
+
+    /**
+     * Repository for users.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Computes the missing blind indexes after the application context is loaded.
+     */
+    @PostConstruct
+    public void init() {
+        List<User> users = userRepository.findByNationalCodeHashIsNull();
+        if (users.isEmpty())
+            return;
+
+        users.forEach(user -> user.setNationalCode(user.getNationalCode()));
+        userRepository.saveAll(users);
+        log.info("National code index backfilled for {} users", users.size());
+    }
+}
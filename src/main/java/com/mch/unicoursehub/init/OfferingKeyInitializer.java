@@ -0,0 +1,48 @@
+package com.mch.unicoursehub.init;
+
+import com.mch.unicoursehub.model.dto.DuplicateOfferingKeyRow;
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Component responsible for checking the natural keys of course offerings.
+ *
+ * <p>
+ * An offering is identified by its semester, course and section, enforced by the
+ * {@code uk_course_offerings_semester_course_section} constraint. On a database created
+ * before the constraint, {@code ddl-auto=update} cannot add it while two offerings share
+ * a key, and only logs the failed statement. On startup such keys are listed, so the
+ * extra sections can be renumbered or deleted (after moving their enrollments) and the
+ * constraint is created on the next start.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfferingKeyInitializer {
+
+    /**
+     * Repository for course offerings.
+     */
+    private final CourseOfferingRepository courseOfferingRepository;
+
+    /**
+     * Logs every duplicated natural key after the application context is loaded.
+     */
+    @PostConstruct
+    public void init() {
+        List<DuplicateOfferingKeyRow> duplicates = courseOfferingRepository.findDuplicateNaturalKeys();
+        for (DuplicateOfferingKeyRow row : duplicates) {
+            log.warn("Semester {} has {} offerings of course {} section {}; renumber or delete the extra sections",
+                    row.semesterName(), row.offerings(), row.courseCode(), row.section());
+        }
+        if (!duplicates.isEmpty())
+            log.warn("Constraint uk_course_offerings_semester_course_section is missing until {} duplicated keys are resolved",
+                    duplicates.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.mch.unicoursehub.init;
+
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Component responsible for synchronizing the seat counters of course offerings.
+ *
+ * <p>
+ * Seat counters are maintained incrementally by enrollments and drops. On startup
+ * they are recomputed once from the non-dropped enrollments, which backfills
+ * offerings created before the counter existed and repairs any drift.
+ * </p>
+ *
+ * <p>
+ * Other instances may be serving enrollments meanwhile, e.g. during a rolling restart.
+ * The recount therefore first locks every offering row: a reservation or release that
+ * is in flight finishes before the enrollments are counted, and later ones wait for the
+ * recount to commit and then apply to the recounted value.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SeatCounterInitializer {
+
+    /**
+     * Repository for course offerings.
+     */
+    private final CourseOfferingRepository courseOfferingRepository;
+
+    /**
+     * Runs the lock and the recount in one read-committed transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    public SeatCounterInitializer(CourseOfferingRepository courseOfferingRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.courseOfferingRepository = courseOfferingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Recomputes all seat counters after the application context is loaded.
+     */
+    @PostConstruct
+    public void init() {
+        Integer updated = transactionTemplate.execute(status -> {
+            courseOfferingRepository.lockAll();
+            return courseOfferingRepository.recountSeats();
+        });
+        log.info("Seat counters synchronized for {} course offerings", updated);
+    }
+}
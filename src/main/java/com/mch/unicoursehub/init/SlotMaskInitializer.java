@@ -0,0 +1,52 @@
+package com.mch.unicoursehub.init;
+
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import com.mch.unicoursehub.service.impl.TimeSlotRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Component responsible for backfilling the schedule masks of course offerings.
+ *
+ * <p>
+ * Offerings created before the mask existed have a mask of zero. On startup the
+ * mask of every such offering that has time slots is computed from the
+ * {@link TimeSlotRegistry}; offerings without time slots keep zero.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotMaskInitializer {
+
+    /**
+     * Repository for course offerings.
+     */
+    private final CourseOfferingRepository courseOfferingRepository;
+
+    /**
+     * In-memory copy of the time slot grid.
+     */
+    private final TimeSlotRegistry timeSlotRegistry;
+
+    /**
+     * Computes the missing schedule masks after the application context is loaded.
+     */
+    @PostConstruct
+    public void init() {
+        Map<UUID, List<UUID>> slots = new HashMap<>();
+        for (OfferingSlotRow row : courseOfferingRepository.findSlotRowsWithoutMask()) {
+            slots.computeIfAbsent(row.offeringId(), k -> new ArrayList<>()).add(row.timeSlotId());
+        }
+        if (slots.isEmpty()) return;
+
+        slots.forEach((offeringId, ids) ->
+                courseOfferingRepository.updateSlotMask(offeringId, timeSlotRegistry.mask(ids)));
+        log.info("Schedule masks computed for {} course offerings", slots.size());
+    }
+}
@@ -3,6 +3,7 @@ package com.mch.unicoursehub.init;
 import com.mch.unicoursehub.model.entity.TimeSlot;
 import com.mch.unicoursehub.model.enums.DayOfWeek;
 import com.mch.unicoursehub.repository.TimeSlotRepository;
+import com.mch.unicoursehub.service.impl.TimeSlotRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -18,7 +19,8 @@ import java.util.List;
  * This initializer runs after the Spring context is loaded and will insert
  * predefined time slots for each day of the week if no time slots exist
  * in the database. The time slots cover morning and afternoon periods
- * for weekdays from Saturday to Wednesday.
+ * for weekdays from Saturday to Wednesday. The grid is then loaded into
+ * the {@link TimeSlotRegistry}.
  * </p>
  */
 @Component
@@ -30,6 +32,11 @@ public class TimeSlotInitializer {
      */
     private final TimeSlotRepository timeSlotRepository;
 
+    /**
+     * In-memory copy of the grid, loaded once the slots exist.
+     */
+    private final TimeSlotRegistry timeSlotRegistry;
+
     /**
      * Initializes default time slots after the application context is loaded.
      *
@@ -42,8 +49,11 @@ public class TimeSlotInitializer {
     @PostConstruct
     public void init() {
 
-        // If there are already time slots, do nothing
-        if (timeSlotRepository.count() > 0) return;
+        // If there are already time slots, only load them
+        if (timeSlotRepository.count() > 0) {
+            timeSlotRegistry.reload();
+            return;
+        }
 
         // List of weekdays
         List<DayOfWeek> days = List.of(
@@ -77,6 +87,7 @@ public class TimeSlotInitializer {
 
         // Save all time slots to the repository
         timeSlotRepository.saveAll(slots);
+        timeSlotRegistry.reload();
     }
 }
 
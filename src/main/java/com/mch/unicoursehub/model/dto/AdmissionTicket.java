@@ -0,0 +1,29 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mch.unicoursehub.model.enums.AdmissionStatus;
+
+import java.util.UUID;
+
+/**
+ * DTO describing an enrollment in the admission queue.
+ *
+ * @param id                the ticket id, {@code null} if the enrollment was not queued
+ * @param semester          the semester name
+ * @param status            the current state
+ * @param position          approximate number of enrollments ahead, including this one, while queued
+ * @param retryAfterSeconds suggested delay before polling the ticket or retrying
+ * @param errorCode         the error code if the enrollment failed
+ * @param message           the error message if the enrollment failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AdmissionTicket(
+        UUID id,
+        String semester,
+        AdmissionStatus status,
+        Long position,
+        Long retryAfterSeconds,
+        Integer errorCode,
+        String message
+) {
+}
@@ -0,0 +1,26 @@
+package com.mch.unicoursehub.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+import static com.mch.unicoursehub.ConstVal.MAX_BATCH_ENROLLMENT;
+
+/**
+ * DTO representing a whole timetable submitted by a student in one request.
+ *
+ * <p>
+ * The sections are validated together, in the given order, so clashes between
+ * sections of the same basket are detected as well as clashes with earlier selections.
+ * </p>
+ *
+ * @param sections the course sections to enroll in; must not be empty
+ */
+public record BatchEnrollRequest(
+        @NotEmpty
+        @Size(max = MAX_BATCH_ENROLLMENT)
+        List<@Valid EnrollCourseRequest> sections
+) {
+}
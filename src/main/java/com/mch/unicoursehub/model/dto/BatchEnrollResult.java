@@ -0,0 +1,33 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.ConstErrors;
+
+/**
+ * DTO representing the outcome of one section of a batch enrollment.
+ *
+ * @param courseCode  the requested course code
+ * @param groupNumber the requested group/section number
+ * @param enrolled    whether the student was enrolled in the section
+ * @param errorCode   the error code if the section was rejected, otherwise {@code null}
+ * @param message     the reason the section was rejected, otherwise {@code null}
+ */
+public record BatchEnrollResult(
+        String courseCode,
+        Integer groupNumber,
+        boolean enrolled,
+        Integer errorCode,
+        String message
+) {
+
+    public static BatchEnrollResult enrolled(EnrollCourseRequest req) {
+        return new BatchEnrollResult(req.courseCode(), req.groupNumber(), true, null, null);
+    }
+
+    public static BatchEnrollResult rejected(EnrollCourseRequest req, int errorCode, String message) {
+        return new BatchEnrollResult(req.courseCode(), req.groupNumber(), false, errorCode, message);
+    }
+
+    public static BatchEnrollResult rejected(EnrollCourseRequest req, ConstErrors.Error error) {
+        return rejected(req, error.getErrorCode(), error.getMessage());
+    }
+}
@@ -0,0 +1,13 @@
+package com.mch.unicoursehub.model.dto;
+
+/**
+ * Projection of the stored state of a shared rate-limit bucket.
+ *
+ * @param state   the serialized bucket state
+ * @param version the version the state was read at
+ */
+public record BucketStateRow(
+        byte[] state,
+        long version
+) {
+}
@@ -0,0 +1,55 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projection of the columns of a course offering shown in the semester catalogue.
+ *
+ * @param offeringId         the id of the course offering
+ * @param semesterId         the id of its semester
+ * @param courseCode         the code of the course
+ * @param courseName         the name of the course
+ * @param professorFirstName the first name of the professor
+ * @param professorLastName  the last name of the professor
+ * @param capacity           the maximum number of students
+ * @param seatsTaken         the number of seats held by non-dropped enrollments
+ * @param examDate           the date and time of the exam
+ * @param classRoom          the classroom of the offering
+ * @param section            the section (group) number
+ */
+public record CatalogueOfferingRow(
+        UUID offeringId,
+        UUID semesterId,
+        String courseCode,
+        String courseName,
+        String professorFirstName,
+        String professorLastName,
+        int capacity,
+        int seatsTaken,
+        LocalDateTime examDate,
+        String classRoom,
+        int section
+) {
+
+    /**
+     * Converts the row into the response DTO.
+     *
+     * @param timeSlotIds the ids of the time slots of the offering
+     * @return the course offering response
+     */
+    public CourseOfferingResponse toResponse(List<UUID> timeSlotIds) {
+        return CourseOfferingResponse.builder()
+                .courseCode(courseCode)
+                .courseName(courseName)
+                .professorName(professorFirstName + " " + professorLastName)
+                .capacity(capacity)
+                .examDate(examDate)
+                .classroomNumber(Integer.parseInt(classRoom))
+                .groupNumber(section)
+                .timeSlotIds(timeSlotIds)
+                .seatsTaken(seatsTaken)
+                .build();
+    }
+}
@@ -23,6 +23,7 @@ import java.util.UUID;
  * @param classroomNumber the classroom number where the course takes place
  * @param groupNumber    the group number of this course offering
  * @param timeSlotIds    list of IDs representing the scheduled time slots for this course offering
+ * @param seatsTaken     the number of seats currently held by enrolled students
  */
 @Builder
 public record CourseOfferingResponse(
@@ -33,6 +34,7 @@ public record CourseOfferingResponse(
         LocalDateTime examDate,
         int classroomNumber,
         int groupNumber,
-        List<UUID> timeSlotIds
+        List<UUID> timeSlotIds,
+        int seatsTaken
 ) {
 }
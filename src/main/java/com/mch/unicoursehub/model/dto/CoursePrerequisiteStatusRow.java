@@ -0,0 +1,26 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection describing one prerequisite of one of several courses and whether a student has passed it.
+ *
+ * @param courseId       the id of the course that has the prerequisite
+ * @param prerequisiteId the id of the prerequisite course
+ * @param code           the code of the prerequisite course
+ * @param passed         whether the student has a PASSED enrollment for the prerequisite course
+ */
+public record CoursePrerequisiteStatusRow(
+        UUID courseId,
+        UUID prerequisiteId,
+        String code,
+        boolean passed
+) {
+
+    /**
+     * Returns the row without the course id, as used by a single-course {@link RegistrationContext}.
+     */
+    public PrerequisiteStatusRow toStatusRow() {
+        return new PrerequisiteStatusRow(prerequisiteId, code, passed);
+    }
+}
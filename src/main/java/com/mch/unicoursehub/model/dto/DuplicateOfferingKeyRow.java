@@ -0,0 +1,12 @@
+package com.mch.unicoursehub.model.dto;
+
+/**
+ * Projection of a natural key shared by several course offerings.
+ *
+ * @param semesterName the name of the semester
+ * @param courseCode   the code of the course
+ * @param section      the section number
+ * @param offerings    the number of offerings using the key
+ */
+public record DuplicateOfferingKeyRow(String semesterName, String courseCode, int section, long offerings) {
+}
@@ -0,0 +1,35 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection row used to build a {@link RegistrationContext}.
+ *
+ * <p>
+ * One row is produced per (enrollment, time slot) pair of a student in a semester.
+ * Offerings without time slots produce a single row with a {@code null} slot id.
+ * </p>
+ *
+ * @param enrollmentId the id of the enrollment
+ * @param offeringId   the id of the enrolled course offering
+ * @param courseId     the id of the offered course
+ * @param status       the enrollment status
+ * @param examDate     the exam date of the offering
+ * @param unit         the number of units of the course
+ * @param slotMask     the weekly schedule mask of the offering
+ * @param timeSlotId   the id of one of the offering's time slots, or {@code null}
+ */
+public record EnrollmentContextRow(
+        UUID enrollmentId,
+        UUID offeringId,
+        UUID courseId,
+        EnrollmentStatus status,
+        LocalDateTime examDate,
+        int unit,
+        long slotMask,
+        UUID timeSlotId
+) {
+}
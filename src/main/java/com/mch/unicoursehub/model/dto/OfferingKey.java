@@ -0,0 +1,26 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.Locale;
+
+/**
+ * Natural key of a course offering inside a semester.
+ *
+ * <p>
+ * Course codes are compared case-insensitively, as the admin and professor
+ * endpoints have always done; use {@link #normalized()} to compare keys.
+ * </p>
+ *
+ * @param courseCode the code of the course
+ * @param section    the section (group) number
+ */
+public record OfferingKey(String courseCode, int section) {
+
+    /**
+     * Returns this key with the course code trimmed and lower-cased.
+     *
+     * @return the normalized key
+     */
+    public OfferingKey normalized() {
+        return new OfferingKey(courseCode.trim().toLowerCase(Locale.ROOT), section);
+    }
+}
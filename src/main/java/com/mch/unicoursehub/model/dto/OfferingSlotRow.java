@@ -0,0 +1,12 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection of one time slot assignment of a course offering.
+ *
+ * @param offeringId the id of the course offering
+ * @param timeSlotId the id of the assigned time slot
+ */
+public record OfferingSlotRow(UUID offeringId, UUID timeSlotId) {
+}
@@ -0,0 +1,39 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.List;
+
+/**
+ * Virtual thread pinning recorded since startup, served by the {@code pinning} actuator endpoint.
+ *
+ * @param enabled     whether pinning is being recorded
+ * @param thresholdMs pinning shorter than this is not recorded
+ * @param events      number of recorded pinning events
+ * @param totalMs     time virtual threads spent pinned, in milliseconds
+ * @param sites       the places pinning happened, longest total time first
+ */
+public record PinningReport(
+        boolean enabled,
+        long thresholdMs,
+        long events,
+        double totalMs,
+        List<Site> sites
+) {
+
+    /**
+     * Pinning events grouped by the frame that caused them.
+     *
+     * @param site    the first application frame of the stack, or the top frame if there is none
+     * @param events  number of events
+     * @param totalMs time spent pinned, in milliseconds
+     * @param maxMs   longest single event, in milliseconds
+     * @param stack   the top frames of the first event recorded at this site
+     */
+    public record Site(
+            String site,
+            long events,
+            double totalMs,
+            double maxMs,
+            List<String> stack
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection pairing a course with the code of one of its prerequisites.
+ *
+ * @param courseId         the id of the course that requires the prerequisite
+ * @param prerequisiteCode the code of the prerequisite course
+ */
+public record PrerequisiteCodeRow(
+        UUID courseId,
+        String prerequisiteCode
+) {
+}
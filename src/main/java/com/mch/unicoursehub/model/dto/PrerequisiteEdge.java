@@ -0,0 +1,15 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection of a single prerequisite relation as a directed edge.
+ *
+ * @param courseId       the id of the course that requires the prerequisite
+ * @param prerequisiteId the id of the prerequisite course
+ */
+public record PrerequisiteEdge(
+        UUID courseId,
+        UUID prerequisiteId
+) {
+}
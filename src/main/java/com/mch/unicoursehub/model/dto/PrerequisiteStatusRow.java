@@ -0,0 +1,17 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection describing one prerequisite of a course and whether a student has passed it.
+ *
+ * @param courseId the id of the prerequisite course
+ * @param code     the code of the prerequisite course
+ * @param passed   whether the student has a PASSED enrollment for the prerequisite course
+ */
+public record PrerequisiteStatusRow(
+        UUID courseId,
+        String code,
+        boolean passed
+) {
+}
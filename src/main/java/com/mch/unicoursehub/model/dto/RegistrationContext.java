@@ -0,0 +1,85 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Compact, per-student snapshot of everything needed to validate a single enrollment.
+ *
+ * <p>
+ * The context is loaded once per enroll call and all registration rules are evaluated
+ * in memory against it, so the number of statements does not depend on the length of
+ * the student's history.
+ * </p>
+ *
+ * @param selections    the student's enrollments in the target semester (any status)
+ * @param prerequisites the prerequisites of the target course, in declaration order
+ */
+public record RegistrationContext(
+        List<Selection> selections,
+        List<PrerequisiteStatusRow> prerequisites
+) {
+
+    /**
+     * A single enrollment of the student in the target semester.
+     *
+     * @param offeringId  the id of the course offering
+     * @param courseId    the id of the course
+     * @param status      the enrollment status
+     * @param examDate    the exam date of the offering
+     * @param unit        the number of units of the course
+     * @param slotMask    the weekly schedule mask of the offering
+     * @param timeSlotIds the ids of the offering's time slots
+     */
+    public record Selection(
+            UUID offeringId,
+            UUID courseId,
+            EnrollmentStatus status,
+            LocalDateTime examDate,
+            int unit,
+            long slotMask,
+            Set<UUID> timeSlotIds
+    ) {
+    }
+
+    /**
+     * Builds a context from flat projection rows.
+     *
+     * @param rows          one row per (enrollment, time slot) pair
+     * @param prerequisites prerequisite status rows of the target course
+     * @return the assembled registration context
+     */
+    public static RegistrationContext of(
+            List<EnrollmentContextRow> rows,
+            List<PrerequisiteStatusRow> prerequisites
+    ) {
+        Map<UUID, List<EnrollmentContextRow>> byEnrollment = new LinkedHashMap<>();
+        for (EnrollmentContextRow row : rows) {
+            byEnrollment.computeIfAbsent(row.enrollmentId(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<Selection> selections = new ArrayList<>(byEnrollment.size());
+        for (List<EnrollmentContextRow> group : byEnrollment.values()) {
+            EnrollmentContextRow first = group.getFirst();
+            Set<UUID> slots = new HashSet<>();
+            for (EnrollmentContextRow row : group) {
+                if (row.timeSlotId() != null) {
+                    slots.add(row.timeSlotId());
+                }
+            }
+            selections.add(new Selection(
+                    first.offeringId(),
+                    first.courseId(),
+                    first.status(),
+                    first.examDate(),
+                    first.unit(),
+                    first.slotMask(),
+                    slots
+            ));
+        }
+
+        return new RegistrationContext(List.copyOf(selections), List.copyOf(prerequisites));
+    }
+}
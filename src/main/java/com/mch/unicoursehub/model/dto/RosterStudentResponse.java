@@ -0,0 +1,24 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+
+/**
+ * DTO representing a student on the roster of a course offering.
+ *
+ * <p>
+ * Read directly from the database with a projection query, so listing a roster
+ * loads no user entities and decrypts no national codes.
+ * </p>
+ *
+ * @param firstName  the student's first name
+ * @param lastName   the student's last name
+ * @param userNumber the student's user number
+ * @param status     the status of the student's enrollment in the offering
+ */
+public record RosterStudentResponse(
+        String firstName,
+        String lastName,
+        String userNumber,
+        EnrollmentStatus status
+) {
+}
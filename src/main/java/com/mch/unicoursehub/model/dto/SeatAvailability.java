@@ -0,0 +1,21 @@
+package com.mch.unicoursehub.model.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO carrying the seat availability of a course offering, as pushed by the seat feed.
+ *
+ * @param offeringId  the id of the course offering
+ * @param courseCode  the code of the course
+ * @param groupNumber the group number of the offering
+ * @param capacity    the maximum number of students allowed in the offering
+ * @param seatsLeft   the number of seats still free
+ */
+public record SeatAvailability(
+        UUID offeringId,
+        String courseCode,
+        int groupNumber,
+        int capacity,
+        int seatsLeft
+) {
+}
@@ -0,0 +1,10 @@
+package com.mch.unicoursehub.model.dto;
+
+/**
+ * The serialized time slot grid, as returned by {@code GET /time-slots}.
+ *
+ * @param body the JSON body, a list of {@link TimeSlotByDayResponseDto}
+ * @param etag the strong entity tag of the body, including quotes
+ */
+public record TimeSlotGrid(byte[] body, String etag) {
+}
@@ -0,0 +1,55 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.mch.unicoursehub.ConstErrors.invalidCursor;
+
+/**
+ * Position in the user list, which is ordered by last name (case-insensitive) and then by user number.
+ *
+ * <p>
+ * Sent to clients as an opaque URL-safe string; the next page starts right after this position.
+ * </p>
+ *
+ * @param lastName   the last name of the last user returned
+ * @param userNumber the user number of the last user returned
+ */
+public record UserListCursor(
+        String lastName,
+        String userNumber
+) {
+
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lastName + SEPARATOR + userNumber).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static UserListCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0)
+                throw new BadRequestException(invalidCursor);
+            return new UserListCursor(value.substring(0, separator), value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(invalidCursor);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mch.unicoursehub.model.dto;
+
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.utils.EncryptionUtil;
+
+/**
+ * Projection of the columns needed to list a user, read without hydrating the entity.
+ *
+ * @param firstName             the user's first name
+ * @param lastName              the user's last name
+ * @param phoneNumber           the user's phone number
+ * @param encryptedNationalCode the user's national code as stored in the database
+ * @param userNumber            the unique identifier for the user
+ * @param role                  the role assigned to the user
+ */
+public record UserListRow(
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String encryptedNationalCode,
+        String userNumber,
+        Role role
+) {
+
+    /**
+     * Converts the row into the response DTO, decrypting the national code.
+     *
+     * @return the user list response
+     */
+    public UserListResponse toResponse() {
+        return UserListResponse.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .phoneNumber(phoneNumber)
+                .nationalCode(EncryptionUtil.decrypt(encryptedNationalCode))
+                .userNumber(userNumber)
+                .role(role)
+                .build();
+    }
+}
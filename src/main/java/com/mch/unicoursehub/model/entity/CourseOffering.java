@@ -1,7 +1,9 @@
 package com.mch.unicoursehub.model.entity;
 
+import com.mch.unicoursehub.utils.WeeklySchedule;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,7 +19,16 @@ import java.util.UUID;
  * </p>
  */
 @Entity
-@Table(name = "course_offerings")
+@Table(
+        name = "course_offerings",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_course_offerings_semester_course_section",
+                        columnNames = {"semester_id", "course_id", "section"}
+                )
+        },
+        indexes = @Index(name = "idx_course_offerings_professor_semester", columnList = "professor_id, semester_id")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -63,6 +74,19 @@ public class CourseOffering {
     private int capacity;
 
 
+    /**
+     * Number of seats currently held by non-dropped enrollments.
+     *
+     * <p>
+     * Never written through the entity; it is only changed by the conditional
+     * updates in {@code CourseOfferingRepository}, so concurrent enrollments
+     * can not push it above {@link #capacity}.
+     * </p>
+     */
+    @Column(name = "seats_taken", nullable = false, updatable = false)
+    private int seatsTaken;
+
+
     /**
      * Scheduled exam date and time for this course offering.
      */
@@ -70,7 +94,7 @@ public class CourseOffering {
     private LocalDateTime examDate;
 
     /**
-     * Section number of this offering.
+     * Section number of this offering, unique per course within a semester.
      */
     private int section;
 
@@ -91,6 +115,19 @@ public class CourseOffering {
     private List<TimeSlot> timeSlots = new ArrayList<>();
 
 
+    /**
+     * Weekly schedule of the time slots as a {@link WeeklySchedule} bit mask.
+     *
+     * <p>
+     * Set together with {@link #timeSlots}, so schedule clashes between offerings
+     * can be checked with a single {@code AND} before looking at individual slots.
+     * </p>
+     */
+    @ColumnDefault("0")
+    @Column(name = "slot_mask", nullable = false)
+    private long slotMask;
+
+
     /**
      * List of student enrollments in this course offering.
      */
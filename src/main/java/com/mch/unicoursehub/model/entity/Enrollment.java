@@ -15,7 +15,7 @@ import java.util.UUID;
  * </p>
  */
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", indexes = @Index(name = "idx_enrollments_offering_status", columnList = "course_offering_id, status"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
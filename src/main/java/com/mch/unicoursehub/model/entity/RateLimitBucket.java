@@ -0,0 +1,49 @@
+package com.mch.unicoursehub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the serialized state of a rate-limit bucket shared by all instances.
+ *
+ * <p>
+ * Rows are only written through compare-and-swap updates on {@link #version}; see
+ * {@link com.mch.unicoursehub.security.ratelimit.JdbcBucketStore}.
+ * </p>
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = @Index(name = "idx_rate_limit_buckets_expires_at", columnList = "expires_at"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RateLimitBucket {
+
+    /**
+     * Namespaced bucket key, e.g. {@code api:<token uuid>}.
+     */
+    @Id
+    @Column(name = "bucket_key", length = 255)
+    String key;
+
+    /**
+     * Bucket4j state of the bucket.
+     */
+    @Column(name = "state", nullable = false, length = 1024)
+    byte[] state;
+
+    /**
+     * Incremented on every update of {@link #state}.
+     */
+    @Column(name = "version", nullable = false)
+    long version;
+
+    /**
+     * Epoch millis after which the bucket is considered idle and may be purged.
+     */
+    @Column(name = "expires_at", nullable = false)
+    long expiresAt;
+}
@@ -16,11 +16,15 @@ import java.util.UUID;
  *
  * <p>
  * Contains information about the token UUID, type, associated user, creation timestamp,
- * and whether the token has been revoked.
+ * expiry, and whether the token has been revoked.
  * </p>
  */
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+        @Index(name = "idx_tokens_uuid_type", columnList = "uuid, type"),
+        @Index(name = "idx_tokens_uid_creation_time", columnList = "uid, creation_time"),
+        @Index(name = "idx_tokens_expires_at", columnList = "expires_at")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -54,6 +58,13 @@ public class Token {
     @CreationTimestamp
     LocalDateTime creationTime;
 
+    /**
+     * Timestamp after which the JWT of this token is no longer accepted and the row can be purged.
+     * Empty for rows created before the column existed.
+     */
+    @Column(name = "expires_at")
+    LocalDateTime expiresAt;
+
     /**
      * The user associated with this token.
      */
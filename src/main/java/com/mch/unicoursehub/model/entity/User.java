@@ -2,7 +2,7 @@ package com.mch.unicoursehub.model.entity;
 
 import com.mch.unicoursehub.model.dto.UserListResponse;
 import com.mch.unicoursehub.model.enums.Role;
-import com.mch.unicoursehub.utils.EncryptionConverter;
+import com.mch.unicoursehub.utils.EncryptionUtil;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -67,10 +67,29 @@ public class User implements UserDetails {
     String password;
 
     /**
-     * National code of the user, stored encrypted in the database.
+     * National code of the user as stored in the database (AES, Base64).
+     * Decrypted on first access through {@link #getNationalCode()}.
      */
-    @Convert(converter = EncryptionConverter.class)
-    @Column(name = "national_code", nullable = false, unique = true, length = 250)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "national_code", nullable = false, length = 250)
+    String encryptedNationalCode;
+
+    /**
+     * Blind index of the national code, used for unique lookups without decryption.
+     * Nullable only until existing rows are backfilled on startup.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "national_code_hash", unique = true, length = 64)
+    String nationalCodeHash;
+
+    /**
+     * Plain national code; set on write or decrypted lazily on first read.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
     String nationalCode;
 
     /**
@@ -129,6 +148,35 @@ public class User implements UserDetails {
     @Override
     public boolean isEnabled() {return true;}
 
+    // ===================== National Code =====================
+
+    /**
+     * Returns the national code, decrypting it on first access.
+     */
+    public String getNationalCode() {
+        if (nationalCode == null && encryptedNationalCode != null)
+            nationalCode = EncryptionUtil.decrypt(encryptedNationalCode);
+        return nationalCode;
+    }
+
+    /**
+     * Sets the national code together with its encrypted form and blind index.
+     */
+    public void setNationalCode(String nationalCode) {
+        this.nationalCode = nationalCode;
+        this.encryptedNationalCode = nationalCode == null ? null : EncryptionUtil.encrypt(nationalCode);
+        this.nationalCodeHash = nationalCode == null ? null : EncryptionUtil.blindIndex(nationalCode);
+    }
+
+    /**
+     * Encrypts a national code that was set through the builder.
+     */
+    @PrePersist
+    void encryptNationalCode() {
+        if (nationalCode != null && encryptedNationalCode == null)
+            setNationalCode(nationalCode);
+    }
+
     // ===================== Custom Methods =====================
 
     /**
@@ -151,13 +199,30 @@ public class User implements UserDetails {
         this.userNumber = userNumber;
     }
 
+    /**
+     * Constructor to create a user with the fields tokens are issued from.
+     *
+     * @param uid the unique identifier of the user
+     * @param userNumber the user number of the user
+     * @param firstName the first name of the user
+     * @param lastName the last name of the user
+     * @param role the role of the user
+     */
+    public User(UUID uid, String userNumber, String firstName, String lastName, Role role) {
+        this.uid = uid;
+        this.userNumber = userNumber;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+    }
+
     public UserListResponse convertToUserListResponse(){
         return UserListResponse.builder()
                 .firstName(firstName)
                 .lastName(lastName)
                 .phoneNumber(phoneNumber)
                 .userNumber(userNumber)
-                .nationalCode(nationalCode)
+                .nationalCode(getNationalCode())
                 .role(role)
                 .build();
     }
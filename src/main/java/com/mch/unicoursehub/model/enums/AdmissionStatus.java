@@ -0,0 +1,17 @@
+package com.mch.unicoursehub.model.enums;
+
+/**
+ * State of an enrollment passing through the admission queue.
+ */
+public enum AdmissionStatus {
+    /** Waiting for a free slot of its semester. */
+    QUEUED,
+    /** Being processed. */
+    RUNNING,
+    /** Completed successfully. */
+    SUCCEEDED,
+    /** Completed with an error; the ticket carries the error code and message. */
+    FAILED,
+    /** Not accepted because the queue of the semester is full. */
+    FULL
+}
@@ -1,12 +1,28 @@
 package com.mch.unicoursehub.repository;
 
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.model.dto.DuplicateOfferingKeyRow;
+import com.mch.unicoursehub.model.dto.OfferingKey;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
 import com.mch.unicoursehub.model.entity.CourseOffering;
 import com.mch.unicoursehub.model.entity.Course;
 import com.mch.unicoursehub.model.entity.Semester;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Repository interface for {@link CourseOffering} entity.
@@ -27,6 +43,109 @@ public interface CourseOfferingRepository extends JpaRepository<CourseOffering,
      */
     int countByCourseAndSemester(Course course, Semester semester);
 
+    /**
+     * Returns the highest section number of a course in a semester.
+     *
+     * @param course the course entity
+     * @param semester the semester entity
+     * @return the highest section number, or 0 if the course has no offering in the semester
+     */
+    @Query("select coalesce(max(o.section), 0) from CourseOffering o where o.course = :course and o.semester = :semester")
+    int findMaxSection(@Param("course") Course course, @Param("semester") Semester semester);
+
+    /**
+     * Finds a course offering of a semester by its natural key.
+     *
+     * <p>
+     * The course code is compared case-insensitively. The course, semester and professor
+     * are fetched in the same statement, and the offering row itself is resolved through
+     * the unique (semester, course, section) index.
+     * </p>
+     *
+     * @param semester the semester entity
+     * @param courseCode the code of the course
+     * @param section the section number
+     * @return optional course offering matching the key
+     */
+    @Query("""
+            select o from CourseOffering o
+            join fetch o.course c
+            join fetch o.semester
+            join fetch o.professor
+            where o.semester = :semester
+              and lower(c.code) = lower(:courseCode)
+              and o.section = :section
+            """)
+    Optional<CourseOffering> findByNaturalKey(@Param("semester") Semester semester,
+                                              @Param("courseCode") String courseCode,
+                                              @Param("section") int section);
+
+    /**
+     * Finds the course offerings of a semester whose course code and section are among the given values.
+     *
+     * <p>
+     * Every code/section combination matches, so the result can contain offerings that
+     * were not asked for; use {@link #findAllByNaturalKeys} to get exactly the requested keys.
+     * </p>
+     *
+     * @param semester the semester entity
+     * @param courseCodes the lower-cased course codes
+     * @param sections the section numbers
+     * @return the matching offerings with their course, semester and professor
+     */
+    @Query("""
+            select o from CourseOffering o
+            join fetch o.course c
+            join fetch o.semester
+            join fetch o.professor
+            where o.semester = :semester
+              and lower(c.code) in :courseCodes
+              and o.section in :sections
+            """)
+    List<CourseOffering> findBySemesterAndCodesAndSections(@Param("semester") Semester semester,
+                                                           @Param("courseCodes") Collection<String> courseCodes,
+                                                           @Param("sections") Collection<Integer> sections);
+
+    /**
+     * Resolves many natural keys of a semester with a single query.
+     *
+     * <p>
+     * Keys without an offering are left out of the returned map. The map is keyed by the
+     * given {@link OfferingKey} instances, in the order they were passed. Course codes match
+     * ignoring case; if several courses share a code up to case, the one spelled exactly as
+     * the key wins, otherwise the first one found.
+     * </p>
+     *
+     * @param semester the semester entity
+     * @param keys the natural keys to resolve
+     * @return the found offerings by key
+     */
+    default Map<OfferingKey, CourseOffering> findAllByNaturalKeys(Semester semester, Collection<OfferingKey> keys) {
+        if (keys.isEmpty())
+            return Map.of();
+
+        Set<String> codes = keys.stream().map(k -> k.normalized().courseCode()).collect(Collectors.toSet());
+        Set<Integer> sections = keys.stream().map(OfferingKey::section).collect(Collectors.toSet());
+
+        Map<OfferingKey, List<CourseOffering>> byKey = findBySemesterAndCodesAndSections(semester, codes, sections)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        o -> new OfferingKey(o.getCourse().getCode(), o.getSection()).normalized()));
+
+        Map<OfferingKey, CourseOffering> result = new LinkedHashMap<>();
+        for (OfferingKey key : keys) {
+            List<CourseOffering> candidates = byKey.get(key.normalized());
+            if (candidates == null)
+                continue;
+            String code = key.courseCode().trim();
+            result.put(key, candidates.stream()
+                    .filter(o -> o.getCourse().getCode().equals(code))
+                    .findFirst()
+                    .orElse(candidates.getFirst()));
+        }
+        return result;
+    }
+
     /**
      * Finds all course offerings in a given semester.
      *
@@ -35,6 +154,86 @@ public interface CourseOfferingRepository extends JpaRepository<CourseOffering,
      */
     List<CourseOffering> findBySemester(Semester semester);
 
+    /**
+     * Reads the catalogue columns of every course offering in a semester, without loading entities.
+     *
+     * @param semesterId the id of the semester
+     * @return one row per offering, ordered by course code and section
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.CatalogueOfferingRow(
+                o.id, s.id, c.code, c.name, p.firstName, p.lastName,
+                o.capacity, o.seatsTaken, o.examDate, o.classRoom, o.section)
+            from CourseOffering o join o.semester s join o.course c join o.professor p
+            where s.id = :semesterId
+            order by c.code, o.section
+            """)
+    List<CatalogueOfferingRow> findCatalogueRows(@Param("semesterId") UUID semesterId);
+
+    /**
+     * Reads the catalogue columns of the course offerings a professor teaches in a semester.
+     *
+     * @param semesterId  the id of the semester
+     * @param professorId the id of the professor
+     * @return one row per offering, ordered by course code and section
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.CatalogueOfferingRow(
+                o.id, s.id, c.code, c.name, p.firstName, p.lastName,
+                o.capacity, o.seatsTaken, o.examDate, o.classRoom, o.section)
+            from CourseOffering o join o.semester s join o.course c join o.professor p
+            where s.id = :semesterId and p.uid = :professorId
+            order by c.code, o.section
+            """)
+    List<CatalogueOfferingRow> findCatalogueRowsOfProfessor(@Param("semesterId") UUID semesterId,
+                                                            @Param("professorId") UUID professorId);
+
+    /**
+     * Reads the catalogue columns of a single course offering.
+     *
+     * @param id the id of the course offering
+     * @return the row, or empty if the offering does not exist
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.CatalogueOfferingRow(
+                o.id, s.id, c.code, c.name, p.firstName, p.lastName,
+                o.capacity, o.seatsTaken, o.examDate, o.classRoom, o.section)
+            from CourseOffering o join o.semester s join o.course c join o.professor p
+            where o.id = :id
+            """)
+    Optional<CatalogueOfferingRow> findCatalogueRow(@Param("id") UUID id);
+
+    /**
+     * Reads the seat counter of a single course offering.
+     *
+     * @param id the id of the course offering
+     * @return the number of seats taken, or empty if the offering does not exist
+     */
+    @Query("select o.seatsTaken from CourseOffering o where o.id = :id")
+    Optional<Integer> findSeatsTaken(@Param("id") UUID id);
+
+    /**
+     * Reads the time slot assignments of every course offering in a semester.
+     *
+     * @param semesterId the id of the semester
+     * @return one row per offering and time slot
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.OfferingSlotRow(o.id, t.id)
+            from CourseOffering o join o.timeSlots t
+            where o.semester.id = :semesterId
+            """)
+    List<OfferingSlotRow> findSlotRows(@Param("semesterId") UUID semesterId);
+
+    /**
+     * Reads the ids of the time slots assigned to a course offering.
+     *
+     * @param id the id of the course offering
+     * @return the time slot ids
+     */
+    @Query("select t.id from CourseOffering o join o.timeSlots t where o.id = :id")
+    List<UUID> findSlotIds(@Param("id") UUID id);
+
     /**
      * Finds a course offering by course code and section.
      *
@@ -50,17 +249,49 @@ public interface CourseOfferingRepository extends JpaRepository<CourseOffering,
     /**
      * Finds a course offering by course code, section, and semester name.
      *
+     * <p>
+     * The course, semester, professor and time slots are fetched in the same statement,
+     * so validations on the returned offering do not trigger further selects.
+     * </p>
+     *
      * @param courseCode the code of the course
      * @param section the section number
      * @param semesterName the name of the semester
      * @return optional course offering matching all criteria
      */
+    @EntityGraph(attributePaths = {"course", "semester", "professor", "timeSlots"})
     Optional<CourseOffering> findByCourse_CodeAndSectionAndSemester_Name(
             String courseCode,
             int section,
             String semesterName
     );
 
+    /**
+     * Finds the id of a course offering by its natural key, if it is taught by the given professor.
+     *
+     * <p>
+     * The course code is compared case-insensitively. Offerings of other professors are
+     * not found, so callers cannot tell them apart from missing ones.
+     * </p>
+     *
+     * @param semesterName the name of the semester
+     * @param courseCode the code of the course
+     * @param section the section number
+     * @param professorId the id of the professor
+     * @return the id of the offering, or empty if there is no such offering of the professor
+     */
+    @Query("""
+            select o.id from CourseOffering o
+            where o.semester.name = :semesterName
+              and lower(o.course.code) = lower(:courseCode)
+              and o.section = :section
+              and o.professor.uid = :professorId
+            """)
+    Optional<UUID> findIdOfProfessorOffering(@Param("semesterName") String semesterName,
+                                             @Param("courseCode") String courseCode,
+                                             @Param("section") int section,
+                                             @Param("professorId") UUID professorId);
+
     /**
      * Checks if a course offering exists for a given course and semester,
      * excluding a specific offering by its ID.
@@ -75,4 +306,112 @@ public interface CourseOfferingRepository extends JpaRepository<CourseOffering,
             Semester semester,
             UUID id
     );
-}
\ No newline at end of file
+
+    /**
+     * Atomically reserves one seat of a course offering if it is not full.
+     *
+     * <p>
+     * The capacity check and the increment happen in a single conditional update,
+     * so the seat counter never exceeds the capacity under concurrent enrollments.
+     * </p>
+     *
+     * @param id the ID of the course offering
+     * @return 1 if a seat was reserved, 0 if the offering is full
+     */
+    @Modifying
+    @Query("update CourseOffering o set o.seatsTaken = o.seatsTaken + 1 where o.id = :id and o.seatsTaken < o.capacity")
+    int reserveSeat(@Param("id") UUID id);
+
+    /**
+     * Atomically releases one reserved seat of a course offering.
+     *
+     * @param id the ID of the course offering
+     * @return 1 if a seat was released, 0 if no seat was reserved
+     */
+    @Modifying
+    @Query("update CourseOffering o set o.seatsTaken = o.seatsTaken - 1 where o.id = :id and o.seatsTaken > 0")
+    int releaseSeat(@Param("id") UUID id);
+
+    /**
+     * Reads the time slot assignments of several course offerings.
+     *
+     * @param offeringIds the ids of the course offerings
+     * @return one row per offering and time slot
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.OfferingSlotRow(o.id, t.id)
+            from CourseOffering o join o.timeSlots t
+            where o.id in :offeringIds
+            """)
+    List<OfferingSlotRow> findSlotRowsByOfferingIds(@Param("offeringIds") Collection<UUID> offeringIds);
+
+    /**
+     * Reads the time slot assignments of the course offerings whose schedule mask is not set.
+     *
+     * @return one row per offering and time slot
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.OfferingSlotRow(o.id, t.id)
+            from CourseOffering o join o.timeSlots t
+            where o.slotMask = 0
+            """)
+    List<OfferingSlotRow> findSlotRowsWithoutMask();
+
+    /**
+     * Sets the schedule mask of a course offering.
+     *
+     * @param id the ID of the course offering
+     * @param slotMask the weekly schedule mask of its time slots
+     * @return the number of updated offerings
+     */
+    @Modifying
+    @Transactional
+    @Query("update CourseOffering o set o.slotMask = :slotMask where o.id = :id")
+    int updateSlotMask(@Param("id") UUID id, @Param("slotMask") long slotMask);
+
+    /**
+     * Locks every course offering row until the end of the transaction, so no seat can be
+     * reserved or released on any instance while the seat counters are recounted.
+     *
+     * @return the IDs of the locked course offerings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id from CourseOffering o")
+    List<UUID> lockAll();
+
+    /**
+     * Recomputes the seat counter of every course offering from its non-dropped enrollments.
+     *
+     * @return the number of updated offerings
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update CourseOffering o set o.seatsTaken = (
+                select count(e) from Enrollment e
+                where e.courseOffering = o
+                  and e.status <> com.mch.unicoursehub.model.enums.EnrollmentStatus.DROPPED
+            )
+            """)
+    int recountSeats();
+
+    /**
+     * Finds natural keys (semester, course, section) used by more than one offering.
+     *
+     * <p>
+     * Such rows predate the {@code uk_course_offerings_semester_course_section} constraint
+     * and keep it from being created.
+     * </p>
+     *
+     * @return one row per duplicated key
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.DuplicateOfferingKeyRow(s.name, c.code, o.section, count(o))
+            from CourseOffering o
+            join o.semester s
+            join o.course c
+            group by s.id, s.name, c.id, c.code, o.section
+            having count(o) > 1
+            """)
+    List<DuplicateOfferingKeyRow> findDuplicateNaturalKeys();
+}
@@ -2,6 +2,7 @@ package com.mch.unicoursehub.repository;
 
 import com.mch.unicoursehub.model.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,11 +14,12 @@ import java.util.UUID;
  *
  * <p>
  * Provides methods for CRUD operations and custom queries related to courses,
- * including finding by course code and checking existence.
+ * including finding by course code and checking existence. Catalogue filtering
+ * is done with {@link com.mch.unicoursehub.repository.specification.CourseSpecifications}.
  * </p>
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, UUID> {
+public interface CourseRepository extends JpaRepository<Course, UUID>, JpaSpecificationExecutor<Course> {
 
     /**
      * Finds a course by its unique code.
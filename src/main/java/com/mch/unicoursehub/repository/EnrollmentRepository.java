@@ -1,8 +1,14 @@
 package com.mch.unicoursehub.repository;
 
+import com.mch.unicoursehub.model.dto.EnrollmentContextRow;
+import com.mch.unicoursehub.model.dto.RosterStudentResponse;
 import com.mch.unicoursehub.model.entity.*;
 import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -155,4 +161,91 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
             EnrollmentStatus status
     );
 
+    /**
+     * Loads the flat registration-context rows of a student in a semester.
+     *
+     * <p>
+     * Returns one row per (enrollment, time slot) pair, including the offering's exam date
+     * and the course unit, so that enrollment rules can be evaluated without touching
+     * lazy associations.
+     * </p>
+     *
+     * @param student the student entity
+     * @param semester the semester entity
+     * @return registration-context rows of the student in the semester
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.EnrollmentContextRow(
+                e.id, o.id, c.cid, e.status, o.examDate, c.unit, o.slotMask, ts.id)
+            from Enrollment e
+            join e.courseOffering o
+            join o.course c
+            left join o.timeSlots ts
+            where e.student = :student and o.semester = :semester
+            """)
+    List<EnrollmentContextRow> findRegistrationContextRows(
+            @Param("student") User student,
+            @Param("semester") Semester semester
+    );
+
+    /**
+     * Returns the roster of a course offering: every student whose enrollment is not dropped,
+     * ordered by last name (case-insensitive) and user number.
+     *
+     * @param offeringId the id of the course offering
+     * @return the roster rows
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.RosterStudentResponse(
+                u.firstName, u.lastName, u.userNumber, e.status)
+            from Enrollment e join e.student u
+            where e.courseOffering.id = :offeringId
+              and e.status <> com.mch.unicoursehub.model.enums.EnrollmentStatus.DROPPED
+            order by lower(u.lastName), u.userNumber
+            """)
+    List<RosterStudentResponse> findRoster(@Param("offeringId") UUID offeringId);
+
+    /**
+     * Returns the roster rows of a course offering that come after the given position, in the
+     * order of {@link #findRoster}. Passing {@code null} as last name starts from the beginning.
+     *
+     * @param offeringId      the id of the course offering
+     * @param afterLastName   the last name of the last row already returned, or {@code null}
+     * @param afterUserNumber the user number of the last row already returned
+     * @param limit           the maximum number of rows
+     * @return the next roster rows
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.RosterStudentResponse(
+                u.firstName, u.lastName, u.userNumber, e.status)
+            from Enrollment e join e.student u
+            where e.courseOffering.id = :offeringId
+              and e.status <> com.mch.unicoursehub.model.enums.EnrollmentStatus.DROPPED
+              and (:afterLastName is null
+                   or lower(u.lastName) > lower(:afterLastName)
+                   or (lower(u.lastName) = lower(:afterLastName) and u.userNumber > :afterUserNumber))
+            order by lower(u.lastName), u.userNumber
+            """)
+    List<RosterStudentResponse> seekRoster(@Param("offeringId") UUID offeringId,
+                                           @Param("afterLastName") String afterLastName,
+                                           @Param("afterUserNumber") String afterUserNumber,
+                                           Limit limit);
+
+    /**
+     * Marks an enrollment as DROPPED only if it is still SELECTED.
+     *
+     * <p>
+     * Used so that concurrent drops of the same enrollment release its seat only once.
+     * </p>
+     *
+     * @param id the ID of the enrollment
+     * @return 1 if the enrollment was dropped, 0 if it was not in SELECTED status
+     */
+    @Modifying
+    @Query("""
+            update Enrollment e set e.status = com.mch.unicoursehub.model.enums.EnrollmentStatus.DROPPED
+            where e.id = :id and e.status = com.mch.unicoursehub.model.enums.EnrollmentStatus.SELECTED
+            """)
+    int dropIfSelected(@Param("id") UUID id);
+
 }
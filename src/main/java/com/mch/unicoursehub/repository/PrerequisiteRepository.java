@@ -1,10 +1,19 @@
 package com.mch.unicoursehub.repository;
 
+import com.mch.unicoursehub.model.dto.CoursePrerequisiteStatusRow;
+import com.mch.unicoursehub.model.dto.PrerequisiteCodeRow;
+import com.mch.unicoursehub.model.dto.PrerequisiteEdge;
+import com.mch.unicoursehub.model.dto.PrerequisiteStatusRow;
 import com.mch.unicoursehub.model.entity.Course;
 import com.mch.unicoursehub.model.entity.Prerequisite;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,4 +45,101 @@ public interface PrerequisiteRepository extends JpaRepository<Prerequisite, UUID
      * @return list of {@link Prerequisite} entities representing the course's prerequisites
      */
     List<Prerequisite> findByCourse(Course course);
+
+    /**
+     * Lists the prerequisites of a course together with whether the student
+     * has an enrollment with the given status for each of them.
+     *
+     * @param course  the {@link Course} whose prerequisites are checked
+     * @param student the student entity
+     * @param status  the enrollment status that counts as passed (normally PASSED)
+     * @return prerequisite status rows ordered by prerequisite code
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.PrerequisiteStatusRow(
+                pc.cid, pc.code,
+                case when exists (
+                    select 1 from Enrollment e
+                    where e.student = :student
+                      and e.status = :status
+                      and e.courseOffering.course = pc
+                ) then true else false end)
+            from Prerequisite p
+            join p.prerequisite pc
+            where p.course = :course
+            order by pc.code
+            """)
+    List<PrerequisiteStatusRow> findPrerequisiteStatuses(
+            @Param("course") Course course,
+            @Param("student") User student,
+            @Param("status") EnrollmentStatus status
+    );
+
+    /**
+     * Lists the prerequisites of several courses together with whether the student
+     * has an enrollment with the given status for each of them.
+     *
+     * @param courseIds the ids of the courses whose prerequisites are checked
+     * @param student   the student entity
+     * @param status    the enrollment status that counts as passed (normally PASSED)
+     * @return prerequisite status rows ordered by prerequisite code
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.CoursePrerequisiteStatusRow(
+                p.course.cid, pc.cid, pc.code,
+                case when exists (
+                    select 1 from Enrollment e
+                    where e.student = :student
+                      and e.status = :status
+                      and e.courseOffering.course = pc
+                ) then true else false end)
+            from Prerequisite p
+            join p.prerequisite pc
+            where p.course.cid in :courseIds
+            order by pc.code
+            """)
+    List<CoursePrerequisiteStatusRow> findPrerequisiteStatusesOfCourses(
+            @Param("courseIds") Collection<UUID> courseIds,
+            @Param("student") User student,
+            @Param("status") EnrollmentStatus status
+    );
+
+    /**
+     * Loads every prerequisite relation as a lightweight (course, prerequisite) id pair.
+     *
+     * @return all prerequisite edges
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.PrerequisiteEdge(p.course.cid, p.prerequisite.cid)
+            from Prerequisite p
+            """)
+    List<PrerequisiteEdge> findAllEdges();
+
+    /**
+     * Loads the ids of the direct prerequisites of several courses in one query.
+     *
+     * @param courseIds the ids of the courses
+     * @return the distinct ids of their direct prerequisites
+     */
+    @Query("""
+            select distinct p.prerequisite.cid
+            from Prerequisite p
+            where p.course.cid in :courseIds
+            """)
+    List<UUID> findPrerequisiteIds(@Param("courseIds") Collection<UUID> courseIds);
+
+    /**
+     * Loads the prerequisite codes of several courses in one query.
+     *
+     * @param courseIds the ids of the courses
+     * @return (course id, prerequisite code) pairs ordered by prerequisite code
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.PrerequisiteCodeRow(p.course.cid, pc.code)
+            from Prerequisite p
+            join p.prerequisite pc
+            where p.course.cid in :courseIds
+            order by pc.code
+            """)
+    List<PrerequisiteCodeRow> findPrerequisiteCodes(@Param("courseIds") Collection<UUID> courseIds);
 }
@@ -0,0 +1,81 @@
+package com.mch.unicoursehub.repository;
+
+import com.mch.unicoursehub.model.dto.BucketStateRow;
+import com.mch.unicoursehub.model.entity.RateLimitBucket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the shared rate-limit buckets.
+ *
+ * <p>
+ * State is read as a scalar projection so that a retry after a failed swap always sees
+ * the current row, even inside a long-lived persistence context.
+ * </p>
+ */
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.BucketStateRow(b.state, b.version)
+            from RateLimitBucket b
+            where b.key = :key
+            """)
+    Optional<BucketStateRow> findState(@Param("key") String key);
+
+    /**
+     * Inserts a new bucket; fails with a duplicate key error if another instance created it first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into rate_limit_buckets (bucket_key, state, version, expires_at)
+            values (:key, :state, 0, :expiresAt)
+            """, nativeQuery = true)
+    int insert(@Param("key") String key, @Param("state") byte[] state, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Replaces the state only if the row is still at the given version.
+     *
+     * @return 1 if the state was replaced, 0 if another instance updated it first
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update RateLimitBucket b
+            set b.state = :state, b.version = b.version + 1, b.expiresAt = :expiresAt
+            where b.key = :key and b.version = :version
+            """)
+    int compareAndSwap(@Param("key") String key,
+                       @Param("version") long version,
+                       @Param("state") byte[] state,
+                       @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RateLimitBucket b where b.key = :key")
+    int deleteByKey(@Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RateLimitBucket b where b.key like concat(:prefix, '%') and b.expiresAt < :before")
+    int deleteExpiringBefore(@Param("prefix") String prefix, @Param("before") long before);
+
+    /**
+     * Returns the expiry of the rows of a namespace ordered from the most recently used, used
+     * with an offset of the namespace cap to find the oldest rows above the cap.
+     */
+    @Query("select b.expiresAt from RateLimitBucket b where b.key like concat(:prefix, '%') order by b.expiresAt desc")
+    List<Long> findExpiries(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("select count(b) from RateLimitBucket b where b.key like concat(:prefix, '%') and b.expiresAt >= :now")
+    long countActive(@Param("prefix") String prefix, @Param("now") long now);
+}
@@ -3,6 +3,7 @@ package com.mch.unicoursehub.repository;
 import com.mch.unicoursehub.model.entity.Token;
 import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.model.enums.TokenType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,12 +45,85 @@ public interface TokenRepository extends JpaRepository<Token, UUID> {
      */
     List<Token> findByUser(User user);
 
+    /**
+     * Reads the uuids of the tokens of a user, oldest first, without loading entities.
+     *
+     * @param user the User entity
+     * @return the token uuids ordered by creation time
+     */
+    @Query("select t.uuid from Token t where t.user = :user order by t.creationTime, t.tid")
+    List<UUID> findUuidsByUser(@Param("user") User user);
+
+    /**
+     * Deletes all tokens of a user with a single statement.
+     *
+     * @param user the User entity
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from Token t where t.user = :user")
+    int deleteAllByUser(@Param("user") User user);
+
+    /**
+     * Deletes the tokens with the given uuids with a single statement.
+     *
+     * @param uuids the token uuids
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from Token t where t.uuid in :uuids")
+    int deleteAllByUuids(@Param("uuids") Collection<UUID> uuids);
+
+    /**
+     * Finds the uuids of all but the newest {@code keep} tokens of a user.
+     *
+     * @param user the User entity
+     * @param keep the number of tokens to keep, newest by creation time
+     * @return the uuids of the older tokens
+     */
+    @Query("""
+            select t.uuid from Token t
+            where t.user = :user
+              and (select count(n) from Token n
+                   where n.user = :user
+                     and (n.creationTime > t.creationTime
+                          or (n.creationTime = t.creationTime and n.tid > t.tid))) >= :keep
+            """)
+    List<UUID> findUuidsBeyondNewest(@Param("user") User user, @Param("keep") long keep);
+
+    /**
+     * Reads the ids of up to {@code limit} tokens that expired before {@code now}. Rows without
+     * an expiry count as expired once they are older than {@code legacyBefore}.
+     *
+     * @param now          the current time
+     * @param legacyBefore creation time before which rows without expiry are expired
+     * @param limit        the maximum number of ids
+     * @return the ids of expired tokens
+     */
+    @Query("""
+            select t.tid from Token t
+            where t.expiresAt < :now
+               or (t.expiresAt is null and t.creationTime < :legacyBefore)
+            """)
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now,
+                              @Param("legacyBefore") LocalDateTime legacyBefore,
+                              Limit limit);
+
     Optional<Token> findByUuidAndType(UUID uuid, TokenType type);
 
     Optional<Token> findByUuid(UUID uuid);
 
+    /**
+     * Deletes the token with the given uuid and type with a single statement, without loading it.
+     * Of concurrent calls for the same token only one sees the row deleted.
+     *
+     * @param uuid the token uuid
+     * @param type the token type
+     * @return 1 if the token was deleted, 0 if there was no such token
+     */
     @Modifying
-    int deleteByUuidAndType(UUID uuid, TokenType type);
+    @Query("delete from Token t where t.uuid = :uuid and t.type = :type")
+    int deleteByUuidAndType(@Param("uuid") UUID uuid, @Param("type") TokenType type);
 
     @Modifying
     int deleteByUuid(UUID uuid);
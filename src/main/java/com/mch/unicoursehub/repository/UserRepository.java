@@ -1,11 +1,19 @@
 package com.mch.unicoursehub.repository;
 
+import com.mch.unicoursehub.model.dto.UserListRow;
 import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.utils.EncryptionUtil;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,12 +23,32 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUserNumber(String userNumber);
 
     /**
-     * Finds a User by their national ID.
+     * Replaces the password hash of a user.
+     *
+     * @param userNumber the user number of the user
+     * @param password   the new password hash
+     * @return the number of updated users
+     */
+    @Modifying
+    @Query("update User u set u.password = :password where u.userNumber = :userNumber")
+    int updatePassword(@Param("userNumber") String userNumber, @Param("password") String password);
+
+    /**
+     * Finds a User by their national ID through its blind index.
      *
      * @param nationalCode the national ID of the user
      * @return an Optional containing the User if found, or an empty Optional if no user is found
      */
-    Optional<User> findUserByNationalCode(String nationalCode);
+    default Optional<User> findUserByNationalCode(String nationalCode) {
+        return findByNationalCodeHash(EncryptionUtil.blindIndex(nationalCode));
+    }
+
+    Optional<User> findByNationalCodeHash(String nationalCodeHash);
+
+    /**
+     * Finds users stored before the national code blind index existed.
+     */
+    List<User> findByNationalCodeHashIsNull();
 
     /**
      * Finds a User by their user number, returning a limited set of fields (uid, user number).
@@ -32,4 +60,90 @@ public interface UserRepository extends JpaRepository<User, UUID> {
             "FROM User u " +
             "WHERE u.userNumber = :userNumber")
     Optional<User> findByUsernameRef(@Param("userNumber") String userNumber);
+
+    /**
+     * Finds a User by their user number, returning only the fields tokens are issued from
+     * (uid, user number, first name, last name, role).
+     *
+     * @param userNumber the user number of the user
+     * @return an Optional containing the User if found, or an empty Optional if no user is found
+     */
+    @Query("SELECT new com.mch.unicoursehub.model.entity.User(u.uid, u.userNumber, u.firstName, u.lastName, u.role) " +
+            "FROM User u " +
+            "WHERE u.userNumber = :userNumber")
+    Optional<User> findSessionRef(@Param("userNumber") String userNumber);
+
+    /**
+     * Finds users optionally filtered by role and user number.
+     *
+     * @param role       the role to filter by, or {@code null}
+     * @param userNumber the user number to filter by, or {@code null}
+     * @return the matching users
+     */
+    @Query("""
+            select u from User u
+            where (:role is null or u.role = :role)
+              and (:userNumber is null or u.userNumber = :userNumber)
+            """)
+    List<User> findByFilters(@Param("role") Role role, @Param("userNumber") String userNumber);
+
+    /**
+     * Returns one page of the user list, ordered by last name (case-insensitive) and user number.
+     *
+     * @param role       the role to filter by, or {@code null}
+     * @param userNumber the user number to filter by, or {@code null}
+     * @param excluded   the id of a user left out of the list (the caller)
+     * @param pageable   the page to return; its sort is ignored
+     * @return the page of rows
+     */
+    @Query(value = """
+            select new com.mch.unicoursehub.model.dto.UserListRow(
+                u.firstName, u.lastName, u.phoneNumber, u.encryptedNationalCode, u.userNumber, u.role)
+            from User u
+            where (:role is null or u.role = :role)
+              and (:userNumber is null or u.userNumber = :userNumber)
+              and u.uid <> :excluded
+            order by lower(u.lastName), u.userNumber
+            """,
+            countQuery = """
+            select count(u) from User u
+            where (:role is null or u.role = :role)
+              and (:userNumber is null or u.userNumber = :userNumber)
+              and u.uid <> :excluded
+            """)
+    Page<UserListRow> findUserList(@Param("role") Role role,
+                                   @Param("userNumber") String userNumber,
+                                   @Param("excluded") UUID excluded,
+                                   Pageable pageable);
+
+    /**
+     * Returns the rows of the user list that come after the given position, in the order of
+     * {@link #findUserList}. Passing {@code null} as last name starts from the beginning.
+     *
+     * @param role            the role to filter by, or {@code null}
+     * @param userNumber      the user number to filter by, or {@code null}
+     * @param excluded        the id of a user left out of the list (the caller)
+     * @param afterLastName   the last name of the last row already returned, or {@code null}
+     * @param afterUserNumber the user number of the last row already returned
+     * @param limit           the maximum number of rows
+     * @return the next rows
+     */
+    @Query("""
+            select new com.mch.unicoursehub.model.dto.UserListRow(
+                u.firstName, u.lastName, u.phoneNumber, u.encryptedNationalCode, u.userNumber, u.role)
+            from User u
+            where (:role is null or u.role = :role)
+              and (:userNumber is null or u.userNumber = :userNumber)
+              and u.uid <> :excluded
+              and (:afterLastName is null
+                   or lower(u.lastName) > lower(:afterLastName)
+                   or (lower(u.lastName) = lower(:afterLastName) and u.userNumber > :afterUserNumber))
+            order by lower(u.lastName), u.userNumber
+            """)
+    List<UserListRow> seekUserList(@Param("role") Role role,
+                                   @Param("userNumber") String userNumber,
+                                   @Param("excluded") UUID excluded,
+                                   @Param("afterLastName") String afterLastName,
+                                   @Param("afterUserNumber") String afterUserNumber,
+                                   Limit limit);
 }
@@ -0,0 +1,69 @@
+package com.mch.unicoursehub.repository.specification;
+
+import com.mch.unicoursehub.model.entity.Course;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link Specification} factory for filtering the course catalogue in the database.
+ */
+public final class CourseSpecifications {
+
+    private CourseSpecifications() {
+    }
+
+    /**
+     * Matches courses whose code equals the given code, ignoring case.
+     *
+     * @param code the course code
+     * @return the specification
+     */
+    public static Specification<Course> codeEqualsIgnoreCase(String code) {
+        String value = code.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("code")), value);
+    }
+
+    /**
+     * Matches courses whose name contains the given text, ignoring case.
+     *
+     * @param name the text to search for
+     * @return the specification
+     */
+    public static Specification<Course> nameContainsIgnoreCase(String name) {
+        String value = "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), value, '\\');
+    }
+
+    /**
+     * Matches courses with the given number of units.
+     *
+     * @param unit the number of units
+     * @return the specification
+     */
+    public static Specification<Course> unitEquals(int unit) {
+        return (root, query, cb) -> cb.equal(root.get("unit"), unit);
+    }
+
+    /**
+     * Combines the optional catalogue filters with AND logic; {@code null} filters are ignored.
+     *
+     * @param code optional exact course code
+     * @param name optional partial course name
+     * @param unit optional unit count
+     * @return the combined specification
+     */
+    public static Specification<Course> catalogueFilter(String code, String name, Integer unit) {
+        List<Specification<Course>> specs = new ArrayList<>();
+        if (code != null) specs.add(codeEqualsIgnoreCase(code));
+        if (name != null) specs.add(nameContainsIgnoreCase(name));
+        if (unit != null) specs.add(unitEquals(unit));
+        return specs.isEmpty() ? Specification.unrestricted() : Specification.allOf(specs);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -4,6 +4,7 @@ import com.mch.unicoursehub.model.enums.Role;
 import com.mch.unicoursehub.security.filter.JwtAuthenticationFilter;
 import com.mch.unicoursehub.security.filter.RateLimitFilter;
 import com.mch.unicoursehub.security.service.LogOutService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -72,12 +73,16 @@ public class DashboardSecurityConfiguration {
         // Configure endpoint access rules and authentication
         http
                 .authorizeHttpRequests(auth -> auth
+                        // streaming responses are completed in an async dispatch of an already authorized request,
+                        // and errors such as the 429 of the rate limiter are rendered in an error dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         .requestMatchers("/auth/**").permitAll()
 
                         .requestMatchers("/time-slots/**")
                         .hasAnyAuthority(Role.ADMIN.name(), Role.PROFESSOR.name(),Role.STUDENT.name())
 
-                        .requestMatchers(HttpMethod.GET, "/course-offerings")
+                        .requestMatchers(HttpMethod.GET, "/course-offerings", "/course-offerings/seats")
                         .hasAnyAuthority(Role.STUDENT.name(), Role.PROFESSOR.name(), Role.ADMIN.name())
 
                         .requestMatchers(HttpMethod.POST, "/course-offerings/**")
@@ -93,6 +98,9 @@ public class DashboardSecurityConfiguration {
                         .hasAuthority(Role.PROFESSOR.name())
 
                         .requestMatchers("/admin/**").hasAuthority(Role.ADMIN.name())
+                        // health stays open to any authenticated caller; metrics and diagnostics are admin only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
                         .requestMatchers("/users/**").hasAuthority(Role.ADMIN.name())
 
                         .requestMatchers(HttpMethod.GET, "/semesters")
@@ -1,11 +1,8 @@
 package com.mch.unicoursehub.security.filter;
 
-import com.mch.unicoursehub.ConstVal;
-import com.mch.unicoursehub.model.entity.Token;
-import com.mch.unicoursehub.model.enums.TokenType;
-import com.mch.unicoursehub.repository.TokenRepository;
 import com.mch.unicoursehub.security.service.JwtService;
-import com.mch.unicoursehub.service.impl.TokenServiceImpl;
+import com.mch.unicoursehub.security.service.ParsedToken;
+import com.mch.unicoursehub.security.service.TokenValidationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,15 +12,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.Optional;
-import java.util.UUID;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.AllArgsConstructor;
@@ -34,15 +28,23 @@ import org.slf4j.LoggerFactory;
  * Filter for authenticating JWT tokens and setting up the Spring Security context.
  * This filter checks the Authorization header for a valid JWT token, verifies its validity,
  * and sets up the authentication in the SecurityContextHolder if the token is valid.
+ * The token is parsed once; revocation and user details are checked through the
+ * in-process caches of {@link TokenValidationService}, so the steady-state path
+ * does not query the database. The parsed token of an authenticated request is kept
+ * in the {@link #TOKEN_ATTRIBUTE} request attribute for later filters.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the {@link ParsedToken} of an authenticated request.
+     */
+    public static final String TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".token";
+
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
-    private final TokenServiceImpl tokenService;
+    private final TokenValidationService tokenValidationService;
 
     @Override
     protected void doFilterInternal(
@@ -68,23 +70,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // گرفتن JWT از هدر
             final String jwt = authHeader.substring(7);
-            final String userPhone = jwtService.extractUsername(jwt);
-            final String uuid = jwtService.extractUUID(jwt);
-
-            if (userPhone != null
-                    && SecurityContextHolder.getContext().getAuthentication() == null
-                    && uuid != null) {
 
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userPhone);
+            // signature and expiry are verified once while parsing
+            final ParsedToken token = jwtService.parse(jwt);
+            final String username = token.subject();
 
-                boolean isTokenValid = false;
-                Optional<Token> token = tokenService.checkToken(UUID.fromString(uuid), TokenType.ACCESS_TOKEN);
+            if (username != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                    && token.uuid() != null
+                    && tokenValidationService.isAccessTokenActive(token.uuid())) {
 
-                if (token.isPresent()) {
-                    isTokenValid = !token.get().isRevoked();
-                }
+                UserDetails userDetails = tokenValidationService.loadUser(username);
 
-                if (jwtService.isTokenValid(jwt, userDetails) && isTokenValid) {
+                if (username.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -94,6 +92,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             new WebAuthenticationDetailsSource().buildDetails(request)
                     );
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(TOKEN_ATTRIBUTE, token);
                 }
             }
 
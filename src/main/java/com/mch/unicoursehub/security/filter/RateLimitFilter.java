@@ -1,8 +1,7 @@
 package com.mch.unicoursehub.security.filter;
 
-import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.ParsedToken;
 import com.mch.unicoursehub.service.impl.RateLimitServiceImpl;
-import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,7 +9,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -27,7 +25,6 @@ import java.io.IOException;
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimitServiceImpl rateLimitService;
-    private final JwtService jwtService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -47,26 +44,14 @@ public class RateLimitFilter extends OncePerRequestFilter {
         // Only limit authenticated users
         if (authentication != null) {
 
-            String token = request.getHeader(HttpHeaders.AUTHORIZATION);
-
-            // Ensure token exists and starts with "Bearer "
-            if (token == null || !token.startsWith("Bearer ")) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            // Extract raw JWT (no JWE)
-            String jwt = token.substring(7);
-
-            // Extract UUID (user ID)
-            String uuid = jwtService.extractUUID(jwt);
-            if (uuid == null) {
+            // Token already parsed by JwtAuthenticationFilter; absent if it did not authenticate the request
+            if (!(request.getAttribute(JwtAuthenticationFilter.TOKEN_ATTRIBUTE) instanceof ParsedToken token)
+                    || token.uuid() == null) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            Bucket bucket = rateLimitService.resolveBucket(uuid);
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+            ConsumptionProbe probe = rateLimitService.tryConsume(token.uuid().toString());
 
             if (probe.isConsumed()) {
                 response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
@@ -0,0 +1,174 @@
+package com.mch.unicoursehub.security.password;
+
+import com.mch.unicoursehub.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.mch.unicoursehub.ConstErrors.loginBusy;
+
+/**
+ * BCrypt {@link PasswordEncoder} that hashes on a bounded executor.
+ *
+ * <p>
+ * Every {@link #encode} and {@link #matches} runs on the given executor while the caller
+ * waits for it, so no matter how many requests log in at once, hashing never takes more
+ * cores than the executor has threads. When the executor's queue is full the hash is not
+ * queued but a {@link ServiceUnavailableException} is thrown right away, with a retry
+ * estimate from the current queue and the mean hash time.
+ * </p>
+ *
+ * <p>
+ * New hashes are made with the configured strength. {@link #upgradeEncoding} compares the
+ * cost of a stored hash with it according to the {@link RehashPolicy}, which lets
+ * {@code DaoAuthenticationProvider} replace the hash with the password the user just
+ * presented, so a changed strength reaches every user on their next login.
+ * </p>
+ *
+ * <p>
+ * Meters: {@value #HASH_METRIC} (hash time per operation), {@value #WAIT_METRIC} (time a
+ * hash waited for a worker), {@value #QUEUE_METRIC} and {@value #ACTIVE_METRIC} (hashes
+ * waiting and running) and {@value #REJECTED_METRIC}.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    static final String HASH_METRIC = "auth.password.hash";
+    static final String WAIT_METRIC = "auth.password.wait";
+    static final String QUEUE_METRIC = "auth.password.queue";
+    static final String ACTIVE_METRIC = "auth.password.active";
+    static final String REJECTED_METRIC = "auth.password.rejected";
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int strength;
+    private final RehashPolicy rehash;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, RehashPolicy rehash, ThreadPoolExecutor executor,
+                                  MeterRegistry meterRegistry) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.rehash = rehash;
+        this.executor = executor;
+
+        this.encodeTimer = Timer.builder(HASH_METRIC)
+                .description("Time spent hashing a password")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_METRIC)
+                .description("Time spent hashing a password")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(WAIT_METRIC)
+                .description("Time a password hash waited for a worker")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Password hashes rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(ACTIVE_METRIC, executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> bcrypt.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> bcrypt.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Tells whether a stored hash should be replaced by one of the configured strength.
+     *
+     * @param encodedPassword the stored hash
+     * @return {@code true} if the {@link RehashPolicy} asks for a new hash; hashes that are
+     * not BCrypt are left alone
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        if (cost < 0) {
+            return false;
+        }
+        return switch (rehash) {
+            case NEVER -> false;
+            case UPGRADE -> cost < strength;
+            case MATCH -> cost != strength;
+        };
+    }
+
+    private <T> T hash(Supplier<T> work, Timer timer) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(loginBusy, retryAfterSeconds());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Estimates when the queue has room again: the hashes ahead, spread over the workers.
+     */
+    private long retryAfterSeconds() {
+        double meanSeconds = matchesTimer.mean(TimeUnit.SECONDS);
+        double seconds = executor.getQueue().size() * meanSeconds / executor.getMaximumPoolSize();
+        return Math.clamp((long) Math.ceil(seconds), 1, MAX_RETRY_AFTER_SECONDS);
+    }
+
+    /**
+     * Reads the cost of a BCrypt hash.
+     *
+     * @return the log2 rounds, or {@code -1} if the value is not a BCrypt hash
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
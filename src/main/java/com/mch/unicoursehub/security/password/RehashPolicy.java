@@ -0,0 +1,22 @@
+package com.mch.unicoursehub.security.password;
+
+/**
+ * When a stored password hash is replaced after a successful login.
+ */
+public enum RehashPolicy {
+
+    /**
+     * Stored hashes are kept as they are.
+     */
+    NEVER,
+
+    /**
+     * Hashes of a lower cost than the configured strength are replaced.
+     */
+    UPGRADE,
+
+    /**
+     * Hashes of any other cost than the configured strength are replaced, also higher ones.
+     */
+    MATCH
+}
@@ -0,0 +1,43 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import com.mch.unicoursehub.ConstVal;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Separate key spaces of the rate-limit buckets.
+ *
+ * <p>
+ * API buckets are keyed by token UUID and auth buckets by user number; keeping them
+ * apart means the two kinds of key can never resolve to the same bucket. Each namespace
+ * has its own idle timeout, which must not be shorter than the time its bucket needs to
+ * refill completely, and its own cap on the number of buckets kept.
+ * </p>
+ */
+@Getter
+public enum BucketNamespace {
+
+    API("api", Duration.ofMillis(ConstVal.RATE_LIMIT_API_IDLE_TIMEOUT), ConstVal.RATE_LIMIT_API_MAX_BUCKETS),
+    AUTH("auth", Duration.ofMillis(ConstVal.RATE_LIMIT_AUTH_IDLE_TIMEOUT), ConstVal.RATE_LIMIT_AUTH_MAX_BUCKETS);
+
+    private final String tag;
+    private final Duration idleTimeout;
+    private final long maxBuckets;
+
+    BucketNamespace(String tag, Duration idleTimeout, long maxBuckets) {
+        this.tag = tag;
+        this.idleTimeout = idleTimeout;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Returns the key under which a bucket of this namespace is stored in a shared backend.
+     *
+     * @param key the key within the namespace
+     * @return the namespaced key
+     */
+    public String storageKey(String key) {
+        return tag + ":" + key;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Storage of the rate-limit buckets.
+ *
+ * <p>
+ * Implementations must bound the number of buckets they keep and drop buckets that
+ * have been idle for longer than {@link BucketNamespace#getIdleTimeout()}.
+ * </p>
+ *
+ * @see LocalBucketStore
+ * @see JdbcBucketStore
+ */
+public interface BucketStore {
+
+    /**
+     * Resolves the bucket for the given key, creating it from the configuration if it does not exist.
+     *
+     * @param namespace     the namespace of the key
+     * @param key           the key within the namespace
+     * @param configuration the configuration used when the bucket has to be created
+     * @return the bucket
+     */
+    Bucket resolve(BucketNamespace namespace, String key, Supplier<BucketConfiguration> configuration);
+
+    /**
+     * Removes the bucket for the given key, if it exists.
+     *
+     * @param namespace the namespace of the key
+     * @param key       the key within the namespace
+     */
+    void remove(BucketNamespace namespace, String key);
+}
@@ -0,0 +1,190 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.dto.BucketStateRow;
+import com.mch.unicoursehub.repository.RateLimitBucketRepository;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link BucketStore} sharing the buckets between all instances through the
+ * {@code rate_limit_buckets} table.
+ *
+ * <p>
+ * Every consumption reads the bucket state, applies it locally and writes it back with a
+ * compare-and-swap on the row version (Bucket4j retries on conflict), so the limits hold
+ * across replicas without row locks. Each write moves the row expiry forward by the idle
+ * timeout of its namespace. Expired rows, and the least recently used rows above the
+ * namespace cap, are purged at most once per {@link ConstVal#RATE_LIMIT_PURGE_INTERVAL}
+ * from the request path.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code rate_limit.buckets} (gauge, one query per scrape) and
+ * {@code rate_limit.evictions} (counter), both tagged with {@code namespace} and {@code store=jdbc}.
+ * </p>
+ */
+@Slf4j
+public class JdbcBucketStore implements BucketStore {
+
+    private final RateLimitBucketRepository repository;
+    private final CompareAndSwapProxyManager proxyManager = new CompareAndSwapProxyManager();
+    private final Map<BucketNamespace, Counter> evictions = new EnumMap<>(BucketNamespace.class);
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    public JdbcBucketStore(RateLimitBucketRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+
+        for (BucketNamespace namespace : BucketNamespace.values()) {
+
+            evictions.put(namespace, Counter.builder("rate_limit.evictions")
+                    .description("Rate-limit buckets dropped because they were idle or the store was full")
+                    .tag("namespace", namespace.getTag())
+                    .tag("store", "jdbc")
+                    .register(meterRegistry));
+
+            Gauge.builder("rate_limit.buckets", repository,
+                            r -> r.countActive(namespace.storageKey(""), System.currentTimeMillis()))
+                    .description("Rate-limit buckets currently kept")
+                    .tag("namespace", namespace.getTag())
+                    .tag("store", "jdbc")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Bucket resolve(BucketNamespace namespace, String key, Supplier<BucketConfiguration> configuration) {
+        purgeIfDue();
+        return proxyManager.builder().build(new StoredKey(namespace, key), configuration);
+    }
+
+    @Override
+    public void remove(BucketNamespace namespace, String key) {
+        repository.deleteByKey(namespace.storageKey(key));
+    }
+
+    /**
+     * Deletes idle buckets and, per namespace, the least recently used buckets above the cap.
+     */
+    void purge() {
+        long now = System.currentTimeMillis();
+
+        for (BucketNamespace namespace : BucketNamespace.values()) {
+            String prefix = namespace.storageKey("");
+
+            int deleted = repository.deleteExpiringBefore(prefix, now);
+
+            List<Long> threshold = repository.findExpiries(prefix, PageRequest.of((int) namespace.getMaxBuckets(), 1));
+            if (!threshold.isEmpty()) {
+                deleted += repository.deleteExpiringBefore(prefix, threshold.getFirst());
+            }
+
+            evictions.get(namespace).increment(deleted);
+        }
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextPurge.get();
+
+        if (now < due || !nextPurge.compareAndSet(due, now + ConstVal.RATE_LIMIT_PURGE_INTERVAL))
+            return;
+
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            // a failed purge must not fail the request; the next one retries
+            log.warn("Purging rate-limit buckets failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Key of a stored bucket.
+     */
+    private record StoredKey(BucketNamespace namespace, String key) {
+
+        String storageKey() {
+            return namespace.storageKey(key);
+        }
+    }
+
+    /**
+     * Bucket4j proxy manager backed by optimistic updates of {@code rate_limit_buckets}.
+     */
+    private class CompareAndSwapProxyManager extends AbstractCompareAndSwapBasedProxyManager<StoredKey> {
+
+        CompareAndSwapProxyManager() {
+            super(ClientSideConfig.getDefault());
+        }
+
+        @Override
+        protected CompareAndSwapOperation beginCompareAndSwapOperation(StoredKey key) {
+            return new CompareAndSwapOperation() {
+
+                private long version;
+
+                @Override
+                public Optional<byte[]> getStateData() {
+                    Optional<BucketStateRow> row = repository.findState(key.storageKey());
+                    row.ifPresent(r -> version = r.version());
+                    return row.map(BucketStateRow::state);
+                }
+
+                @Override
+                public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                    long expiresAt = System.currentTimeMillis() + key.namespace().getIdleTimeout().toMillis();
+
+                    if (originalData == null) {
+                        try {
+                            return repository.insert(key.storageKey(), newData, expiresAt) == 1;
+                        } catch (DataIntegrityViolationException e) {
+                            // created concurrently by another request or instance
+                            return false;
+                        }
+                    }
+
+                    return repository.compareAndSwap(key.storageKey(), version, newData, expiresAt) == 1;
+                }
+            };
+        }
+
+        @Override
+        protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(StoredKey key) {
+            throw new UnsupportedOperationException("JdbcBucketStore is synchronous only (isAsyncModeSupported() == false)");
+        }
+
+        @Override
+        protected CompletableFuture<Void> removeAsync(StoredKey key) {
+            throw new UnsupportedOperationException("JdbcBucketStore is synchronous only (isAsyncModeSupported() == false)");
+        }
+
+        @Override
+        public void removeProxy(StoredKey key) {
+            repository.deleteByKey(key.storageKey());
+        }
+
+        @Override
+        public boolean isAsyncModeSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link BucketStore} keeping the buckets in memory of the current instance.
+ *
+ * <p>
+ * Every namespace has its own Caffeine cache that expires buckets after
+ * {@link BucketNamespace#getIdleTimeout()} without access and holds at most
+ * {@link BucketNamespace#getMaxBuckets()} of them. Limits are enforced per instance.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code rate_limit.buckets} (gauge) and {@code rate_limit.evictions} (counter),
+ * both tagged with {@code namespace} and {@code store=local}.
+ * </p>
+ */
+public class LocalBucketStore implements BucketStore {
+
+    private final Map<BucketNamespace, Cache<String, Bucket>> buckets = new EnumMap<>(BucketNamespace.class);
+
+    public LocalBucketStore(MeterRegistry meterRegistry) {
+        this(meterRegistry, Ticker.systemTicker());
+    }
+
+    LocalBucketStore(MeterRegistry meterRegistry, Ticker ticker) {
+        for (BucketNamespace namespace : BucketNamespace.values()) {
+
+            Counter evictions = Counter.builder("rate_limit.evictions")
+                    .description("Rate-limit buckets dropped because they were idle or the store was full")
+                    .tag("namespace", namespace.getTag())
+                    .tag("store", "local")
+                    .register(meterRegistry);
+
+            Cache<String, Bucket> cache = Caffeine.newBuilder()
+                    .expireAfterAccess(namespace.getIdleTimeout())
+                    .maximumSize(namespace.getMaxBuckets())
+                    .ticker(ticker)
+                    .executor(Runnable::run)
+                    .removalListener((String key, Bucket bucket, RemovalCause cause) -> {
+                        if (cause.wasEvicted()) evictions.increment();
+                    })
+                    .build();
+
+            Gauge.builder("rate_limit.buckets", cache, Cache::estimatedSize)
+                    .description("Rate-limit buckets currently kept")
+                    .tag("namespace", namespace.getTag())
+                    .tag("store", "local")
+                    .register(meterRegistry);
+
+            buckets.put(namespace, cache);
+        }
+    }
+
+    @Override
+    public Bucket resolve(BucketNamespace namespace, String key, Supplier<BucketConfiguration> configuration) {
+        return buckets.get(namespace).get(key, k -> newBucket(configuration.get()));
+    }
+
+    @Override
+    public void remove(BucketNamespace namespace, String key) {
+        buckets.get(namespace).invalidate(key);
+    }
+
+    /**
+     * Runs pending expiration and size-based eviction; used by tests.
+     */
+    void cleanUp() {
+        buckets.values().forEach(Cache::cleanUp);
+    }
+
+    private static Bucket newBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
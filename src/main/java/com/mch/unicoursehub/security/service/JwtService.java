@@ -2,11 +2,14 @@ package com.mch.unicoursehub.security.service;
 
 import com.mch.unicoursehub.ConstVal;
 import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Serializer;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +19,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -30,11 +34,49 @@ import java.util.function.Function;
  *     <li>Validating token authenticity and expiration</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * The signing key is decoded once and the parser and JSON serializer are created once;
+ * all three are immutable and shared by all threads. Callers that need more than one claim should use
+ * {@link #parse(String)} so the signature is verified only once.
+ * </p>
  */
 @Service
 @Slf4j
 public class JwtService {
 
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Serializer<Map<String, ?>> serializer;
+
+    @SuppressWarnings("unchecked")
+    public JwtService() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(ConstVal.SECRET_KEY));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        // the builder otherwise looks up and instantiates a new serializer for every token
+        this.serializer = ServiceLoader.load(Serializer.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JWT JSON serializer on the classpath"));
+    }
+
+    /**
+     * Verifies the JWT token and returns its subject, uuid, expiry and role.
+     *
+     * @param token the JWT token
+     * @return the parsed token
+     * @throws ExpiredJwtException if the token is expired
+     */
+    public ParsedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
+        Object uuid = claims.get(ConstVal.UUID_KEY);
+        Object role = claims.get(ConstVal.ROLE_KEY);
+        return new ParsedToken(
+                claims.getSubject(),
+                uuid == null ? null : UUID.fromString(uuid.toString()),
+                claims.getExpiration().toInstant(),
+                role == null ? null : Role.valueOf(role.toString())
+        );
+    }
+
     /**
      * Extracts the username (subject) from the JWT token.
      *
@@ -81,16 +123,24 @@ public class JwtService {
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put(ConstVal.UUID_KEY, uuid);
 
-        long expiration;
         User user = (User) userDetails;
-        switch (user.getRole()) {
-            case STUDENT -> expiration = ConstVal.JWT_EXPIRATION_STUDENT;
-            case PROFESSOR -> expiration = ConstVal.JWT_EXPIRATION_PROFESSOR;
-            case ADMIN -> expiration = ConstVal.JWT_EXPIRATION_ADMIN;
-            default -> expiration = ConstVal.JWT_EXPIRATION_STUDENT;
-        }
-
-        return generateToken(extraClaims, userDetails, expiration);
+        extraClaims.put(ConstVal.ROLE_KEY, user.getRole().name());
+
+        return generateToken(extraClaims, userDetails, accessTokenExpiration(user.getRole()));
+    }
+
+    /**
+     * Returns the lifetime of access tokens issued to users of a role.
+     *
+     * @param role the role of the user
+     * @return the lifetime in milliseconds
+     */
+    public static long accessTokenExpiration(Role role) {
+        return switch (role) {
+            case STUDENT -> ConstVal.JWT_EXPIRATION_STUDENT;
+            case PROFESSOR -> ConstVal.JWT_EXPIRATION_PROFESSOR;
+            case ADMIN -> ConstVal.JWT_EXPIRATION_ADMIN;
+        };
     }
 
 
@@ -119,35 +169,30 @@ public class JwtService {
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
         return Jwts.builder()
+                .serializeToJsonWith(serializer)
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
     // ====================== Private Helper Methods ======================
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(ConstVal.SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Parses and verifies the JWT token once, returning all of its claims.
+     *
+     * @param token the JWT token
+     * @return the verified claims
+     * @throws ExpiredJwtException if the token is expired
+     */
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
 }
@@ -47,10 +47,10 @@ public class LogOutService implements LogoutHandler {
 
         String jwt = token.substring(ConstVal.PREFIX_BEARER.length());
 
-        String username = jwtService.extractUsername(jwt);
-        String uuid = jwtService.extractUUID(jwt);
+        ParsedToken parsed = jwtService.parse(jwt);
+        String username = parsed.subject();
 
-        if (username != null && uuid != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (username != null && parsed.uuid() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             loginService.logout(username);
         }
     }
@@ -0,0 +1,22 @@
+package com.mch.unicoursehub.security.service;
+
+import com.mch.unicoursehub.model.enums.Role;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified JWT, produced by a single {@link JwtService#parse(String)} call.
+ *
+ * @param subject   the user number the token was issued to
+ * @param uuid      the token id stored with the token record, or {@code null} if absent
+ * @param expiresAt the expiry of the token
+ * @param role      the role of the user, or {@code null} for tokens without a role claim (refresh tokens)
+ */
+public record ParsedToken(
+        String subject,
+        UUID uuid,
+        Instant expiresAt,
+        Role role
+) {
+}
@@ -0,0 +1,123 @@
+package com.mch.unicoursehub.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.enums.TokenType;
+import com.mch.unicoursehub.repository.TokenRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process caches backing stateless validation of access tokens.
+ *
+ * <p>
+ * Keeps two bounded caches so that the steady-state authenticated request path
+ * does not hit the database:
+ * <ul>
+ *     <li>an access-token allow-list keyed by token UUID, holding whether the stored
+ *     token exists and is not revoked</li>
+ *     <li>a short-lived cache of {@link UserDetails} keyed by username</li>
+ * </ul>
+ * Token revocations made through {@link com.mch.unicoursehub.service.impl.TokenServiceImpl}
+ * evict the affected entries immediately and again after commit. Revocations made on
+ * another application instance become visible once the entry expires, after at most
+ * {@link ConstVal#ACCESS_TOKEN_CACHE_TTL}.
+ * </p>
+ */
+@Service
+public class TokenValidationService {
+
+    private final TokenRepository tokenRepository;
+    private final UserDetailsService userDetailsService;
+
+    private final Cache<UUID, Boolean> accessTokens;
+    private final Cache<String, UserDetails> users;
+
+    public TokenValidationService(TokenRepository tokenRepository, UserDetailsService userDetailsService) {
+        this.tokenRepository = tokenRepository;
+        this.userDetailsService = userDetailsService;
+        this.accessTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ConstVal.ACCESS_TOKEN_CACHE_TTL))
+                .maximumSize(ConstVal.ACCESS_TOKEN_CACHE_MAX_SIZE)
+                .build();
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ConstVal.USER_CACHE_TTL))
+                .maximumSize(ConstVal.USER_CACHE_MAX_SIZE)
+                .build();
+    }
+
+    /**
+     * Checks whether an access token is stored and not revoked.
+     *
+     * @param uuid the UUID of the access token
+     * @return {@code true} if the token is active
+     */
+    public boolean isAccessTokenActive(UUID uuid) {
+        return accessTokens.get(uuid, id -> tokenRepository.findByUuidAndType(id, TokenType.ACCESS_TOKEN)
+                .map(token -> !token.isRevoked())
+                .orElse(false));
+    }
+
+    /**
+     * Loads user details through the short-lived user cache.
+     *
+     * @param username the username (user number)
+     * @return the user details
+     * @throws UsernameNotFoundException if no such user exists; failures are not cached
+     */
+    public UserDetails loadUser(String username) {
+        return users.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evicts a single token from the allow-list.
+     *
+     * @param uuid the UUID of the token
+     */
+    public void evictToken(UUID uuid) {
+        evictTokens(List.of(uuid));
+    }
+
+    /**
+     * Evicts tokens from the allow-list now and, inside a transaction, again after commit,
+     * so a concurrent request can not re-cache a token that is about to be deleted.
+     *
+     * @param uuids the UUIDs of the tokens
+     */
+    public void evictTokens(Collection<UUID> uuids) {
+        List<UUID> copy = List.copyOf(uuids);
+        accessTokens.invalidateAll(copy);
+        afterCommit(() -> accessTokens.invalidateAll(copy));
+    }
+
+    /**
+     * Evicts a user from the user cache, e.g. after the user was edited.
+     *
+     * @param username the username (user number)
+     */
+    public void evictUser(String username) {
+        users.invalidate(username);
+        afterCommit(() -> users.invalidate(username));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
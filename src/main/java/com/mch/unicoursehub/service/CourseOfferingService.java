@@ -3,6 +3,7 @@ package com.mch.unicoursehub.service;
 import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
 import com.mch.unicoursehub.model.dto.CreateCourseOfferingRequest;
 import com.mch.unicoursehub.model.dto.UpdateCourseOfferingRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -46,6 +47,18 @@ public interface CourseOfferingService {
      */
      List<CourseOfferingResponse> getCourseOfferings(String semesterName, String professorName, String courseCode, String courseName);
 
+    /**
+     * Opens a stream of seat availability changes of the offerings of a semester.
+     *
+     * <p>Only offerings whose seats or capacity changed are sent, coalesced over a
+     * short window; the stream carries no initial snapshot.</p>
+     *
+     * @param semesterName the semester name
+     * @return the server-sent event emitter of the stream
+     * @throws NotFoundException if the semester does not exist
+     */
+     SseEmitter subscribeSeats(String semesterName);
+
     /**
      * Updates an existing course offering.
      *
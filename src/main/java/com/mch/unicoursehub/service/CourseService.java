@@ -5,6 +5,8 @@ import com.mch.unicoursehub.model.dto.CreateCourseRequest;
 import com.mch.unicoursehub.model.dto.UpdateCourseRequest;
 import com.mch.unicoursehub.utils.pagination.Pagination;
 
+import java.util.List;
+
 /**
  * Service interface for managing courses.
  *
@@ -65,4 +67,12 @@ public interface CourseService {
      * @param code the unique code of the course to delete
      */
     void deleteCourse(String code);
+
+    /**
+     * Retrieves all direct and indirect prerequisites of a course.
+     *
+     * @param code the unique code of the course
+     * @return codes of every course that must be passed before the given course
+     */
+    List<String> getTransitivePrerequisites(String code);
 }
@@ -1,5 +1,7 @@
 package com.mch.unicoursehub.service;
 
+import com.mch.unicoursehub.model.dto.BatchEnrollRequest;
+import com.mch.unicoursehub.model.dto.BatchEnrollResult;
 import com.mch.unicoursehub.model.dto.DropCourseRequest;
 import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
 import com.mch.unicoursehub.model.dto.StudentEnrollmentResponse;
@@ -38,6 +40,21 @@ public interface EnrollmentService {
      */
     void enrollStudent(User student,String semesterName, EnrollCourseRequest req);
 
+    /**
+     * Enrolls a student in several course offerings of a semester in one transaction.
+     *
+     * <p>Every section is checked with the same rules as {@link #enrollStudent}, against the
+     * student's existing selections and the sections accepted before it in the request.
+     * Rejected sections are reported in the result and do not stop the others.</p>
+     *
+     * @param student the student performing the enrollment
+     * @param semesterName the name of the semester (e.g., "1404-1")
+     * @param req the sections to enroll in
+     * @return one result per requested section, in request order
+     * @throws com.mch.unicoursehub.exceptions.NotFoundException if the semester does not exist
+     */
+    List<BatchEnrollResult> enrollBatch(User student, String semesterName, BatchEnrollRequest req);
+
     /**
      * Retrieves all current enrollments of a student for a specific semester.
      *
@@ -1,6 +1,7 @@
 package com.mch.unicoursehub.service;
 
 import com.mch.unicoursehub.model.dto.TimeSlotByDayResponseDto;
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
 
 import java.util.List;
 
@@ -20,4 +21,11 @@ public interface TimeSlotService {
      */
     List<TimeSlotByDayResponseDto> getAllGroupedByDay();
 
+    /**
+     * Retrieve all time slots grouped by day of the week, serialized to JSON.
+     *
+     * @return the serialized grid and its ETag.
+     */
+    TimeSlotGrid getGrid();
+
 }
@@ -6,6 +6,7 @@ import com.mch.unicoursehub.model.dto.UserListResponse;
 import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.model.enums.Role;
 import com.mch.unicoursehub.utils.pagination.Pagination;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 
 import java.util.List;
 
@@ -46,6 +47,17 @@ public interface UserService {
      */
     Pagination<UserListResponse> getAllUsers(Role role, int size, int page, String userNumber);
 
+    /**
+     * Get a page of users with optional filters using keyset pagination.
+     *
+     * @param role       the role to filter by (optional)
+     * @param size       the number of items per page
+     * @param after      the cursor returned with the previous page (optional)
+     * @param userNumber the user number to filter by (optional)
+     * @return the page of UserListResponse DTOs and the cursor of the next page
+     */
+    SeekPagination<UserListResponse> seekUsers(Role role, int size, String after, String userNumber);
+
     /**
      * Edit an existing user's details.
      * Only fields provided in the EditUserRequest will be updated.
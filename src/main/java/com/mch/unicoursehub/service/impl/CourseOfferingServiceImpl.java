@@ -16,9 +16,11 @@ import com.mch.unicoursehub.service.CourseOfferingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import static com.mch.unicoursehub.ConstErrors.*;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Service implementation for managing course offerings.
@@ -38,7 +40,10 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
     private final SemesterRepository semesterRepository;
     private final CourseOfferingRepository courseOfferingRepository;
     private final TimeSlotRepository timeSlotRepository;
+    private final TimeSlotRegistry timeSlotRegistry;
+    private final OfferingCatalogue offeringCatalogue;
     private final EnrollmentRepository enrollmentRepository;
+    private final SeatAvailabilityFeed seatAvailabilityFeed;
 
     /**
      * Creates a new course offering with the specified details.
@@ -62,13 +67,10 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
                 .orElseThrow(() -> new NotFoundException("Semester not found"));
 
 
-        int nextGroupNumber = courseOfferingRepository.countByCourseAndSemester(course, semester) + 1;
+        int nextGroupNumber = courseOfferingRepository.findMaxSection(course, semester) + 1;
 
 
-        List<TimeSlot> timeSlots = timeSlotRepository.findAllById(req.timeSlotIds());
-        if (timeSlots.size() != req.timeSlotIds().size()) {
-            throw new BadRequestException("One or more time slots not found");
-        }
+        List<TimeSlot> timeSlots = resolveTimeSlots(req.timeSlotIds());
 
 
         CourseOffering offering = CourseOffering.builder()
@@ -80,9 +82,11 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
                 .classRoom(req.classroomNumber())
                 .section(nextGroupNumber)
                 .timeSlots(timeSlots)
+                .slotMask(timeSlotRegistry.mask(req.timeSlotIds()))
                 .build();
 
         courseOfferingRepository.save(offering);
+        offeringCatalogue.offeringChanged(semester.getId(), offering.getId());
 
 
         return CourseOfferingResponse.builder()
@@ -94,12 +98,15 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
                 .classroomNumber(Integer.parseInt(offering.getClassRoom()))
                 .groupNumber(offering.getSection())
                 .timeSlotIds(offering.getTimeSlots().stream().map(TimeSlot::getId).toList())
+                .seatsTaken(offering.getSeatsTaken())
                 .build();
     }
 
     /**
      * Retrieves all course offerings, optionally filtered by professor name, course code, or course name.
      *
+     * <p>Served from the {@link OfferingCatalogue} read model of the semester.</p>
+     *
      * @param professorName optional substring of professor's full name to filter
      * @param courseCode optional exact course code to filter
      * @param courseName optional substring of course name to filter
@@ -111,29 +118,27 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
         Semester semester = semesterRepository.findByName(semesterName.trim())
                 .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        List<CourseOffering> allOfferings = courseOfferingRepository.findBySemester(semester);
-
-        List<CourseOffering> filtered = allOfferings.stream()
-                .filter(co -> professorName == null ||
-                        (co.getProfessor().getFirstName() + " " + co.getProfessor().getLastName())
-                                .toLowerCase()
-                                .contains(professorName.trim().toLowerCase()))
-                .filter(co -> courseCode == null || co.getCourse().getCode().equalsIgnoreCase(courseCode.trim()))
-                .filter(co -> courseName == null || co.getCourse().getName().toLowerCase().contains(courseName.trim().toLowerCase()))
-                .toList();
-
-        return filtered.stream()
-                .map(co -> CourseOfferingResponse.builder()
-                        .courseCode(co.getCourse().getCode())
-                        .courseName(co.getCourse().getName())
-                        .professorName(co.getProfessor().fullName())
-                        .capacity(co.getCapacity())
-                        .examDate(co.getExamDate())
-                        .classroomNumber(Integer.parseInt(co.getClassRoom()))
-                        .groupNumber(co.getSection())
-                        .timeSlotIds(co.getTimeSlots().stream().map(ts -> ts.getId()).toList())
-                        .build())
-                .toList();
+        return offeringCatalogue.search(semester.getId(), professorName, courseCode, courseName);
+    }
+
+    /**
+     * Opens a stream of seat availability changes of the offerings of a semester.
+     *
+     * <p>The stream carries no initial snapshot, only offerings that changed after it was
+     * opened, as collected by {@link SeatAvailabilityFeed}. Clients must therefore subscribe
+     * first and then fetch the catalogue with {@link #getCourseOfferings}: a change made
+     * in between is sent on the stream as well, while fetching first could miss it.</p>
+     *
+     * @param semesterName the semester name
+     * @return the server-sent event emitter of the stream
+     * @throws NotFoundException if the semester does not exist
+     */
+    @Override
+    public SseEmitter subscribeSeats(String semesterName) {
+        Semester semester = semesterRepository.findByName(semesterName.trim())
+                .orElseThrow(() -> new NotFoundException(notFoundSemester));
+
+        return seatAvailabilityFeed.subscribe(semester.getId());
     }
 
     @Transactional
@@ -146,11 +151,7 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
         Semester semester = semesterRepository.findByName(semesterName)
                 .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        CourseOffering offering = courseOfferingRepository.findBySemester(semester)
-                .stream()
-                .filter(o -> o.getCourse().getCode().equalsIgnoreCase(courseCode))
-                .filter(o -> o.getSection() == groupNumber)
-                .findFirst()
+        CourseOffering offering = courseOfferingRepository.findByNaturalKey(semester, courseCode.trim(), groupNumber)
                 .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
 
         if (req.professorUserNumber() != null) {
@@ -172,14 +173,13 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
         }
 
         if (req.timeSlotIds() != null) {
-            List<TimeSlot> timeSlots = timeSlotRepository.findAllById(req.timeSlotIds());
-            if (timeSlots.size() != req.timeSlotIds().size()) {
-                throw new BadRequestException("One or more time slots not found");
-            }
+            List<TimeSlot> timeSlots = resolveTimeSlots(req.timeSlotIds());
             offering.setTimeSlots(timeSlots);
+            offering.setSlotMask(timeSlotRegistry.mask(req.timeSlotIds()));
         }
 
         courseOfferingRepository.save(offering);
+        offeringCatalogue.offeringChanged(semester.getId(), offering.getId());
 
         return CourseOfferingResponse.builder()
                 .courseCode(offering.getCourse().getCode())
@@ -190,6 +190,7 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
                 .classroomNumber(Integer.parseInt(offering.getClassRoom()))
                 .groupNumber(offering.getSection())
                 .timeSlotIds(offering.getTimeSlots().stream().map(TimeSlot::getId).toList())
+                .seatsTaken(offering.getSeatsTaken())
                 .build();
     }
 
@@ -199,11 +200,7 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
         Semester semester = semesterRepository.findByName(semesterName.trim())
                 .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        CourseOffering offering = courseOfferingRepository.findBySemester(semester)
-                .stream()
-                .filter(o -> o.getCourse().getCode().equalsIgnoreCase(courseCode.trim()))
-                .filter(o -> o.getSection() == groupNumber)
-                .findFirst()
+        CourseOffering offering = courseOfferingRepository.findByNaturalKey(semester, courseCode.trim(), groupNumber)
                 .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
 
         boolean hasActiveEnrollment =
@@ -219,6 +216,20 @@ public class CourseOfferingServiceImpl implements CourseOfferingService {
         enrollmentRepository.deleteByCourseOffering(offering);
 
         courseOfferingRepository.delete(offering);
+        offeringCatalogue.offeringRemoved(semester.getId(), offering.getId());
     }
 
+    /**
+     * Validates time slot ids against the {@link TimeSlotRegistry} and returns references to them,
+     * so neither step queries the database.
+     *
+     * @throws BadRequestException if one or more time slots are not found
+     */
+    private List<TimeSlot> resolveTimeSlots(List<UUID> ids) {
+        List<UUID> distinct = ids.stream().distinct().toList();
+        if (distinct.size() != ids.size() || !timeSlotRegistry.containsAll(distinct)) {
+            throw new BadRequestException("One or more time slots not found");
+        }
+        return distinct.stream().map(timeSlotRepository::getReferenceById).toList();
+    }
 }
@@ -6,11 +6,13 @@ import com.mch.unicoursehub.exceptions.ConflictException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
 import com.mch.unicoursehub.model.dto.CourseResponse;
 import com.mch.unicoursehub.model.dto.CreateCourseRequest;
+import com.mch.unicoursehub.model.dto.PrerequisiteCodeRow;
 import com.mch.unicoursehub.model.dto.UpdateCourseRequest;
 import com.mch.unicoursehub.model.entity.Course;
 import com.mch.unicoursehub.model.entity.Prerequisite;
 import com.mch.unicoursehub.repository.CourseRepository;
 import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import com.mch.unicoursehub.repository.specification.CourseSpecifications;
 import com.mch.unicoursehub.service.CourseService;
 import com.mch.unicoursehub.utils.pagination.Pagination;
 import com.mch.unicoursehub.utils.pagination.PaginationUtil;
@@ -18,6 +20,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -50,6 +54,8 @@ public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
     private final PrerequisiteRepository prerequisiteRepository;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final OfferingCatalogue offeringCatalogue;
 
     /**
      * Creates a new course along with its prerequisite relationships.
@@ -60,7 +66,8 @@ public class CourseServiceImpl implements CourseService {
      *
      * <p>The course entity is first persisted to generate its identifier,
      * after which prerequisite relationships are stored. A cycle detection
-     * check is performed before completing the operation.</p>
+     * check against the {@link PrerequisiteGraph} is performed before
+     * completing the operation.</p>
      *
      * @param req request object containing course details and prerequisite codes
      * @return a {@link CourseResponse} representing the created course
@@ -132,9 +139,11 @@ public class CourseServiceImpl implements CourseService {
         }
 
         // cycle detection
-        if (createsCycle(saved)) {
+        List<UUID> prereqIds = prereqCourses.stream().map(Course::getCid).toList();
+        if (prerequisiteGraph.wouldCreateCycle(saved.getCid(), prereqIds)) {
             throw new BadRequestException("adding these prerequisites introduces cyclic dependency");
         }
+        prerequisiteGraph.replacePrerequisites(saved.getCid(), prereqIds);
 
         return new CourseResponse(
                 saved.getCode(),
@@ -145,69 +154,16 @@ public class CourseServiceImpl implements CourseService {
     }
 
 
-    /**
-     * Detects whether the current prerequisite configuration introduces
-     * a cyclic dependency among courses.
-     *
-     * <p>This method constructs a directed graph of all courses and their
-     * prerequisites from the database and performs a depth-first search (DFS)
-     * to identify cycles.</p>
-     *
-     * @param newCourse the course being created or updated
-     * @return {@code true} if a cyclic dependency exists, {@code false} otherwise
-     */
-    private boolean createsCycle(Course newCourse) {
-        // Build adjacency from DB (courses -> their prerequisites' codes)
-        List<Course> all = courseRepository.findAll();
-        Map<UUID, List<UUID>> adj = new HashMap<>();
-        for (Course c : all) {
-            List<UUID> prereqIds = c.getPrerequisites().stream()
-                    .map(pr -> pr.getPrerequisite().getCid())
-                    .collect(Collectors.toList());
-            adj.put(c.getCid(), prereqIds);
-        }
-
-        // detect cycle using DFS
-        Set<UUID> visiting = new HashSet<>();
-        Set<UUID> visited = new HashSet<>();
-
-        for (UUID node : adj.keySet()) {
-            if (hasCycle(node, adj, visiting, visited)) return true;
-        }
-        return false;
-    }
-
-    /**
-     * Recursive helper method for detecting cycles in a directed graph
-     * using depth-first search.
-     *
-     * @param node current course identifier being visited
-     * @param adj adjacency list representing prerequisite relationships
-     * @param visiting set of nodes currently in the DFS recursion stack
-     * @param visited set of nodes that have been fully processed
-     * @return {@code true} if a cycle is detected, {@code false} otherwise
-     */
-    private boolean hasCycle(UUID node, Map<UUID, List<UUID>> adj, Set<UUID> visiting, Set<UUID> visited) {
-        if (visited.contains(node)) return false;
-        if (visiting.contains(node)) return true;
-        visiting.add(node);
-        for (UUID nei : adj.getOrDefault(node, Collections.emptyList())) {
-            if (hasCycle(nei, adj, visiting, visited)) return true;
-        }
-        visiting.remove(node);
-        visited.add(node);
-        return false;
-    }
-
     /**
      * Retrieves a paginated list of courses with optional filtering.
      *
      * <p>Filtering can be applied based on course code, course name,
-     * and unit count. Results are mapped to DTOs and paginated in-memory
-     * using {@link PaginationUtil}.</p>
+     * and unit count. Filtering, counting and paging are done in the database
+     * through {@link CourseSpecifications}; prerequisite codes of the returned
+     * page are loaded with a single batched query.</p>
      *
-     * @param page page number (zero-based)
-     * @param size number of records per page
+     * @param page page number (1-based), or -1 together with size for every course
+     * @param size number of records per page, or -1 together with page for every course
      * @param code optional exact course code filter
      * @param name optional partial course name filter
      * @param unit optional unit count filter
@@ -218,30 +174,30 @@ public class CourseServiceImpl implements CourseService {
     public Pagination<CourseResponse> getAllCourses(int page, int size, String code, String name, Integer unit) {
 
 
-        List<Course> allCourses = courseRepository.findAll();
-
-
-        List<Course> filtered = allCourses.stream()
-                .filter(c -> code == null || c.getCode().equalsIgnoreCase(code.trim()))
-                .filter(c -> name == null || c.getName().toLowerCase().contains(name.trim().toLowerCase()))
-                .filter(c -> unit == null || c.getUnit() == unit)
-                .toList();
+        Page<Course> result = courseRepository.findAll(
+                CourseSpecifications.catalogueFilter(code, name, unit),
+                PaginationUtil.pageable(page, size, Sort.by("code"))
+        );
 
+        // prerequisite codes of the whole page in one query
+        Map<UUID, List<String>> prerequisiteCodes = new HashMap<>();
+        if (result.hasContent()) {
+            List<UUID> ids = result.getContent().stream().map(Course::getCid).toList();
+            for (PrerequisiteCodeRow row : prerequisiteRepository.findPrerequisiteCodes(ids)) {
+                prerequisiteCodes.computeIfAbsent(row.courseId(), k -> new ArrayList<>()).add(row.prerequisiteCode());
+            }
+        }
 
-        List<CourseResponse> dtoList = filtered.stream()
+        List<CourseResponse> dtoList = result.getContent().stream()
                 .map(c -> new CourseResponse(
                         c.getCode(),
                         c.getName(),
                         c.getUnit(),
-                        c.getPrerequisites()
-                                .stream()
-                                .map(pr -> pr.getPrerequisite().getCode())
-                                .toList()
+                        prerequisiteCodes.getOrDefault(c.getCid(), List.of())
                 ))
                 .toList();
 
-
-        return PaginationUtil.pagination(dtoList, page, size);
+        return PaginationUtil.pagination(dtoList, page, size, (int) result.getTotalElements());
     }
 
     /**
@@ -251,9 +207,9 @@ public class CourseServiceImpl implements CourseService {
      * and prerequisites. When prerequisites are updated, existing
      * prerequisite relationships are removed and replaced.</p>
      *
-     * <p>After applying changes, a cycle detection check is performed
-     * to ensure that the updated configuration does not introduce
-     * cyclic dependencies.</p>
+     * <p>Before prerequisites are replaced, a cycle detection check is
+     * performed against the {@link PrerequisiteGraph} to ensure that the
+     * updated configuration does not introduce cyclic dependencies.</p>
      *
      * @param code the unique code of the course to update
      * @param req request object containing updated course data
@@ -272,6 +228,7 @@ public class CourseServiceImpl implements CourseService {
         // تغییر نام درس اگر مقدار داده شده باشه
         if (req.name() != null && !req.name().isBlank()) {
             course.setName(req.name().trim());
+            offeringCatalogue.invalidateAll();
         }
 
         // تغییر واحد درس اگر مقدار داده شده باشه
@@ -303,6 +260,12 @@ public class CourseServiceImpl implements CourseService {
                 }
             }
 
+            // بررسی حلقه پیش‌نیازها
+            List<UUID> prereqIds = prereqCourses.stream().map(Course::getCid).toList();
+            if (prerequisiteGraph.wouldCreateCycle(course.getCid(), prereqIds)) {
+                throw new BadRequestException("updating these prerequisites introduces cyclic dependency");
+            }
+
             // حذف پیش‌نیازهای قدیمی
             prerequisiteRepository.deleteAll(course.getPrerequisites());
 
@@ -317,11 +280,8 @@ public class CourseServiceImpl implements CourseService {
                 prerequisiteRepository.saveAll(toSave);
                 course.setPrerequisites(toSave);
             }
-        }
 
-        // بررسی حلقه پیش‌نیازها
-        if (createsCycle(course)) {
-            throw new BadRequestException("updating these prerequisites introduces cyclic dependency");
+            prerequisiteGraph.replacePrerequisites(course.getCid(), prereqIds);
         }
 
         // ذخیره تغییرات
@@ -373,6 +333,40 @@ public class CourseServiceImpl implements CourseService {
 
         // 3) در نهایت حذف خود درس
         courseRepository.delete(course);
+
+        prerequisiteGraph.removeCourse(cid);
+    }
+
+    /**
+     * Retrieves all direct and indirect prerequisites of a course.
+     *
+     * <p>The prerequisite chain is resolved from the in-memory {@link PrerequisiteGraph};
+     * only the codes of the resulting courses are loaded from the database.</p>
+     *
+     * @param code the unique code of the course
+     * @return codes of all transitive prerequisites, nearest first
+     *
+     * @throws NotFoundException if the course does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getTransitivePrerequisites(String code) {
+
+        Course course = courseRepository.findByCode(code)
+                .orElseThrow(() -> new NotFoundException("Course with code '" + code + "' not found"));
+
+        List<UUID> ids = prerequisiteGraph.transitivePrerequisites(course.getCid());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, String> codes = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getCid, Course::getCode));
+
+        return ids.stream()
+                .map(codes::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
 }
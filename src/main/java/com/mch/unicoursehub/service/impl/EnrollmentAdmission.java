@@ -0,0 +1,345 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mch.unicoursehub.config.AdmissionProperties;
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.AdmissionTicket;
+import com.mch.unicoursehub.model.enums.AdmissionStatus;
+import com.mch.unicoursehub.repository.SemesterRepository;
+import io.micrometer.core.instrument.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mch.unicoursehub.ConstErrors.enrollmentFailed;
+import static com.mch.unicoursehub.ConstErrors.notFoundSemester;
+
+/**
+ * Admission control in front of the enrollment of a semester.
+ *
+ * <p>
+ * Every existing semester has a lane with a {@link Semaphore} of
+ * {@link AdmissionProperties#concurrencyOf(String)} permits and a FIFO queue with room for
+ * {@link AdmissionProperties#queueCapacityOf(String)} waiting enrollments. An enrollment
+ * that finds a free permit and nobody waiting runs right away on the calling thread,
+ * so the endpoint behaves as before while registration is quiet. Otherwise it is queued
+ * and the caller gets a ticket with its approximate position and a retry hint; when the
+ * queue is full it is turned away. Whenever a permit frees up, the oldest queued
+ * enrollment is started on a virtual thread of the admission executor, so waiting
+ * enrollments hold neither a servlet thread nor a database connection. A lane is only
+ * created once the semester is known to exist, so made-up semester names cannot crowd
+ * out the lanes of real ones.
+ * </p>
+ *
+ * <p>
+ * Outcomes of queued enrollments are kept for {@link AdmissionProperties#ticketTtl()}
+ * and are visible only to their owner.
+ * </p>
+ *
+ * <p>
+ * Metrics, tagged with {@code semester}: {@code enrollment.admission.waiting} and
+ * {@code enrollment.admission.running} (gauges), {@code enrollment.admission.requests}
+ * (counter, tagged with {@code outcome} = inline, queued or full) and
+ * {@code enrollment.admission.wait} (timer of the time spent queued).
+ * </p>
+ */
+@Slf4j
+@Component
+public class EnrollmentAdmission {
+
+    /**
+     * Lanes of semesters without traffic are dropped after this time.
+     */
+    private static final Duration LANE_IDLE_TIMEOUT = Duration.ofHours(1);
+    private static final long MAX_LANES = 256;
+    private static final long MAX_TICKETS = 200_000;
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final AdmissionProperties properties;
+    private final SemesterRepository semesterRepository;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    private final Cache<String, Lane> lanes;
+    private final Cache<UUID, Ticket> tickets;
+
+    public EnrollmentAdmission(AdmissionProperties properties,
+                               SemesterRepository semesterRepository,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("admissionExecutor") ExecutorService executor) {
+        this.properties = properties;
+        this.semesterRepository = semesterRepository;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        this.lanes = Caffeine.newBuilder()
+                .expireAfterAccess(LANE_IDLE_TIMEOUT)
+                .maximumSize(MAX_LANES)
+                .executor(Runnable::run)
+                .removalListener((String key, Lane lane, RemovalCause cause) -> {
+                    if (lane != null) lane.meters.forEach(meterRegistry::remove);
+                })
+                .build();
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ticketTtl())
+                .maximumSize(MAX_TICKETS)
+                .build();
+    }
+
+    /**
+     * Runs an enrollment of a semester now, queues it, or turns it away.
+     *
+     * <p>
+     * Exceptions of an enrollment that runs right away are thrown to the caller;
+     * those of a queued one are recorded on its ticket.
+     * </p>
+     *
+     * @param semesterName the semester the enrollment belongs to
+     * @param owner        the id of the student the enrollment is made for
+     * @param enrollment   the enrollment to run
+     * @return a {@link AdmissionStatus#SUCCEEDED} ticket without id if it ran right away,
+     * a {@link AdmissionStatus#QUEUED} ticket if it was queued, or a
+     * {@link AdmissionStatus#FULL} ticket if the queue is full
+     * @throws NotFoundException if the semester does not exist
+     */
+    public AdmissionTicket admit(String semesterName, UUID owner, Runnable enrollment) {
+        String semester = semesterName.trim();
+        Lane lane = lane(semester);
+
+        if (lane.waiting.get() == 0 && lane.permits.tryAcquire()) {
+            lane.inline.increment();
+            try {
+                lane.run(enrollment);
+            } finally {
+                lane.permits.release();
+                drain(lane);
+            }
+            return new AdmissionTicket(null, semester, AdmissionStatus.SUCCEEDED, null, null, null, null);
+        }
+
+        if (lane.waiting.incrementAndGet() > lane.queueCapacity) {
+            lane.waiting.decrementAndGet();
+            lane.full.increment();
+            return new AdmissionTicket(null, semester, AdmissionStatus.FULL, null,
+                    lane.retryAfterSeconds(lane.queueCapacity), null, null);
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID(), owner, lane, lane.issued.incrementAndGet(), enrollment);
+        tickets.put(ticket.id, ticket);
+        lane.queued.increment();
+        lane.queue.add(ticket);
+        drain(lane);
+        return ticket.toResponse();
+    }
+
+    /**
+     * Returns the current state of a queued enrollment.
+     *
+     * @param ticketId the id of the ticket
+     * @param owner    the id of the student asking
+     * @return the ticket, or empty if it does not exist, expired or belongs to someone else
+     */
+    public Optional<AdmissionTicket> ticket(UUID ticketId, UUID owner) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null || !ticket.owner.equals(owner)) {
+            return Optional.empty();
+        }
+        return Optional.of(ticket.toResponse());
+    }
+
+    /**
+     * Starts queued enrollments, oldest first, while the lane has free permits.
+     * Called after every enqueue and every release, so no enrollment is left waiting
+     * for a permit that is already free.
+     */
+    private void drain(Lane lane) {
+        while (!lane.queue.isEmpty() && lane.permits.tryAcquire()) {
+            Ticket next = lane.queue.poll();
+            if (next == null) {
+                lane.permits.release();
+                continue;
+            }
+            lane.waiting.decrementAndGet();
+            lane.started.incrementAndGet();
+            try {
+                executor.execute(() -> runQueued(next));
+            } catch (RejectedExecutionException e) {
+                // the application is shutting down
+                lane.permits.release();
+                next.fail(enrollmentFailed.getErrorCode(), enrollmentFailed.getMessage());
+            }
+        }
+    }
+
+    private void runQueued(Ticket ticket) {
+        Lane lane = ticket.lane;
+        lane.waitTimer.record(System.nanoTime() - ticket.queuedAt, TimeUnit.NANOSECONDS);
+        ticket.status = AdmissionStatus.RUNNING;
+        try {
+            lane.run(ticket.enrollment);
+            ticket.status = AdmissionStatus.SUCCEEDED;
+        } catch (BadRequestException e) {
+            ticket.fail(e.getErrorCode(), e.getMessage());
+        } catch (NotFoundException e) {
+            ticket.fail(e.getErrorCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("queued enrollment failed -> {}", e.getMessage(), e);
+            ticket.fail(enrollmentFailed.getErrorCode(), enrollmentFailed.getMessage());
+        } finally {
+            lane.permits.release();
+            drain(lane);
+        }
+    }
+
+    /**
+     * Returns the lane of a semester, creating it if the semester exists.
+     */
+    private Lane lane(String semester) {
+        Lane lane = lanes.getIfPresent(semester);
+        if (lane != null) {
+            return lane;
+        }
+        if (!semesterRepository.existsByName(semester)) {
+            throw new NotFoundException(notFoundSemester);
+        }
+        return lanes.get(semester, this::newLane);
+    }
+
+    private Lane newLane(String semester) {
+        return new Lane(semester, properties.concurrencyOf(semester), properties.queueCapacityOf(semester), meterRegistry);
+    }
+
+    /**
+     * Concurrency limit, queue and metrics of one semester.
+     */
+    private static final class Lane {
+
+        /**
+         * Smoothing factor of the average enrollment time used for retry hints.
+         */
+        private static final double ALPHA = 0.2;
+
+        final String semester;
+        final int concurrency;
+        final int queueCapacity;
+        final Semaphore permits;
+        final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger waiting = new AtomicInteger();
+        final AtomicLong issued = new AtomicLong();
+        final AtomicLong started = new AtomicLong();
+        volatile double averageNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+        final Counter inline;
+        final Counter queued;
+        final Counter full;
+        final Timer waitTimer;
+        final List<Meter> meters;
+
+        Lane(String semester, int concurrency, int queueCapacity, MeterRegistry registry) {
+            this.semester = semester;
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.permits = new Semaphore(concurrency);
+
+            Tags tags = Tags.of("semester", semester);
+            this.inline = requests(registry, tags, "inline");
+            this.queued = requests(registry, tags, "queued");
+            this.full = requests(registry, tags, "full");
+            this.waitTimer = Timer.builder("enrollment.admission.wait")
+                    .description("Time enrollments spent in the admission queue")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            Gauge waitingGauge = Gauge.builder("enrollment.admission.waiting", waiting, AtomicInteger::get)
+                    .description("Enrollments waiting in the admission queue")
+                    .tags(tags)
+                    .register(registry);
+            Gauge runningGauge = Gauge.builder("enrollment.admission.running", permits, p -> concurrency - p.availablePermits())
+                    .description("Enrollments currently running")
+                    .tags(tags)
+                    .register(registry);
+            this.meters = List.of(inline, queued, full, waitTimer, waitingGauge, runningGauge);
+        }
+
+        private static Counter requests(MeterRegistry registry, Tags tags, String outcome) {
+            return Counter.builder("enrollment.admission.requests")
+                    .description("Enrollment requests by admission outcome")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        void run(Runnable enrollment) {
+            long start = System.nanoTime();
+            try {
+                enrollment.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                averageNanos = averageNanos + ALPHA * (elapsed - averageNanos);
+            }
+        }
+
+        /**
+         * Estimates how long the given number of enrollments ahead takes to drain, in whole seconds.
+         */
+        long retryAfterSeconds(long ahead) {
+            double seconds = ahead * averageNanos / concurrency / 1e9;
+            return Math.clamp((long) Math.ceil(seconds), 1, MAX_RETRY_AFTER_SECONDS);
+        }
+    }
+
+    /**
+     * Mutable state of a queued enrollment.
+     */
+    private static final class Ticket {
+
+        final UUID id;
+        final UUID owner;
+        final Lane lane;
+        final long number;
+        final Runnable enrollment;
+        final long queuedAt = System.nanoTime();
+        volatile AdmissionStatus status = AdmissionStatus.QUEUED;
+        volatile Integer errorCode;
+        volatile String message;
+
+        Ticket(UUID id, UUID owner, Lane lane, long number, Runnable enrollment) {
+            this.id = id;
+            this.owner = owner;
+            this.lane = lane;
+            this.number = number;
+            this.enrollment = enrollment;
+        }
+
+        void fail(int errorCode, String message) {
+            this.errorCode = errorCode;
+            this.message = message;
+            this.status = AdmissionStatus.FAILED;
+        }
+
+        AdmissionTicket toResponse() {
+            AdmissionStatus current = status;
+            if (current != AdmissionStatus.QUEUED) {
+                return new AdmissionTicket(id, lane.semester, current, null,
+                        current == AdmissionStatus.RUNNING ? 1L : null, errorCode, message);
+            }
+            long position = Math.max(1, number - lane.started.get());
+            return new AdmissionTicket(id, lane.semester, current, position, lane.retryAfterSeconds(position), null, null);
+        }
+    }
+}
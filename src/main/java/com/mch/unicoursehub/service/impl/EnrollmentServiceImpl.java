@@ -2,22 +2,21 @@ package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.BadRequestException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
-import com.mch.unicoursehub.model.dto.DropCourseRequest;
-import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
-import com.mch.unicoursehub.model.dto.StudentEnrollmentResponse;
+import com.mch.unicoursehub.model.dto.*;
+import com.mch.unicoursehub.model.dto.RegistrationContext.Selection;
 import com.mch.unicoursehub.model.entity.*;
 import com.mch.unicoursehub.model.enums.EnrollmentStatus;
 import com.mch.unicoursehub.repository.CourseOfferingRepository;
 import com.mch.unicoursehub.repository.EnrollmentRepository;
-import com.mch.unicoursehub.repository.PrerequisiteRepository;
 import com.mch.unicoursehub.repository.SemesterRepository;
 import com.mch.unicoursehub.service.EnrollmentService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.mch.unicoursehub.ConstErrors.*;
 
@@ -34,11 +33,13 @@ import static com.mch.unicoursehub.ConstErrors.*;
  *         <li>Time slot and exam conflicts</li>
  *         <li>Maximum allowed units per semester</li>
  *     </ul>
+ *     <li>Enrolling students in a whole basket of course offerings at once</li>
  *     <li>Retrieving student's current enrollments</li>
  *     <li>Dropping a course enrollment</li>
  * </ul>
  * </p>
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -46,8 +47,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final CourseOfferingRepository courseOfferingRepository;
-    private final PrerequisiteRepository prerequisiteRepository;
     private final SemesterRepository semesterRepository;
+    private final EnrollmentValidator enrollmentValidator;
+    private final OfferingCatalogue offeringCatalogue;
 
     /**
      * Enrolls a student in a specific course offering for a given semester.
@@ -62,6 +64,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
      *     <li>No time slot or exam conflicts</li>
      *     <li>Total units do not exceed semester limit</li>
      * </ul>
+     * All rules except capacity are evaluated in memory by {@link EnrollmentValidator}
+     * against a registration context loaded with a constant number of queries.
+     * Capacity is enforced by an atomic conditional seat reservation, so concurrent
+     * enrollments never oversubscribe an offering.
      * </p>
      *
      * @param student      the student to enroll
@@ -80,95 +86,130 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 )
                 .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
 
-        Semester semester = offering.getSemester();
-        Course course = offering.getCourse();
-
-       // Capacity
-        long enrolledCount = enrollmentRepository.countByCourseOffering(offering);
-        if (enrolledCount >= offering.getCapacity()) {
+        // Capacity: fast rejection, the seat reservation below is authoritative
+        if (offering.getSeatsTaken() >= offering.getCapacity()) {
             throw new BadRequestException(fullCapacity);
         }
 
-        /*  عدم اخذ مجدد در صورت Drop شدن */
-        boolean droppedBefore = enrollmentRepository
-                .existsByStudentAndCourseOffering_SemesterAndCourseOffering_CourseAndStatus(
-                        student,
-                        semester,
-                        course,
-                        EnrollmentStatus.DROPPED
-                );
-
-        if (droppedBefore) {
-            throw new BadRequestException(droppedCourse);
-        }
+        RegistrationContext context = enrollmentValidator.loadContext(student, offering);
+        enrollmentValidator.validate(context, offering);
 
-        /*  عدم اخذ تکراری درس در ترم */
-        boolean alreadyTaken = enrollmentRepository
-                .existsByStudentAndCourseOffering_SemesterAndCourseOffering_Course(
-                        student, semester, course
-                );
-
-        if (alreadyTaken) {
-            throw new BadRequestException(taken);
+        // Reserve the seat after all checks so the offering row is locked only for the insert
+        if (courseOfferingRepository.reserveSeat(offering.getId()) == 0) {
+            throw new BadRequestException(fullCapacity);
         }
+        offeringCatalogue.seatsChanged(offering.getId());
 
-        /*  بررسی پیش‌نیاز */
-        List<Prerequisite> prerequisites = prerequisiteRepository.findByCourse(course);
-
-        List<Enrollment> passedCourses =
-                enrollmentRepository.findByStudentAndStatus(student, EnrollmentStatus.PASSED);
-
-        for (Prerequisite p : prerequisites) {
-            boolean passed = passedCourses.stream()
-                    .anyMatch(e -> e.getCourseOffering()
-                            .getCourse()
-                            .equals(p.getPrerequisite()));
+        /*  ثبت Enrollment */
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourseOffering(offering);
+        enrollment.setStatus(EnrollmentStatus.SELECTED);
 
-            if (!passed) {
-                throw new BadRequestException(
-                        "Prerequisite not passed: " + p.getPrerequisite().getCode()
-                );
-            }
-        }
+        enrollmentRepository.save(enrollment);
+    }
 
-        /*  تداخل زمانی و امتحان + محاسبه واحد */
-        List<Enrollment> currentEnrollments =
-                enrollmentRepository.findByStudentAndCourseOffering_SemesterAndStatus(student, semester,EnrollmentStatus.SELECTED);
+    /**
+     * Enrolls a student in several course offerings of a semester at once.
+     *
+     * <p>
+     * The sections are checked in request order with the same rules as
+     * {@link #enrollStudent}, each one against the student's existing selections plus the
+     * sections accepted before it, so unit totals and time or exam clashes inside the
+     * basket are detected too. A rejected section does not stop the others. The whole
+     * basket is loaded and validated with a constant number of queries; seats of the
+     * accepted sections are then reserved in offering id order, which keeps concurrent
+     * baskets from deadlocking, and the enrollments are inserted together in one
+     * transaction. A section that loses its seat to a concurrent enrollment is reported
+     * as full; dropping it can only relax the checks of the sections after it.
+     * </p>
+     *
+     * @param student      the student to enroll
+     * @param semesterName the name of the semester
+     * @param req          the sections to enroll in
+     * @return one result per requested section, in request order
+     * @throws NotFoundException if the semester does not exist
+     */
+    public List<BatchEnrollResult> enrollBatch(User student, String semesterName, BatchEnrollRequest req) {
 
-        int totalUnits = course.getUnit();
+        Semester semester = semesterRepository.findByName(semesterName.trim())
+                .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        for (Enrollment e : currentEnrollments) {
+        List<EnrollCourseRequest> sections = req.sections();
+        List<OfferingKey> keys = sections.stream()
+                .map(s -> new OfferingKey(s.courseCode().trim(), s.groupNumber()))
+                .toList();
+        Map<OfferingKey, CourseOffering> offerings = courseOfferingRepository.findAllByNaturalKeys(semester, keys);
+
+        Map<UUID, List<PrerequisiteStatusRow>> prerequisites = enrollmentValidator.loadPrerequisites(
+                student,
+                offerings.values().stream().map(o -> o.getCourse().getCid()).collect(Collectors.toSet()));
+        List<Selection> selections = new ArrayList<>(enrollmentValidator.loadSelections(student, semester));
+        Map<UUID, Set<UUID>> slotIds = offerings.isEmpty() ? Map.of() : courseOfferingRepository
+                .findSlotRowsByOfferingIds(offerings.values().stream().map(CourseOffering::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OfferingSlotRow::offeringId,
+                        Collectors.mapping(OfferingSlotRow::timeSlotId, Collectors.toSet())));
 
-            CourseOffering co = e.getCourseOffering();
+        BatchEnrollResult[] results = new BatchEnrollResult[sections.size()];
+        Map<Integer, CourseOffering> accepted = new HashMap<>();
 
-            // امتحان
-            if (co.getExamDate().equals(offering.getExamDate())) {
-                throw new BadRequestException(examDateConflict);
+        for (int i = 0; i < sections.size(); i++) {
+            CourseOffering offering = offerings.get(keys.get(i));
+            if (offering == null) {
+                results[i] = BatchEnrollResult.rejected(sections.get(i), courseOfferingNotFound);
+                continue;
+            }
+            if (offering.getSeatsTaken() >= offering.getCapacity()) {
+                results[i] = BatchEnrollResult.rejected(sections.get(i), fullCapacity);
+                continue;
             }
 
-            // تایم‌اسلات
-            boolean timeConflict = co.getTimeSlots().stream()
-                    .anyMatch(ts -> offering.getTimeSlots().contains(ts));
-
-            if (timeConflict) {
-                throw new BadRequestException(classTimeConflict);
+            Course course = offering.getCourse();
+            try {
+                enrollmentValidator.validate(
+                        new RegistrationContext(selections, prerequisites.getOrDefault(course.getCid(), List.of())),
+                        offering);
+            } catch (BadRequestException e) {
+                results[i] = BatchEnrollResult.rejected(sections.get(i), e.getErrorCode(), e.getMessage());
+                continue;
             }
 
-            totalUnits += co.getCourse().getUnit();
+            selections.add(new Selection(
+                    offering.getId(),
+                    course.getCid(),
+                    EnrollmentStatus.SELECTED,
+                    offering.getExamDate(),
+                    course.getUnit(),
+                    offering.getSlotMask(),
+                    slotIds.getOrDefault(offering.getId(), Set.of())
+            ));
+            accepted.put(i, offering);
         }
 
-        /*  محدودیت واحد */
-        if (totalUnits > semester.getMaxUnits()) {
-            throw new BadRequestException(maxUnit);
+        List<Enrollment> enrollments = new ArrayList<>(accepted.size());
+        List<Map.Entry<Integer, CourseOffering>> byOffering = accepted.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparing(CourseOffering::getId)))
+                .toList();
+        for (Map.Entry<Integer, CourseOffering> entry : byOffering) {
+            int i = entry.getKey();
+            CourseOffering offering = entry.getValue();
+            if (courseOfferingRepository.reserveSeat(offering.getId()) == 0) {
+                results[i] = BatchEnrollResult.rejected(sections.get(i), fullCapacity);
+                continue;
+            }
+            offeringCatalogue.seatsChanged(offering.getId());
+
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setCourseOffering(offering);
+            enrollment.setStatus(EnrollmentStatus.SELECTED);
+            enrollments.add(enrollment);
+            results[i] = BatchEnrollResult.enrolled(sections.get(i));
         }
 
-        /*  ثبت Enrollment */
-        Enrollment enrollment = new Enrollment();
-        enrollment.setStudent(student);
-        enrollment.setCourseOffering(offering);
-        enrollment.setStatus(EnrollmentStatus.SELECTED);
-
-        enrollmentRepository.save(enrollment);
+        enrollmentRepository.saveAll(enrollments);
+        return List.of(results);
     }
 
     /**
@@ -239,7 +280,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     /**
      * Drops a course enrollment for a student.
      *
-     * <p>Only enrollments with status SELECTED can be dropped. Status is updated to DROPPED.</p>
+     * <p>Only enrollments with status SELECTED can be dropped. Status is updated to DROPPED
+     * and the reserved seat of the offering is released.</p>
      *
      * @param student the student performing the drop
      * @param req     drop request details (course code, group number, semester)
@@ -268,7 +310,18 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             );
         }
 
-        enrollment.setStatus(EnrollmentStatus.DROPPED);
+        // Conditional update so a concurrent drop releases the seat only once
+        if (enrollmentRepository.dropIfSelected(enrollment.getId()) == 0) {
+            throw new BadRequestException(nonSelectedStatus);
+        }
+
+        UUID offeringId = enrollment.getCourseOffering().getId();
+        if (courseOfferingRepository.releaseSeat(offeringId) == 0) {
+            log.warn("seat counter of offering {} was already zero when enrollment {} was dropped",
+                    offeringId, enrollment.getId());
+        } else {
+            offeringCatalogue.seatsChanged(offeringId);
+        }
 
     }
 }
@@ -0,0 +1,187 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.CoursePrerequisiteStatusRow;
+import com.mch.unicoursehub.model.dto.PrerequisiteStatusRow;
+import com.mch.unicoursehub.model.dto.RegistrationContext;
+import com.mch.unicoursehub.model.dto.RegistrationContext.Selection;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.CourseOffering;
+import com.mch.unicoursehub.model.entity.Semester;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import com.mch.unicoursehub.repository.EnrollmentRepository;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.mch.unicoursehub.ConstErrors.*;
+import static com.mch.unicoursehub.ConstVal.EXAM_DURATION_MINUTES;
+
+/**
+ * Validation engine for student enrollments.
+ *
+ * <p>
+ * Loads a compact {@link RegistrationContext} for the student with a fixed number of
+ * queries and evaluates every registration rule in memory:
+ * <ul>
+ *     <li>The course was not dropped before in the semester</li>
+ *     <li>The course is not already taken in the semester</li>
+ *     <li>All prerequisites are passed</li>
+ *     <li>No overlapping exam or class time with current selections</li>
+ *     <li>Total units do not exceed the semester limit</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Class times are compared through the {@link WeeklySchedule} masks stored on the
+ * offerings; only when two masks intersect are the individual slots, taken from the
+ * {@link TimeSlotRegistry}, checked for a real overlap.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EnrollmentValidator {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final PrerequisiteRepository prerequisiteRepository;
+    private final TimeSlotRegistry timeSlotRegistry;
+
+    private static final Duration EXAM_DURATION = Duration.ofMinutes(EXAM_DURATION_MINUTES);
+
+    /**
+     * Loads the registration context of a student for the given offering.
+     *
+     * <p>Issues exactly two queries regardless of the student's history.</p>
+     *
+     * @param student  the student who is enrolling
+     * @param offering the target course offering
+     * @return the registration context
+     */
+    public RegistrationContext loadContext(User student, CourseOffering offering) {
+        return RegistrationContext.of(
+                enrollmentRepository.findRegistrationContextRows(student, offering.getSemester()),
+                prerequisiteRepository.findPrerequisiteStatuses(
+                        offering.getCourse(), student, EnrollmentStatus.PASSED)
+        );
+    }
+
+    /**
+     * Loads the student's enrollments in a semester, for validating several offerings at once.
+     *
+     * @param student  the student who is enrolling
+     * @param semester the semester of the target offerings
+     * @return the student's selections in the semester (any status)
+     */
+    public List<Selection> loadSelections(User student, Semester semester) {
+        return RegistrationContext.of(
+                enrollmentRepository.findRegistrationContextRows(student, semester),
+                List.of()
+        ).selections();
+    }
+
+    /**
+     * Loads the prerequisite statuses of several courses with a single query.
+     *
+     * @param student   the student who is enrolling
+     * @param courseIds the ids of the target courses
+     * @return the prerequisites of each course by course id, in declaration order;
+     *         courses without prerequisites are left out
+     */
+    public Map<UUID, List<PrerequisiteStatusRow>> loadPrerequisites(User student, Collection<UUID> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<PrerequisiteStatusRow>> byCourse = new HashMap<>();
+        for (CoursePrerequisiteStatusRow row :
+                prerequisiteRepository.findPrerequisiteStatusesOfCourses(courseIds, student, EnrollmentStatus.PASSED)) {
+            byCourse.computeIfAbsent(row.courseId(), k -> new ArrayList<>()).add(row.toStatusRow());
+        }
+        return byCourse;
+    }
+
+    /**
+     * Validates an enrollment request against a loaded context.
+     *
+     * @param context  the student's registration context
+     * @param offering the target course offering
+     * @throws BadRequestException if any rule fails
+     */
+    public void validate(RegistrationContext context, CourseOffering offering) {
+
+        Course course = offering.getCourse();
+        UUID courseId = course.getCid();
+
+        // Not allowed to take the course again after dropping it
+        boolean droppedBefore = context.selections().stream()
+                .anyMatch(s -> s.courseId().equals(courseId) && s.status() == EnrollmentStatus.DROPPED);
+        if (droppedBefore) {
+            throw new BadRequestException(droppedCourse);
+        }
+
+        // No duplicate course in the same semester
+        boolean alreadyTaken = context.selections().stream()
+                .anyMatch(s -> s.courseId().equals(courseId));
+        if (alreadyTaken) {
+            throw new BadRequestException(taken);
+        }
+
+        // Prerequisites
+        for (PrerequisiteStatusRow p : context.prerequisites()) {
+            if (!p.passed()) {
+                throw new BadRequestException(notPassed.getMessage() + ": " + p.code(), notPassed.getErrorCode());
+            }
+        }
+
+        // Exam and time slot conflicts + unit count
+        int totalUnits = course.getUnit();
+        long slotMask = offering.getSlotMask();
+
+        for (Selection s : context.selections()) {
+
+            if (s.status() != EnrollmentStatus.SELECTED) {
+                continue;
+            }
+
+            if (WeeklySchedule.examsOverlap(s.examDate(), offering.getExamDate(), EXAM_DURATION)) {
+                throw new BadRequestException(examDateConflict);
+            }
+
+            if ((s.slotMask() & slotMask) != 0 && slotsOverlap(s, offering.getTimeSlots())) {
+                throw new BadRequestException(classTimeConflict);
+            }
+
+            totalUnits += s.unit();
+        }
+
+        // Unit limit
+        if (totalUnits > offering.getSemester().getMaxUnits()) {
+            throw new BadRequestException(maxUnit);
+        }
+    }
+
+    /**
+     * Checks the time slots of a selection against the slots of the target offering.
+     * A slot missing from the registry only conflicts with the same slot.
+     */
+    private boolean slotsOverlap(Selection selection, List<TimeSlot> targetSlots) {
+        for (UUID id : selection.timeSlotIds()) {
+            TimeSlot selected = timeSlotRegistry.get(id);
+            for (TimeSlot target : targetSlots) {
+                if (target.getId().equals(id)) {
+                    return true;
+                }
+                TimeSlot candidate = timeSlotRegistry.get(target.getId());
+                if (selected != null && candidate != null && WeeklySchedule.overlaps(selected, candidate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.exceptions.ServiceUnavailableException;
 import com.mch.unicoursehub.model.dto.AuthRequestResponse;
 import com.mch.unicoursehub.model.dto.UserLogin;
 import com.mch.unicoursehub.model.entity.User;
@@ -8,6 +9,7 @@ import com.mch.unicoursehub.repository.UserRepository;
 import com.mch.unicoursehub.service.LoginService;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
 
@@ -49,13 +51,23 @@ public class LoginServiceImpl implements LoginService {
      *
      * @throws org.springframework.security.core.AuthenticationException
      *         if authentication fails
+     * @throws ServiceUnavailableException
+     *         if too many passwords are being verified to queue this one
      */
     @Override
     public AuthRequestResponse pwdUserLogin(UserLogin userLogin) {
 
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-                userLogin.userNumber(), userLogin.password()
-        ));
+        try {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                    userLogin.userNumber(), userLogin.password()
+            ));
+        } catch (InternalAuthenticationServiceException e) {
+            // the provider wraps what the dummy hash of an unknown user throws
+            if (e.getCause() instanceof ServiceUnavailableException busy) {
+                throw busy;
+            }
+            throw e;
+        }
 
         User user = userRepository.findByUserNumber(userLogin.userNumber()).orElseThrow(() -> new NotFoundException(userNotFound));
 
@@ -65,23 +77,16 @@ public class LoginServiceImpl implements LoginService {
     /**
      * Builds a successful authentication response for an authenticated user.
      *
-     * <p>This method generates a new access token and refresh token for the user
-     * and assembles the response DTO containing user identity and role information.</p>
+     * <p>This method issues a new login session for the user, an access token and a
+     * refresh token, together with the response DTO containing user identity and role
+     * information, through {@link TokenServiceImpl#issueLoginSession(User)}.</p>
      *
      * @param user authenticated user entity
      * @return an {@link AuthRequestResponse} containing user details and tokens
      */
     public AuthRequestResponse loginSuccess(User user){
 
-        String access = tokenService.newAccessToken(user);
-        String refresh = tokenService.newRefreshToken(user);
-
-        return AuthRequestResponse.builder()
-                .role(user.getRole().name())
-                .name(user.fullName())
-                .accessToken(access)
-                .refreshToken(refresh)
-                .build();
+        return tokenService.issueLoginSession(user);
     }
 
     /**
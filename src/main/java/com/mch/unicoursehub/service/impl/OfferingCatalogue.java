@@ -0,0 +1,443 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.dto.SeatAvailability;
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory read model of the course offerings of each semester.
+ *
+ * <p>
+ * A semester is loaded with two projection queries on first use and kept as an
+ * immutable, sorted array of entries holding the response fields together with
+ * lower-cased search keys, so a catalogue search is a scan over plain strings and
+ * never touches the JPA entity graph. Writes made through the offering, course,
+ * user and enrollment services are applied once the surrounding transaction
+ * commits: a changed offering is reloaded on its own and swapped in, a seat change
+ * re-reads the committed seat counter of its offering, and renames of courses or
+ * professors drop all loaded semesters.
+ * </p>
+ *
+ * <p>
+ * Changes made by other instances are not seen by these callbacks; every loaded
+ * semester is therefore reloaded every {@link ConstVal#CATALOGUE_RESYNC_INTERVAL} ms
+ * and its snapshot replaced, which also repairs seat counters of concurrent changes
+ * whose re-reads were applied out of order.
+ * </p>
+ *
+ * <p>
+ * Readers never lock; updates replace the snapshot of a semester under the monitor
+ * of this object. Listeners registered with {@link #addChangeListener} are told the
+ * id of every offering whose seats or details changed, after the change is applied.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfferingCatalogue {
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing((Entry e) -> e.courseCode).thenComparingInt(e -> e.section);
+
+    private final CourseOfferingRepository courseOfferingRepository;
+
+    /**
+     * Semester id to the loaded snapshot of its offerings.
+     */
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Incremented by every update, so a load that raced with an update is not cached.
+     */
+    private long generation;
+
+    /**
+     * Returns the offerings of a semester matching the given filters.
+     *
+     * <p>
+     * Filters are optional: the professor name and course name match as case-insensitive
+     * substrings, the course code matches exactly, ignoring case.
+     * </p>
+     *
+     * @param semesterId    the id of the semester
+     * @param professorName optional substring of the professor's full name
+     * @param courseCode    optional course code
+     * @param courseName    optional substring of the course name
+     * @return the matching offerings ordered by course code and section
+     */
+    public List<CourseOfferingResponse> search(UUID semesterId, String professorName, String courseCode, String courseName) {
+        String professor = normalize(professorName);
+        String code = normalize(courseCode);
+        String name = normalize(courseName);
+
+        List<CourseOfferingResponse> result = new ArrayList<>();
+        for (Entry e : snapshot(semesterId).entries) {
+            if (professor != null && !e.professorKey.contains(professor)) continue;
+            if (code != null && !e.codeKey.equals(code)) continue;
+            if (name != null && !e.nameKey.contains(name)) continue;
+            result.add(e.toResponse());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the seat availability of some offerings of a semester, loading the semester if needed.
+     * Offerings that are not part of the semester are left out.
+     *
+     * @param semesterId  the id of the semester
+     * @param offeringIds the ids of the offerings
+     * @return the availability of the matching offerings
+     */
+    public List<SeatAvailability> availability(UUID semesterId, Collection<UUID> offeringIds) {
+        Map<UUID, Entry> byId = snapshot(semesterId).byId;
+        List<SeatAvailability> result = new ArrayList<>();
+        for (UUID id : offeringIds) {
+            Entry e = byId.get(id);
+            if (e != null) {
+                result.add(new SeatAvailability(e.offeringId, e.courseCode, e.section, e.capacity,
+                        Math.max(0, e.capacity - e.seatsTaken.get())));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers a listener that is called with the id of every offering whose seats or
+     * details changed, once the change has been applied to the catalogue.
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Replaces the snapshot of a semester with the given rows.
+     *
+     * @param semesterId the id of the semester
+     * @param rows       the catalogue rows of every offering in the semester
+     * @param slots      the time slot assignments of those offerings
+     */
+    public void rebuild(UUID semesterId, Collection<CatalogueOfferingRow> rows, Collection<OfferingSlotRow> slots) {
+        Snapshot snapshot = new Snapshot(toEntries(rows, slots));
+        synchronized (this) {
+            generation++;
+            snapshots.put(semesterId, snapshot);
+        }
+    }
+
+    /**
+     * Reloads a created or updated offering once the current transaction commits.
+     *
+     * @param semesterId the id of the offering's semester
+     * @param offeringId the id of the offering
+     */
+    public void offeringChanged(UUID semesterId, UUID offeringId) {
+        afterCommit(() -> {
+            if (!snapshots.containsKey(semesterId)) {
+                bump();
+                notifyListeners(offeringId);
+                return;
+            }
+            Optional<CatalogueOfferingRow> row = courseOfferingRepository.findCatalogueRow(offeringId);
+            Entry entry = row.map(r -> new Entry(r, courseOfferingRepository.findSlotIds(offeringId))).orElse(null);
+            synchronized (this) {
+                generation++;
+                snapshots.computeIfPresent(semesterId, (id, snapshot) -> snapshot.replace(offeringId, entry));
+            }
+            notifyListeners(offeringId);
+        });
+    }
+
+    /**
+     * Removes a deleted offering once the current transaction commits.
+     *
+     * @param semesterId the id of the offering's semester
+     * @param offeringId the id of the offering
+     */
+    public void offeringRemoved(UUID semesterId, UUID offeringId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                snapshots.computeIfPresent(semesterId, (id, snapshot) -> snapshot.replace(offeringId, null));
+            }
+            notifyListeners(offeringId);
+        });
+    }
+
+    /**
+     * Re-reads the seat counter of an offering once the current transaction commits.
+     *
+     * <p>
+     * The committed counter is read instead of applying a delta, since a snapshot loaded
+     * between the commit and this callback already contains the change.
+     * </p>
+     *
+     * @param offeringId the id of the offering whose seats were taken or released
+     */
+    public void seatsChanged(UUID offeringId) {
+        afterCommit(() -> {
+            Entry e = find(offeringId);
+            if (e != null) {
+                courseOfferingRepository.findSeatsTaken(offeringId).ifPresent(e.seatsTaken::set);
+            } else {
+                // the semester is not loaded, but a load may be in flight
+                bump();
+            }
+            notifyListeners(offeringId);
+        });
+    }
+
+    /**
+     * Reloads every loaded semester and tells the listeners about the offerings that
+     * were added, changed or removed since it was loaded.
+     */
+    @Scheduled(initialDelay = ConstVal.CATALOGUE_RESYNC_INTERVAL, fixedDelay = ConstVal.CATALOGUE_RESYNC_INTERVAL)
+    public void resync() {
+        for (UUID semesterId : List.copyOf(snapshots.keySet())) {
+            try {
+                resync(semesterId);
+            } catch (RuntimeException ex) {
+                // the next run retries
+                log.warn("Resyncing the catalogue of semester {} failed: {}", semesterId, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops every loaded semester once the current transaction commits.
+     * Used when a course or professor is renamed, which can touch offerings of any semester.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                snapshots.clear();
+            }
+        });
+    }
+
+    private Snapshot snapshot(UUID semesterId) {
+        Snapshot snapshot = snapshots.get(semesterId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long seen;
+        synchronized (this) {
+            seen = generation;
+        }
+        Snapshot loaded = load(semesterId);
+        synchronized (this) {
+            if (generation == seen) {
+                Snapshot existing = snapshots.putIfAbsent(semesterId, loaded);
+                return existing != null ? existing : loaded;
+            }
+        }
+        // an update committed while loading; serve what was read but do not cache it
+        return loaded;
+    }
+
+    /**
+     * Replaces the snapshot of a loaded semester with a fresh load, unless an update of
+     * this instance committed meanwhile; the next run picks the semester up again then.
+     */
+    private void resync(UUID semesterId) {
+        long seen;
+        synchronized (this) {
+            seen = generation;
+        }
+        Snapshot loaded = load(semesterId);
+        Snapshot previous;
+        synchronized (this) {
+            previous = snapshots.get(semesterId);
+            if (generation != seen || previous == null) {
+                return;
+            }
+            snapshots.put(semesterId, loaded);
+        }
+        for (Entry e : loaded.entries) {
+            Entry before = previous.byId.get(e.offeringId);
+            if (before == null || !before.sameAs(e)) {
+                notifyListeners(e.offeringId);
+            }
+        }
+        for (Entry e : previous.entries) {
+            if (!loaded.byId.containsKey(e.offeringId)) {
+                notifyListeners(e.offeringId);
+            }
+        }
+    }
+
+    private Snapshot load(UUID semesterId) {
+        return new Snapshot(toEntries(
+                courseOfferingRepository.findCatalogueRows(semesterId),
+                courseOfferingRepository.findSlotRows(semesterId)));
+    }
+
+    private Entry find(UUID offeringId) {
+        for (Snapshot snapshot : snapshots.values()) {
+            Entry e = snapshot.byId.get(offeringId);
+            if (e != null) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void bump() {
+        generation++;
+    }
+
+    private void notifyListeners(UUID offeringId) {
+        for (Consumer<UUID> listener : listeners) {
+            listener.accept(offeringId);
+        }
+    }
+
+    private static Entry[] toEntries(Collection<CatalogueOfferingRow> rows, Collection<OfferingSlotRow> slots) {
+        Map<UUID, List<UUID>> slotIds = new HashMap<>();
+        for (OfferingSlotRow s : slots) {
+            slotIds.computeIfAbsent(s.offeringId(), k -> new ArrayList<>()).add(s.timeSlotId());
+        }
+        Entry[] entries = rows.stream()
+                .map(r -> new Entry(r, slotIds.getOrDefault(r.offeringId(), List.of())))
+                .toArray(Entry[]::new);
+        Arrays.sort(entries, ORDER);
+        return entries;
+    }
+
+    /**
+     * The sorted offerings of one semester, indexed by offering id.
+     */
+    private static final class Snapshot {
+
+        final Entry[] entries;
+        final Map<UUID, Entry> byId;
+
+        Snapshot(Entry[] entries) {
+            this.entries = entries;
+            Map<UUID, Entry> index = HashMap.newHashMap(entries.length);
+            for (Entry e : entries) {
+                index.put(e.offeringId, e);
+            }
+            this.byId = index;
+        }
+
+        /**
+         * Returns a copy of the snapshot with the entry of an offering replaced, added or, for a {@code null} entry, removed.
+         */
+        Snapshot replace(UUID offeringId, Entry entry) {
+            List<Entry> copy = new ArrayList<>(entries.length + 1);
+            for (Entry e : entries) {
+                if (!e.offeringId.equals(offeringId)) copy.add(e);
+            }
+            if (entry != null) copy.add(entry);
+            Entry[] result = copy.toArray(Entry[]::new);
+            Arrays.sort(result, ORDER);
+            return new Snapshot(result);
+        }
+    }
+
+    /**
+     * Runs an update after commit, or immediately outside a transaction.
+     */
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One offering of the catalogue with its precomputed search keys.
+     */
+    private static final class Entry {
+
+        final UUID offeringId;
+        final String courseCode;
+        final String courseName;
+        final String professorName;
+        final String codeKey;
+        final String nameKey;
+        final String professorKey;
+        final int capacity;
+        final AtomicInteger seatsTaken;
+        final LocalDateTime examDate;
+        final String classRoom;
+        final int section;
+        final List<UUID> timeSlotIds;
+
+        Entry(CatalogueOfferingRow row, List<UUID> timeSlotIds) {
+            this.offeringId = row.offeringId();
+            this.courseCode = row.courseCode();
+            this.courseName = row.courseName();
+            this.professorName = row.professorFirstName() + " " + row.professorLastName();
+            this.codeKey = normalize(courseCode);
+            this.nameKey = normalize(courseName);
+            this.professorKey = professorName.toLowerCase(Locale.ROOT);
+            this.capacity = row.capacity();
+            this.seatsTaken = new AtomicInteger(row.seatsTaken());
+            this.examDate = row.examDate();
+            this.classRoom = row.classRoom();
+            this.section = row.section();
+            this.timeSlotIds = List.copyOf(timeSlotIds);
+        }
+
+        /**
+         * Tells whether both entries would produce the same response.
+         */
+        boolean sameAs(Entry other) {
+            return courseCode.equals(other.courseCode)
+                    && courseName.equals(other.courseName)
+                    && professorName.equals(other.professorName)
+                    && capacity == other.capacity
+                    && seatsTaken.get() == other.seatsTaken.get()
+                    && Objects.equals(examDate, other.examDate)
+                    && Objects.equals(classRoom, other.classRoom)
+                    && section == other.section
+                    && timeSlotIds.equals(other.timeSlotIds);
+        }
+
+        CourseOfferingResponse toResponse() {
+            return CourseOfferingResponse.builder()
+                    .courseCode(courseCode)
+                    .courseName(courseName)
+                    .professorName(professorName)
+                    .capacity(capacity)
+                    .examDate(examDate)
+                    .classroomNumber(Integer.parseInt(classRoom))
+                    .groupNumber(section)
+                    .timeSlotIds(timeSlotIds)
+                    .seatsTaken(seatsTaken.get())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.dto.PrerequisiteEdge;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the course prerequisite graph.
+ *
+ * <p>
+ * Courses are mapped to dense {@code int} ids and every course keeps the ids of its
+ * direct prerequisites in an {@code int[]}. The index is loaded from the database with
+ * a single projection query on first use and is then kept in sync with writes made
+ * through {@link CourseServiceImpl}; updates are applied once the surrounding
+ * transaction commits, so rolled back writes never reach the index.
+ * </p>
+ *
+ * <p>
+ * The first load runs in its own read-only transaction, so a caller that already wrote
+ * prerequisites in its transaction does not index uncommitted, auto-flushed rows. Every
+ * committed update bumps a generation counter, and a load that raced with one is
+ * discarded and read again.
+ * </p>
+ *
+ * <p>
+ * Writes made by other instances are not seen by these callbacks; the index is
+ * therefore reloaded every {@link ConstVal#PREREQUISITE_RESYNC_INTERVAL} ms. Since a
+ * stale index must never let a cycle into the database, {@link #wouldCreateCycle}
+ * answers from the database inside the writing transaction and drops the index when
+ * the two disagree.
+ * </p>
+ *
+ * <p>
+ * A cycle check for a write only walks the subgraph reachable from the new
+ * prerequisite set, looking for the edited course, instead of traversing the whole
+ * catalogue. Reads run concurrently under a read lock; updates take the write lock.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PrerequisiteGraph {
+
+    private static final int[] NONE = new int[0];
+
+    private final PrerequisiteRepository prerequisiteRepository;
+
+    private final TransactionTemplate loadTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Course id to dense node id.
+     */
+    private final Map<UUID, Integer> index = new HashMap<>();
+
+    /**
+     * Dense node id to course id.
+     */
+    private UUID[] ids = new UUID[64];
+
+    /**
+     * Dense node id to the node ids of its direct prerequisites.
+     */
+    private int[][] prerequisites = new int[64][];
+
+    private int size;
+
+    private volatile boolean loaded;
+
+    /**
+     * Incremented by every committed update, so a load that raced with an update is not used.
+     * Guarded by the write lock.
+     */
+    private long generation;
+
+    public PrerequisiteGraph(PrerequisiteRepository prerequisiteRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.prerequisiteRepository = prerequisiteRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Replaces the whole index with the given edges.
+     *
+     * @param edges all prerequisite relations of the catalogue
+     */
+    public void rebuild(Collection<PrerequisiteEdge> edges) {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            ids = new UUID[64];
+            prerequisites = new int[64][];
+            size = 0;
+
+            Map<Integer, List<Integer>> adjacency = new HashMap<>();
+            for (PrerequisiteEdge e : edges) {
+                int from = intern(e.courseId());
+                int to = intern(e.prerequisiteId());
+                adjacency.computeIfAbsent(from, k -> new ArrayList<>()).add(to);
+            }
+            adjacency.forEach((from, to) ->
+                    prerequisites[from] = to.stream().mapToInt(Integer::intValue).distinct().toArray());
+
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether giving a course the specified prerequisites would introduce a cycle.
+     *
+     * <p>
+     * A cycle appears exactly when the course is reachable from one of the new
+     * prerequisites, so only that part of the graph is traversed. The walk reads the
+     * prerequisites one level per query in the caller's transaction, so it sees writes
+     * committed by other instances as well as the caller's own. If the index answers
+     * differently it is stale and is dropped, to be reloaded on next use.
+     * </p>
+     *
+     * <p>Must be called inside the transaction that writes the prerequisites.</p>
+     *
+     * @param courseId        the id of the course being created or updated
+     * @param prerequisiteIds the ids of its new direct prerequisites
+     * @return {@code true} if the prerequisites would create a cycle
+     */
+    public boolean wouldCreateCycle(UUID courseId, Collection<UUID> prerequisiteIds) {
+        if (prerequisiteIds.contains(courseId)) {
+            return true;
+        }
+
+        boolean stored = reachesInDatabase(prerequisiteIds, courseId);
+        if (stored != reaches(prerequisiteIds, courseId)) {
+            log.info("Prerequisite index disagrees with the database on course {}; reloading it", courseId);
+            invalidate();
+        }
+        return stored;
+    }
+
+    /**
+     * Tells whether a course is reachable in the index from any of the given courses
+     * by following prerequisite edges.
+     *
+     * @param fromIds  the ids of the courses to start from
+     * @param courseId the id of the course to look for
+     * @return {@code true} if the course is one of the given courses or one of their
+     * direct or indirect prerequisites
+     */
+    public boolean reaches(Collection<UUID> fromIds, UUID courseId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Integer target = index.get(courseId);
+            if (target == null) {
+                // nothing depends on this course yet
+                return false;
+            }
+
+            long[] visited = new long[(size >>> 6) + 1];
+            int[] stack = new int[Math.max(16, fromIds.size())];
+            int top = 0;
+
+            for (UUID id : fromIds) {
+                Integer node = index.get(id);
+                if (node != null && mark(visited, node)) {
+                    stack = push(stack, top++, node);
+                }
+            }
+
+            while (top > 0) {
+                int node = stack[--top];
+                if (node == target) {
+                    return true;
+                }
+                for (int next : prerequisitesOf(node)) {
+                    if (mark(visited, next)) {
+                        stack = push(stack, top++, next);
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all direct and indirect prerequisites of a course.
+     *
+     * <p>Courses are returned in breadth-first order, nearest prerequisites first.</p>
+     *
+     * @param courseId the id of the course
+     * @return ids of every course that must be passed before the given course
+     */
+    public List<UUID> transitivePrerequisites(UUID courseId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Integer start = index.get(courseId);
+            if (start == null) {
+                return List.of();
+            }
+
+            long[] visited = new long[(size >>> 6) + 1];
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+            mark(visited, start);
+
+            for (int next : prerequisitesOf(start)) {
+                if (mark(visited, next)) queue[tail++] = next;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                for (int next : prerequisitesOf(node)) {
+                    if (mark(visited, next)) queue[tail++] = next;
+                }
+            }
+
+            List<UUID> result = new ArrayList<>(tail);
+            for (int i = 0; i < tail; i++) {
+                result.add(ids[queue[i]]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads a loaded index, so writes made by other instances are picked up. A load
+     * that raced with an update committed on this instance is dropped; the next run
+     * retries.
+     */
+    @Scheduled(initialDelay = ConstVal.PREREQUISITE_RESYNC_INTERVAL, fixedDelay = ConstVal.PREREQUISITE_RESYNC_INTERVAL)
+    public void resync() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            long seen = generation();
+            List<PrerequisiteEdge> edges = loadTransaction.execute(status -> prerequisiteRepository.findAllEdges());
+            lock.writeLock().lock();
+            try {
+                if (generation == seen) {
+                    rebuild(edges);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException ex) {
+            // the next run retries
+            log.warn("Reloading the prerequisite index failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Sets the direct prerequisites of a course once the current transaction commits.
+     *
+     * @param courseId        the id of the course
+     * @param prerequisiteIds the ids of its direct prerequisites
+     */
+    public void replacePrerequisites(UUID courseId, Collection<UUID> prerequisiteIds) {
+        List<UUID> copy = List.copyOf(prerequisiteIds);
+        afterCommit(() -> {
+            int node = intern(courseId);
+            prerequisites[node] = copy.stream().mapToInt(this::intern).distinct().toArray();
+        });
+    }
+
+    /**
+     * Removes a course and every edge that touches it once the current transaction commits.
+     *
+     * @param courseId the id of the deleted course
+     */
+    public void removeCourse(UUID courseId) {
+        afterCommit(() -> {
+            Integer node = index.get(courseId);
+            if (node == null) {
+                return;
+            }
+            prerequisites[node] = null;
+            for (int i = 0; i < size; i++) {
+                int[] edges = prerequisites[i];
+                if (edges != null && contains(edges, node)) {
+                    prerequisites[i] = Arrays.stream(edges).filter(n -> n != node).toArray();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs an index update under the write lock after commit, or immediately outside a transaction.
+     * Updates are dropped while the index is not loaded, since loading reads the committed state,
+     * but still bump the generation so a load in flight is read again.
+     */
+    private void afterCommit(Runnable update) {
+        Runnable guarded = () -> {
+            lock.writeLock().lock();
+            try {
+                generation++;
+                if (loaded) update.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private void ensureLoaded() {
+        while (!loaded) {
+            long seen = generation();
+            List<PrerequisiteEdge> edges = loadTransaction.execute(status -> prerequisiteRepository.findAllEdges());
+            lock.writeLock().lock();
+            try {
+                // an update committed while loading; read again instead of indexing stale edges
+                if (!loaded && generation == seen) {
+                    rebuild(edges);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private long generation() {
+        lock.writeLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the index, so the next read loads it again, and makes a load in flight read again.
+     */
+    private void invalidate() {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the stored prerequisites breadth first, one query per level.
+     */
+    private boolean reachesInDatabase(Collection<UUID> fromIds, UUID courseId) {
+        Set<UUID> visited = new HashSet<>(fromIds);
+        Collection<UUID> level = fromIds;
+        while (!level.isEmpty()) {
+            if (level.contains(courseId)) {
+                return true;
+            }
+            List<UUID> next = new ArrayList<>();
+            for (UUID id : prerequisiteRepository.findPrerequisiteIds(level)) {
+                if (visited.add(id)) {
+                    next.add(id);
+                }
+            }
+            level = next;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the dense id of a course, allocating one if needed. Caller must hold the write lock.
+     */
+    private int intern(UUID courseId) {
+        Integer existing = index.get(courseId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            prerequisites = Arrays.copyOf(prerequisites, size * 2);
+        }
+        ids[size] = courseId;
+        index.put(courseId, size);
+        return size++;
+    }
+
+    private int[] prerequisitesOf(int node) {
+        int[] edges = prerequisites[node];
+        return edges == null ? NONE : edges;
+    }
+
+    private static boolean mark(long[] visited, int node) {
+        long bit = 1L << (node & 63);
+        int word = node >>> 6;
+        if ((visited[word] & bit) != 0) {
+            return false;
+        }
+        visited[word] |= bit;
+        return true;
+    }
+
+    private static int[] push(int[] stack, int top, int value) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+        }
+        stack[top] = value;
+        return stack;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+}
@@ -2,9 +2,12 @@ package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.BadRequestException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
 import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
 import com.mch.unicoursehub.model.dto.DropEnrollmentRequest;
-import com.mch.unicoursehub.model.dto.UserListResponse;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.model.dto.RosterStudentResponse;
+import com.mch.unicoursehub.model.dto.UserListCursor;
 import com.mch.unicoursehub.model.entity.CourseOffering;
 import com.mch.unicoursehub.model.entity.Enrollment;
 import com.mch.unicoursehub.model.entity.Semester;
@@ -14,8 +17,11 @@ import com.mch.unicoursehub.repository.CourseOfferingRepository;
 import com.mch.unicoursehub.repository.EnrollmentRepository;
 import com.mch.unicoursehub.repository.SemesterRepository;
 import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,12 +29,14 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.mch.unicoursehub.ConstErrors.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProfessorServiceImpl {
@@ -38,9 +46,13 @@ public class ProfessorServiceImpl {
     private final UserRepository userRepository;
     private final UserServiceImpl userServiceImpl; // to identify logged-in user
     private final SemesterRepository semesterRepository;
+    private final OfferingCatalogue offeringCatalogue;
 
     /**
      * Returns course offerings assigned to the current professor in a given semester.
+     *
+     * <p>The offerings are selected by professor id in the database and read as
+     * projections, with one more query for their time slots.</p>
      */
     @Transactional(readOnly = true)
     public List<CourseOfferingResponse> getMyCourseOfferings(String semesterName) {
@@ -50,63 +62,76 @@ public class ProfessorServiceImpl {
         Semester semester = semesterRepository.findByName(semesterName.trim())
                 .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        return courseOfferingRepository.findBySemester(semester)
+        List<CatalogueOfferingRow> rows =
+                courseOfferingRepository.findCatalogueRowsOfProfessor(semester.getId(), professor.getUid());
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, List<UUID>> slots = courseOfferingRepository
+                .findSlotRowsByOfferingIds(rows.stream().map(CatalogueOfferingRow::offeringId).toList())
                 .stream()
-                .filter(co ->
-                        co.getProfessor() != null &&
-                                co.getProfessor().getUid().equals(professor.getUid())
-                )
-                .map(co -> CourseOfferingResponse.builder()
-                        .courseCode(co.getCourse().getCode())
-                        .courseName(co.getCourse().getName())
-                        .professorName(co.getProfessor().fullName())
-                        .capacity(co.getCapacity())
-                        .examDate(co.getExamDate())
-                        .classroomNumber(Integer.parseInt(co.getClassRoom()))
-                        .groupNumber(co.getSection())
-                        .timeSlotIds(
-                                co.getTimeSlots()
-                                        .stream()
-                                        .map(ts -> ts.getId())
-                                        .toList()
-                        )
-                        .build())
+                .collect(Collectors.groupingBy(OfferingSlotRow::offeringId,
+                        Collectors.mapping(OfferingSlotRow::timeSlotId, Collectors.toList())));
+
+        return rows.stream()
+                .map(row -> row.toResponse(slots.getOrDefault(row.offeringId(), List.of())))
                 .toList();
     }
 
 
     /**
-     * Returns students enrolled in the given course offering.
+     * Returns students enrolled in the given course offering, ordered by last name and user number.
      */
     @Transactional(readOnly = true)
-    public List<UserListResponse> getStudentsOfOfferingByKeys(String courseCode, int groupNumber, String semesterName) {
-        User professor = userServiceImpl.getUserLoggedInRef();
-
-        // find offering by course code and section
-        CourseOffering offering = courseOfferingRepository
-                .findByCourse_CodeAndSectionAndSemester_Name(
-                        courseCode.trim(),
-                        groupNumber,
-                        semesterName.trim()
-                )
-                .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
+    public List<RosterStudentResponse> getStudentsOfOfferingByKeys(String courseCode, int groupNumber, String semesterName) {
+        return enrollmentRepository.findRoster(findOwnOfferingId(courseCode, groupNumber, semesterName));
+    }
 
-        // confirm semester matches
-        if (!offering.getSemester().getName().equalsIgnoreCase(semesterName.trim())) {
-            throw new NotFoundException(courseOfferingNotFound);
+    /**
+     * Returns students enrolled in the given course offering page by page, in the order of
+     * {@link #getStudentsOfOfferingByKeys}.
+     *
+     * <p>Meant for large sections: every page costs the same regardless of its position;
+     * pass the returned cursor to fetch the following page.</p>
+     *
+     * @throws BadRequestException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public SeekPagination<RosterStudentResponse> seekStudentsOfOffering(String courseCode, int groupNumber, String semesterName,
+                                                                        int size, String after) {
+        int limit = Math.max(size, 1);
+        UserListCursor cursor = after == null || after.isBlank() ? null : UserListCursor.decode(after);
+        UUID offeringId = findOwnOfferingId(courseCode, groupNumber, semesterName);
+
+        List<RosterStudentResponse> rows = enrollmentRepository.seekRoster(
+                offeringId,
+                cursor == null ? null : cursor.lastName(),
+                cursor == null ? null : cursor.userNumber(),
+                Limit.of(limit + 1)
+        );
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            RosterStudentResponse last = rows.getLast();
+            next = new UserListCursor(last.lastName(), last.userNumber()).encode();
         }
 
-        // ownership check
-        if (offering.getProfessor() == null || !offering.getProfessor().getUid().equals(professor.getUid())) {
-            throw new NotFoundException(courseOfferingNotFound);
-        }
+        return new SeekPagination<>(rows, limit, next);
+    }
 
-        return offering.getEnrollments().stream()
-                .filter(e -> e.getStatus() != EnrollmentStatus.DROPPED)
-                .map(Enrollment::getStudent)
-                .sorted(Comparator.comparing(User::getLastName))
-                .map(User::convertToUserListResponse)
-                .toList();
+    /**
+     * Resolves an offering of the current professor by its natural key.
+     *
+     * @throws NotFoundException if the offering does not exist or belongs to another professor
+     */
+    private UUID findOwnOfferingId(String courseCode, int groupNumber, String semesterName) {
+        User professor = userServiceImpl.getUserLoggedInRef();
+
+        return courseOfferingRepository
+                .findIdOfProfessorOffering(semesterName.trim(), courseCode.trim(), groupNumber, professor.getUid())
+                .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
     }
 
     /**
@@ -120,11 +145,8 @@ public class ProfessorServiceImpl {
         Semester semester = semesterRepository.findByName(semesterName.trim())
                 .orElseThrow(() -> new NotFoundException(notFoundSemester));
 
-        CourseOffering offering = courseOfferingRepository.findBySemester(semester)
-                .stream()
-                .filter(o -> o.getCourse().getCode().equalsIgnoreCase(req.courseCode().trim()))
-                .filter(o -> o.getSection() == req.groupNumber())
-                .findFirst()
+        CourseOffering offering = courseOfferingRepository
+                .findByNaturalKey(semester, req.courseCode().trim(), req.groupNumber())
                 .orElseThrow(() -> new NotFoundException(courseOfferingNotFound));
 
         if (offering.getProfessor() == null ||
@@ -144,7 +166,15 @@ public class ProfessorServiceImpl {
             throw new BadRequestException(nonSelectedStatus);
         }
 
-        enrollment.setStatus(EnrollmentStatus.DROPPED);
-        enrollmentRepository.save(enrollment);
+        if (enrollmentRepository.dropIfSelected(enrollment.getId()) == 0) {
+            throw new BadRequestException(nonSelectedStatus);
+        }
+
+        if (courseOfferingRepository.releaseSeat(offering.getId()) == 0) {
+            log.warn("seat counter of offering {} was already zero when enrollment {} was dropped",
+                    offering.getId(), enrollment.getId());
+        } else {
+            offeringCatalogue.seatsChanged(offering.getId());
+        }
     }
 }
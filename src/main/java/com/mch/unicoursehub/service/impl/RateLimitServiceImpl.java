@@ -1,12 +1,16 @@
 package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.TooManyRequestsException;
+import com.mch.unicoursehub.security.ratelimit.BucketNamespace;
+import com.mch.unicoursehub.security.ratelimit.BucketStore;
 import com.mch.unicoursehub.service.RateLimitService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import io.github.bucket4j.*;
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
     /**
      * Implementation of the {@link RateLimitService} interface.
@@ -16,15 +20,30 @@ import java.util.concurrent.ConcurrentHashMap;
      * specified time window.</p>
      *
      * <p>Provides separate handling for general API requests and authenticated
-     * endpoints with stricter limits.</p>
+     * endpoints with stricter limits. The buckets live in a {@link BucketStore} under
+     * separate {@link BucketNamespace namespaces}; rejected requests are counted in the
+     * {@code rate_limit.rejections} metric.</p>
      */
     @Service
     public class RateLimitServiceImpl implements RateLimitService {
 
-        /**
-         * A thread-safe map for storing API keys and their associated buckets.
-         */
-        Map<String, Bucket> privateRoute = new ConcurrentHashMap<>();
+        private static final BucketConfiguration API_CONFIGURATION = newConfiguration(60, 60, Duration.ofMinutes(1));
+
+        private static final BucketConfiguration AUTH_CONFIGURATION = newConfiguration(4, 1, Duration.ofMinutes(5));
+
+        private final BucketStore bucketStore;
+
+        private final Map<BucketNamespace, Counter> rejections = new EnumMap<>(BucketNamespace.class);
+
+        public RateLimitServiceImpl(BucketStore bucketStore, MeterRegistry meterRegistry) {
+            this.bucketStore = bucketStore;
+            for (BucketNamespace namespace : BucketNamespace.values()) {
+                rejections.put(namespace, Counter.builder("rate_limit.rejections")
+                        .description("Requests rejected by the rate limiter")
+                        .tag("namespace", namespace.getTag())
+                        .register(meterRegistry));
+            }
+        }
 
         /**
          * Resolves or creates a token bucket for the given API key.
@@ -35,19 +54,32 @@ import java.util.concurrent.ConcurrentHashMap;
          * @return the {@link Bucket} associated with the API key
          */
         public Bucket resolveBucket(String apiKey) {
-            return privateRoute.computeIfAbsent(apiKey, id -> newBucket(id, 60, 60, Duration.ofMinutes(1)));
+            return bucketStore.resolve(BucketNamespace.API, apiKey, () -> API_CONFIGURATION);
         }
 
         /**
-         * Removes the bucket associated with the given username, if it exists.
+         * Consumes a token from the bucket of the given API key.
          *
-         * @param username the username whose bucket should be removed
+         * @param apiKey the unique API key for the client
+         * @return the probe describing the consumption and the remaining tokens
          */
-        public void removeBucket(String username) {
-            if (!privateRoute.containsKey(username))
-                return;
+        public ConsumptionProbe tryConsume(String apiKey) {
+
+            ConsumptionProbe probe = resolveBucket(apiKey).tryConsumeAndReturnRemaining(1);
 
-            privateRoute.remove(username);
+            if (!probe.isConsumed())
+                rejections.get(BucketNamespace.API).increment();
+
+            return probe;
+        }
+
+        /**
+         * Removes the bucket associated with the given API key, if it exists.
+         *
+         * @param apiKey the API key whose bucket should be removed
+         */
+        public void removeBucket(String apiKey) {
+            bucketStore.remove(BucketNamespace.API, apiKey);
         }
 
         /**
@@ -58,19 +90,19 @@ import java.util.concurrent.ConcurrentHashMap;
          * @return the {@link Bucket} associated with the user
          */
         private Bucket authResolveBucket(String username) {
-            return privateRoute.computeIfAbsent(username, id -> newBucket(id, 4, 1, Duration.ofMinutes(5)));
+            return bucketStore.resolve(BucketNamespace.AUTH, username, () -> AUTH_CONFIGURATION);
         }
 
         /**
-         * Creates a new Bucket with the specified capacity and refill rate.
+         * Creates a new bucket configuration with the specified capacity and refill rate.
          *
-         * @param s the identifier for the bucket (usually the API key).
          * @param capacity the maximum capacity of the bucket.
          * @param tokens the number of tokens refilled per interval.
-         * @return the newly created Bucket.
+         * @param duration the refill interval.
+         * @return the bucket configuration.
          */
-        private Bucket newBucket(String s, int capacity, int tokens, Duration duration) {
-            return Bucket4j.builder()
+        private static BucketConfiguration newConfiguration(int capacity, int tokens, Duration duration) {
+            return BucketConfiguration.builder()
                     .addLimit(Bandwidth.classic(capacity, Refill.intervally(tokens, duration)))
                     .build();
         }
@@ -89,8 +121,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
             ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
-            if (!probe.isConsumed())
+            if (!probe.isConsumed()) {
+                rejections.get(BucketNamespace.AUTH).increment();
                 throw new TooManyRequestsException();
+            }
 
         }
 
@@ -0,0 +1,165 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.dto.SeatAvailability;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-sent event feed of seat availability changes, per semester.
+ *
+ * <p>
+ * The feed listens to {@link OfferingCatalogue} and only records the ids of the offerings
+ * that changed. Every {@link ConstVal#SEAT_FEED_FLUSH_INTERVAL} a single thread takes the
+ * recorded ids, looks up their current seats in the catalogue, serializes the changes of
+ * each semester once and writes the same {@code seats} event to every subscriber of that
+ * semester. Many enrollments in one section within a window therefore produce a single
+ * tuple with the latest count, and the cost of a flush depends on the number of changed
+ * offerings and subscribers, not on the size of the catalogue.
+ * </p>
+ *
+ * <p>
+ * Removed offerings are not reported. Subscribers should subscribe before fetching the
+ * catalogue, so no change is missed in between.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SeatAvailabilityFeed {
+
+    private static final String EVENT_NAME = "seats";
+
+    private final OfferingCatalogue offeringCatalogue;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Semester id to the open streams of that semester.
+     */
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Offerings changed since the last flush.
+     */
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+
+    private ScheduledExecutorService scheduler;
+
+    public SeatAvailabilityFeed(OfferingCatalogue offeringCatalogue, JsonMapper jsonMapper) {
+        this.offeringCatalogue = offeringCatalogue;
+        this.jsonMapper = jsonMapper;
+        offeringCatalogue.addChangeListener(changed::add);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("seat-feed").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                ConstVal.SEAT_FEED_FLUSH_INTERVAL, ConstVal.SEAT_FEED_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat,
+                ConstVal.SEAT_FEED_HEARTBEAT_INTERVAL, ConstVal.SEAT_FEED_HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    /**
+     * Opens a stream of the seat changes of a semester.
+     *
+     * @param semesterId the id of the semester
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(UUID semesterId) {
+        return subscribe(semesterId, new SseEmitter(ConstVal.SEAT_FEED_TIMEOUT));
+    }
+
+    SseEmitter subscribe(UUID semesterId, SseEmitter emitter) {
+        subscribers.compute(semesterId, (id, emitters) -> {
+            Set<SseEmitter> result = emitters != null ? emitters : ConcurrentHashMap.<SseEmitter>newKeySet();
+            result.add(emitter);
+            return result;
+        });
+        Runnable remove = () -> unsubscribe(semesterId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Sends the offerings changed since the last call to the subscribers of their semester.
+     */
+    void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(changed.size());
+        for (Iterator<UUID> it = changed.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        subscribers.forEach((semesterId, emitters) -> {
+            if (emitters.isEmpty()) {
+                return;
+            }
+            List<SeatAvailability> seats = offeringCatalogue.availability(semesterId, ids);
+            if (!seats.isEmpty()) {
+                send(semesterId, emitters, SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .data(jsonMapper.writeValueAsString(seats), MediaType.APPLICATION_JSON)
+                        .build());
+            }
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("seat feed flush failed -> {}", e.getMessage(), e);
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach((semesterId, emitters) -> send(semesterId, emitters, heartbeat));
+    }
+
+    private void send(UUID semesterId, Set<SseEmitter> emitters, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // the client went away; the container completes the emitter
+                unsubscribe(semesterId, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(UUID semesterId, SseEmitter emitter) {
+        subscribers.computeIfPresent(semesterId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,225 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.dto.TimeSlotByDayResponseDto;
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
+import com.mch.unicoursehub.model.dto.TimeSlotItemDto;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.repository.TimeSlotRepository;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable in-memory copy of the weekly time slot grid.
+ *
+ * <p>
+ * The grid is seeded once by {@code TimeSlotInitializer} and has no write endpoints,
+ * so it is loaded with a single query at startup and replaced as a whole by
+ * {@link #reload()}. Every slot gets a dense bit index in day and start time order,
+ * which lets callers validate slot ids and represent sets of slots as a
+ * {@link BitSet} without touching the database, and the {@link WeeklySchedule} mask
+ * of every slot is precomputed. The grouped response is serialized once together
+ * with its ETag.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TimeSlotRegistry {
+
+    private static final Comparator<TimeSlot> ORDER =
+            Comparator.comparing(TimeSlot::getDayOfWeek).thenComparing(TimeSlot::getStartTime);
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final JsonMapper jsonMapper;
+
+    private volatile Snapshot snapshot;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * Reloads the grid from the database.
+     */
+    public void reload() {
+        snapshot = build(timeSlotRepository.findAll());
+    }
+
+    /**
+     * Returns the time slots grouped by day, in {@link DayOfWeek} order; days without slots are left out.
+     *
+     * @return the grouped time slots
+     */
+    public List<TimeSlotByDayResponseDto> groupedByDay() {
+        return snapshot().grouped;
+    }
+
+    /**
+     * Returns the serialized grouped time slots and their ETag.
+     *
+     * @return the pre-serialized grid
+     */
+    public TimeSlotGrid grid() {
+        return snapshot().grid;
+    }
+
+    /**
+     * Returns the slots of a day, ordered by start time.
+     *
+     * @param day the day of the week
+     * @return the slots of the day
+     */
+    public List<TimeSlot> slotsOf(DayOfWeek day) {
+        return snapshot().byDay.getOrDefault(day, List.of());
+    }
+
+    /**
+     * Returns the bit index of a time slot.
+     *
+     * @param id the id of the time slot
+     * @return the index, or {@code -1} if the slot does not exist
+     */
+    public int indexOf(UUID id) {
+        Integer index = snapshot().index.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the time slot with the given bit index.
+     *
+     * @param index the bit index
+     * @return the time slot
+     */
+    public TimeSlot slotAt(int index) {
+        return snapshot().slots[index];
+    }
+
+    /**
+     * Returns a time slot by id.
+     *
+     * @param id the id of the time slot
+     * @return the time slot, or {@code null} if it does not exist
+     */
+    public TimeSlot get(UUID id) {
+        Snapshot s = snapshot();
+        Integer index = s.index.get(id);
+        return index == null ? null : s.slots[index];
+    }
+
+    /**
+     * Returns the {@link WeeklySchedule} mask of a set of time slots; unknown ids are ignored.
+     *
+     * @param ids the time slot ids
+     * @return the union of the masks of the slots
+     */
+    public long mask(Collection<UUID> ids) {
+        Snapshot s = snapshot();
+        long mask = 0L;
+        for (UUID id : ids) {
+            Integer i = s.index.get(id);
+            if (i != null) mask |= s.masks[i];
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the number of time slots in the grid.
+     *
+     * @return the number of slots
+     */
+    public int size() {
+        return snapshot().slots.length;
+    }
+
+    /**
+     * Checks whether every given id belongs to a time slot.
+     *
+     * @param ids the time slot ids
+     * @return {@code true} if all ids exist
+     */
+    public boolean containsAll(Collection<UUID> ids) {
+        Map<UUID, Integer> index = snapshot().index;
+        for (UUID id : ids) {
+            if (!index.containsKey(id)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the set of bit indexes of the given time slots; unknown ids are ignored.
+     *
+     * @param ids the time slot ids
+     * @return the bit set of the slots
+     */
+    public BitSet toBits(Collection<UUID> ids) {
+        Map<UUID, Integer> index = snapshot().index;
+        BitSet bits = new BitSet(index.size());
+        for (UUID id : ids) {
+            Integer i = index.get(id);
+            if (i != null) bits.set(i);
+        }
+        return bits;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // a lock rather than a monitor: a virtual thread loading the grid must not pin its carrier
+            loadLock.lock();
+            try {
+                if (snapshot == null) reload();
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build(List<TimeSlot> all) {
+        TimeSlot[] slots = all.stream().sorted(ORDER).toArray(TimeSlot[]::new);
+
+        Map<UUID, Integer> index = new HashMap<>(slots.length * 2);
+        long[] masks = new long[slots.length];
+        EnumMap<DayOfWeek, List<TimeSlot>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (int i = 0; i < slots.length; i++) {
+            index.put(slots[i].getId(), i);
+            masks[i] = WeeklySchedule.mask(slots[i]);
+            byDay.computeIfAbsent(slots[i].getDayOfWeek(), d -> new ArrayList<>()).add(slots[i]);
+        }
+        byDay.replaceAll((day, list) -> List.copyOf(list));
+
+        List<TimeSlotByDayResponseDto> grouped = byDay.entrySet().stream()
+                .map(e -> new TimeSlotByDayResponseDto(
+                        e.getKey(),
+                        e.getValue().stream().map(TimeSlotItemDto::from).toList()))
+                .toList();
+
+        byte[] body = jsonMapper.writeValueAsBytes(grouped);
+        return new Snapshot(slots, masks, Map.copyOf(index), byDay, grouped, new TimeSlotGrid(body, etag(body)));
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(
+            TimeSlot[] slots,
+            long[] masks,
+            Map<UUID, Integer> index,
+            EnumMap<DayOfWeek, List<TimeSlot>> byDay,
+            List<TimeSlotByDayResponseDto> grouped,
+            TimeSlotGrid grid
+    ) {
+    }
+}
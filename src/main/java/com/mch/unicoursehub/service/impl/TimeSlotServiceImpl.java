@@ -1,30 +1,27 @@
 package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.model.dto.TimeSlotByDayResponseDto;
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
 import com.mch.unicoursehub.model.dto.TimeSlotItemDto;
-import com.mch.unicoursehub.model.entity.TimeSlot;
 import com.mch.unicoursehub.model.enums.DayOfWeek;
-import com.mch.unicoursehub.repository.TimeSlotRepository;
 import com.mch.unicoursehub.service.TimeSlotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing time slots.
  *
  * <p>This service provides functionality to retrieve and organize
- * {@link TimeSlot} entities, typically used for scheduling classes
+ * {@link com.mch.unicoursehub.model.entity.TimeSlot} entities, typically used for scheduling classes
  * or course offerings.</p>
  *
  * <p>The main functionality includes grouping all time slots by their
  * {@link com.mch.unicoursehub.model.enums.DayOfWeek} and converting
  * them into DTOs suitable for API responses.</p>
  *
- * @see TimeSlotRepository
+ * @see TimeSlotRegistry
  * @see TimeSlotService
  * @see TimeSlotByDayResponseDto
  * @see TimeSlotItemDto
@@ -33,36 +30,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TimeSlotServiceImpl implements TimeSlotService {
 
-    private final TimeSlotRepository timeSlotRepository;
+    private final TimeSlotRegistry timeSlotRegistry;
 
     /**
-     * Retrieves all time slots from the repository, groups them by
-     * {@link com.mch.unicoursehub.model.enums.DayOfWeek}, and converts
-     * them into {@link TimeSlotByDayResponseDto} objects.
+     * Returns all time slots grouped by
+     * {@link com.mch.unicoursehub.model.enums.DayOfWeek} as
+     * {@link TimeSlotByDayResponseDto} objects.
      *
      * <p>Days with no time slots are excluded, and the resulting list
-     * is ordered according to the natural order of {@link DayOfWeek} enum.</p>
+     * is ordered according to the natural order of {@link DayOfWeek} enum;
+     * the slots of a day are ordered by start time. Served from the
+     * {@link TimeSlotRegistry} without a query.</p>
      *
      * @return a list of {@link TimeSlotByDayResponseDto}, each representing
      *         a day of the week and its associated time slots
      */
     public List<TimeSlotByDayResponseDto> getAllGroupedByDay() {
+        return timeSlotRegistry.groupedByDay();
+    }
 
-        // گروه‌بندی بر اساس روز
-        var grouped = timeSlotRepository.findAll()
-                .stream()
-                .collect(Collectors.groupingBy(TimeSlot::getDayOfWeek));
-
-        // مرتب‌سازی روزها بر اساس ترتیب Enum
-        return Arrays.stream(DayOfWeek.values())
-                .filter(grouped::containsKey) // فقط روزهایی که رکورد دارند
-                .map(day -> new TimeSlotByDayResponseDto(
-                        day,
-                        grouped.get(day).stream()
-                                .map(TimeSlotItemDto::from)
-                                .toList()
-                ))
-                .toList();
+    /**
+     * Returns the grouped time slots already serialized to JSON, with their ETag.
+     *
+     * @return the serialized time slot grid
+     */
+    public TimeSlotGrid getGrid() {
+        return timeSlotRegistry.grid();
     }
 }
-
@@ -0,0 +1,99 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.repository.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired rows of the {@code tokens} table.
+ *
+ * <p>
+ * Tokens are otherwise only deleted on logout, refresh and when a new login pushes out the
+ * oldest session, so abandoned sessions would stay forever. Every
+ * {@link ConstVal#TOKEN_PURGE_INTERVAL} the expired rows are deleted in chunks of
+ * {@link ConstVal#TOKEN_PURGE_BATCH_SIZE}, each chunk in its own short transaction, so a
+ * large backlog never holds locks on the table for long. Rows written before tokens had an
+ * expiry are purged once they are older than the longest token lifetime. Running on several
+ * instances at once is harmless.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code tokens.purged} (counter of deleted rows), {@code tokens.purge}
+ * (timer of a whole run) and {@code tokens.rows} (gauge of the table size, counted at the
+ * end of every run).
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenPurger {
+
+    private final TokenRepository tokenRepository;
+    private final Counter purged;
+    private final Timer duration;
+    private final AtomicLong rows = new AtomicLong(-1);
+
+    public TokenPurger(TokenRepository tokenRepository, MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.purged = Counter.builder("tokens.purged")
+                .description("Expired token rows deleted")
+                .register(meterRegistry);
+        this.duration = Timer.builder("tokens.purge")
+                .description("Time taken by a purge of expired token rows")
+                .register(meterRegistry);
+        Gauge.builder("tokens.rows", rows, AtomicLong::get)
+                .description("Rows in the tokens table after the last purge")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = ConstVal.TOKEN_PURGE_INTERVAL, fixedDelay = ConstVal.TOKEN_PURGE_INTERVAL)
+    public void purgeScheduled() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            // the next run retries
+            log.warn("Purging expired tokens failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes all tokens that are expired now.
+     *
+     * @return the number of deleted rows
+     */
+    public long purge() {
+        return duration.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime legacyBefore = now.minus(ConstVal.REFRESH_EXPIRATION, ChronoUnit.MILLIS);
+
+            long deleted = 0;
+            List<UUID> ids;
+            do {
+                ids = tokenRepository.findExpiredIds(now, legacyBefore, Limit.of(ConstVal.TOKEN_PURGE_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    int count = tokenRepository.deleteAllByIds(ids);
+                    purged.increment(count);
+                    deleted += count;
+                }
+            } while (ids.size() == ConstVal.TOKEN_PURGE_BATCH_SIZE);
+
+            rows.set(tokenRepository.count());
+            if (deleted > 0) {
+                log.info("Purged {} expired tokens", deleted);
+            }
+            return deleted;
+        });
+    }
+}
@@ -1,5 +1,8 @@
 package com.mch.unicoursehub.service.impl;
 
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.exceptions.AccessDeniedException;
+import com.mch.unicoursehub.exceptions.NotFoundException;
 import com.mch.unicoursehub.model.dto.AuthRequestResponse;
 import com.mch.unicoursehub.model.entity.Token;
 import com.mch.unicoursehub.model.entity.User;
@@ -7,16 +10,21 @@ import com.mch.unicoursehub.model.enums.TokenType;
 import com.mch.unicoursehub.repository.TokenRepository;
 import com.mch.unicoursehub.repository.UserRepository;
 import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.ParsedToken;
+import com.mch.unicoursehub.security.service.TokenValidationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Scope;
-import org.springframework.context.annotation.ScopedProxyMode;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
+import static com.mch.unicoursehub.ConstErrors.userNotFound;
+
 /**
  * Service responsible for managing authentication tokens for users.
  *
@@ -27,6 +35,10 @@ import java.util.*;
  * <p>All write operations are transactional with proper isolation levels
  * to ensure consistency in multi-threaded or concurrent environments.</p>
  *
+ * <p>Every revoke or delete, including the sessions a login pushes out of the limit,
+ * also evicts the affected tokens from the in-process allow-list of
+ * {@link TokenValidationService}.</p>
+ *
  * <p>Token types supported include {@link com.mch.unicoursehub.model.enums.TokenType#ACCESS_TOKEN}
  * and {@link com.mch.unicoursehub.model.enums.TokenType#REFRESH_TOKEN}.</p>
  *
@@ -34,66 +46,56 @@ import java.util.*;
  * @see TokenRepository
  * @see User
  */
+@Slf4j
 @Transactional(readOnly = true, propagation = Propagation.REQUIRED, rollbackFor = Throwable.class)
 @Service
 @RequiredArgsConstructor
-@Scope(proxyMode = ScopedProxyMode.TARGET_CLASS)
 public class TokenServiceImpl {
 
     private final TokenRepository tokenRepository;
-    private final TokenServiceImpl service;
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final TokenValidationService tokenValidationService;
 
 
     /**
-     * Generates a new access token for the given user and stores it in the database.
+     * Issues the access and refresh token of a new login session.
      *
-     * @param user the user for whom the access token is generated
-     * @return a JWT access token as a {@link String}
-     */
-    @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
-    public String newAccessToken(User user) {
-
-        UUID uuid = UUID.randomUUID();
-
-        String access = jwtService.generateToken(user, uuid);
-
-        // Build a new Token object with the provided parameters
-        Token build = Token.builder()
-                .user(user)
-                .uuid(uuid)
-                .type(TokenType.ACCESS_TOKEN)
-                .build();
-
-        saveToken(build);
-
-        return access;
-    }
-
-    /**
-     * Generates a new refresh token for the given user and stores it in the database.
+     * <p>Both JWTs are minted first. The uuids of the user's oldest sessions beyond
+     * {@link com.mch.unicoursehub.model.enums.Role#getMaxSession()}, counting the new one and
+     * an access and refresh token per session, are read with one query; if there are any, they
+     * are removed with one delete statement and evicted from the allow-list of
+     * {@link TokenValidationService}. Both new rows are inserted in one batch with a single flush.</p>
      *
-     * @param user the user for whom the refresh token is generated
-     * @return a JWT refresh token as a {@link String}
+     * @param user the authenticated user
+     * @return an {@link AuthRequestResponse} containing the new access and refresh tokens
      */
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
-    public String newRefreshToken(User user) {
+    public AuthRequestResponse issueLoginSession(User user) {
 
-        UUID uuid = UUID.randomUUID();
+        UUID accessUuid = UUID.randomUUID();
+        UUID refreshUuid = UUID.randomUUID();
 
-        String refresh = jwtService.generateRefreshToken(Map.of("uuid", uuid), user);
+        String access = jwtService.generateToken(user, accessUuid);
+        String refresh = jwtService.generateRefreshToken(Map.of("uuid", refreshUuid), user);
 
-        // Build a new Token object with the provided parameters
-        Token build = Token.builder()
-                .user(user)
-                .uuid(uuid)
-                .type(TokenType.REFRESH_TOKEN)
-                .build();
+        List<UUID> pushedOut = tokenRepository.findUuidsBeyondNewest(user, 2L * (user.getRole().getMaxSession() - 1));
+        if (!pushedOut.isEmpty()) {
+            tokenRepository.deleteAllByUuids(pushedOut);
+            tokenValidationService.evictTokens(pushedOut);
+        }
 
-        saveToken(build);
+        tokenRepository.saveAll(List.of(
+                accessToken(user, accessUuid),
+                refreshToken(user, refreshUuid)));
+        tokenRepository.flush();
 
-        return refresh;
+        return new AuthRequestResponse(
+                user.fullName(),
+                user.getRole().name(),
+                access,
+                refresh
+        );
     }
 
     /**
@@ -102,112 +104,64 @@ public class TokenServiceImpl {
      * <p>This method validates the existing refresh token, revokes it, and issues
      * new tokens to maintain session continuity and security.</p>
      *
+     * <p>The refresh token is parsed once and its row is removed with one conditional
+     * delete. When nothing is deleted, the token was already rotated, revoked or pushed
+     * out by the session limit, and the refresh is refused; of two concurrent refreshes
+     * with the same token only the one that deletes the row goes on. The user is then
+     * read as a projection of the fields the new tokens need, and both new rows, each
+     * with its own uuid, are inserted in one batch.</p>
+     *
      * @param refreshToken the refresh token used to generate new tokens
      * @return an {@link AuthRequestResponse} containing the new access and refresh tokens
+     * @throws com.mch.unicoursehub.exceptions.AccessDeniedException if the refresh token was already used
      */
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
     public AuthRequestResponse newAccessTokenByRefreshToken(String refreshToken) {
 
-        UUID tokenUuid = UUID.fromString(jwtService.extractUUID(refreshToken));
-        String username = jwtService.extractUsername(refreshToken);
-
-        User user = userRepository.findByUserNumber(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Token storedRefresh = checkToken(tokenUuid, TokenType.REFRESH_TOKEN)
-                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
-
-       revokeToken(storedRefresh);
-
-       UUID newUuid = UUID.randomUUID();
-
-       String newAccessToken = jwtService.generateToken(user, newUuid);
-
-       Token access = Token.builder()
-               .user(user)
-               .uuid(newUuid)
-               .type(TokenType.ACCESS_TOKEN)
-               .build();
-       tokenRepository.saveAndFlush(access);
-
-       String newRefreshToken = jwtService.generateRefreshToken(
-               Map.of("uuid", newUuid),
-               user);
-
-       Token refresh = Token.builder()
-               .user(user)
-               .uuid(newUuid)
-               .type(TokenType.REFRESH_TOKEN)
-               .build();
-       tokenRepository.saveAndFlush(refresh);
+        ParsedToken parsed = jwtService.parse(refreshToken);
 
-       return new AuthRequestResponse(
-               user.fullName(),
-               user.getRole().name(),
-               newAccessToken,
-               newRefreshToken
-       );
-    }
-
-    /**
-     * This method applies the token management policy for a specific user.
-     * It checks the user's tokens and, if the number of active sessions exceeds the allowed limit,
-     * it revokes the oldest tokens.
-     *
-     * @param user The user for whom the token management policy is applied.
-     */
-    @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
-    public void applyTokenPolicy(User user) {
-        // Retrieve the list of tokens associated with the user
-        List<Token> tokens = checkToken(user);
-
-        // Sort the tokens based on the creation date in ascending order (oldest to newest)
-        tokens = tokens.stream()
-                .sorted(Comparator.comparing(Token::getCreationTime))
-                .toList();
-
-        // Get the maximum allowed sessions for the user's role
-        int maxSession = user.getRole().getMaxSession();
-
-        // If the number of tokens is less than the maximum allowed sessions, no need to revoke any tokens
-        if (tokens.size() < maxSession) {
-            return;
+        if (parsed.uuid() == null || tokenRepository.deleteByUuidAndType(parsed.uuid(), TokenType.REFRESH_TOKEN) == 0) {
+            log.warn("refused refresh token {} of user {}: not stored, already used or revoked",
+                    parsed.uuid(), parsed.subject());
+            throw new AccessDeniedException("Invalid refresh token");
         }
 
-        // Calculate the number of tokens that need to be revoked
-        int toDelete = tokens.size() - maxSession + 1;
+        User user = userRepository.findSessionRef(parsed.subject())
+                .orElseThrow(() -> new NotFoundException(userNotFound));
 
-        // Revoke the oldest tokens based on the calculated number
-        List<UUID> list = tokens.stream()
-                .limit(toDelete)
-                .map(token -> token.getTid())
-                .toList();
+        UUID accessUuid = UUID.randomUUID();
+        UUID refreshUuid = UUID.randomUUID();
 
-        tokenRepository.deleteAllByIds(list);
-    }
+        String newAccessToken = jwtService.generateToken(user, accessUuid);
+        String newRefreshToken = jwtService.generateRefreshToken(Map.of("uuid", refreshUuid), user);
 
-    /**
-     * This method saves a new token to the repository.
-     *
-     * @param token The token object to be saved.
-     */
-    @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
-    public void saveToken(Token token) {
-        // Save the token to the database
-        tokenRepository.saveAndFlush(token);
+        tokenRepository.saveAll(List.of(
+                accessToken(user, accessUuid),
+                refreshToken(user, refreshUuid)));
+        tokenRepository.flush();
+
+        return new AuthRequestResponse(
+                user.fullName(),
+                user.getRole().name(),
+                newAccessToken,
+                newRefreshToken
+        );
     }
 
     /**
      * Revokes all tokens associated with the given user.
      *
+     * <p>Only the token uuids are read, to evict them from the allow-list, and the rows are
+     * removed with one delete statement.</p>
+     *
      * @param user the user whose tokens need to be revoked
      */
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
     public void revokeTokens(User user) {
-        List<Token> tokens = checkToken(user);
+        List<UUID> tokens = tokenRepository.findUuidsByUser(user);
         if (!tokens.isEmpty()) {
-            tokenRepository.deleteAll(tokens);  // حذف تمام توکن‌ها یکجا
-            tokenRepository.flush();            // اعمال تغییرات در DB
+            tokenRepository.deleteAllByUser(user);
+            tokenValidationService.evictTokens(tokens);
         }
     }
 
@@ -219,6 +173,7 @@ public class TokenServiceImpl {
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED, rollbackFor = Throwable.class)
     public void revokeTokenByUUID(UUID uuid) {
         tokenRepository.deleteByUuid(uuid);
+        tokenValidationService.evictToken(uuid);
     }
 
     /**
@@ -230,6 +185,7 @@ public class TokenServiceImpl {
     public void revokeToken(Token token) {
         tokenRepository.delete(token);
         tokenRepository.flush();
+        tokenValidationService.evictToken(token.getUuid());
     }
 
     /**
@@ -243,6 +199,28 @@ public class TokenServiceImpl {
         return tokenRepository.findByUuidAndType(uuid, type);
     }
 
+    private static Token accessToken(User user, UUID uuid) {
+        return Token.builder()
+                .user(user)
+                .uuid(uuid)
+                .type(TokenType.ACCESS_TOKEN)
+                .expiresAt(expiresIn(JwtService.accessTokenExpiration(user.getRole())))
+                .build();
+    }
+
+    private static Token refreshToken(User user, UUID uuid) {
+        return Token.builder()
+                .user(user)
+                .uuid(uuid)
+                .type(TokenType.REFRESH_TOKEN)
+                .expiresAt(expiresIn(ConstVal.REFRESH_EXPIRATION))
+                .build();
+    }
+
+    private static LocalDateTime expiresIn(long millis) {
+        return LocalDateTime.now().plus(millis, ChronoUnit.MILLIS);
+    }
+
     /**
      * Checks if a token exists for the given user.
      *
@@ -1,11 +1,14 @@
 package com.mch.unicoursehub.service.impl;
 
+import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementation of {@link UserDetailsService} for Spring Security.
@@ -18,12 +21,15 @@ import org.springframework.stereotype.Service;
  * {@link UsernameNotFoundException} is thrown, which is handled by
  * Spring Security during authentication.</p>
  *
+ * <p>As {@link UserDetailsPasswordService} it stores the new hash when a
+ * successful login rehashes a password of another BCrypt cost.</p>
+ *
  * @see UserRepository
  * @see org.springframework.security.core.userdetails.UserDetailsService
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -41,4 +47,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return userRepository.findByUserNumber(userNumber)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
+
+    /**
+     * Replaces the password hash of a user.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the new password hash
+     * @return the user with the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
 }
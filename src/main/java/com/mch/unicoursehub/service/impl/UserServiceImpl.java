@@ -5,14 +5,21 @@ import com.mch.unicoursehub.exceptions.NotFoundException;
 import com.mch.unicoursehub.exceptions.UnAuthorizedException;
 import com.mch.unicoursehub.model.dto.EditUserRequest;
 import com.mch.unicoursehub.model.dto.NewUserRequest;
+import com.mch.unicoursehub.model.dto.UserListCursor;
 import com.mch.unicoursehub.model.dto.UserListResponse;
+import com.mch.unicoursehub.model.dto.UserListRow;
 import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.model.enums.Role;
 import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.security.service.TokenValidationService;
 import com.mch.unicoursehub.service.UserService;
 import com.mch.unicoursehub.utils.pagination.Pagination;
 import com.mch.unicoursehub.utils.pagination.PaginationUtil;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,7 +28,6 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +53,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenValidationService tokenValidationService;
+    private final OfferingCatalogue offeringCatalogue;
 
     /**
      * Creates a new user with the given details.
@@ -98,45 +106,81 @@ public class UserServiceImpl implements UserService {
      * @return a list of users matching the criteria
      */
     public List<User> getAllUsers(Role role, String userNumber){
+        return userRepository.findByFilters(role, userNumber);
+    }
 
-        List<User> users = userRepository.findAll();
+    /**
+     * Retrieves paginated users optionally filtered by role and user number.
+     * Excludes the currently logged-in user from the results.
+     *
+     * <p>Filtering, ordering by last name and paging are done by the database, and
+     * only the listed columns of the requested page are read.</p>
+     *
+     * @param role optional role filter
+     * @param size number of items per page, or -1 together with page for every user
+     * @param page page number (1-based), or -1 together with size for every user
+     * @param userNumber optional user number filter
+     * @return a {@link Pagination} object containing paginated {@link UserListResponse}
+     */
+    public Pagination<UserListResponse> getAllUsers(Role role, int size, int page, String userNumber){
 
-        if (role != null) {
-            users = users.stream()
-                    .filter(user -> user.getRole() == role)
-                    .toList();
-        }
+        User userLoggedInRef = getUserLoggedInRef();
 
-        if (userNumber != null) {
-            users = users.stream()
-                    .filter(user -> user.getUserNumber().equals(userNumber))
-                    .toList();
-        }
-        return users;
+        Page<UserListRow> rows = userRepository.findUserList(
+                role,
+                userNumber,
+                userLoggedInRef.getUid(),
+                PaginationUtil.pageable(page, size, Sort.unsorted())
+        );
+
+        List<UserListResponse> list = rows.getContent().stream()
+                .map(UserListRow::toResponse)
+                .toList();
+
+        return PaginationUtil.pagination(list, page, size, (int) rows.getTotalElements());
     }
 
     /**
-     * Retrieves paginated users optionally filtered by role and user number.
+     * Retrieves users with keyset pagination, optionally filtered by role and user number.
      * Excludes the currently logged-in user from the results.
      *
+     * <p>Every page costs the same regardless of its position; pass the returned cursor
+     * to fetch the following page.</p>
+     *
      * @param role optional role filter
      * @param size number of items per page
-     * @param page page number (0-based)
+     * @param after cursor returned with the previous page, or {@code null} for the first page
      * @param userNumber optional user number filter
-     * @return a {@link Pagination} object containing paginated {@link UserListResponse}
+     * @return a {@link SeekPagination} object containing the page and the next cursor
+     * @throws BadRequestException if the cursor is malformed
      */
-    public Pagination<UserListResponse> getAllUsers(Role role, int size, int page, String userNumber){
+    public SeekPagination<UserListResponse> seekUsers(Role role, int size, String after, String userNumber){
 
         User userLoggedInRef = getUserLoggedInRef();
+        int limit = Math.max(size, 1);
+        UserListCursor cursor = after == null || after.isBlank() ? null : UserListCursor.decode(after);
+
+        List<UserListRow> rows = userRepository.seekUserList(
+                role,
+                userNumber,
+                userLoggedInRef.getUid(),
+                cursor == null ? null : cursor.lastName(),
+                cursor == null ? null : cursor.userNumber(),
+                Limit.of(limit + 1)
+        );
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            UserListRow last = rows.getLast();
+            next = new UserListCursor(last.lastName(), last.userNumber()).encode();
+        }
 
-        List<UserListResponse> list = getAllUsers(role, userNumber)
-                .parallelStream()
-                .filter(user -> !user.getUid().toString().equals(userLoggedInRef.getUid().toString()))
-                .map(User::convertToUserListResponse)
-                .sorted(Comparator.comparing(UserListResponse:: lastName, String.CASE_INSENSITIVE_ORDER))
+        List<UserListResponse> list = rows.stream()
+                .map(UserListRow::toResponse)
                 .toList();
 
-        return PaginationUtil.pagination(list,page,size);
+        return new SeekPagination<>(list, limit, next);
     }
 
 
@@ -186,6 +230,9 @@ public class UserServiceImpl implements UserService {
 
         User loggedInUser = getUserLoggedInRef();
 
+        // cached user details must not outlive role, lock or password changes
+        tokenValidationService.evictUser(user.getUserNumber());
+
         if (user.getUid().toString().equals(loggedInUser.getUid().toString()) && user.getRole() == Role.ADMIN)
             throw new BadRequestException(notEditInThisWay);
 
@@ -194,6 +241,7 @@ public class UserServiceImpl implements UserService {
                 && !editUserRequest.firstName().equals(user.getFirstName())) {
 
             user.setFirstName(editUserRequest.firstName());
+            offeringCatalogue.invalidateAll();
         }
 
         // Last name
@@ -201,6 +249,7 @@ public class UserServiceImpl implements UserService {
                 && !editUserRequest.lastName().equals(user.getLastName())) {
 
             user.setLastName(editUserRequest.lastName());
+            offeringCatalogue.invalidateAll();
         }
 
         // Phone number
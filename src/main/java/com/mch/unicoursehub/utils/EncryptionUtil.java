@@ -1,39 +1,61 @@
 package com.mch.unicoursehub.utils;
 
 import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
+import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Utility class for encrypting and decrypting strings using AES symmetric encryption.
  * <p>
  * This class provides static methods to encrypt plain text data into an AES-encrypted Base64 string
- * and to decrypt such strings back to plain text.
+ * and to decrypt such strings back to plain text, and to compute a keyed blind index used for
+ * equality lookups of encrypted values.
  * <p>
- * <strong>Note:</strong> The secret key is hardcoded for demonstration purposes.
- * In a production environment, it should be securely stored and managed.
+ * Keys are built once, and initialized {@link Cipher} and {@link Mac} instances are kept in
+ * small lock-free pools: an instance is borrowed for a single operation and returned afterwards,
+ * so it is never used by two threads at once. The pools grow to the peak number of concurrent
+ * operations.
+ * <p>
+ * <strong>Note:</strong> The secret keys are hardcoded for demonstration purposes.
+ * In a production environment, they should be securely stored and managed.
  */
 public class EncryptionUtil {
     private static final String ALGORITHM = "AES";
     private static final String TRANSFORMATION = "AES";
+    private static final String BLIND_INDEX_ALGORITHM = "HmacSHA256";
+
+    // Secret keys should be stored securely
+    private static final SecretKeySpec SECRET_KEY = new SecretKeySpec("mysecretkey12345".getBytes(), ALGORITHM);
+    private static final SecretKeySpec BLIND_INDEX_KEY =
+            new SecretKeySpec("uch-blind-index-key-0123456789ab".getBytes(), BLIND_INDEX_ALGORITHM);
 
-    // Secret key should be stored securely
-    private static final byte[] SECRET_KEY = "mysecretkey12345".getBytes();
+    private static final Queue<Cipher> ENCRYPTORS = new ConcurrentLinkedQueue<>();
+    private static final Queue<Cipher> DECRYPTORS = new ConcurrentLinkedQueue<>();
+    private static final Queue<Mac> MACS = new ConcurrentLinkedQueue<>();
 
     /**
      * Encrypts the provided plain text using AES and encodes it in Base64.
      *
      * @param data the plain text to encrypt
      * @return the Base64-encoded AES encrypted string
-     * @throws Exception if encryption fails
+     * @throws IllegalStateException if encryption fails
      */
-    public static String encrypt(String data) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        SecretKey secretKey = new SecretKeySpec(SECRET_KEY, ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-        byte[] encryptedBytes = cipher.doFinal(data.getBytes());
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+    public static String encrypt(String data) {
+        Cipher cipher = borrowCipher(ENCRYPTORS, Cipher.ENCRYPT_MODE);
+        try {
+            byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(encryptedBytes);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Encryption failed", e);
+        } finally {
+            ENCRYPTORS.offer(cipher);
+        }
     }
 
     /**
@@ -41,13 +63,55 @@ public class EncryptionUtil {
      *
      * @param encryptedData the Base64-encoded encrypted string
      * @return the decrypted plain text
-     * @throws Exception if decryption fails
+     * @throws IllegalStateException if decryption fails
      */
-    public static String decrypt(String encryptedData) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        SecretKey secretKey = new SecretKeySpec(SECRET_KEY, ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey);
-        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
-        return new String(decryptedBytes);
+    public static String decrypt(String encryptedData) {
+        Cipher cipher = borrowCipher(DECRYPTORS, Cipher.DECRYPT_MODE);
+        try {
+            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Decryption failed", e);
+        } finally {
+            DECRYPTORS.offer(cipher);
+        }
+    }
+
+    /**
+     * Computes the blind index of a value: a hex-encoded HMAC-SHA256 under a key separate from
+     * the encryption key. Equal values always have equal indexes, so the index can be stored in
+     * a unique, indexed column and used for lookups without decrypting anything.
+     *
+     * @param data the plain text to index
+     * @return the 64 character blind index
+     */
+    public static String blindIndex(String data) {
+        Mac mac = MACS.poll();
+        if (mac == null) {
+            try {
+                mac = Mac.getInstance(BLIND_INDEX_ALGORITHM);
+                mac.init(BLIND_INDEX_KEY);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Blind index unavailable", e);
+            }
+        }
+        try {
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            MACS.offer(mac);
+        }
+    }
+
+    private static Cipher borrowCipher(Queue<Cipher> pool, int mode) {
+        Cipher cipher = pool.poll();
+        if (cipher != null)
+            return cipher;
+        try {
+            cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, SECRET_KEY);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher unavailable", e);
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.mch.unicoursehub.utils;
+
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Utility class for encoding weekly class times as bit masks.
+ *
+ * <p>
+ * The teaching week ({@link DayOfWeek}, five days) is split into one-hour cells from
+ * {@link #DAY_START}, twelve per day, and every cell is one bit of a {@code long}:
+ * bit {@code day * 12 + hour}. A time slot sets the bits of every cell it touches,
+ * so two slots that overlap in time always share a bit and a schedule clash is a
+ * single {@code AND} of two masks. Times before or after the covered hours fall into
+ * the first or last cell of the day.
+ * </p>
+ *
+ * <p>
+ * For slots aligned to whole hours, as in the seeded grid, a shared bit means a clash.
+ * Slots that start or end inside an hour can share a cell without overlapping, so a
+ * shared bit must be confirmed with {@link #overlaps(TimeSlot, TimeSlot)}.
+ * </p>
+ */
+public final class WeeklySchedule {
+
+    /**
+     * Start of the first cell of a day.
+     */
+    public static final LocalTime DAY_START = LocalTime.of(8, 0);
+
+    /**
+     * Number of one-hour cells per day.
+     */
+    public static final int CELLS_PER_DAY = 12;
+
+    private static final long DAY_CELLS = (1L << CELLS_PER_DAY) - 1;
+
+    private WeeklySchedule() {
+    }
+
+    /**
+     * Returns the mask of a time range on a day.
+     *
+     * @param day   the day of the week
+     * @param start the start time, inclusive
+     * @param end   the end time, exclusive
+     * @return the bits of every cell the range touches, or 0 for an empty range
+     */
+    public static long mask(DayOfWeek day, LocalTime start, LocalTime end) {
+        if (!start.isBefore(end)) {
+            return 0L;
+        }
+        int first = cell(start.toSecondOfDay());
+        int last = cell(end.toSecondOfDay() - 1);
+        long cells = (DAY_CELLS >>> (CELLS_PER_DAY - 1 - last + first)) << first;
+        return cells << (day.ordinal() * CELLS_PER_DAY);
+    }
+
+    /**
+     * Returns the mask of a time slot.
+     *
+     * @param slot the time slot
+     * @return the bits of every cell the slot touches
+     */
+    public static long mask(TimeSlot slot) {
+        return mask(slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime());
+    }
+
+    /**
+     * Checks whether two time slots overlap in time. Slots that only touch, one ending
+     * when the other starts, do not overlap.
+     *
+     * @param a the first time slot
+     * @param b the second time slot
+     * @return {@code true} if both are on the same day and their time ranges intersect
+     */
+    public static boolean overlaps(TimeSlot a, TimeSlot b) {
+        return a.getDayOfWeek() == b.getDayOfWeek()
+                && a.getStartTime().isBefore(b.getEndTime())
+                && b.getStartTime().isBefore(a.getEndTime());
+    }
+
+    /**
+     * Checks whether two exams, each lasting {@code duration} from its start, overlap.
+     *
+     * @param a        the start of the first exam
+     * @param b        the start of the second exam
+     * @param duration the length of an exam
+     * @return {@code true} if the exam windows intersect
+     */
+    public static boolean examsOverlap(LocalDateTime a, LocalDateTime b, Duration duration) {
+        return Duration.between(a, b).abs().compareTo(duration) < 0;
+    }
+
+    private static int cell(int secondOfDay) {
+        int cell = (secondOfDay - DAY_START.toSecondOfDay()) / 3600;
+        return Math.clamp(cell, 0, CELLS_PER_DAY - 1);
+    }
+}
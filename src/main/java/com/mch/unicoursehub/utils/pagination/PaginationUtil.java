@@ -1,5 +1,9 @@
 package com.mch.unicoursehub.utils.pagination;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
 import java.util.List;
 
 /**
@@ -34,6 +38,25 @@ public final class PaginationUtil {
         return new Pagination<T>(list.subList(start, end), list.size(), size, page);
     }
 
+    /**
+     * Creates the {@link Pageable} for a database query from a 1-based page number and size.
+     *
+     * <p>As with {@link #pagination(List, int, int)}, a page and size of {@code -1} or less
+     * ask for every row; otherwise non-positive values are raised to the first page and a
+     * size of one.</p>
+     *
+     * @param page the page number to retrieve (1-based index)
+     * @param size the number of items per page
+     * @param sort the order of the rows
+     * @return the page request, or an unpaged request for every row
+     */
+    public static Pageable pageable(int page, int size, Sort sort) {
+        if (size <= -1 && page <= -1) {
+            return Pageable.unpaged(sort);
+        }
+        return PageRequest.of(Math.max(page, 1) - 1, Math.max(size, 1), sort);
+    }
+
     /**
      * Creates a paginated view of a list with a specified total size.
      *
@@ -0,0 +1,36 @@
+package com.mch.unicoursehub.utils.pagination;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A generic class for handling keyset (seek) paginated data.
+ *
+ * <p>
+ * Unlike {@link Pagination}, no total is computed and later pages cost the same as the
+ * first one; clients pass {@link #next} back to fetch the following page.
+ * </p>
+ *
+ * @param <T> the type of the elements in the paginated data
+ */
+@AllArgsConstructor
+@Data
+public class SeekPagination<T> {
+    /**
+     * The list of data items for the current page.
+     */
+    private List<T> data;
+    /**
+     * The number of data items displayed per page.
+     */
+    @JsonProperty("dataPerPage")
+    private int dataPerPage;
+    /**
+     * Cursor of the next page, or {@code null} if this is the last page.
+     */
+    @JsonProperty("next")
+    private String next;
+}
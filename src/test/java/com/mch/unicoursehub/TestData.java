@@ -0,0 +1,85 @@
+package com.mch.unicoursehub;
+
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.CourseOffering;
+import com.mch.unicoursehub.model.entity.Semester;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unsaved entities for tests that share the embedded database.
+ *
+ * <p>Every unique column is filled from one counter, so rows made by different test
+ * classes in the same Spring context never collide. Callers save the result with their
+ * own repository and change whatever field the test is about with its setter.</p>
+ */
+public final class TestData {
+
+    private static final AtomicInteger SEQ = new AtomicInteger((int) (System.nanoTime() % 100_000));
+
+    private TestData() {
+    }
+
+    /**
+     * @return a number no other caller in this JVM gets
+     */
+    public static int nextId() {
+        return SEQ.incrementAndGet();
+    }
+
+    /**
+     * @return a ten-digit national code no other caller in this JVM gets
+     */
+    public static String nationalCode() {
+        return String.format("%010d", nextId());
+    }
+
+    public static User user(Role role) {
+        int n = nextId();
+        return User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .userNumber("TD" + n)
+                .phoneNumber(String.format("09%09d", n))
+                .password("pass")
+                .nationalCode(String.format("%010d", n))
+                .role(role)
+                .isAccountLocked(false)
+                .build();
+    }
+
+    public static Semester semester(String name) {
+        return Semester.builder()
+                .name(name)
+                .startDate(LocalDate.of(2025, 2, 1))
+                .endDate(LocalDate.of(2025, 6, 30))
+                .minUnits(12)
+                .maxUnits(24)
+                .build();
+    }
+
+    public static Course course(String code) {
+        return Course.builder().code(code).name(code).unit(3).build();
+    }
+
+    /**
+     * @return section 1 with 30 seats, an exam on 2025-06-01 09:00 and no time slots
+     */
+    public static CourseOffering offering(Course course, Semester semester, User professor) {
+        return CourseOffering.builder()
+                .course(course)
+                .semester(semester)
+                .professor(professor)
+                .capacity(30)
+                .section(1)
+                .examDate(LocalDateTime.of(2025, 6, 1, 9, 0))
+                .classRoom("101")
+                .timeSlots(new ArrayList<>())
+                .build();
+    }
+}
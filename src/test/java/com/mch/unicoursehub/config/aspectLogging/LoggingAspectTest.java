@@ -0,0 +1,76 @@
+package com.mch.unicoursehub.config.aspectLogging;
+
+import brave.Tracer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.mch.unicoursehub.service.impl.PrerequisiteGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoggingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrerequisiteGraph proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LoggingAspect aspect = new LoggingAspect(
+                meterRegistry,
+                new DefaultListableBeanFactory().getBeanProvider(Tracer.class),
+                Duration.ofMillis(500),
+                0.0,
+                true
+        );
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PrerequisiteGraph(null, null));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void successfulCalls_areTimedPerMethod() {
+        proxy.rebuild(List.of());
+        proxy.rebuild(List.of());
+
+        Timer timer = meterRegistry.get(LoggingAspect.METRIC)
+                .tag("class", "PrerequisiteGraph")
+                .tag("method", "rebuild")
+                .tag("exception", "none")
+                .timer();
+
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void failedCalls_areTaggedWithException() {
+        // not loaded yet and there is no transaction manager to load with
+        assertThrows(IllegalStateException.class, () -> proxy.transitivePrerequisites(UUID.randomUUID()));
+
+        Timer timer = meterRegistry.get(LoggingAspect.METRIC)
+                .tag("method", "transitivePrerequisites")
+                .tag("exception", "IllegalStateException")
+                .timer();
+
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void tracingSwitch_withoutTracer_stillProceeds() {
+        proxy.rebuild(List.of());
+
+        assertThat(proxy.transitivePrerequisites(UUID.randomUUID())).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mch.unicoursehub.config.diagnostics;
+
+import com.mch.unicoursehub.model.dto.PinningReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void report_isEmptyWhenDisabled() {
+        monitor = new PinningMonitor(meterRegistry, false, Duration.ofMillis(20));
+        monitor.start();
+
+        PinningReport report = monitor.report();
+
+        assertThat(report.enabled()).isFalse();
+        assertThat(report.events()).isZero();
+        assertThat(report.sites()).isEmpty();
+    }
+
+    @Test
+    void report_groupsPinningByApplicationFrame() throws Exception {
+        monitor = new PinningMonitor(meterRegistry, true, Duration.ofMillis(10));
+        monitor.start();
+
+        Thread pinned = Thread.ofVirtual().start(PinningMonitorTest::sleepInMonitor);
+        pinned.join();
+
+        // the stream delivers events about once a second
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (monitor.report().events() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        PinningReport report = monitor.report();
+        assertThat(report.enabled()).isTrue();
+        assertThat(report.events()).isGreaterThanOrEqualTo(1);
+        assertThat(report.sites().getFirst().site())
+                .startsWith(PinningMonitorTest.class.getName() + ".sleepInMonitor:");
+        assertThat(report.sites().getFirst().maxMs()).isGreaterThanOrEqualTo(10);
+        assertThat(meterRegistry.get(PinningMonitor.METRIC).timer().count()).isEqualTo(report.events());
+    }
+
+    private static synchronized void sleepInMonitor() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mch.unicoursehub.controller;
+
+import com.mch.unicoursehub.model.dto.TimeSlotGrid;
+import com.mch.unicoursehub.service.impl.TimeSlotServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeSlotControllerTest {
+
+    private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+
+    private TimeSlotController controller;
+
+    @BeforeEach
+    void setUp() {
+        TimeSlotServiceImpl service = mock(TimeSlotServiceImpl.class);
+        when(service.getGrid()).thenReturn(new TimeSlotGrid("[]".getBytes(StandardCharsets.UTF_8), ETAG));
+        controller = new TimeSlotController(service);
+    }
+
+    @Test
+    void getTimeSlots_sendsBodyWithEtag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<byte[]> entity = controller.getTimeSlots(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/time-slots"), response));
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(entity.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(entity.getBody()).isEqualTo("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getTimeSlots_matchingEtag_isNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/time-slots");
+        request.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<byte[]> entity = controller.getTimeSlots(new ServletWebRequest(request, response));
+
+        assertThat(entity).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+    }
+}
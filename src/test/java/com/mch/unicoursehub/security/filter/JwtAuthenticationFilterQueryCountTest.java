@@ -0,0 +1,159 @@
+package com.mch.unicoursehub.security.filter;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.model.enums.TokenType;
+import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.ParsedToken;
+import com.mch.unicoursehub.service.impl.TokenServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the authenticated request path of {@link JwtAuthenticationFilter}
+ * stays off the database once its caches are warm, and that revocation is still
+ * seen immediately.
+ *
+ * <p>
+ * The latency test logs the average time per request for the cached filter and for
+ * the previous implementation (three parses, user lookup and token lookup).
+ * </p>
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class JwtAuthenticationFilterQueryCountTest {
+
+    private static final int ROUNDS = 2_000;
+
+    @Autowired JwtAuthenticationFilter filter;
+    @Autowired RateLimitFilter rateLimitFilter;
+    @Autowired JwtService jwtService;
+    @Autowired TokenServiceImpl tokenService;
+    @Autowired UserDetailsService userDetailsService;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private String jwt;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(TestData.user(Role.STUDENT));
+        jwt = tokenService.issueLoginSession(user).accessToken();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void warmRequest_issuesNoStatements() throws Exception {
+
+        assertThat(authenticate()).isTrue();
+
+        statistics.clear();
+        assertThat(authenticate()).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void revokedToken_isRejectedAfterCommit() throws Exception {
+
+        assertThat(authenticate()).isTrue();
+
+        tokenService.revokeTokenByUUID(UUID.fromString(jwtService.extractUUID(jwt)));
+
+        assertThat(authenticate()).isFalse();
+    }
+
+    @Test
+    void rateLimit_reusesTheParsedToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses");
+        request.setServletPath("/api/v1/courses");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> rateLimitFilter.doFilter(req, res, new MockFilterChain()));
+
+        assertThat(request.getAttribute(JwtAuthenticationFilter.TOKEN_ATTRIBUTE))
+                .isInstanceOfSatisfying(ParsedToken.class,
+                        token -> assertThat(token.uuid()).hasToString(jwtService.extractUUID(jwt)));
+        assertThat(response.getHeader("X-Rate-Limit-Remaining")).isNotNull();
+    }
+
+    @Test
+    void filterLatency_cachedVersusLegacy() throws Exception {
+
+        for (int i = 0; i < 200; i++) {
+            authenticate();
+            legacyAuthenticate();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            authenticate();
+        }
+        long cached = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            legacyAuthenticate();
+        }
+        long legacy = System.nanoTime() - start;
+
+        log.info("JWT filter latency: cached {} us/request, legacy {} us/request",
+                cached / 1_000 / ROUNDS, legacy / 1_000 / ROUNDS);
+    }
+
+    /**
+     * Runs the filter for a single request and reports whether it authenticated the caller.
+     */
+    private boolean authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/courses");
+        request.setServletPath("/api/v1/courses");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+        SecurityContextHolder.clearContext();
+        return authenticated;
+    }
+
+    /**
+     * The per-request work of the filter before the validation caches were introduced.
+     */
+    private boolean legacyAuthenticate() {
+        String username = jwtService.extractUsername(jwt);
+        String uuid = jwtService.extractUUID(jwt);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return jwtService.isTokenValid(jwt, userDetails)
+                && tokenService.checkToken(UUID.fromString(uuid), TokenType.ACCESS_TOKEN).isPresent();
+    }
+}
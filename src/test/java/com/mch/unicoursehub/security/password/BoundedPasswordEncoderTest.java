@@ -0,0 +1,86 @@
+package com.mch.unicoursehub.security.password;
+
+import com.mch.unicoursehub.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodeAndMatches_hashOnTheExecutor() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, RehashPolicy.UPGRADE, executor, meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(BoundedPasswordEncoder.costOf(hash)).isEqualTo(4);
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_METRIC).tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_METRIC).tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.WAIT_METRIC).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void matches_rejectsWhenTheQueueIsFull() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, RehashPolicy.UPGRADE, executor, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+
+        try {
+            assertThatThrownBy(() -> encoder.matches("secret", "$2a$04$abcdefghijklmnopqrstuv"))
+                    .isInstanceOf(ServiceUnavailableException.class)
+                    .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isPositive());
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METRIC).counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.QUEUE_METRIC).gauge().value()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void upgradeEncoding_followsThePolicy() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("secret");
+        String cost6 = new BCryptPasswordEncoder(6).encode("secret");
+        String cost8 = new BCryptPasswordEncoder(8).encode("secret");
+
+        BoundedPasswordEncoder never = new BoundedPasswordEncoder(6, RehashPolicy.NEVER, executor, meterRegistry);
+        BoundedPasswordEncoder upgrade = new BoundedPasswordEncoder(6, RehashPolicy.UPGRADE, executor, meterRegistry);
+        BoundedPasswordEncoder match = new BoundedPasswordEncoder(6, RehashPolicy.MATCH, executor, meterRegistry);
+
+        assertThat(never.upgradeEncoding(cost4)).isFalse();
+        assertThat(upgrade.upgradeEncoding(cost4)).isTrue();
+        assertThat(upgrade.upgradeEncoding(cost6)).isFalse();
+        assertThat(upgrade.upgradeEncoding(cost8)).isFalse();
+        assertThat(match.upgradeEncoding(cost8)).isTrue();
+        assertThat(match.upgradeEncoding(cost6)).isFalse();
+        assertThat(match.upgradeEncoding("{noop}secret")).isFalse();
+    }
+}
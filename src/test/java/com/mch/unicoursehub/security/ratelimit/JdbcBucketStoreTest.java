@@ -0,0 +1,121 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import com.mch.unicoursehub.model.entity.RateLimitBucket;
+import com.mch.unicoursehub.repository.RateLimitBucketRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link JdbcBucketStore} against the embedded test database. Separate store
+ * instances stand in for separate application replicas sharing one database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class JdbcBucketStoreTest {
+
+    private static final int CAPACITY = 20;
+
+    private static final BucketConfiguration CONFIGURATION = BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(CAPACITY, Refill.intervally(CAPACITY, Duration.ofHours(1))))
+            .build();
+
+    @Autowired RateLimitBucketRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void limit_isSharedBetweenInstances() {
+        JdbcBucketStore first = new JdbcBucketStore(repository, meterRegistry);
+        JdbcBucketStore second = new JdbcBucketStore(repository, new SimpleMeterRegistry());
+
+        assertThat(first.resolve(BucketNamespace.API, key, () -> CONFIGURATION).tryConsume(CAPACITY - 1)).isTrue();
+        assertThat(second.resolve(BucketNamespace.API, key, () -> CONFIGURATION).tryConsume(1)).isTrue();
+
+        assertThat(first.resolve(BucketNamespace.API, key, () -> CONFIGURATION).tryConsume(1)).isFalse();
+        assertThat(second.resolve(BucketNamespace.AUTH, key, () -> CONFIGURATION).tryConsume(1)).isTrue();
+    }
+
+    @Test
+    void concurrentConsumers_neverExceedCapacity() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger consumed = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                JdbcBucketStore store = new JdbcBucketStore(repository, new SimpleMeterRegistry());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        if (store.resolve(BucketNamespace.API, key, () -> CONFIGURATION).tryConsume(1))
+                            consumed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(consumed.get()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void purge_deletesIdleBuckets() {
+        JdbcBucketStore store = new JdbcBucketStore(repository, meterRegistry);
+        store.resolve(BucketNamespace.API, key, () -> CONFIGURATION).tryConsume(1);
+
+        String idleKey = BucketNamespace.API.storageKey("idle-" + key);
+        repository.save(RateLimitBucket.builder()
+                .key(idleKey)
+                .state(new byte[]{0})
+                .expiresAt(System.currentTimeMillis() - 1)
+                .build());
+
+        store.purge();
+
+        assertThat(repository.existsById(idleKey)).isFalse();
+        assertThat(repository.existsById(BucketNamespace.API.storageKey(key))).isTrue();
+        assertThat(meterRegistry.get("rate_limit.evictions").tag("namespace", "api").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void remove_deletesRow() {
+        JdbcBucketStore store = new JdbcBucketStore(repository, meterRegistry);
+        store.resolve(BucketNamespace.AUTH, key, () -> CONFIGURATION).tryConsume(1);
+
+        store.remove(BucketNamespace.AUTH, key);
+
+        assertThat(repository.existsById(BucketNamespace.AUTH.storageKey(key))).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package com.mch.unicoursehub.security.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalBucketStoreTest {
+
+    private static final BucketConfiguration CONFIGURATION = BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(1))))
+            .build();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LocalBucketStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new LocalBucketStore(meterRegistry, nanos::get);
+    }
+
+    @Test
+    void resolve_keepsNamespacesApart() {
+        Bucket api = store.resolve(BucketNamespace.API, "k", () -> CONFIGURATION);
+        Bucket auth = store.resolve(BucketNamespace.AUTH, "k", () -> CONFIGURATION);
+
+        assertThat(api).isNotSameAs(auth);
+        assertThat(store.resolve(BucketNamespace.API, "k", () -> CONFIGURATION)).isSameAs(api);
+    }
+
+    @Test
+    void idleBucket_isEvictedAfterTimeout() {
+        Bucket first = store.resolve(BucketNamespace.API, "idle", () -> CONFIGURATION);
+
+        nanos.addAndGet(BucketNamespace.API.getIdleTimeout().toNanos() - 1);
+        assertThat(store.resolve(BucketNamespace.API, "idle", () -> CONFIGURATION)).isSameAs(first);
+
+        nanos.addAndGet(BucketNamespace.API.getIdleTimeout().toNanos() + 1);
+        store.cleanUp();
+
+        assertThat(gauge("api")).isZero();
+        assertThat(evictions("api")).isEqualTo(1);
+        assertThat(store.resolve(BucketNamespace.API, "idle", () -> CONFIGURATION)).isNotSameAs(first);
+    }
+
+    @Test
+    void store_isBoundedPerNamespace() {
+        long cap = BucketNamespace.AUTH.getMaxBuckets();
+
+        for (int i = 0; i < cap + 100; i++) {
+            store.resolve(BucketNamespace.AUTH, "user-" + i, () -> CONFIGURATION);
+        }
+        store.cleanUp();
+
+        assertThat(gauge("auth")).isLessThanOrEqualTo(cap);
+        assertThat(evictions("auth")).isGreaterThanOrEqualTo(100);
+        assertThat(gauge("api")).isZero();
+    }
+
+    @Test
+    void remove_isNotCountedAsEviction() {
+        store.resolve(BucketNamespace.API, "gone", () -> CONFIGURATION);
+
+        store.remove(BucketNamespace.API, "gone");
+
+        assertThat(gauge("api")).isZero();
+        assertThat(evictions("api")).isZero();
+    }
+
+    private double gauge(String namespace) {
+        return meterRegistry.get("rate_limit.buckets").tag("namespace", namespace).gauge().value();
+    }
+
+    private double evictions(String namespace) {
+        return meterRegistry.get("rate_limit.evictions").tag("namespace", namespace).counter().count();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mch.unicoursehub.security.service;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService();
+
+    private final User user = User.builder().userNumber("P200").role(Role.PROFESSOR).build();
+
+    @Test
+    void parse_accessToken() {
+        UUID uuid = UUID.randomUUID();
+
+        ParsedToken parsed = jwtService.parse(jwtService.generateToken(user, uuid));
+
+        assertEquals("P200", parsed.subject());
+        assertEquals(uuid, parsed.uuid());
+        assertEquals(Role.PROFESSOR, parsed.role());
+        assertTrue(parsed.expiresAt().isAfter(Instant.now()));
+        assertFalse(parsed.expiresAt().isAfter(Instant.now().plusMillis(ConstVal.JWT_EXPIRATION_PROFESSOR)));
+    }
+
+    @Test
+    void parse_refreshTokenHasNoRole() {
+        UUID uuid = UUID.randomUUID();
+
+        ParsedToken parsed = jwtService.parse(jwtService.generateRefreshToken(Map.of(ConstVal.UUID_KEY, uuid), user));
+
+        assertEquals(uuid, parsed.uuid());
+        assertNull(parsed.role());
+    }
+
+    @Test
+    void parse_rejectsForeignSignature() {
+        String forged = Jwts.builder()
+                .setSubject("P200")
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        assertThrows(SignatureException.class, () -> jwtService.parse(forged));
+    }
+
+    @Test
+    void isTokenValid_matchesSubject() {
+        String token = jwtService.generateToken(user, UUID.randomUUID());
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenValid(token, User.builder().userNumber("other").role(Role.STUDENT).build()));
+    }
+}
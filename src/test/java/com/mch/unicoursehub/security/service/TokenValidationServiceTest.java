@@ -0,0 +1,96 @@
+package com.mch.unicoursehub.security.service;
+
+import com.mch.unicoursehub.model.entity.Token;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.TokenType;
+import com.mch.unicoursehub.repository.TokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidationServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private TokenValidationService service;
+
+    private final UUID uuid = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        service = new TokenValidationService(tokenRepository, userDetailsService);
+    }
+
+    @Test
+    void isAccessTokenActive_cachesLookup() {
+        when(tokenRepository.findByUuidAndType(uuid, TokenType.ACCESS_TOKEN))
+                .thenReturn(Optional.of(Token.builder().uuid(uuid).revoked(false).build()));
+
+        assertTrue(service.isAccessTokenActive(uuid));
+        assertTrue(service.isAccessTokenActive(uuid));
+
+        verify(tokenRepository, times(1)).findByUuidAndType(uuid, TokenType.ACCESS_TOKEN);
+    }
+
+    @Test
+    void isAccessTokenActive_revokedOrMissing() {
+        UUID missing = UUID.randomUUID();
+        when(tokenRepository.findByUuidAndType(uuid, TokenType.ACCESS_TOKEN))
+                .thenReturn(Optional.of(Token.builder().uuid(uuid).revoked(true).build()));
+        when(tokenRepository.findByUuidAndType(missing, TokenType.ACCESS_TOKEN))
+                .thenReturn(Optional.empty());
+
+        assertFalse(service.isAccessTokenActive(uuid));
+        assertFalse(service.isAccessTokenActive(missing));
+    }
+
+    @Test
+    void evictToken_forcesReload() {
+        when(tokenRepository.findByUuidAndType(uuid, TokenType.ACCESS_TOKEN))
+                .thenReturn(Optional.of(Token.builder().uuid(uuid).build()))
+                .thenReturn(Optional.empty());
+
+        assertTrue(service.isAccessTokenActive(uuid));
+        service.evictToken(uuid);
+        assertFalse(service.isAccessTokenActive(uuid));
+    }
+
+    @Test
+    void loadUser_cachesUntilEvicted() {
+        User user = User.builder().userNumber("S100").build();
+        when(userDetailsService.loadUserByUsername("S100")).thenReturn(user);
+
+        assertSame(user, service.loadUser("S100"));
+        assertSame(user, service.loadUser("S100"));
+        verify(userDetailsService, times(1)).loadUserByUsername("S100");
+
+        service.evictUser("S100");
+        service.loadUser("S100");
+        verify(userDetailsService, times(2)).loadUserByUsername("S100");
+    }
+
+    @Test
+    void loadUser_notFoundIsNotCached() {
+        when(userDetailsService.loadUserByUsername("X"))
+                .thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUser("X"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUser("X"));
+        verify(userDetailsService, times(2)).loadUserByUsername("X");
+    }
+}
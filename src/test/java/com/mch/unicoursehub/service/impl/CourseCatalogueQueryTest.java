@@ -0,0 +1,109 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.dto.CourseResponse;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.Prerequisite;
+import com.mch.unicoursehub.repository.CourseRepository;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import com.mch.unicoursehub.utils.pagination.Pagination;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that catalogue filtering and paging run in the database with a constant
+ * number of statements, independent of the number of courses.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class CourseCatalogueQueryTest {
+
+    private static final String PREFIX = "CAT" + TestData.nextId() + "-";
+
+    @Autowired CourseServiceImpl courseService;
+    @Autowired CourseRepository courseRepository;
+    @Autowired PrerequisiteRepository prerequisiteRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (courseRepository.existsByCode(PREFIX + "000")) {
+            return;
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            courses.add(Course.builder()
+                    .code(PREFIX + String.format("%03d", i))
+                    .name((i % 2 == 0 ? "Catalogue Even " : "Catalogue Odd ") + i)
+                    .unit(1 + i % 4)
+                    .build());
+        }
+        courses = courseRepository.saveAll(courses);
+
+        List<Prerequisite> prerequisites = new ArrayList<>();
+        for (int i = 2; i < courses.size(); i++) {
+            prerequisites.add(Prerequisite.builder().course(courses.get(i)).prerequisite(courses.get(i - 1)).build());
+            prerequisites.add(Prerequisite.builder().course(courses.get(i)).prerequisite(courses.get(i - 2)).build());
+        }
+        prerequisiteRepository.saveAll(prerequisites);
+    }
+
+    @Test
+    void getAllCourses_filtersAndPagesInDatabase() {
+
+        statistics.clear();
+        Pagination<CourseResponse> page = courseService.getAllCourses(2, 10, null, "catalogue EVEN", 3);
+
+        // page select + count + prerequisite codes
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(10);
+
+        // even indexes with unit 3 are i % 4 == 2: 75 of the 300 courses
+        assertThat(page.getSize()).isEqualTo(75);
+        assertThat(page.getData()).hasSize(10);
+        assertThat(page.getData()).allSatisfy(c -> {
+            assertThat(c.unit()).isEqualTo(3);
+            assertThat(c.name()).startsWith("Catalogue Even");
+            assertThat(c.prerequisites()).hasSize(2);
+        });
+        assertThat(page.getData().getFirst().code()).isEqualTo(PREFIX + "042");
+    }
+
+    @Test
+    void getAllCourses_codeFilterIgnoresCase() {
+        Pagination<CourseResponse> page =
+                courseService.getAllCourses(1, 8, PREFIX.toLowerCase() + "002", null, null);
+
+        assertThat(page.getData()).extracting(CourseResponse::code).containsExactly(PREFIX + "002");
+        assertThat(page.getData().getFirst().prerequisites()).containsExactly(PREFIX + "000", PREFIX + "001");
+    }
+
+    @Test
+    void getAllCourses_negativePageAndSizeReturnEveryRow() {
+        statistics.clear();
+        Pagination<CourseResponse> page = courseService.getAllCourses(-1, -1, null, "catalogue EVEN", 3);
+
+        // one unpaged select + prerequisite codes, no count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getSize()).isEqualTo(75);
+        assertThat(page.getData()).hasSize(75);
+        assertThat(page.getData().getFirst().code()).isEqualTo(PREFIX + "002");
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -40,6 +41,15 @@ class CourseOfferingServiceImplTest {
     @Mock
     private TimeSlotRepository timeSlotRepository;
 
+    @Mock
+    private OfferingCatalogue offeringCatalogue;
+
+    @Mock
+    private TimeSlotRegistry timeSlotRegistry;
+
+    @Mock
+    private SeatAvailabilityFeed seatAvailabilityFeed;
+
     @InjectMocks
     private CourseOfferingServiceImpl service;
 
@@ -101,8 +111,9 @@ class CourseOfferingServiceImplTest {
         when(courseRepository.findByCode("CS101")).thenReturn(Optional.of(course));
         when(userRepository.findByUserNumber("U123")).thenReturn(Optional.of(professor));
         when(semesterRepository.findByName("1404-1")).thenReturn(Optional.of(semester));
-        when(courseOfferingRepository.countByCourseAndSemester(course, semester)).thenReturn(0);
-        when(timeSlotRepository.findAllById(req.timeSlotIds())).thenReturn(timeSlots);
+        when(courseOfferingRepository.findMaxSection(course, semester)).thenReturn(0);
+        when(timeSlotRegistry.containsAll(req.timeSlotIds())).thenReturn(true);
+        when(timeSlotRepository.getReferenceById(timeSlots.get(0).getId())).thenReturn(timeSlots.get(0));
         when(courseOfferingRepository.save(any(CourseOffering.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CourseOfferingResponse response = service.createCourseOffering(req);
@@ -139,8 +150,8 @@ class CourseOfferingServiceImplTest {
         when(courseRepository.findByCode("CS101")).thenReturn(Optional.of(course));
         when(userRepository.findByUserNumber("U123")).thenReturn(Optional.of(professor));
         when(semesterRepository.findByName("1404-1")).thenReturn(Optional.of(semester));
-        when(courseOfferingRepository.countByCourseAndSemester(course, semester)).thenReturn(0);
-        when(timeSlotRepository.findAllById(req.timeSlotIds())).thenReturn(List.of()); // خالی
+        when(courseOfferingRepository.findMaxSection(course, semester)).thenReturn(0);
+        when(timeSlotRegistry.containsAll(req.timeSlotIds())).thenReturn(false);
 
         assertThatThrownBy(() -> service.createCourseOffering(req))
                 .isInstanceOf(BadRequestException.class)
@@ -150,20 +161,20 @@ class CourseOfferingServiceImplTest {
     // ---------- getCourseOfferings ----------
 
     @Test
-    void getCourseOfferings_shouldFilterCorrectly() {
-        CourseOffering offering = CourseOffering.builder()
-                .course(course)
-                .professor(professor)
-                .semester(semester)
+    void getCourseOfferings_shouldServeFromCatalogue() {
+        CourseOfferingResponse offering = CourseOfferingResponse.builder()
+                .courseCode("CS101")
+                .courseName("Algorithms")
+                .professorName("John Doe")
                 .capacity(30)
                 .examDate(LocalDateTime.now())
-                .classRoom("101")
-                .section(1)
-                .timeSlots(timeSlots)
+                .classroomNumber(101)
+                .groupNumber(1)
+                .timeSlotIds(List.of())
                 .build();
 
         when(semesterRepository.findByName("1404-1")).thenReturn(Optional.of(semester));
-        when(courseOfferingRepository.findBySemester(semester)).thenReturn(List.of(offering));
+        when(offeringCatalogue.search(semester.getId(), "John", "CS101", "Algorithms")).thenReturn(List.of(offering));
 
         List<CourseOfferingResponse> results = service.getCourseOfferings(
                 "1404-1", "John", "CS101", "Algorithms"
@@ -184,4 +195,23 @@ class CourseOfferingServiceImplTest {
                 "1404-1", null, null, null
         )).isInstanceOf(NotFoundException.class);
     }
+
+    // ---------- subscribeSeats ----------
+
+    @Test
+    void subscribeSeats_shouldSubscribeToSemester() {
+        SseEmitter emitter = new SseEmitter();
+        when(semesterRepository.findByName("1404-1")).thenReturn(Optional.of(semester));
+        when(seatAvailabilityFeed.subscribe(semester.getId())).thenReturn(emitter);
+
+        assertThat(service.subscribeSeats(" 1404-1 ")).isSameAs(emitter);
+    }
+
+    @Test
+    void subscribeSeats_whenSemesterNotFound_shouldThrow() {
+        when(semesterRepository.findByName("1404-1")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.subscribeSeats("1404-1")).isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(seatAvailabilityFeed);
+    }
 }
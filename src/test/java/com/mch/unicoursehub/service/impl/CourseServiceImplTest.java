@@ -1,9 +1,11 @@
 package com.mch.unicoursehub.service.impl;
 
+import com.mch.unicoursehub.exceptions.BadRequestException;
 import com.mch.unicoursehub.exceptions.ConflictException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
 import com.mch.unicoursehub.model.dto.CourseResponse;
 import com.mch.unicoursehub.model.dto.CreateCourseRequest;
+import com.mch.unicoursehub.model.dto.PrerequisiteCodeRow;
 import com.mch.unicoursehub.model.dto.UpdateCourseRequest;
 import com.mch.unicoursehub.model.entity.Course;
 import com.mch.unicoursehub.model.entity.Prerequisite;
@@ -15,9 +17,15 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +46,12 @@ class CourseServiceImplTest {
     @Mock
     private PrerequisiteRepository prerequisiteRepository;
 
+    @Mock
+    private PrerequisiteGraph prerequisiteGraph;
+
+    @Mock
+    private OfferingCatalogue offeringCatalogue;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -71,7 +85,6 @@ class CourseServiceImplTest {
 
         when(courseRepository.existsByCode("CS102")).thenReturn(false);
         when(courseRepository.save(any(Course.class))).thenAnswer(i -> i.getArgument(0));
-        when(courseRepository.findAll()).thenReturn(List.of(courseA, courseB));
 
         CourseResponse response = courseService.createCourse(req);
 
@@ -90,7 +103,6 @@ class CourseServiceImplTest {
         when(courseRepository.existsByCode("CS103")).thenReturn(false);
         when(courseRepository.findByCodeIn(List.of("CS101", "CS50"))).thenReturn(List.of(courseA, courseB));
         when(courseRepository.save(any(Course.class))).thenAnswer(i -> i.getArgument(0));
-        when(courseRepository.findAll()).thenReturn(List.of(courseA, courseB));
 
         CourseResponse response = courseService.createCourse(req);
 
@@ -98,6 +110,34 @@ class CourseServiceImplTest {
         assertEquals(2, response.prerequisites().size());
 
         verify(prerequisiteRepository).saveAll(anyList());
+        verify(prerequisiteGraph).replacePrerequisites(any(), eq(List.of(courseA.getCid(), courseB.getCid())));
+    }
+
+    @Test
+    void testUpdateCourse_cyclicPrerequisite_throwsBadRequest() {
+        UpdateCourseRequest req = new UpdateCourseRequest(null, null, List.of("CS50"));
+
+        when(courseRepository.findByCode("CS101")).thenReturn(Optional.of(courseA));
+        when(courseRepository.findByCodeIn(List.of("CS50"))).thenReturn(List.of(courseB));
+        when(prerequisiteGraph.wouldCreateCycle(courseA.getCid(), List.of(courseB.getCid()))).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> courseService.updateCourse("CS101", req));
+
+        verify(prerequisiteRepository, never()).saveAll(anyList());
+        verify(prerequisiteGraph, never()).replacePrerequisites(any(), anyList());
+    }
+
+    @Test
+    void testGetTransitivePrerequisites_mapsGraphIdsToCodes() {
+        Course courseC = Course.builder().cid(UUID.randomUUID()).code("CS1").build();
+
+        when(courseRepository.findByCode("CS101")).thenReturn(Optional.of(courseA));
+        when(prerequisiteGraph.transitivePrerequisites(courseA.getCid()))
+                .thenReturn(List.of(courseB.getCid(), courseC.getCid()));
+        when(courseRepository.findAllById(List.of(courseB.getCid(), courseC.getCid())))
+                .thenReturn(List.of(courseC, courseB));
+
+        assertEquals(List.of("CS50", "CS1"), courseService.getTransitivePrerequisites("CS101"));
     }
 
     @Test
@@ -115,7 +155,6 @@ class CourseServiceImplTest {
 
         when(courseRepository.findByCode("CS101")).thenReturn(Optional.of(courseA));
         when(courseRepository.save(any(Course.class))).thenAnswer(i -> i.getArgument(0));
-        when(courseRepository.findAll()).thenReturn(List.of(courseA, courseB));
 
         CourseResponse response = courseService.updateCourse("CS101", req);
 
@@ -136,6 +175,7 @@ class CourseServiceImplTest {
 
         verify(courseRepository, times(1)).delete(courseA);
         verify(courseRepository).delete(courseA);
+        verify(prerequisiteGraph).removeCourse(courseA.getCid());
     }
 
 
@@ -152,12 +192,29 @@ class CourseServiceImplTest {
 
     @Test
     void testGetAllCourses_filterByCode() {
-        when(courseRepository.findAll()).thenReturn(List.of(courseA, courseB));
+        when(courseRepository.findAll(ArgumentMatchers.<Specification<Course>>any(), eq(PageRequest.of(0, 10, Sort.by("code")))))
+                .thenReturn(new PageImpl<>(List.of(courseA), PageRequest.of(0, 10), 1));
+        when(prerequisiteRepository.findPrerequisiteCodes(List.of(courseA.getCid())))
+                .thenReturn(List.of(new PrerequisiteCodeRow(courseA.getCid(), "CS50")));
 
         Pagination<CourseResponse> page = courseService.getAllCourses(1, 10, "CS101", null, null);
 
         assertEquals(1, page.getData().size());
+        assertEquals(1, page.getSize());
         assertEquals("CS101", page.getData().get(0).code());
+        assertEquals(List.of("CS50"), page.getData().get(0).prerequisites());
+    }
+
+    @Test
+    void testGetAllCourses_emptyPage_skipsPrerequisiteQuery() {
+        when(courseRepository.findAll(ArgumentMatchers.<Specification<Course>>any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(4, 10), 12));
+
+        Pagination<CourseResponse> page = courseService.getAllCourses(5, 10, null, "x", null);
+
+        assertTrue(page.getData().isEmpty());
+        assertEquals(12, page.getSize());
+        verifyNoInteractions(prerequisiteRepository);
     }
 
 }
\ No newline at end of file
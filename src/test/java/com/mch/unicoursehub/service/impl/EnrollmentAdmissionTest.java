@@ -0,0 +1,200 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.config.AdmissionProperties;
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.AdmissionTicket;
+import com.mch.unicoursehub.model.enums.AdmissionStatus;
+import com.mch.unicoursehub.repository.SemesterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.mch.unicoursehub.ConstErrors.fullCapacity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class EnrollmentAdmissionTest {
+
+    private final UUID student = UUID.randomUUID();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private SemesterRepository semesterRepository;
+    private ExecutorService executor;
+    private EnrollmentAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        semesterRepository = mock(SemesterRepository.class);
+        when(semesterRepository.existsByName(anyString())).thenReturn(true);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        admission = new EnrollmentAdmission(
+                new AdmissionProperties(1, 2, Duration.ofMinutes(1),
+                        Map.of("hot", new AdmissionProperties.Limits(2, null))),
+                semesterRepository,
+                meterRegistry,
+                executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void admit_runsOnCallerWhenIdle() {
+        Thread caller = Thread.currentThread();
+        Thread[] ranOn = new Thread[1];
+
+        AdmissionTicket ticket = admission.admit(" 1404-1 ", student, () -> ranOn[0] = Thread.currentThread());
+
+        assertThat(ticket.status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+        assertThat(ticket.id()).isNull();
+        assertThat(ranOn[0]).isSameAs(caller);
+        assertThat(requests("1404-1", "inline")).isEqualTo(1);
+    }
+
+    @Test
+    void admit_unknownSemesterGetsNoLane() {
+        when(semesterRepository.existsByName("made-up")).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> admission.admit("made-up", student, () -> { }));
+
+        assertThat(meterRegistry.find("enrollment.admission.requests").tag("semester", "made-up").counters()).isEmpty();
+    }
+
+    @Test
+    void admit_checksSemesterOnlyWhenCreatingItsLane() {
+        admission.admit("1404-1", student, () -> { });
+        admission.admit("1404-1", student, () -> { });
+
+        verify(semesterRepository, times(1)).existsByName("1404-1");
+    }
+
+    @Test
+    void admit_inlineFailureIsThrownToCaller() {
+        assertThrows(BadRequestException.class, () ->
+                admission.admit("1404-1", student, () -> {
+                    throw new BadRequestException(fullCapacity);
+                }));
+
+        // the permit was released
+        assertThat(admission.admit("1404-1", student, () -> { }).status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+    }
+
+    @Test
+    void admit_queuesWhenBusyAndRunsInOrder() throws Exception {
+        occupy("1404-1");
+        StringBuffer order = new StringBuffer();
+
+        AdmissionTicket first = admission.admit("1404-1", student, () -> order.append('a'));
+        AdmissionTicket second = admission.admit("1404-1", student, () -> order.append('b'));
+
+        assertThat(first.status()).isEqualTo(AdmissionStatus.QUEUED);
+        assertThat(first.id()).isNotNull();
+        assertThat(first.position()).isEqualTo(1);
+        assertThat(second.position()).isEqualTo(2);
+        assertThat(first.retryAfterSeconds()).isBetween(1L, 60L);
+        assertThat(meterRegistry.get("enrollment.admission.waiting").tag("semester", "1404-1").gauge().value())
+                .isEqualTo(2);
+
+        release.countDown();
+        assertThat(await(second.id()).status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+        assertThat(await(first.id()).status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+        assertThat(order.toString()).isEqualTo("ab");
+        assertThat(requests("1404-1", "queued")).isEqualTo(2);
+    }
+
+    @Test
+    void admit_turnsAwayWhenQueueIsFull() {
+        occupy("1404-1");
+        admission.admit("1404-1", student, () -> { });
+        admission.admit("1404-1", student, () -> { });
+
+        AdmissionTicket ticket = admission.admit("1404-1", student, () -> { });
+
+        assertThat(ticket.status()).isEqualTo(AdmissionStatus.FULL);
+        assertThat(ticket.retryAfterSeconds()).isPositive();
+        assertThat(requests("1404-1", "full")).isEqualTo(1);
+    }
+
+    @Test
+    void admit_limitsArePerSemester() {
+        occupy("1404-1");
+
+        assertThat(admission.admit("1404-2", student, () -> { }).status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+
+        // "hot" allows two concurrent enrollments
+        occupy("hot");
+        assertThat(admission.admit("hot", student, () -> { }).status()).isEqualTo(AdmissionStatus.SUCCEEDED);
+    }
+
+    @Test
+    void ticket_recordsQueuedFailureForOwnerOnly() throws Exception {
+        occupy("1404-1");
+        AdmissionTicket queued = admission.admit("1404-1", student, () -> {
+            throw new BadRequestException(fullCapacity);
+        });
+        release.countDown();
+
+        AdmissionTicket done = await(queued.id());
+
+        assertThat(done.status()).isEqualTo(AdmissionStatus.FAILED);
+        assertThat(done.errorCode()).isEqualTo(fullCapacity.getErrorCode());
+        assertThat(done.message()).isEqualTo(fullCapacity.getMessage());
+        assertThat(admission.ticket(queued.id(), UUID.randomUUID())).isEmpty();
+        assertThat(admission.ticket(UUID.randomUUID(), student)).isEmpty();
+    }
+
+    /**
+     * Starts an enrollment that holds its permit until {@link #release} is counted down.
+     */
+    private void occupy(String semester) {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> admission.admit(semester, UUID.randomUUID(), () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AdmissionTicket await(UUID ticketId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AdmissionTicket ticket = admission.ticket(ticketId, student).orElseThrow();
+        while ((ticket.status() == AdmissionStatus.QUEUED || ticket.status() == AdmissionStatus.RUNNING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            ticket = admission.ticket(ticketId, student).orElseThrow();
+        }
+        return ticket;
+    }
+
+    private double requests(String semester, String outcome) {
+        return meterRegistry.get("enrollment.admission.requests")
+                .tag("semester", semester)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
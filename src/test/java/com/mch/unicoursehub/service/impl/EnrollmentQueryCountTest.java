@@ -0,0 +1,178 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.dto.BatchEnrollRequest;
+import com.mch.unicoursehub.model.dto.BatchEnrollResult;
+import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
+import com.mch.unicoursehub.model.entity.*;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression test guarding the number of SQL statements issued per enroll call.
+ *
+ * <p>
+ * Runs against the embedded test database with Hibernate statistics enabled and
+ * compares a student with a short history to one with a long history.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class EnrollmentQueryCountTest {
+
+    @Autowired EnrollmentServiceImpl enrollmentService;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired CourseOfferingRepository courseOfferingRepository;
+    @Autowired CourseRepository courseRepository;
+    @Autowired PrerequisiteRepository prerequisiteRepository;
+    @Autowired SemesterRepository semesterRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired TimeSlotRepository timeSlotRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User professor;
+    private List<TimeSlot> slots;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        professor = newUser(Role.PROFESSOR);
+        slots = timeSlotRepository.findAll();
+    }
+
+    @Test
+    void enrollStudent_statementCountDoesNotDependOnHistory() {
+
+        long shortHistory = statementsForEnroll(1);
+        long longHistory = statementsForEnroll(40);
+
+        assertThat(longHistory).isEqualTo(shortHistory);
+        // offering + capacity + context rows + prerequisites + insert
+        assertThat(longHistory).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void enrollBatch_addsOnlySeatReservationsPerSectionAndCommitsOnce() {
+
+        long two = statementsForBatch(2);
+        long six = statementsForBatch(6);
+
+        // one conditional seat update per section; the inserts go out as one JDBC batch
+        assertThat(six - two).isEqualTo(4);
+        // semester + offerings + context rows + prerequisites + slots + 6 seats + insert batch
+        assertThat(six).isLessThanOrEqualTo(12);
+    }
+
+    /**
+     * Seeds a semester with {@code sections} non-clashing offerings and counts the
+     * statements issued by a batch enroll call that takes all of them in one transaction.
+     */
+    private long statementsForBatch(int sections) {
+
+        String tag = String.valueOf(TestData.nextId());
+        User student = newUser(Role.STUDENT);
+        Semester current = newSemester("bat-" + tag);
+
+        List<EnrollCourseRequest> basket = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            Course c = newCourse("B" + tag + "-" + i);
+            newOffering(c, current, LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i), slots.get(i));
+            basket.add(new EnrollCourseRequest(c.getCode(), 1));
+        }
+
+        statistics.clear();
+        List<BatchEnrollResult> results =
+                enrollmentService.enrollBatch(student, current.getName(), new BatchEnrollRequest(basket));
+
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(results).allMatch(BatchEnrollResult::enrolled);
+        assertThat(enrollmentRepository.findByStudentAndCourseOffering_Semester(student, current)).hasSize(sections);
+        return statements;
+    }
+
+    /**
+     * Seeds a student with {@code history} passed courses and two current selections,
+     * then counts the statements issued by a successful enroll call.
+     */
+    private long statementsForEnroll(int history) {
+
+        String tag = String.valueOf(TestData.nextId());
+        User student = newUser(Role.STUDENT);
+
+        Semester past = newSemester("past-" + tag);
+        Semester current = newSemester("cur-" + tag);
+
+        List<Course> passed = new ArrayList<>();
+        for (int i = 0; i < history; i++) {
+            Course c = newCourse("H" + tag + "-" + i);
+            CourseOffering o = newOffering(c, past, LocalDateTime.of(2024, 6, 1, 9, 0).plusDays(i), slots.get(i % slots.size()));
+            enroll(student, o, EnrollmentStatus.PASSED);
+            passed.add(c);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            CourseOffering o = newOffering(newCourse("C" + tag + "-" + i), current,
+                    LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i), slots.get(i));
+            enroll(student, o, EnrollmentStatus.SELECTED);
+        }
+
+        Course target = newCourse("T" + tag);
+        for (Course p : passed.subList(0, Math.min(2, passed.size()))) {
+            prerequisiteRepository.save(Prerequisite.builder().course(target).prerequisite(p).build());
+        }
+        newOffering(target, current, LocalDateTime.of(2025, 1, 20, 9, 0), slots.get(5));
+
+        statistics.clear();
+        enrollmentService.enrollStudent(student, current.getName(), new EnrollCourseRequest(target.getCode(), 1));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User newUser(Role role) {
+        return userRepository.save(TestData.user(role));
+    }
+
+    private Semester newSemester(String name) {
+        return semesterRepository.save(TestData.semester(name));
+    }
+
+    private Course newCourse(String code) {
+        return courseRepository.save(TestData.course(code));
+    }
+
+    private CourseOffering newOffering(Course course, Semester semester, LocalDateTime exam, TimeSlot slot) {
+        CourseOffering offering = TestData.offering(course, semester, professor);
+        offering.setExamDate(exam);
+        offering.getTimeSlots().add(slot);
+        return courseOfferingRepository.save(offering);
+    }
+
+    private void enroll(User student, CourseOffering offering, EnrollmentStatus status) {
+        enrollmentRepository.save(
+                Enrollment.builder()
+                        .student(student)
+                        .courseOffering(offering)
+                        .status(status)
+                        .build()
+        );
+    }
+}
@@ -2,8 +2,11 @@ package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.BadRequestException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.BatchEnrollRequest;
+import com.mch.unicoursehub.model.dto.BatchEnrollResult;
 import com.mch.unicoursehub.model.dto.DropCourseRequest;
 import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
+import com.mch.unicoursehub.model.dto.OfferingKey;
 import com.mch.unicoursehub.model.entity.*;
 import com.mch.unicoursehub.model.enums.EnrollmentStatus;
 import com.mch.unicoursehub.model.enums.Role;
@@ -18,9 +21,8 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
 
 import static com.mch.unicoursehub.ConstErrors.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +31,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class EnrollmentServiceImplTest {
 
-    @InjectMocks
     private EnrollmentServiceImpl enrollmentService;
 
     @Mock
@@ -44,6 +45,12 @@ class EnrollmentServiceImplTest {
     @Mock
     private SemesterRepository semesterRepository;
 
+    @Mock
+    private OfferingCatalogue offeringCatalogue;
+
+    @Mock
+    private TimeSlotRegistry timeSlotRegistry;
+
     private User student;
     private CourseOffering offering;
     private Semester semester;
@@ -51,6 +58,14 @@ class EnrollmentServiceImplTest {
 
     @BeforeEach
     void setup() {
+        enrollmentService = new EnrollmentServiceImpl(
+                enrollmentRepository,
+                courseOfferingRepository,
+                semesterRepository,
+                new EnrollmentValidator(enrollmentRepository, prerequisiteRepository, timeSlotRegistry),
+                offeringCatalogue
+        );
+
         student = User.builder()
                 .uid(UUID.randomUUID())
                 .firstName("Ali")
@@ -88,32 +103,51 @@ class EnrollmentServiceImplTest {
                 .findByCourse_CodeAndSectionAndSemester_Name("AP", 1, "1403-1"))
                 .thenReturn(Optional.of(offering));
 
-        when(enrollmentRepository.countByCourseOffering(offering))
-                .thenReturn(10L);
-
-        when(enrollmentRepository
-                .existsByStudentAndCourseOffering_SemesterAndCourseOffering_CourseAndStatus(
-                        any(), any(), any(), any()))
-                .thenReturn(false);
-
-        when(enrollmentRepository
-                .existsByStudentAndCourseOffering_SemesterAndCourseOffering_Course(
-                        any(), any(), any()))
-                .thenReturn(false);
+        offering.setSeatsTaken(10);
 
-        when(prerequisiteRepository.findByCourse(course))
+        when(enrollmentRepository.findRegistrationContextRows(student, semester))
                 .thenReturn(List.of());
 
-        when(enrollmentRepository
-                .findByStudentAndCourseOffering_SemesterAndStatus(
-                        student, semester, EnrollmentStatus.SELECTED))
+        when(prerequisiteRepository.findPrerequisiteStatuses(course, student, EnrollmentStatus.PASSED))
                 .thenReturn(List.of());
 
+        when(courseOfferingRepository.reserveSeat(offering.getId()))
+                .thenReturn(1);
+
         enrollmentService.enrollStudent(student, "1403-1", req);
 
         verify(enrollmentRepository).save(any(Enrollment.class));
     }
 
+    @Test
+    void enrollStudent_seatTakenConcurrently_shouldThrow() {
+        EnrollCourseRequest req =
+                new EnrollCourseRequest("AP", 1);
+
+        when(courseOfferingRepository
+                .findByCourse_CodeAndSectionAndSemester_Name("AP", 1, "1403-1"))
+                .thenReturn(Optional.of(offering));
+
+        offering.setSeatsTaken(29);
+
+        when(enrollmentRepository.findRegistrationContextRows(student, semester))
+                .thenReturn(List.of());
+
+        when(prerequisiteRepository.findPrerequisiteStatuses(course, student, EnrollmentStatus.PASSED))
+                .thenReturn(List.of());
+
+        when(courseOfferingRepository.reserveSeat(offering.getId()))
+                .thenReturn(0);
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> enrollmentService.enrollStudent(student, "1403-1", req)
+        );
+
+        assertEquals(fullCapacity.getMessage(), ex.getMessage());
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
     @Test
     void enrollStudent_fullCapacity_shouldThrow() {
 
@@ -149,8 +183,7 @@ class EnrollmentServiceImplTest {
                 .findByCourse_CodeAndSectionAndSemester_Name("AP", 1, "1403-1"))
                 .thenReturn(Optional.of(offering));
 
-        when(enrollmentRepository.countByCourseOffering(offering))
-                .thenReturn(30L); // ظرفیت پر
+        offering.setSeatsTaken(30); // ظرفیت پر
 
         // ===== Act + Assert =====
         BadRequestException ex = assertThrows(
@@ -162,6 +195,99 @@ class EnrollmentServiceImplTest {
     }
 
 
+    // ---------------- enrollBatch ----------------
+
+    @Test
+    void enrollBatch_reportsEachSectionAndSavesAcceptedTogether() {
+        CourseOffering ap = batchOffering("AP", 3, LocalDateTime.of(2025, 1, 10, 9, 0));
+        CourseOffering ds = batchOffering("DS", 3, LocalDateTime.of(2025, 1, 10, 10, 0));
+        CourseOffering os = batchOffering("OS", 3, LocalDateTime.of(2025, 1, 20, 9, 0));
+        CourseOffering big = batchOffering("BIG", 15, LocalDateTime.of(2025, 1, 25, 9, 0));
+
+        List<EnrollCourseRequest> sections = List.of(
+                new EnrollCourseRequest("AP", 1),
+                new EnrollCourseRequest("DS", 1),
+                new EnrollCourseRequest("XX", 1),
+                new EnrollCourseRequest("OS", 1),
+                new EnrollCourseRequest("BIG", 1));
+        stubBasket(Map.of(
+                new OfferingKey("AP", 1), ap,
+                new OfferingKey("DS", 1), ds,
+                new OfferingKey("OS", 1), os,
+                new OfferingKey("BIG", 1), big));
+        when(courseOfferingRepository.reserveSeat(any(UUID.class))).thenReturn(1);
+
+        List<BatchEnrollResult> results = enrollmentService.enrollBatch(student, "1403-1", new BatchEnrollRequest(sections));
+
+        assertEquals(List.of("AP", "DS", "XX", "OS", "BIG"), results.stream().map(BatchEnrollResult::courseCode).toList());
+        assertTrue(results.get(0).enrolled());
+        assertEquals(examDateConflict.getErrorCode(), results.get(1).errorCode());
+        assertEquals(courseOfferingNotFound.getErrorCode(), results.get(2).errorCode());
+        assertTrue(results.get(3).enrolled());
+        // 3 + 3 accepted units + 15 exceed the limit of 20
+        assertEquals(maxUnit.getErrorCode(), results.get(4).errorCode());
+
+        verify(courseOfferingRepository).reserveSeat(ap.getId());
+        verify(courseOfferingRepository).reserveSeat(os.getId());
+        verify(courseOfferingRepository, times(2)).reserveSeat(any(UUID.class));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+        verify(enrollmentRepository).saveAll(argThat((List<Enrollment> list) -> list.size() == 2));
+    }
+
+    @Test
+    void enrollBatch_seatTakenConcurrently_rejectsOnlyThatSection() {
+        CourseOffering ap = batchOffering("AP", 3, LocalDateTime.of(2025, 1, 10, 9, 0));
+        CourseOffering os = batchOffering("OS", 3, LocalDateTime.of(2025, 1, 20, 9, 0));
+
+        stubBasket(Map.of(new OfferingKey("AP", 1), ap, new OfferingKey("OS", 1), os));
+        when(courseOfferingRepository.reserveSeat(ap.getId())).thenReturn(0);
+        when(courseOfferingRepository.reserveSeat(os.getId())).thenReturn(1);
+
+        List<BatchEnrollResult> results = enrollmentService.enrollBatch(student, "1403-1", new BatchEnrollRequest(List.of(
+                new EnrollCourseRequest("AP", 1),
+                new EnrollCourseRequest("OS", 1))));
+
+        assertFalse(results.get(0).enrolled());
+        assertEquals(fullCapacity.getErrorCode(), results.get(0).errorCode());
+        assertTrue(results.get(1).enrolled());
+        verify(offeringCatalogue, never()).seatsChanged(ap.getId());
+        verify(enrollmentRepository).saveAll(argThat((List<Enrollment> list) -> list.size() == 1));
+    }
+
+    @Test
+    void enrollBatch_semesterNotFound_shouldThrow() {
+        when(semesterRepository.findByName("1403-9")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> enrollmentService.enrollBatch(student, "1403-9",
+                new BatchEnrollRequest(List.of(new EnrollCourseRequest("AP", 1)))));
+    }
+
+    private CourseOffering batchOffering(String code, int unit, LocalDateTime exam) {
+        Course c = new Course();
+        c.setCid(UUID.randomUUID());
+        c.setCode(code);
+        c.setUnit(unit);
+
+        CourseOffering o = new CourseOffering();
+        o.setId(UUID.randomUUID());
+        o.setCourse(c);
+        o.setSemester(semester);
+        o.setCapacity(30);
+        o.setSection(1);
+        o.setExamDate(exam);
+        o.setTimeSlots(List.of());
+        return o;
+    }
+
+    private void stubBasket(Map<OfferingKey, CourseOffering> offerings) {
+        when(semesterRepository.findByName("1403-1")).thenReturn(Optional.of(semester));
+        when(courseOfferingRepository.findAllByNaturalKeys(eq(semester), anyCollection())).thenReturn(offerings);
+        when(enrollmentRepository.findRegistrationContextRows(student, semester)).thenReturn(List.of());
+        when(prerequisiteRepository.findPrerequisiteStatusesOfCourses(anyCollection(), eq(student), eq(EnrollmentStatus.PASSED)))
+                .thenReturn(List.of());
+        when(courseOfferingRepository.findSlotRowsByOfferingIds(anyCollection())).thenReturn(List.of());
+    }
+
     // ---------------- getStudentEnrollments ----------------
 
     @Test
@@ -203,17 +329,30 @@ class EnrollmentServiceImplTest {
         DropCourseRequest req =
                 new DropCourseRequest("AP", 1, "1403-1");
 
+        offering.setId(UUID.randomUUID());
+
         Enrollment enrollment = new Enrollment();
+        enrollment.setId(UUID.randomUUID());
         enrollment.setStatus(EnrollmentStatus.SELECTED);
+        enrollment.setCourseOffering(offering);
 
         when(enrollmentRepository
                 .findByStudentAndCourseOffering_Course_CodeAndCourseOffering_SectionAndCourseOffering_Semester_Name(
                         student, "AP", 1, "1403-1"))
                 .thenReturn(Optional.of(enrollment));
 
+        when(enrollmentRepository.dropIfSelected(enrollment.getId()))
+                .thenReturn(1);
+        when(courseOfferingRepository.releaseSeat(offering.getId()))
+                .thenReturn(1);
+
         enrollmentService.dropCourse(student, req);
 
-        assertEquals(EnrollmentStatus.DROPPED, enrollment.getStatus());
+        // the conditional update is the only write of the enrollment
+        verify(enrollmentRepository).dropIfSelected(enrollment.getId());
+        verify(enrollmentRepository, never()).save(any());
+        verify(courseOfferingRepository).releaseSeat(offering.getId());
+        verify(offeringCatalogue).seatsChanged(offering.getId());
     }
 
     @Test
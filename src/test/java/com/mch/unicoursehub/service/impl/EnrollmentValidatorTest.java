@@ -0,0 +1,232 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.PrerequisiteStatusRow;
+import com.mch.unicoursehub.model.dto.RegistrationContext;
+import com.mch.unicoursehub.model.dto.RegistrationContext.Selection;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.CourseOffering;
+import com.mch.unicoursehub.model.entity.Semester;
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import com.mch.unicoursehub.repository.EnrollmentRepository;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import com.mch.unicoursehub.repository.TimeSlotRepository;
+import com.mch.unicoursehub.utils.WeeklySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.mch.unicoursehub.ConstErrors.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentValidatorTest {
+
+    private EnrollmentValidator validator;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private PrerequisiteRepository prerequisiteRepository;
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    private CourseOffering offering;
+    private TimeSlot slot;
+    private TimeSlot overlapping;
+    private TimeSlot adjacent;
+    private TimeSlot earlyHalf;
+    private TimeSlot lateHalf;
+
+    @BeforeEach
+    void setup() {
+        Semester semester = new Semester();
+        semester.setName("1403-1");
+        semester.setMaxUnits(20);
+
+        Course course = new Course();
+        course.setCid(UUID.randomUUID());
+        course.setCode("AP");
+        course.setUnit(3);
+
+        slot = slot(DayOfWeek.SATURDAY, LocalTime.of(8, 0), LocalTime.of(10, 0));
+        overlapping = slot(DayOfWeek.SATURDAY, LocalTime.of(9, 30), LocalTime.of(11, 0));
+        adjacent = slot(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        earlyHalf = slot(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(10, 30));
+        lateHalf = slot(DayOfWeek.SATURDAY, LocalTime.of(10, 30), LocalTime.of(12, 0));
+        lenient().when(timeSlotRepository.findAll()).thenReturn(List.of(slot, overlapping, adjacent, earlyHalf, lateHalf));
+        TimeSlotRegistry registry = new TimeSlotRegistry(timeSlotRepository, JsonMapper.builder().build());
+        validator = new EnrollmentValidator(enrollmentRepository, prerequisiteRepository, registry);
+
+        offering = new CourseOffering();
+        offering.setId(UUID.randomUUID());
+        offering.setCourse(course);
+        offering.setSemester(semester);
+        offering.setExamDate(LocalDateTime.of(2025, 1, 10, 9, 0));
+        offering.setTimeSlots(List.of(slot));
+        offering.setSlotMask(WeeklySchedule.mask(slot));
+    }
+
+    private static TimeSlot slot(DayOfWeek day, LocalTime start, LocalTime end) {
+        return TimeSlot.builder().id(UUID.randomUUID()).dayOfWeek(day).startTime(start).endTime(end).build();
+    }
+
+    private Selection selection(UUID courseId, EnrollmentStatus status, LocalDateTime exam, int unit, Set<UUID> slots) {
+        long mask = 0L;
+        for (TimeSlot t : List.of(slot, overlapping, adjacent, earlyHalf, lateHalf)) {
+            if (slots.contains(t.getId())) mask |= WeeklySchedule.mask(t);
+        }
+        return new Selection(UUID.randomUUID(), courseId, status, exam, unit, mask, slots);
+    }
+
+    private void assertRejected(RegistrationContext ctx, String message) {
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> validator.validate(ctx, offering)
+        );
+        assertEquals(message, ex.getMessage());
+    }
+
+    @Test
+    void validate_emptyContext_passes() {
+        assertDoesNotThrow(() ->
+                validator.validate(new RegistrationContext(List.of(), List.of()), offering));
+    }
+
+    @Test
+    void validate_droppedBefore_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(offering.getCourse().getCid(), EnrollmentStatus.DROPPED,
+                        LocalDateTime.now(), 3, Set.of())),
+                List.of());
+
+        assertRejected(ctx, droppedCourse.getMessage());
+    }
+
+    @Test
+    void validate_alreadyTaken_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(offering.getCourse().getCid(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.now(), 3, Set.of())),
+                List.of());
+
+        assertRejected(ctx, taken.getMessage());
+    }
+
+    @Test
+    void validate_prerequisiteNotPassed_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(),
+                List.of(new PrerequisiteStatusRow(UUID.randomUUID(), "BP", true),
+                        new PrerequisiteStatusRow(UUID.randomUUID(), "DS", false)));
+
+        assertRejected(ctx, "Prerequisite not passed: DS");
+    }
+
+    @Test
+    void validate_examConflict_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        offering.getExamDate(), 3, Set.of())),
+                List.of());
+
+        assertRejected(ctx, examDateConflict.getMessage());
+    }
+
+    @Test
+    void validate_timeSlotConflict_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.of(2025, 1, 12, 9, 0), 3, Set.of(slot.getId()))),
+                List.of());
+
+        assertRejected(ctx, classTimeConflict.getMessage());
+    }
+
+    @Test
+    void validate_examWithinTwoHours_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        offering.getExamDate().plusMinutes(90), 3, Set.of())),
+                List.of());
+
+        assertRejected(ctx, examDateConflict.getMessage());
+    }
+
+    @Test
+    void validate_examAfterTwoHours_passes() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        offering.getExamDate().plusHours(2), 3, Set.of())),
+                List.of());
+
+        assertDoesNotThrow(() -> validator.validate(ctx, offering));
+    }
+
+    @Test
+    void validate_overlappingDifferentSlot_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.of(2025, 1, 12, 9, 0), 3, Set.of(overlapping.getId()))),
+                List.of());
+
+        assertRejected(ctx, classTimeConflict.getMessage());
+    }
+
+    @Test
+    void validate_adjacentSlot_passes() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.of(2025, 1, 12, 9, 0), 3, Set.of(adjacent.getId()))),
+                List.of());
+
+        assertDoesNotThrow(() -> validator.validate(ctx, offering));
+    }
+
+    @Test
+    void validate_sharedCellWithoutOverlap_passes() {
+        offering.setTimeSlots(List.of(earlyHalf));
+        offering.setSlotMask(WeeklySchedule.mask(earlyHalf));
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.of(2025, 1, 12, 9, 0), 3, Set.of(lateHalf.getId()))),
+                List.of());
+
+        assertNotEquals(0L, WeeklySchedule.mask(earlyHalf) & WeeklySchedule.mask(lateHalf));
+        assertDoesNotThrow(() -> validator.validate(ctx, offering));
+    }
+
+    @Test
+    void validate_droppedSelectionsDoNotConflictOrCount() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.DROPPED,
+                        offering.getExamDate(), 19, Set.of(slot.getId()))),
+                List.of());
+
+        assertDoesNotThrow(() -> validator.validate(ctx, offering));
+    }
+
+    @Test
+    void validate_maxUnits_shouldThrow() {
+        RegistrationContext ctx = new RegistrationContext(
+                List.of(selection(UUID.randomUUID(), EnrollmentStatus.SELECTED,
+                        LocalDateTime.of(2025, 1, 12, 9, 0), 18, Set.of())),
+                List.of());
+
+        assertRejected(ctx, maxUnit.getMessage());
+    }
+}
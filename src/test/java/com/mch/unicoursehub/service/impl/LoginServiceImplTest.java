@@ -71,8 +71,8 @@ class LoginServiceImplTest {
                 .thenReturn(Optional.of(user));
 
         // token generation
-        when(tokenService.newAccessToken(user)).thenReturn("ACCESS_TOKEN");
-        when(tokenService.newRefreshToken(user)).thenReturn("REFRESH_TOKEN");
+        when(tokenService.issueLoginSession(user)).thenReturn(
+                new AuthRequestResponse(user.fullName(), "ADMIN", "ACCESS_TOKEN", "REFRESH_TOKEN"));
 
         AuthRequestResponse res = loginService.pwdUserLogin(login);
 
@@ -83,8 +83,7 @@ class LoginServiceImplTest {
 
         verify(authenticationManager).authenticate(any());
         verify(userRepository).findByUserNumber("12345");
-        verify(tokenService).newAccessToken(user);
-        verify(tokenService).newRefreshToken(user);
+        verify(tokenService).issueLoginSession(user);
     }
 
     @Test
@@ -127,8 +126,8 @@ class LoginServiceImplTest {
     @Test
     void testLoginSuccess() {
 
-        when(tokenService.newAccessToken(user)).thenReturn("A1");
-        when(tokenService.newRefreshToken(user)).thenReturn("R1");
+        when(tokenService.issueLoginSession(user)).thenReturn(
+                new AuthRequestResponse(user.fullName(), "ADMIN", "A1", "R1"));
 
         AuthRequestResponse res = loginService.loginSuccess(user);
 
@@ -137,8 +136,7 @@ class LoginServiceImplTest {
         assertEquals("A1", res.accessToken());
         assertEquals("R1", res.refreshToken());
 
-        verify(tokenService).newAccessToken(user);
-        verify(tokenService).newRefreshToken(user);
+        verify(tokenService).issueLoginSession(user);
     }
 
     @Test
@@ -0,0 +1,83 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.NewUserRequest;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.utils.EncryptionUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the encrypted national code column and its blind index against the embedded test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class NationalCodeLookupTest {
+
+    @Autowired UserServiceImpl userService;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    void createUser_rejectsDuplicateNationalCodeThroughIndex() {
+        String nationalCode = TestData.nationalCode();
+
+        userService.createUser(request(nationalCode));
+
+        assertThrows(BadRequestException.class, () -> userService.createUser(request(nationalCode)));
+    }
+
+    @Test
+    void nationalCode_isStoredEncryptedAndReadBack() {
+        String nationalCode = TestData.nationalCode();
+        User saved = userRepository.saveAndFlush(newUser(nationalCode));
+
+        Object stored = entityManager
+                .createNativeQuery("select national_code from users where uid = :uid")
+                .setParameter("uid", saved.getUid())
+                .getSingleResult();
+
+        assertThat(stored).isEqualTo(EncryptionUtil.encrypt(nationalCode));
+        assertThat(saved.getNationalCodeHash()).isEqualTo(EncryptionUtil.blindIndex(nationalCode));
+
+        User found = userRepository.findUserByNationalCode(nationalCode).orElseThrow();
+        assertThat(found.getUid()).isEqualTo(saved.getUid());
+        assertThat(found.getNationalCode()).isEqualTo(nationalCode);
+    }
+
+    @Test
+    void setNationalCode_updatesIndex() {
+        String before = TestData.nationalCode();
+        String after = TestData.nationalCode();
+        User user = userRepository.saveAndFlush(newUser(before));
+
+        user.setNationalCode(after);
+        userRepository.saveAndFlush(user);
+
+        assertThat(userRepository.findUserByNationalCode(before)).isEmpty();
+        assertThat(userRepository.findUserByNationalCode(after)).isPresent();
+    }
+
+    private static NewUserRequest request(String nationalCode) {
+        User user = TestData.user(Role.STUDENT);
+        return new NewUserRequest(user.getFirstName(), user.getLastName(), user.getPhoneNumber(), nationalCode,
+                user.getUserNumber(), Role.STUDENT);
+    }
+
+    private static User newUser(String nationalCode) {
+        User user = TestData.user(Role.STUDENT);
+        user.setNationalCode(nationalCode);
+        return user;
+    }
+}
@@ -0,0 +1,238 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.model.dto.SeatAvailability;
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfferingCatalogueTest {
+
+    @Mock
+    private CourseOfferingRepository courseOfferingRepository;
+
+    @InjectMocks
+    private OfferingCatalogue catalogue;
+
+    private final UUID semester = UUID.randomUUID();
+    private final UUID algorithms = UUID.randomUUID();
+    private final UUID databases = UUID.randomUUID();
+    private final UUID slot = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        lenient().when(courseOfferingRepository.findCatalogueRows(semester)).thenReturn(List.of(
+                row(databases, "CS201", "Databases", "Sara", "Karimi", 2),
+                row(algorithms, "CS101", "Algorithms", "John", "Doe", 1)
+        ));
+        lenient().when(courseOfferingRepository.findSlotRows(semester)).thenReturn(List.of(
+                new OfferingSlotRow(algorithms, slot)
+        ));
+    }
+
+    @Test
+    void search_filtersLikeTheEndpoint() {
+        assertThat(codes(catalogue.search(semester, null, null, null))).containsExactly("CS101", "CS201");
+        assertThat(codes(catalogue.search(semester, " john d", null, null))).containsExactly("CS101");
+        assertThat(codes(catalogue.search(semester, null, "cs201 ", null))).containsExactly("CS201");
+        assertThat(codes(catalogue.search(semester, null, "CS2", null))).isEmpty();
+        assertThat(codes(catalogue.search(semester, null, null, "BASE"))).containsExactly("CS201");
+        assertThat(codes(catalogue.search(semester, "doe", "CS101", "algo"))).containsExactly("CS101");
+    }
+
+    @Test
+    void search_mapsRowToResponse() {
+        CourseOfferingResponse response = catalogue.search(semester, null, "CS101", null).getFirst();
+
+        assertThat(response.professorName()).isEqualTo("John Doe");
+        assertThat(response.classroomNumber()).isEqualTo(101);
+        assertThat(response.groupNumber()).isEqualTo(1);
+        assertThat(response.capacity()).isEqualTo(30);
+        assertThat(response.seatsTaken()).isEqualTo(4);
+        assertThat(response.timeSlotIds()).containsExactly(slot);
+    }
+
+    @Test
+    void search_loadsSemesterOnce() {
+        catalogue.search(semester, null, null, null);
+        catalogue.search(semester, "john", null, null);
+
+        verify(courseOfferingRepository, times(1)).findCatalogueRows(semester);
+        verify(courseOfferingRepository, times(1)).findSlotRows(semester);
+    }
+
+    @Test
+    void offeringChanged_reloadsOnlyThatOffering() {
+        catalogue.search(semester, null, null, null);
+        UUID added = UUID.randomUUID();
+        when(courseOfferingRepository.findCatalogueRow(added))
+                .thenReturn(Optional.of(row(added, "CS150", "Compilers", "Ali", "Rezaei", 1)));
+        when(courseOfferingRepository.findSlotIds(added)).thenReturn(List.of());
+
+        catalogue.offeringChanged(semester, added);
+
+        assertThat(codes(catalogue.search(semester, null, null, null))).containsExactly("CS101", "CS150", "CS201");
+        verify(courseOfferingRepository, times(1)).findCatalogueRows(semester);
+    }
+
+    @Test
+    void offeringRemoved_dropsEntry() {
+        catalogue.search(semester, null, null, null);
+
+        catalogue.offeringRemoved(semester, databases);
+
+        assertThat(codes(catalogue.search(semester, null, null, null))).containsExactly("CS101");
+    }
+
+    @Test
+    void seatsChanged_readsCommittedCounter() {
+        catalogue.search(semester, null, null, null);
+        when(courseOfferingRepository.findSeatsTaken(algorithms)).thenReturn(Optional.of(5), Optional.of(6));
+
+        catalogue.seatsChanged(algorithms);
+        assertThat(catalogue.search(semester, null, "CS101", null).getFirst().seatsTaken()).isEqualTo(5);
+
+        catalogue.seatsChanged(algorithms);
+        assertThat(catalogue.search(semester, null, "CS101", null).getFirst().seatsTaken()).isEqualTo(6);
+    }
+
+    @Test
+    void seatsChanged_doesNotCountTwiceWhenLoadedAfterCommit() {
+        // the semester is loaded after the seat was committed, before the callback runs
+        when(courseOfferingRepository.findCatalogueRows(semester)).thenReturn(List.of(
+                new CatalogueOfferingRow(algorithms, semester, "CS101", "Algorithms", "John", "Doe",
+                        30, 5, LocalDateTime.of(2025, 6, 1, 9, 0), "101", 1)));
+        catalogue.search(semester, null, null, null);
+        when(courseOfferingRepository.findSeatsTaken(algorithms)).thenReturn(Optional.of(5));
+
+        catalogue.seatsChanged(algorithms);
+
+        assertThat(catalogue.search(semester, null, "CS101", null).getFirst().seatsTaken()).isEqualTo(5);
+    }
+
+    @Test
+    void seatsChanged_ofUnloadedSemesterIsNotRead() {
+        catalogue.seatsChanged(algorithms);
+
+        verify(courseOfferingRepository, never()).findSeatsTaken(any());
+    }
+
+    @Test
+    void resync_picksUpOfferingsChangedByAnotherInstance() {
+        List<UUID> notified = new ArrayList<>();
+        catalogue.addChangeListener(notified::add);
+        catalogue.search(semester, null, null, null);
+        // another instance moved CS101 to a new professor, deleted CS201 and added CS150
+        UUID added = UUID.randomUUID();
+        when(courseOfferingRepository.findCatalogueRows(semester)).thenReturn(List.of(
+                row(algorithms, "CS101", "Algorithms", "Sara", "Karimi", 1),
+                row(added, "CS150", "Compilers", "Ali", "Rezaei", 1)));
+
+        catalogue.resync();
+
+        assertThat(codes(catalogue.search(semester, null, null, null))).containsExactly("CS101", "CS150");
+        assertThat(catalogue.search(semester, "karimi", null, null)).extracting(CourseOfferingResponse::courseCode)
+                .containsExactly("CS101");
+        assertThat(notified).containsExactlyInAnyOrder(algorithms, added, databases);
+    }
+
+    @Test
+    void resync_updatesSeatCountersAndTellsOnlyChangedOfferings() {
+        List<UUID> notified = new ArrayList<>();
+        catalogue.addChangeListener(notified::add);
+        catalogue.search(semester, null, null, null);
+        when(courseOfferingRepository.findCatalogueRows(semester)).thenReturn(List.of(
+                new CatalogueOfferingRow(algorithms, semester, "CS101", "Algorithms", "John", "Doe",
+                        30, 9, LocalDateTime.of(2025, 6, 1, 9, 0), "101", 1),
+                row(databases, "CS201", "Databases", "Sara", "Karimi", 2)));
+
+        catalogue.resync();
+
+        assertThat(catalogue.search(semester, null, "CS101", null).getFirst().seatsTaken()).isEqualTo(9);
+        assertThat(notified).containsExactly(algorithms);
+    }
+
+    @Test
+    void resync_doesNotOverwriteUpdateCommittedWhileLoading() {
+        catalogue.search(semester, null, null, null);
+        List<CatalogueOfferingRow> stale = List.of(
+                row(databases, "CS201", "Databases", "Sara", "Karimi", 2),
+                row(algorithms, "CS101", "Algorithms", "John", "Doe", 1));
+        when(courseOfferingRepository.findCatalogueRows(semester)).thenAnswer(invocation -> {
+            catalogue.offeringRemoved(semester, databases);
+            return stale;
+        });
+
+        catalogue.resync();
+
+        assertThat(codes(catalogue.search(semester, null, null, null))).containsExactly("CS101");
+    }
+
+    @Test
+    void resync_skipsSemestersThatAreNotLoaded() {
+        catalogue.resync();
+
+        verify(courseOfferingRepository, never()).findCatalogueRows(any());
+    }
+
+    @Test
+    void availability_returnsSeatsLeftOfRequestedOfferingsOfSemester() {
+        catalogue.search(semester, null, null, null);
+        when(courseOfferingRepository.findSeatsTaken(algorithms)).thenReturn(Optional.of(5));
+        catalogue.seatsChanged(algorithms);
+
+        List<SeatAvailability> seats = catalogue.availability(semester, List.of(algorithms, UUID.randomUUID()));
+
+        assertThat(seats).containsExactly(new SeatAvailability(algorithms, "CS101", 1, 30, 25));
+    }
+
+    @Test
+    void changeListeners_areToldEveryChangedOffering() {
+        List<UUID> notified = new ArrayList<>();
+        catalogue.addChangeListener(notified::add);
+        catalogue.search(semester, null, null, null);
+        when(courseOfferingRepository.findCatalogueRow(databases))
+                .thenReturn(Optional.of(row(databases, "CS201", "Databases", "Sara", "Karimi", 2)));
+
+        catalogue.seatsChanged(algorithms);
+        catalogue.offeringChanged(semester, databases);
+        catalogue.offeringRemoved(semester, algorithms);
+
+        assertThat(notified).containsExactly(algorithms, databases, algorithms);
+    }
+
+    @Test
+    void invalidateAll_reloadsOnNextSearch() {
+        catalogue.search(semester, null, null, null);
+
+        catalogue.invalidateAll();
+        catalogue.search(semester, null, null, null);
+
+        verify(courseOfferingRepository, times(2)).findCatalogueRows(semester);
+    }
+
+    private CatalogueOfferingRow row(UUID id, String code, String name, String first, String last, int section) {
+        return new CatalogueOfferingRow(id, semester, code, name, first, last,
+                30, 4, LocalDateTime.of(2025, 6, 1, 9, 0), "101", section);
+    }
+
+    private static List<String> codes(List<CourseOfferingResponse> responses) {
+        return responses.stream().map(CourseOfferingResponse::courseCode).toList();
+    }
+}
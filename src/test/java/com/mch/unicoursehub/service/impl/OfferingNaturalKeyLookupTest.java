@@ -0,0 +1,152 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.dto.OfferingKey;
+import com.mch.unicoursehub.model.entity.*;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the natural-key lookups of course offerings against the embedded test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class OfferingNaturalKeyLookupTest {
+
+    @Autowired CourseOfferingRepository courseOfferingRepository;
+    @Autowired CourseRepository courseRepository;
+    @Autowired SemesterRepository semesterRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User professor;
+    private Semester semester;
+    private Course first;
+    private Course second;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String tag = String.valueOf(TestData.nextId());
+        professor = newProfessor();
+        semester = newSemester("nk-" + tag);
+        first = newCourse("NKA" + tag);
+        second = newCourse("NKB" + tag);
+        for (int section = 1; section <= 2; section++) {
+            newOffering(first, section);
+            newOffering(second, section);
+        }
+        // same keys in another semester must not be returned
+        Semester other = newSemester("nk-other-" + tag);
+        courseOfferingRepository.save(offering(first, other, 1));
+    }
+
+    @Test
+    void findByNaturalKey_matchesCodeCaseInsensitivelyInOneStatement() {
+        statistics.clear();
+
+        CourseOffering found = courseOfferingRepository
+                .findByNaturalKey(semester, first.getCode().toLowerCase(), 2)
+                .orElseThrow();
+
+        assertThat(found.getCourse().getCode()).isEqualTo(first.getCode());
+        assertThat(found.getSection()).isEqualTo(2);
+        assertThat(found.getSemester().getId()).isEqualTo(semester.getId());
+        assertThat(found.getProfessor().getUid()).isEqualTo(professor.getUid());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(courseOfferingRepository.findByNaturalKey(semester, first.getCode(), 3)).isEmpty();
+    }
+
+    @Test
+    void findAllByNaturalKeys_returnsExactlyTheRequestedKeys() {
+        OfferingKey a1 = new OfferingKey(first.getCode(), 1);
+        OfferingKey b2 = new OfferingKey(second.getCode().toLowerCase(), 2);
+        OfferingKey missing = new OfferingKey(first.getCode(), 9);
+
+        statistics.clear();
+        Map<OfferingKey, CourseOffering> found =
+                courseOfferingRepository.findAllByNaturalKeys(semester, List.of(a1, b2, missing));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(found).containsOnlyKeys(a1, b2);
+        assertThat(found.get(a1).getCourse().getCode()).isEqualTo(first.getCode());
+        assertThat(found.get(a1).getSection()).isEqualTo(1);
+        assertThat(found.get(b2).getCourse().getCode()).isEqualTo(second.getCode());
+        assertThat(found.get(b2).getSection()).isEqualTo(2);
+        assertThat(found.values()).allMatch(o -> o.getSemester().getId().equals(semester.getId()));
+    }
+
+    @Test
+    void findAllByNaturalKeys_prefersExactCodeWhenCodesDifferOnlyInCase() {
+        Course lower = newCourse(first.getCode().toLowerCase());
+        newOffering(lower, 1);
+        OfferingKey upperKey = new OfferingKey(first.getCode(), 1);
+        OfferingKey lowerKey = new OfferingKey(lower.getCode(), 1);
+
+        Map<OfferingKey, CourseOffering> found =
+                courseOfferingRepository.findAllByNaturalKeys(semester, List.of(upperKey, lowerKey));
+
+        assertThat(found.get(upperKey).getCourse().getCid()).isEqualTo(first.getCid());
+        assertThat(found.get(lowerKey).getCourse().getCid()).isEqualTo(lower.getCid());
+    }
+
+    @Test
+    void duplicateNaturalKey_isRejected() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> courseOfferingRepository.saveAndFlush(offering(first, semester, 1)));
+    }
+
+    @Test
+    void findDuplicateNaturalKeys_ignoresDistinctSections() {
+        assertThat(courseOfferingRepository.findDuplicateNaturalKeys())
+                .noneMatch(row -> row.semesterName().equals(semester.getName()));
+    }
+
+    @Test
+    void findMaxSection_returnsHighestSection() {
+        assertThat(courseOfferingRepository.findMaxSection(first, semester)).isEqualTo(2);
+        assertThat(courseOfferingRepository.findMaxSection(newCourse("NKC" + TestData.nextId()), semester))
+                .isZero();
+    }
+
+    private User newProfessor() {
+        return userRepository.save(TestData.user(Role.PROFESSOR));
+    }
+
+    private Semester newSemester(String name) {
+        return semesterRepository.save(TestData.semester(name));
+    }
+
+    private Course newCourse(String code) {
+        return courseRepository.save(TestData.course(code));
+    }
+
+    private void newOffering(Course course, int section) {
+        courseOfferingRepository.save(offering(course, semester, section));
+    }
+
+    private CourseOffering offering(Course course, Semester semester, int section) {
+        CourseOffering offering = TestData.offering(course, semester, professor);
+        offering.setSection(section);
+        return offering;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.entity.Course;
+import com.mch.unicoursehub.model.entity.Prerequisite;
+import com.mch.unicoursehub.repository.CourseRepository;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link PrerequisiteGraph} sees prerequisites written without its callbacks,
+ * as another instance would write them, against the embedded test database.
+ */
+@SpringBootTest
+class PrerequisiteGraphSyncTest {
+
+    @Autowired PrerequisiteGraph prerequisiteGraph;
+    @Autowired CourseRepository courseRepository;
+    @Autowired PrerequisiteRepository prerequisiteRepository;
+
+    private Course first;
+    private Course second;
+
+    @BeforeEach
+    void setup() {
+        String tag = "PG" + TestData.nextId();
+        first = courseRepository.save(TestData.course(tag + "-A"));
+        second = courseRepository.save(TestData.course(tag + "-B"));
+        // load the index before the write
+        assertThat(prerequisiteGraph.transitivePrerequisites(second.getCid())).isEmpty();
+        prerequisiteRepository.save(Prerequisite.builder().course(second).prerequisite(first).build());
+    }
+
+    @Test
+    void resync_picksUpPrerequisitesWrittenElsewhere() {
+        prerequisiteGraph.resync();
+
+        assertThat(prerequisiteGraph.transitivePrerequisites(second.getCid())).containsExactly(first.getCid());
+    }
+
+    @Test
+    void wouldCreateCycle_seesPrerequisitesWrittenElsewhere() {
+        assertThat(prerequisiteGraph.wouldCreateCycle(first.getCid(), List.of(second.getCid()))).isTrue();
+        assertThat(prerequisiteGraph.transitivePrerequisites(second.getCid())).containsExactly(first.getCid());
+    }
+}
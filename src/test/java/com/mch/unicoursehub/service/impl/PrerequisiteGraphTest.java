@@ -0,0 +1,174 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.dto.PrerequisiteEdge;
+import com.mch.unicoursehub.repository.PrerequisiteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrerequisiteGraphTest {
+
+    @Mock
+    private PrerequisiteRepository prerequisiteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PrerequisiteGraph graph;
+
+    // a <- b <- c <- d, and e <- c (arrows point from prerequisite to dependent course)
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+    private final UUID e = UUID.randomUUID();
+
+    // the prerequisites table
+    private final List<PrerequisiteEdge> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        stored.addAll(List.of(
+                new PrerequisiteEdge(b, a),
+                new PrerequisiteEdge(c, b),
+                new PrerequisiteEdge(c, e),
+                new PrerequisiteEdge(d, c)
+        ));
+        lenient().when(prerequisiteRepository.findAllEdges()).thenAnswer(inv -> List.copyOf(stored));
+        lenient().when(prerequisiteRepository.findPrerequisiteIds(anyCollection())).thenAnswer(inv -> {
+            Collection<UUID> courseIds = inv.getArgument(0);
+            return stored.stream()
+                    .filter(edge -> courseIds.contains(edge.courseId()))
+                    .map(PrerequisiteEdge::prerequisiteId)
+                    .distinct()
+                    .toList();
+        });
+    }
+
+    @Test
+    void wouldCreateCycle_detectsBackEdge() {
+        assertThat(graph.wouldCreateCycle(a, List.of(d))).isTrue();
+        assertThat(graph.wouldCreateCycle(b, List.of(c))).isTrue();
+    }
+
+    @Test
+    void wouldCreateCycle_selfReference() {
+        assertThat(graph.wouldCreateCycle(a, List.of(a))).isTrue();
+    }
+
+    @Test
+    void wouldCreateCycle_acceptsForwardEdgesAndUnknownCourses() {
+        assertThat(graph.wouldCreateCycle(d, List.of(a, e))).isFalse();
+        assertThat(graph.wouldCreateCycle(UUID.randomUUID(), List.of(d))).isFalse();
+        assertThat(graph.wouldCreateCycle(a, List.of(UUID.randomUUID()))).isFalse();
+    }
+
+    @Test
+    void transitivePrerequisites_nearestFirst() {
+        List<UUID> result = graph.transitivePrerequisites(d);
+
+        assertThat(result).containsExactlyInAnyOrder(c, b, e, a);
+        assertThat(result.getFirst()).isEqualTo(c);
+        assertThat(result.getLast()).isEqualTo(a);
+        assertThat(graph.transitivePrerequisites(a)).isEmpty();
+    }
+
+    @Test
+    void replacePrerequisites_updatesIndex() {
+        graph.transitivePrerequisites(a); // load
+
+        graph.replacePrerequisites(c, List.of(e));
+
+        assertThat(graph.transitivePrerequisites(d)).containsExactlyInAnyOrder(c, e);
+        assertThat(graph.reaches(List.of(d), b)).isFalse();
+        assertThat(graph.reaches(List.of(d), e)).isTrue();
+    }
+
+    @Test
+    void removeCourse_dropsIncomingAndOutgoingEdges() {
+        graph.transitivePrerequisites(a); // load
+
+        graph.removeCourse(c);
+
+        assertThat(graph.transitivePrerequisites(d)).isEmpty();
+        assertThat(graph.reaches(List.of(d), a)).isFalse();
+    }
+
+    @Test
+    void wouldCreateCycle_trustsTheDatabaseOverAStaleIndex() {
+        graph.transitivePrerequisites(a); // load
+        // another instance made a depend on e
+        stored.add(new PrerequisiteEdge(a, e));
+
+        assertThat(graph.reaches(List.of(b), e)).isFalse();
+        assertThat(graph.wouldCreateCycle(e, List.of(b))).isTrue();
+        assertThat(graph.transitivePrerequisites(a)).containsExactly(e);
+        verify(prerequisiteRepository, times(2)).findAllEdges();
+    }
+
+    @Test
+    void wouldCreateCycle_acceptsEdgeWhoseCycleWasRemovedElsewhere() {
+        graph.transitivePrerequisites(a); // load
+        // another instance removed c <- b
+        stored.remove(new PrerequisiteEdge(c, b));
+
+        assertThat(graph.wouldCreateCycle(b, List.of(d))).isFalse();
+        assertThat(graph.transitivePrerequisites(d)).containsExactlyInAnyOrder(c, e);
+    }
+
+    @Test
+    void resync_picksUpEdgesChangedElsewhere() {
+        graph.transitivePrerequisites(a); // load
+        stored.remove(new PrerequisiteEdge(d, c));
+        stored.add(new PrerequisiteEdge(d, a));
+
+        graph.resync();
+
+        assertThat(graph.transitivePrerequisites(d)).containsExactly(a);
+    }
+
+    @Test
+    void resync_skipsAnIndexThatIsNotLoaded() {
+        graph.resync();
+
+        verify(prerequisiteRepository, never()).findAllEdges();
+    }
+
+    @Test
+    void index_isLoadedOnce() {
+        graph.transitivePrerequisites(d);
+        graph.wouldCreateCycle(a, List.of(d));
+
+        verify(prerequisiteRepository, times(1)).findAllEdges();
+    }
+
+    @Test
+    void index_discardsLoadThatRacedWithUpdate() {
+        when(prerequisiteRepository.findAllEdges())
+                .thenAnswer(inv -> {
+                    // an update commits while the first load is reading
+                    graph.replacePrerequisites(c, List.of(e));
+                    return List.of(new PrerequisiteEdge(b, a), new PrerequisiteEdge(c, b),
+                            new PrerequisiteEdge(c, e), new PrerequisiteEdge(d, c));
+                })
+                .thenReturn(List.of(new PrerequisiteEdge(b, a), new PrerequisiteEdge(c, e),
+                        new PrerequisiteEdge(d, c)));
+
+        assertThat(graph.transitivePrerequisites(d)).containsExactlyInAnyOrder(c, e);
+        verify(prerequisiteRepository, times(2)).findAllEdges();
+    }
+}
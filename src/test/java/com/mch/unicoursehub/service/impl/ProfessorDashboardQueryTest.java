@@ -0,0 +1,154 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.model.dto.RosterStudentResponse;
+import com.mch.unicoursehub.model.dto.UserListCursor;
+import com.mch.unicoursehub.model.entity.*;
+import com.mch.unicoursehub.model.enums.EnrollmentStatus;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the professor dashboard queries against the embedded test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class ProfessorDashboardQueryTest {
+
+    @Autowired CourseOfferingRepository courseOfferingRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired CourseRepository courseRepository;
+    @Autowired SemesterRepository semesterRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Semester semester;
+    private User professor;
+    private User otherProfessor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        semester = semesterRepository.save(TestData.semester("prof-" + TestData.nextId()));
+        professor = newUser(Role.PROFESSOR, "Ahmadi");
+        otherProfessor = newUser(Role.PROFESSOR, "Karimi");
+    }
+
+    @Test
+    void findCatalogueRowsOfProfessor_selectsByProfessorInOneStatement() {
+        String tag = "P" + TestData.nextId();
+        CourseOffering second = newOffering(newCourse(tag + "-B"), professor);
+        CourseOffering first = newOffering(newCourse(tag + "-A"), professor);
+        newOffering(newCourse(tag + "-C"), otherProfessor);
+
+        statistics.clear();
+        List<CatalogueOfferingRow> rows =
+                courseOfferingRepository.findCatalogueRowsOfProfessor(semester.getId(), professor.getUid());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(rows).extracting(CatalogueOfferingRow::offeringId).containsExactly(first.getId(), second.getId());
+        assertThat(rows.getFirst().toResponse(List.of()).professorName()).isEqualTo("First Ahmadi");
+    }
+
+    @Test
+    void findIdOfProfessorOffering_findsOnlyOwnOfferings() {
+        Course course = newCourse("P" + TestData.nextId());
+        CourseOffering offering = newOffering(course, professor);
+
+        assertThat(courseOfferingRepository.findIdOfProfessorOffering(
+                semester.getName(), course.getCode().toLowerCase(), 1, professor.getUid()))
+                .contains(offering.getId());
+        assertThat(courseOfferingRepository.findIdOfProfessorOffering(
+                semester.getName(), course.getCode(), 1, otherProfessor.getUid()))
+                .isEmpty();
+        assertThat(courseOfferingRepository.findIdOfProfessorOffering(
+                semester.getName(), course.getCode(), 2, professor.getUid()))
+                .isEmpty();
+    }
+
+    @Test
+    void findRoster_skipsDroppedAndOrdersInOneStatement() {
+        CourseOffering offering = newOffering(newCourse("P" + TestData.nextId()), professor);
+        enroll(newUser(Role.STUDENT, "zamani"), offering, EnrollmentStatus.SELECTED);
+        enroll(newUser(Role.STUDENT, "Bahrami"), offering, EnrollmentStatus.PASSED);
+        enroll(newUser(Role.STUDENT, "Amini"), offering, EnrollmentStatus.DROPPED);
+        enroll(newUser(Role.STUDENT, "bahrami"), offering, EnrollmentStatus.SELECTED);
+
+        statistics.clear();
+        List<RosterStudentResponse> roster = enrollmentRepository.findRoster(offering.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(roster).extracting(RosterStudentResponse::lastName).containsExactly("Bahrami", "bahrami", "zamani");
+        assertThat(roster).extracting(RosterStudentResponse::status)
+                .containsExactly(EnrollmentStatus.PASSED, EnrollmentStatus.SELECTED, EnrollmentStatus.SELECTED);
+    }
+
+    @Test
+    void seekRoster_walksSameOrderAsFullRoster() {
+        CourseOffering offering = newOffering(newCourse("P" + TestData.nextId()), professor);
+        for (String lastName : List.of("Moradi", "ahmadi", "Ahmadi", "Rahimi", "moradi", "Sadeghi", "Ahmadi")) {
+            enroll(newUser(Role.STUDENT, lastName), offering, EnrollmentStatus.SELECTED);
+        }
+
+        List<RosterStudentResponse> walked = new ArrayList<>();
+        UserListCursor cursor = null;
+        while (true) {
+            List<RosterStudentResponse> page = enrollmentRepository.seekRoster(offering.getId(),
+                    cursor == null ? null : cursor.lastName(),
+                    cursor == null ? null : cursor.userNumber(),
+                    Limit.of(3));
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(page);
+            RosterStudentResponse last = page.getLast();
+            cursor = UserListCursor.decode(new UserListCursor(last.lastName(), last.userNumber()).encode());
+        }
+
+        assertThat(walked).hasSize(7).containsExactlyElementsOf(enrollmentRepository.findRoster(offering.getId()));
+    }
+
+    private User newUser(Role role, String lastName) {
+        User user = TestData.user(role);
+        user.setLastName(lastName);
+        return userRepository.save(user);
+    }
+
+    private Course newCourse(String code) {
+        return courseRepository.save(TestData.course(code));
+    }
+
+    private CourseOffering newOffering(Course course, User teacher) {
+        return courseOfferingRepository.save(TestData.offering(course, semester, teacher));
+    }
+
+    private void enroll(User student, CourseOffering offering, EnrollmentStatus status) {
+        enrollmentRepository.save(
+                Enrollment.builder()
+                        .student(student)
+                        .courseOffering(offering)
+                        .status(status)
+                        .build()
+        );
+    }
+}
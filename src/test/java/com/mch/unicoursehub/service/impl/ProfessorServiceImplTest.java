@@ -2,21 +2,25 @@ package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.BadRequestException;
 import com.mch.unicoursehub.exceptions.NotFoundException;
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
 import com.mch.unicoursehub.model.dto.CourseOfferingResponse;
 import com.mch.unicoursehub.model.dto.DropEnrollmentRequest;
-import com.mch.unicoursehub.model.dto.UserListResponse;
+import com.mch.unicoursehub.model.dto.OfferingSlotRow;
+import com.mch.unicoursehub.model.dto.RosterStudentResponse;
 import com.mch.unicoursehub.model.entity.*;
 import com.mch.unicoursehub.model.enums.EnrollmentStatus;
 import com.mch.unicoursehub.repository.CourseOfferingRepository;
 import com.mch.unicoursehub.repository.EnrollmentRepository;
 import com.mch.unicoursehub.repository.SemesterRepository;
 import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.utils.pagination.SeekPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -44,6 +48,9 @@ class ProfessorServiceImplTest {
     @Mock
     UserServiceImpl userServiceImpl;
 
+    @Mock
+    OfferingCatalogue offeringCatalogue;
+
     @InjectMocks
     ProfessorServiceImpl professorService;
 
@@ -84,84 +91,113 @@ class ProfessorServiceImplTest {
     // ===================== getMyCourseOfferings =====================
 
     @Test
-    void getMyCourseOfferings_shouldReturnOnlyProfessorOfferings() {
-
-        // ===== Arrange =====
+    void getMyCourseOfferings_shouldQueryByProfessorAndAttachSlots() {
 
         String semesterName = "1403-1";
+        semester.setId(UUID.randomUUID());
+        UUID offeringId = UUID.randomUUID();
+        UUID slotId = UUID.randomUUID();
 
-        // professor لاگین‌شده
-        when(userServiceImpl.getUserLoggedInRef())
-                .thenReturn(professor);
-
-        // semester
-        Semester semester = new Semester();
-        semester.setName(semesterName);
-
-        when(semesterRepository.findByName(semesterName))
-                .thenReturn(Optional.of(semester));
-
-        // course offering متعلق به همین استاد
-        when(courseOfferingRepository.findBySemester(semester))
-                .thenReturn(List.of(offering));
+        when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
+        when(semesterRepository.findByName(semesterName)).thenReturn(Optional.of(semester));
+        when(courseOfferingRepository.findCatalogueRowsOfProfessor(semester.getId(), professor.getUid()))
+                .thenReturn(List.of(new CatalogueOfferingRow(offeringId, semester.getId(), "CS101", "Intro",
+                        "Ali", "Ahmadi", 30, 3, LocalDateTime.now(), "101", 1)));
+        when(courseOfferingRepository.findSlotRowsByOfferingIds(List.of(offeringId)))
+                .thenReturn(List.of(new OfferingSlotRow(offeringId, slotId)));
+
+        List<CourseOfferingResponse> result = professorService.getMyCourseOfferings(" 1403-1 ");
+
+        assertThat(result).singleElement().satisfies(response -> {
+            assertThat(response.courseCode()).isEqualTo("CS101");
+            assertThat(response.professorName())
+                    .isEqualTo(professor.getFirstName() + " " + professor.getLastName());
+            assertThat(response.seatsTaken()).isEqualTo(3);
+            assertThat(response.timeSlotIds()).containsExactly(slotId);
+        });
+        verify(courseOfferingRepository, never()).findBySemester(any());
+    }
 
-        // ===== Act =====
-        List<CourseOfferingResponse> result =
-                professorService.getMyCourseOfferings(semesterName);
+    @Test
+    void getMyCourseOfferings_withoutOfferings_shouldNotLoadSlots() {
 
-        // ===== Assert =====
-        assertThat(result).hasSize(1);
+        semester.setId(UUID.randomUUID());
+        when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
+        when(semesterRepository.findByName("1403-1")).thenReturn(Optional.of(semester));
 
-        CourseOfferingResponse response = result.get(0);
-        assertThat(response.courseCode()).isEqualTo("CS101");
-        assertThat(response.professorName())
-                .isEqualTo(professor.getFirstName() + " " + professor.getLastName());
+        assertThat(professorService.getMyCourseOfferings("1403-1")).isEmpty();
+        verify(courseOfferingRepository, never()).findSlotRowsByOfferingIds(any());
     }
 
 
     // ===================== getStudentsOfOfferingByKeys =====================
 
     @Test
-    void getStudentsOfOfferingByKeys_shouldReturnStudents() {
-
-        User student = User.builder()
-                .lastName("Zarei")
-                .build();
-
-        Enrollment enrollment = new Enrollment();
-        enrollment.setStudent(student);
-        enrollment.setStatus(EnrollmentStatus.SELECTED);
+    void getStudentsOfOfferingByKeys_shouldReturnRoster() {
 
-        offering.setEnrollments(List.of(enrollment));
+        UUID offeringId = UUID.randomUUID();
+        List<RosterStudentResponse> roster = List.of(
+                new RosterStudentResponse("Sara", "Zarei", "99123", EnrollmentStatus.SELECTED));
 
         when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
-        when(courseOfferingRepository
-                .findByCourse_CodeAndSectionAndSemester_Name("CS101", 1, "1403-1"))
-                .thenReturn(Optional.of(offering));
+        when(courseOfferingRepository.findIdOfProfessorOffering("1403-1", "CS101", 1, professor.getUid()))
+                .thenReturn(Optional.of(offeringId));
+        when(enrollmentRepository.findRoster(offeringId)).thenReturn(roster);
 
-        List<UserListResponse> result =
-                professorService.getStudentsOfOfferingByKeys("CS101", 1, "1403-1");
+        List<RosterStudentResponse> result =
+                professorService.getStudentsOfOfferingByKeys(" CS101", 1, "1403-1 ");
 
-        assertThat(result).hasSize(1);
+        assertThat(result).isEqualTo(roster);
     }
 
     @Test
     void getStudentsOfOfferingByKeys_whenNotOwner_shouldThrow() {
 
-        User otherProfessor = User.builder()
-                .uid(UUID.randomUUID())
-                .build();
-
-        offering.setProfessor(otherProfessor);
-
         when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
-        when(courseOfferingRepository
-                .findByCourse_CodeAndSectionAndSemester_Name(any(), anyInt(), any()))
-                .thenReturn(Optional.of(offering));
+        when(courseOfferingRepository.findIdOfProfessorOffering(any(), any(), anyInt(), any()))
+                .thenReturn(Optional.empty());
 
         assertThatThrownBy(() ->
                 professorService.getStudentsOfOfferingByKeys("CS101", 1, "1403-1"))
                 .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    // ===================== seekStudentsOfOffering =====================
+
+    @Test
+    void seekStudentsOfOffering_shouldReturnPageAndCursor() {
+
+        UUID offeringId = UUID.randomUUID();
+        RosterStudentResponse a = new RosterStudentResponse("A", "Ahmadi", "1", EnrollmentStatus.SELECTED);
+        RosterStudentResponse b = new RosterStudentResponse("B", "Bahrami", "2", EnrollmentStatus.SELECTED);
+        RosterStudentResponse c = new RosterStudentResponse("C", "Karimi", "3", EnrollmentStatus.SELECTED);
+
+        when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
+        when(courseOfferingRepository.findIdOfProfessorOffering("1403-1", "CS101", 1, professor.getUid()))
+                .thenReturn(Optional.of(offeringId));
+        when(enrollmentRepository.seekRoster(offeringId, null, null, Limit.of(3)))
+                .thenReturn(List.of(a, b, c));
+        when(enrollmentRepository.seekRoster(offeringId, "Bahrami", "2", Limit.of(3)))
+                .thenReturn(List.of(c));
+
+        SeekPagination<RosterStudentResponse> first =
+                professorService.seekStudentsOfOffering("CS101", 1, "1403-1", 2, null);
+        SeekPagination<RosterStudentResponse> second =
+                professorService.seekStudentsOfOffering("CS101", 1, "1403-1", 2, first.getNext());
+
+        assertThat(first.getData()).containsExactly(a, b);
+        assertThat(first.getNext()).isNotNull();
+        assertThat(second.getData()).containsExactly(c);
+        assertThat(second.getNext()).isNull();
+    }
+
+    @Test
+    void seekStudentsOfOffering_withMalformedCursor_shouldThrow() {
+
+        assertThatThrownBy(() ->
+                professorService.seekStudentsOfOffering("CS101", 1, "1403-1", 10, "not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
     }
 
     // ===================== removeStudentFromOffering =====================
@@ -174,6 +210,7 @@ class ProfessorServiceImplTest {
                 .build();
 
         Enrollment enrollment = new Enrollment();
+        enrollment.setId(UUID.randomUUID());
         enrollment.setStatus(EnrollmentStatus.SELECTED);
 
         DropEnrollmentRequest req =
@@ -182,18 +219,25 @@ class ProfessorServiceImplTest {
         when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
         when(semesterRepository.findByName("1403-1"))
                 .thenReturn(Optional.of(semester));
-        when(courseOfferingRepository.findBySemester(semester))
-                .thenReturn(List.of(offering));
+        when(courseOfferingRepository.findByNaturalKey(semester, "CS101", 1))
+                .thenReturn(Optional.of(offering));
         when(userRepository.findByUserNumber("99123"))
                 .thenReturn(Optional.of(student));
         when(enrollmentRepository.findByStudentAndCourseOffering(student, offering))
                 .thenReturn(Optional.of(enrollment));
+        when(enrollmentRepository.dropIfSelected(enrollment.getId()))
+                .thenReturn(1);
+
+        when(courseOfferingRepository.releaseSeat(offering.getId()))
+                .thenReturn(1);
 
         professorService.removeStudentFromOffering("1403-1", req);
 
-        assertThat(enrollment.getStatus())
-                .isEqualTo(EnrollmentStatus.DROPPED);
-        verify(enrollmentRepository).save(enrollment);
+        // the conditional update is the only write of the enrollment
+        verify(enrollmentRepository).dropIfSelected(enrollment.getId());
+        verify(enrollmentRepository, never()).save(any());
+        verify(courseOfferingRepository).releaseSeat(offering.getId());
+        verify(offeringCatalogue).seatsChanged(offering.getId());
     }
 
     @Test
@@ -205,8 +249,8 @@ class ProfessorServiceImplTest {
         when(userServiceImpl.getUserLoggedInRef()).thenReturn(professor);
         when(semesterRepository.findByName(any()))
                 .thenReturn(Optional.of(semester));
-        when(courseOfferingRepository.findBySemester(semester))
-                .thenReturn(List.of(offering));
+        when(courseOfferingRepository.findByNaturalKey(semester, "CS101", 1))
+                .thenReturn(Optional.of(offering));
         when(userRepository.findByUserNumber(any()))
                 .thenReturn(Optional.of(new User()));
         when(enrollmentRepository.findByStudentAndCourseOffering(any(), any()))
@@ -1,22 +1,25 @@
 package com.mch.unicoursehub.service.impl;
 
 import com.mch.unicoursehub.exceptions.TooManyRequestsException;
+import com.mch.unicoursehub.security.ratelimit.LocalBucketStore;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.time.Duration;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class RateLimitServiceImplTest {
 
     private RateLimitServiceImpl service;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        service = new RateLimitServiceImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new RateLimitServiceImpl(new LocalBucketStore(meterRegistry), meterRegistry);
     }
 
     // ------------------ resolveBucket ------------------
@@ -28,8 +31,8 @@ class RateLimitServiceImplTest {
         Bucket bucket = service.resolveBucket(apiKey);
 
         assertThat(bucket).isNotNull();
-        // مطمئن شو که bucket داخل map ذخیره شده
-        assertThat(service.privateRoute.containsKey(apiKey)).isTrue();
+        assertThat(bucket.getAvailableTokens()).isEqualTo(60);
+        assertThat(bucketCount("api")).isEqualTo(1);
     }
 
     @Test
@@ -47,11 +50,11 @@ class RateLimitServiceImplTest {
     @Test
     void removeBucket_shouldRemoveExistingBucket() {
         String apiKey = "api-789";
-        service.resolveBucket(apiKey);
+        Bucket first = service.resolveBucket(apiKey);
 
         service.removeBucket(apiKey);
 
-        assertThat(service.privateRoute.containsKey(apiKey)).isFalse();
+        assertThat(service.resolveBucket(apiKey)).isNotSameAs(first);
     }
 
     @Test
@@ -61,6 +64,22 @@ class RateLimitServiceImplTest {
         service.removeBucket(apiKey);
     }
 
+    // ------------------ tryConsume ------------------
+
+    @Test
+    void tryConsume_whenExceeded_shouldCountRejection() {
+        String apiKey = "api-limit";
+
+        for (int i = 0; i < 60; i++) {
+            assertThat(service.tryConsume(apiKey).isConsumed()).isTrue();
+        }
+        ConsumptionProbe probe = service.tryConsume(apiKey);
+
+        assertThat(probe.isConsumed()).isFalse();
+        assertThat(probe.getNanosToWaitForRefill()).isPositive();
+        assertThat(rejections("api")).isEqualTo(1);
+    }
+
     // ------------------ applyAuthRateLimit ------------------
 
     @Test
@@ -68,44 +87,41 @@ class RateLimitServiceImplTest {
         String username = "user1";
 
         service.applyAuthRateLimit(username); // اولین مصرف
-        // بعد از اولین مصرف، هنوز bucket ایجاد شده و توکن‌ها کاهش یافته
-        assertThat(service.privateRoute.containsKey(username)).isTrue();
+
+        assertThat(bucketCount("auth")).isEqualTo(1);
+        assertThat(rejections("auth")).isZero();
     }
 
     @Test
     void applyAuthRateLimit_whenExceeded_shouldThrow() {
         String username = "user2";
 
-        // bucket auth: 4 capacity, 1 token per 5 min (پس فقط یکبار مصرف می‌شود بدون refill)
-        // ما 5 بار مصرف می‌کنیم تا خطا ایجاد شود
+        // bucket auth: 4 capacity, 1 token per 5 min
         for (int i = 0; i < 4; i++) {
             service.applyAuthRateLimit(username); // 4 بار مصرف موفق
         }
 
         assertThrows(TooManyRequestsException.class, () -> service.applyAuthRateLimit(username));
+        assertThat(rejections("auth")).isEqualTo(1);
     }
 
     @Test
-    void authResolveBucket_shouldReturnSameBucketForSameUser() throws Exception {
-        // متد private را با بازتاب فراخوانی می‌کنیم
-        var method = RateLimitServiceImpl.class.getDeclaredMethod("authResolveBucket", String.class);
-        method.setAccessible(true);
+    void authAndApiBuckets_shouldNotShareKeys() {
+        String key = "shared-key";
 
-        Object bucket1 = method.invoke(service, "user3");
-        Object bucket2 = method.invoke(service, "user3");
+        for (int i = 0; i < 4; i++) {
+            service.applyAuthRateLimit(key);
+        }
+        assertThrows(TooManyRequestsException.class, () -> service.applyAuthRateLimit(key));
 
-        assertThat(bucket1).isSameAs(bucket2);
+        assertThat(service.resolveBucket(key).getAvailableTokens()).isEqualTo(60);
     }
 
-    @Test
-    void newBucket_shouldCreateBucketWithGivenCapacity() throws Exception {
-
-        var method = RateLimitServiceImpl.class.getDeclaredMethod(
-                "newBucket", String.class, int.class, int.class, Duration.class
-        );
-        method.setAccessible(true);
+    private double bucketCount(String namespace) {
+        return meterRegistry.get("rate_limit.buckets").tag("namespace", namespace).gauge().value();
+    }
 
-        Object bucket = method.invoke(service, "id1", 5, 1, Duration.ofMinutes(1));
-        assertThat(bucket).isNotNull();
+    private double rejections(String namespace) {
+        return meterRegistry.get("rate_limit.rejections").tag("namespace", namespace).counter().count();
     }
 }
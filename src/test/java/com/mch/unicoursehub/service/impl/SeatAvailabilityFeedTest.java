@@ -0,0 +1,139 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.dto.CatalogueOfferingRow;
+import com.mch.unicoursehub.repository.CourseOfferingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityFeedTest {
+
+    @Mock
+    private CourseOfferingRepository courseOfferingRepository;
+
+    private OfferingCatalogue catalogue;
+    private SeatAvailabilityFeed feed;
+
+    private final UUID semester = UUID.randomUUID();
+    private final UUID otherSemester = UUID.randomUUID();
+    private final UUID algorithms = UUID.randomUUID();
+    private final UUID databases = UUID.randomUUID();
+    private final UUID compilers = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        lenient().when(courseOfferingRepository.findCatalogueRows(semester)).thenReturn(List.of(
+                row(algorithms, semester, "CS101", 1),
+                row(databases, semester, "CS201", 1)
+        ));
+        lenient().when(courseOfferingRepository.findCatalogueRows(otherSemester)).thenReturn(List.of(
+                row(compilers, otherSemester, "CS301", 1)
+        ));
+        // the committed counter read after a seat change
+        lenient().when(courseOfferingRepository.findSeatsTaken(any())).thenReturn(Optional.of(5));
+        catalogue = new OfferingCatalogue(courseOfferingRepository);
+        feed = new SeatAvailabilityFeed(catalogue, JsonMapper.builder().build());
+    }
+
+    @Test
+    void flush_sendsOnlyChangedOfferingsWithLatestSeats() {
+        RecordingEmitter client = subscribe(semester);
+        catalogue.search(semester, null, null, null);
+
+        catalogue.seatsChanged(algorithms);
+        catalogue.seatsChanged(algorithms);
+        catalogue.seatsChanged(algorithms);
+        feed.flush();
+
+        assertThat(client.events).containsExactly(
+                "[{\"offeringId\":\"" + algorithms + "\",\"courseCode\":\"CS101\",\"groupNumber\":1,\"capacity\":30,\"seatsLeft\":25}]");
+    }
+
+    @Test
+    void flush_sendsNothingWithoutChanges() {
+        RecordingEmitter client = subscribe(semester);
+
+        catalogue.seatsChanged(algorithms);
+        feed.flush();
+        feed.flush();
+
+        assertThat(client.events).hasSize(1);
+    }
+
+    @Test
+    void flush_sendsChangesToSubscribersOfTheirSemesterOnly() {
+        RecordingEmitter first = subscribe(semester);
+        RecordingEmitter second = subscribe(semester);
+        RecordingEmitter other = subscribe(otherSemester);
+
+        catalogue.seatsChanged(databases);
+        feed.flush();
+
+        assertThat(first.events).singleElement().asString().contains(databases.toString());
+        assertThat(second.events).isEqualTo(first.events);
+        assertThat(other.events).isEmpty();
+    }
+
+    @Test
+    void flush_dropsSubscribersThatFailed() {
+        RecordingEmitter gone = subscribe(semester);
+        gone.fail = true;
+        RecordingEmitter client = subscribe(semester);
+
+        catalogue.seatsChanged(algorithms);
+        feed.flush();
+        catalogue.seatsChanged(algorithms);
+        feed.flush();
+
+        assertThat(gone.attempts).isEqualTo(1);
+        assertThat(client.events).hasSize(2);
+    }
+
+    private RecordingEmitter subscribe(UUID semesterId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(semesterId, emitter);
+        return emitter;
+    }
+
+    private static CatalogueOfferingRow row(UUID id, UUID semesterId, String code, int section) {
+        return new CatalogueOfferingRow(id, semesterId, code, code, "John", "Doe",
+                30, 4, LocalDateTime.of(2025, 6, 1, 9, 0), "101", section);
+    }
+
+    /**
+     * Keeps the data of every {@code seats} event instead of writing it to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new ArrayList<>();
+        boolean fail;
+        int attempts;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            attempts++;
+            if (fail) {
+                throw new IOException("broken pipe");
+            }
+            String event = items.stream().map(item -> item.getData().toString()).collect(Collectors.joining());
+            events.add(event.substring(event.indexOf("data:") + 5, event.lastIndexOf("\n\n")));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.DropCourseRequest;
+import com.mch.unicoursehub.model.dto.EnrollCourseRequest;
+import com.mch.unicoursehub.model.entity.*;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-threaded stress test for seat reservation.
+ *
+ * <p>
+ * Hammers a single section with many concurrent enrollments and drops and checks
+ * that the seat counter never exceeds the capacity and that duplicate drops release
+ * each seat once.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class SeatReservationStressTest {
+
+    private static final int CAPACITY = 40;
+    private static final int STUDENTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired EnrollmentServiceImpl enrollmentService;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired CourseOfferingRepository courseOfferingRepository;
+    @Autowired CourseRepository courseRepository;
+    @Autowired SemesterRepository semesterRepository;
+    @Autowired UserRepository userRepository;
+
+    private User professor;
+    private Semester semester;
+
+    @BeforeEach
+    void setup() {
+        professor = newUser(Role.PROFESSOR);
+        semester = semesterRepository.save(TestData.semester("stress-" + TestData.nextId()));
+    }
+
+    @Test
+    void concurrentEnrollments_neverExceedCapacity() throws Exception {
+
+        CourseOffering offering = newOffering();
+        List<User> students = newStudents();
+        EnrollCourseRequest req = new EnrollCourseRequest(offering.getCourse().getCode(), 1);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        hammer(students, student -> {
+            try {
+                enrollmentService.enrollStudent(student, semester.getName(), req);
+                accepted.incrementAndGet();
+            } catch (BadRequestException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(accepted.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(STUDENTS - CAPACITY);
+        assertThat(seatsTaken(offering)).isEqualTo(CAPACITY);
+        assertThat(enrollmentRepository.countByCourseOffering(offering)).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void concurrentDuplicateDrops_releaseEachSeatOnce() throws Exception {
+
+        CourseOffering offering = newOffering();
+        List<User> students = newStudents().subList(0, CAPACITY);
+        EnrollCourseRequest req = new EnrollCourseRequest(offering.getCourse().getCode(), 1);
+        students.forEach(s -> enrollmentService.enrollStudent(s, semester.getName(), req));
+
+        // every one of the first 10 students drops the course from four threads at once
+        List<User> drops = new ArrayList<>();
+        for (User s : students.subList(0, 10)) {
+            for (int i = 0; i < 4; i++) drops.add(s);
+        }
+        DropCourseRequest drop = new DropCourseRequest(offering.getCourse().getCode(), 1, semester.getName());
+
+        hammer(drops, student -> {
+            try {
+                enrollmentService.dropCourse(student, drop);
+            } catch (BadRequestException ignored) {
+                // lost the race against a concurrent drop of the same enrollment
+            }
+        });
+
+        assertThat(seatsTaken(offering)).isEqualTo(CAPACITY - 10);
+    }
+
+    private <T> void hammer(List<T> items, Consumer<T> action) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                action.accept(item);
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private int seatsTaken(CourseOffering offering) {
+        return courseOfferingRepository.findById(offering.getId()).orElseThrow().getSeatsTaken();
+    }
+
+    private CourseOffering newOffering() {
+        Course course = courseRepository.save(TestData.course("S" + TestData.nextId()));
+        CourseOffering offering = TestData.offering(course, semester, professor);
+        offering.setCapacity(CAPACITY);
+        return courseOfferingRepository.save(offering);
+    }
+
+    private List<User> newStudents() {
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(newUser(Role.STUDENT));
+        }
+        return students;
+    }
+
+    private User newUser(Role role) {
+        return userRepository.save(TestData.user(role));
+    }
+}
@@ -0,0 +1,82 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import com.mch.unicoursehub.repository.TimeSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TimeSlotRegistryTest {
+
+    private TimeSlotRepository timeSlotRepository;
+    private TimeSlotRegistry registry;
+
+    private final TimeSlot mondayLate = slot(DayOfWeek.MONDAY, 10);
+    private final TimeSlot saturday = slot(DayOfWeek.SATURDAY, 8);
+    private final TimeSlot mondayEarly = slot(DayOfWeek.MONDAY, 8);
+
+    @BeforeEach
+    void setUp() {
+        timeSlotRepository = mock(TimeSlotRepository.class);
+        when(timeSlotRepository.findAll()).thenReturn(List.of(mondayLate, saturday, mondayEarly));
+        registry = new TimeSlotRegistry(timeSlotRepository, JsonMapper.builder().build());
+    }
+
+    @Test
+    void indexesSlotsByDayAndStartTime() {
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(registry.indexOf(saturday.getId())).isZero();
+        assertThat(registry.indexOf(mondayEarly.getId())).isEqualTo(1);
+        assertThat(registry.indexOf(mondayLate.getId())).isEqualTo(2);
+        assertThat(registry.indexOf(UUID.randomUUID())).isEqualTo(-1);
+        assertThat(registry.slotAt(2)).isSameAs(mondayLate);
+        assertThat(registry.slotsOf(DayOfWeek.MONDAY)).containsExactly(mondayEarly, mondayLate);
+        assertThat(registry.slotsOf(DayOfWeek.SUNDAY)).isEmpty();
+    }
+
+    @Test
+    void validatesAndEncodesIdsWithoutQueries() {
+        registry.reload();
+        clearInvocations(timeSlotRepository);
+
+        assertThat(registry.containsAll(List.of(saturday.getId(), mondayLate.getId()))).isTrue();
+        assertThat(registry.containsAll(List.of(saturday.getId(), UUID.randomUUID()))).isFalse();
+        assertThat(registry.toBits(List.of(saturday.getId(), mondayLate.getId())).stream().toArray())
+                .containsExactly(0, 2);
+
+        verifyNoInteractions(timeSlotRepository);
+    }
+
+    @Test
+    void grid_isSerializedOnceWithStableEtag() {
+        String body = new String(registry.grid().body(), StandardCharsets.UTF_8);
+
+        assertThat(body).startsWith("[{\"day\":\"SATURDAY\"");
+        assertThat(body).contains(mondayEarly.getId().toString());
+        assertThat(registry.grid()).isSameAs(registry.grid());
+        assertThat(registry.grid().etag()).matches("\"[0-9a-f]{32}\"");
+
+        String etag = registry.grid().etag();
+        registry.reload();
+        assertThat(registry.grid().etag()).isEqualTo(etag);
+        verify(timeSlotRepository, times(2)).findAll();
+    }
+
+    private static TimeSlot slot(DayOfWeek day, int hour) {
+        return TimeSlot.builder()
+                .id(UUID.randomUUID())
+                .dayOfWeek(day)
+                .startTime(LocalTime.of(hour, 0))
+                .endTime(LocalTime.of(hour + 2, 0))
+                .build();
+    }
+}
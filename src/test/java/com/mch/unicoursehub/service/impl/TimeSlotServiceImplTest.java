@@ -8,8 +8,11 @@ import com.mch.unicoursehub.repository.TimeSlotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import tools.jackson.databind.json.JsonMapper;
+
 import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -23,25 +26,28 @@ class TimeSlotServiceImplTest {
     @BeforeEach
     void setUp() {
         timeSlotRepository = mock(TimeSlotRepository.class);
-        service = new TimeSlotServiceImpl(timeSlotRepository);
+        service = new TimeSlotServiceImpl(new TimeSlotRegistry(timeSlotRepository, JsonMapper.builder().build()));
     }
 
     @Test
     void getAllGroupedByDay_shouldGroupAndSortCorrectly() {
         // آماده‌سازی داده‌ها
         TimeSlot ts1 = TimeSlot.builder()
+                .id(UUID.randomUUID())
                 .dayOfWeek(DayOfWeek.MONDAY)
                 .startTime(LocalTime.of(8, 0))
                 .endTime(LocalTime.of(10, 0))
                 .build();
 
         TimeSlot ts2 = TimeSlot.builder()
+                .id(UUID.randomUUID())
                 .dayOfWeek(DayOfWeek.WEDNESDAY)
                 .startTime(LocalTime.of(14, 0))
                 .endTime(LocalTime.of(16, 0))
                 .build();
 
         TimeSlot ts3 = TimeSlot.builder()
+                .id(UUID.randomUUID())
                 .dayOfWeek(DayOfWeek.MONDAY)
                 .startTime(LocalTime.of(10, 0))
                 .endTime(LocalTime.of(12, 0))
@@ -0,0 +1,193 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.exceptions.AccessDeniedException;
+import com.mch.unicoursehub.model.dto.AuthRequestResponse;
+import com.mch.unicoursehub.model.entity.Token;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.model.enums.TokenType;
+import com.mch.unicoursehub.repository.TokenRepository;
+import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.TokenValidationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks token issuance, rotation, revocation and purging against the embedded test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class TokenLifecycleQueryTest {
+
+    @Autowired TokenServiceImpl tokenService;
+    @Autowired TokenPurger tokenPurger;
+    @Autowired TokenRepository tokenRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired JwtService jwtService;
+    @Autowired TokenValidationService tokenValidationService;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(TestData.user(Role.STUDENT));
+    }
+
+    @Test
+    void purge_deletesOnlyExpiredTokens() {
+        UUID expired = token(LocalDateTime.now().minusMinutes(1));
+        UUID live = token(LocalDateTime.now().plusHours(1));
+
+        tokenPurger.purge();
+
+        assertThat(tokenRepository.findByUuid(expired)).isEmpty();
+        assertThat(tokenRepository.findByUuid(live)).isPresent();
+    }
+
+    @Test
+    void revokeTokens_deletesWithoutLoadingTokens() {
+        token(LocalDateTime.now().plusHours(1));
+        token(LocalDateTime.now().plusHours(1));
+
+        statistics.clear();
+        tokenService.revokeTokens(user);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // uuids + delete
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(tokenRepository.findUuidsByUser(user)).isEmpty();
+    }
+
+    @Test
+    void issueLoginSession_belowLimitInTwoStatements() {
+        statistics.clear();
+        tokenService.issueLoginSession(user);
+
+        // uuids beyond the limit (none) + one batched insert of both tokens
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(tokenRepository.findUuidsByUser(user)).hasSize(2);
+    }
+
+    @Test
+    void issueLoginSession_replacesAndEvictsOldestSessionInThreeStatements() {
+        AuthRequestResponse oldest = tokenService.issueLoginSession(user);
+        List<UUID> first = tokenRepository.findUuidsByUser(user);
+        UUID oldestAccess = jwtService.parse(oldest.accessToken()).uuid();
+        assertThat(tokenValidationService.isAccessTokenActive(oldestAccess)).isTrue();
+        tokenService.issueLoginSession(user);
+
+        statistics.clear();
+        tokenService.issueLoginSession(user);
+
+        // uuids beyond the limit + delete + one batched insert of both tokens
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // STUDENT allows two sessions of an access and a refresh token each
+        List<UUID> after = tokenRepository.findUuidsByUser(user);
+        assertThat(after).hasSize(4).doesNotContainAnyElementsOf(first);
+        assertThat(tokenValidationService.isAccessTokenActive(oldestAccess)).isFalse();
+    }
+
+    @Test
+    void newAccessTokenByRefreshToken_rotatesInThreeStatements() {
+        AuthRequestResponse login = tokenService.issueLoginSession(user);
+
+        statistics.clear();
+        AuthRequestResponse refreshed = tokenService.newAccessTokenByRefreshToken(login.refreshToken());
+
+        // conditional delete + user projection + one batched insert of both tokens
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(refreshed.name()).isEqualTo(user.fullName());
+        assertThat(refreshed.role()).isEqualTo(Role.STUDENT.name());
+
+        UUID access = jwtService.parse(refreshed.accessToken()).uuid();
+        UUID refresh = jwtService.parse(refreshed.refreshToken()).uuid();
+        assertThat(access).isNotEqualTo(refresh);
+        assertThat(tokenRepository.findByUuidAndType(access, TokenType.ACCESS_TOKEN)).isPresent();
+        assertThat(tokenRepository.findByUuidAndType(refresh, TokenType.REFRESH_TOKEN)).isPresent();
+        // the old access token stays, the old refresh token is gone
+        assertThat(tokenRepository.findByUuid(jwtService.parse(login.accessToken()).uuid())).isPresent();
+        assertThat(tokenRepository.findByUuid(jwtService.parse(login.refreshToken()).uuid())).isEmpty();
+        assertThat(tokenRepository.findUuidsByUser(user)).hasSize(3);
+    }
+
+    @Test
+    void newAccessTokenByRefreshToken_refusesRotatedToken() {
+        AuthRequestResponse login = tokenService.issueLoginSession(user);
+        tokenService.newAccessTokenByRefreshToken(login.refreshToken());
+
+        assertThatThrownBy(() -> tokenService.newAccessTokenByRefreshToken(login.refreshToken()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void newAccessTokenByRefreshToken_letsOneOfConcurrentRefreshesSucceed() throws Exception {
+        AuthRequestResponse login = tokenService.issueLoginSession(user);
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AuthRequestResponse>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tokenService.newAccessTokenByRefreshToken(login.refreshToken());
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<AuthRequestResponse> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    // refused as already used, or timed out waiting for the winner's row lock
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+        }
+
+        // the login's pair plus one rotated pair, without the login's refresh token
+        assertThat(tokenRepository.findUuidsByUser(user)).hasSize(3);
+    }
+
+    private UUID token(LocalDateTime expiresAt) {
+        UUID uuid = UUID.randomUUID();
+        tokenRepository.saveAndFlush(Token.builder()
+                .user(user)
+                .uuid(uuid)
+                .type(TokenType.ACCESS_TOKEN)
+                .expiresAt(expiresAt)
+                .build());
+        return uuid;
+    }
+}
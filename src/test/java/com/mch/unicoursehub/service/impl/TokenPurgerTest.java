@@ -0,0 +1,77 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.ConstVal;
+import com.mch.unicoursehub.repository.TokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenPurgerTest {
+
+    @Mock
+    TokenRepository tokenRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    TokenPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purger = new TokenPurger(tokenRepository, meterRegistry);
+    }
+
+    @Test
+    void purge_deletesInChunksUntilAShortOne() {
+        List<UUID> full = ids(ConstVal.TOKEN_PURGE_BATCH_SIZE);
+        List<UUID> rest = ids(3);
+        when(tokenRepository.findExpiredIds(any(), any(), any())).thenReturn(full, rest);
+        when(tokenRepository.deleteAllByIds(full)).thenReturn(full.size());
+        when(tokenRepository.deleteAllByIds(rest)).thenReturn(rest.size());
+        when(tokenRepository.count()).thenReturn(42L);
+
+        long deleted = purger.purge();
+
+        assertThat(deleted).isEqualTo(ConstVal.TOKEN_PURGE_BATCH_SIZE + 3);
+        verify(tokenRepository, times(2)).findExpiredIds(any(), any(), any());
+        assertThat(meterRegistry.get("tokens.purged").counter().count()).isEqualTo(deleted);
+        assertThat(meterRegistry.get("tokens.rows").gauge().value()).isEqualTo(42);
+        assertThat(meterRegistry.get("tokens.purge").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void purge_withNothingExpired_deletesNothing() {
+        when(tokenRepository.findExpiredIds(any(), any(), any())).thenReturn(List.of());
+
+        assertThat(purger.purge()).isZero();
+        verify(tokenRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    void purgeScheduled_swallowsFailures() {
+        when(tokenRepository.findExpiredIds(any(), any(), any())).thenThrow(new IllegalStateException("down"));
+
+        purger.purgeScheduled();
+
+        assertThat(meterRegistry.get("tokens.purged").counter().count()).isZero();
+    }
+
+    private static List<UUID> ids(int n) {
+        List<UUID> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
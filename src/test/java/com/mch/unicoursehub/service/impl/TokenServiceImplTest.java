@@ -1,5 +1,6 @@
 package com.mch.unicoursehub.service.impl;
 
+import com.mch.unicoursehub.ConstVal;
 import com.mch.unicoursehub.model.dto.AuthRequestResponse;
 import com.mch.unicoursehub.model.entity.Token;
 import com.mch.unicoursehub.model.entity.User;
@@ -8,6 +9,7 @@ import com.mch.unicoursehub.model.enums.TokenType;
 import com.mch.unicoursehub.repository.TokenRepository;
 import com.mch.unicoursehub.repository.UserRepository;
 import com.mch.unicoursehub.security.service.JwtService;
+import com.mch.unicoursehub.security.service.TokenValidationService;
 import com.mch.unicoursehub.service.TokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
@@ -35,15 +37,15 @@ class TokenServiceImplTest {
     @Mock
     JwtService jwtService;
 
-    @Mock
-    TokenServiceImpl mockTokenService;
-
     @InjectMocks
     TokenServiceImpl tokenService;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenValidationService tokenValidationService;
+
     private User mockUser;
     private List<Token> mockTokens;
 
@@ -77,82 +79,94 @@ class TokenServiceImplTest {
     }
 
     @Test
-    void testNewAccessToken() {
-        // Arrange
-        when(jwtService.generateToken(any(User.class), any(UUID.class)))
-                .thenReturn("mock-access-token");
-
-        // Mock saveAndFlush
-        when(tokenRepository.saveAndFlush(any(Token.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-
-        // Act
-        String accessToken = tokenService.newAccessToken(mockUser);
+    void testIssueLoginSession() {
+        when(jwtService.generateToken(any(User.class), any(UUID.class))).thenReturn("mock-access-token");
+        when(jwtService.generateRefreshToken(anyMap(), eq(mockUser))).thenReturn("mock-refresh-token");
+
+        AuthRequestResponse response = tokenService.issueLoginSession(mockUser);
+
+        assertEquals("mock-access-token", response.accessToken());
+        assertEquals("mock-refresh-token", response.refreshToken());
+        assertEquals("ADMIN", response.role());
+        // ADMIN allows one session, so every earlier token goes
+        verify(tokenRepository).findUuidsBeyondNewest(mockUser, 0L);
+        verify(tokenRepository).saveAll(argThat((Iterable<Token> tokens) -> {
+            List<Token> list = new ArrayList<>();
+            tokens.forEach(list::add);
+            return list.size() == 2
+                    && list.get(0).getType() == TokenType.ACCESS_TOKEN
+                    && list.get(1).getType() == TokenType.REFRESH_TOKEN
+                    && !list.get(0).getUuid().equals(list.get(1).getUuid());
+        }));
+        verify(tokenRepository).flush();
+        verify(tokenRepository, never()).saveAndFlush(any(Token.class));
+    }
 
-        // Assert
-        assertEquals("mock-access-token", accessToken);
-        verify(jwtService, times(1)).generateToken(eq(mockUser), any(UUID.class));
-        verify(tokenRepository, times(1)).saveAndFlush(any(Token.class));
+    @Test
+    void testIssueLoginSession_setsExpiryByRole() {
+        when(jwtService.generateToken(any(User.class), any(UUID.class))).thenReturn("mock-access-token");
+
+        LocalDateTime before = LocalDateTime.now();
+        tokenService.issueLoginSession(mockUser);
+
+        verify(tokenRepository).saveAll(argThat((Iterable<Token> tokens) -> {
+            Token access = tokens.iterator().next();
+            return access.getExpiresAt() != null
+                    && !access.getExpiresAt().isBefore(before.plusSeconds(ConstVal.JWT_EXPIRATION_ADMIN / 1000))
+                    && access.getExpiresAt().isBefore(before.plusSeconds(ConstVal.JWT_EXPIRATION_ADMIN / 1000 + 60));
+        }));
     }
 
     @Test
-    void testNewRefreshToken() {
+    void testRevokeTokens_whenTokensExist() {
         // Arrange
-        when(jwtService.generateRefreshToken(anyMap(), eq(mockUser)))
-                .thenReturn("mock-refresh-token");
-
-        // Mock saveAndFlush
-        when(tokenRepository.saveAndFlush(any(Token.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        List<UUID> uuids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(tokenRepository.findUuidsByUser(mockUser)).thenReturn(uuids);
 
         // Act
-        String refreshToken = tokenService.newRefreshToken(mockUser);
+        tokenService.revokeTokens(mockUser);
 
         // Assert
-        assertEquals("mock-refresh-token", refreshToken);
-        verify(jwtService, times(1)).generateRefreshToken(anyMap(), eq(mockUser));
-        verify(tokenRepository, times(1)).saveAndFlush(any(Token.class));
+        verify(tokenRepository, times(1)).deleteAllByUser(mockUser);
+        verify(tokenRepository, never()).findByUser(any());
+        verify(tokenValidationService, times(1)).evictTokens(uuids);
     }
 
     @Test
-    void testSaveToken() {
+    void testRevokeTokens_whenNoTokens() {
         // Arrange
-        Token token = mockTokens.get(0);
-        doReturn(token).when(tokenRepository).saveAndFlush(token);
+        when(tokenRepository.findUuidsByUser(mockUser)).thenReturn(Collections.emptyList());
 
         // Act
-        tokenService.saveToken(token);
+        tokenService.revokeTokens(mockUser);
 
         // Assert
-        verify(tokenRepository, times(1)).saveAndFlush(token);
+        verify(tokenRepository, never()).deleteAllByUser(any());
+        verifyNoInteractions(tokenValidationService);
     }
 
     @Test
-    void testRevokeTokens_whenTokensExist() {
-        // Arrange
-        doReturn(mockTokens).when(tokenService).checkToken(mockUser);
-        doNothing().when(tokenRepository).deleteAll(mockTokens);
-        doNothing().when(tokenRepository).flush();
+    void testIssueLoginSession_deletesAndEvictsOldestBeyondLimit() {
+        // STUDENT allows two sessions: the new one leaves room for one earlier access and refresh token
+        mockUser.setRole(Role.STUDENT);
+        UUID oldest = UUID.randomUUID();
+        UUID older = UUID.randomUUID();
+        when(tokenRepository.findUuidsBeyondNewest(mockUser, 2L)).thenReturn(List.of(oldest, older));
 
-        // Act
-        tokenService.revokeTokens(mockUser);
+        tokenService.issueLoginSession(mockUser);
 
-        // Assert
-        verify(tokenRepository, times(1)).deleteAll(mockTokens);
-        verify(tokenRepository, times(1)).flush();
+        verify(tokenRepository).deleteAllByUuids(List.of(oldest, older));
+        verify(tokenValidationService).evictTokens(List.of(oldest, older));
     }
 
     @Test
-    void testRevokeTokens_whenNoTokens() {
-        // Arrange
-        doReturn(Collections.emptyList()).when(tokenService).checkToken(mockUser);
+    void testIssueLoginSession_belowLimit() {
+        mockUser.setRole(Role.STUDENT);
 
-        // Act
-        tokenService.revokeTokens(mockUser);
+        tokenService.issueLoginSession(mockUser);
 
-        // Assert
-        verify(tokenRepository, never()).deleteAll(anyList());
-        verify(tokenRepository, never()).flush();
+        verify(tokenRepository, never()).deleteAllByUuids(any());
+        verifyNoInteractions(tokenValidationService);
     }
 
-}
\ No newline at end of file
+}
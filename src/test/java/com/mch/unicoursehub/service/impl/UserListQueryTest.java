@@ -0,0 +1,132 @@
+package com.mch.unicoursehub.service.impl;
+
+import com.mch.unicoursehub.TestData;
+import com.mch.unicoursehub.exceptions.BadRequestException;
+import com.mch.unicoursehub.model.dto.UserListCursor;
+import com.mch.unicoursehub.model.dto.UserListRow;
+import com.mch.unicoursehub.model.entity.User;
+import com.mch.unicoursehub.model.enums.Role;
+import com.mch.unicoursehub.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the database-side user list queries against the embedded test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class UserListQueryTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final UUID nobody = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void seekUserList_walksSameOrderAsOffsetPaging() {
+        seed(Role.PROFESSOR, "Zamani", "ahmadi", "Ahmadi", "bahrami", "Bahrami", "karimi", "Moradi");
+
+        List<UserListRow> all = userRepository
+                .findUserList(Role.PROFESSOR, null, nobody, PageRequest.of(0, Integer.MAX_VALUE))
+                .getContent();
+
+        List<UserListRow> walked = new ArrayList<>();
+        UserListCursor cursor = null;
+        while (true) {
+            List<UserListRow> page = userRepository.seekUserList(Role.PROFESSOR, null, nobody,
+                    cursor == null ? null : cursor.lastName(),
+                    cursor == null ? null : cursor.userNumber(),
+                    Limit.of(3));
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(page);
+            UserListRow last = page.getLast();
+            cursor = UserListCursor.decode(new UserListCursor(last.lastName(), last.userNumber()).encode());
+        }
+
+        assertThat(walked).containsExactlyElementsOf(all);
+        assertThat(walked).doesNotHaveDuplicates();
+        assertThat(walked).allMatch(row -> row.role() == Role.PROFESSOR);
+        assertThat(walked).isSortedAccordingTo((a, b) -> {
+            int byName = a.lastName().toLowerCase().compareTo(b.lastName().toLowerCase());
+            return byName != 0 ? byName : a.userNumber().compareTo(b.userNumber());
+        });
+    }
+
+    @Test
+    void findUserList_filtersExcludesCallerAndCounts() {
+        List<User> users = seed(Role.STUDENT, "Rahimi", "Rahimi");
+        User caller = users.get(0);
+        User other = users.get(1);
+
+        Page<UserListRow> page = userRepository.findUserList(
+                null, other.getUserNumber(), caller.getUid(), PageRequest.of(0, 8));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).singleElement().satisfies(row -> {
+            assertThat(row.userNumber()).isEqualTo(other.getUserNumber());
+            assertThat(row.toResponse().nationalCode()).isEqualTo(other.getNationalCode());
+        });
+
+        assertThat(userRepository.findUserList(null, caller.getUserNumber(), caller.getUid(), PageRequest.of(0, 8)))
+                .isEmpty();
+
+        // p=-1&s=-1 lists every row unpaged
+        assertThat(userRepository.findUserList(null, other.getUserNumber(), caller.getUid(), Pageable.unpaged()))
+                .extracting(UserListRow::userNumber).containsExactly(other.getUserNumber());
+    }
+
+    @Test
+    void seekUserList_readsOnlyThePage() {
+        seed(Role.STUDENT, "Sadeghi", "Sadeghi", "Sadeghi");
+
+        statistics.clear();
+        List<UserListRow> page = userRepository.seekUserList(Role.STUDENT, null, nobody, null, null, Limit.of(2));
+
+        assertThat(page).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void decode_rejectsMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> UserListCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> UserListCursor.decode("bm8tbmV3bGluZQ"));
+    }
+
+    private List<User> seed(Role role, String... lastNames) {
+        List<User> users = new ArrayList<>();
+        for (String lastName : lastNames) {
+            User user = TestData.user(role);
+            user.setLastName(lastName);
+            users.add(user);
+        }
+        return userRepository.saveAllAndFlush(users);
+    }
+}
@@ -8,9 +8,13 @@ import com.mch.unicoursehub.model.dto.NewUserRequest;
 import com.mch.unicoursehub.model.entity.User;
 import com.mch.unicoursehub.model.enums.Role;
 import com.mch.unicoursehub.repository.UserRepository;
+import com.mch.unicoursehub.security.service.TokenValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,13 +31,15 @@ class UserServiceImplTest {
 
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
+    private TokenValidationService tokenValidationService;
     private UserServiceImpl service;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
         passwordEncoder = mock(PasswordEncoder.class);
-        service = new UserServiceImpl(userRepository, passwordEncoder);
+        tokenValidationService = mock(TokenValidationService.class);
+        service = new UserServiceImpl(userRepository, passwordEncoder, tokenValidationService, mock(OfferingCatalogue.class));
     }
 
     // ======= createUser tests =======
@@ -190,4 +196,23 @@ class UserServiceImplTest {
         assertThat(user.isAccountLocked()).isFalse();
         assertThat(user.getPassword()).isEqualTo("encodedNew");
     }
+
+    // ======= getAllUsers tests =======
+
+    @Test
+    void getAllUsers_negativePageAndSizeReadEveryRow() {
+        User loggedIn = new User();
+        loggedIn.setUid(UUID.randomUUID());
+        UserServiceImpl spyService = spy(service);
+        doReturn(loggedIn).when(spyService).getUserLoggedInRef();
+        when(userRepository.findUserList(any(), any(), any(), any())).thenReturn(Page.empty());
+
+        spyService.getAllUsers(null, -1, -1, null);
+        spyService.getAllUsers(null, 10, 2, null);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository, times(2)).findUserList(isNull(), isNull(), eq(loggedIn.getUid()), captor.capture());
+        assertThat(captor.getAllValues().get(0).isUnpaged()).isTrue();
+        assertThat(captor.getAllValues().get(1)).isEqualTo(PageRequest.of(1, 10));
+    }
 }
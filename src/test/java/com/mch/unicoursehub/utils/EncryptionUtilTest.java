@@ -0,0 +1,55 @@
+package com.mch.unicoursehub.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncryptionUtilTest {
+
+    @Test
+    void encrypt_roundTrips() {
+        String encrypted = EncryptionUtil.encrypt("1234567890");
+
+        assertThat(encrypted).isNotEqualTo("1234567890");
+        assertThat(EncryptionUtil.decrypt(encrypted)).isEqualTo("1234567890");
+    }
+
+    @Test
+    void blindIndex_isStableAndDistinct() {
+        String index = EncryptionUtil.blindIndex("1234567890");
+
+        assertThat(index).hasSize(64).isEqualTo(EncryptionUtil.blindIndex("1234567890"));
+        assertThat(EncryptionUtil.blindIndex("1234567891")).isNotEqualTo(index);
+        assertThat(index).isNotEqualTo(EncryptionUtil.encrypt("1234567890"));
+    }
+
+    @Test
+    void pooledInstances_areSafeAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String value = String.format("%02d%08d", thread, i);
+                        if (!value.equals(EncryptionUtil.decrypt(EncryptionUtil.encrypt(value))))
+                            return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
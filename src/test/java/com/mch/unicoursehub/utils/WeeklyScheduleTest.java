@@ -0,0 +1,108 @@
+package com.mch.unicoursehub.utils;
+
+import com.mch.unicoursehub.model.entity.TimeSlot;
+import com.mch.unicoursehub.model.enums.DayOfWeek;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property checks over randomly generated slots. Each property runs a fixed number of
+ * cases from a fixed seed, so a failure is reproducible.
+ */
+class WeeklyScheduleTest {
+
+    private static final int CASES = 10_000;
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    @Test
+    void mask_fitsInOneLong() {
+        assertThat(DAYS.length * WeeklySchedule.CELLS_PER_DAY).isLessThanOrEqualTo(Long.SIZE);
+        long last = WeeklySchedule.mask(DAYS[DAYS.length - 1], LocalTime.of(19, 0), LocalTime.of(20, 0));
+        assertThat(Long.numberOfTrailingZeros(last)).isEqualTo(DAYS.length * WeeklySchedule.CELLS_PER_DAY - 1);
+    }
+
+    @Test
+    void mask_knownSlots() {
+        assertThat(WeeklySchedule.mask(DayOfWeek.SATURDAY, LocalTime.of(8, 0), LocalTime.of(10, 0))).isEqualTo(0b11L);
+        assertThat(WeeklySchedule.mask(DayOfWeek.SUNDAY, LocalTime.of(10, 0), LocalTime.of(11, 30))).isEqualTo(0b1100L << 12);
+        assertThat(WeeklySchedule.mask(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 0))).isZero();
+        assertThat(WeeklySchedule.mask(DayOfWeek.SATURDAY, LocalTime.of(6, 0), LocalTime.of(7, 0))).isEqualTo(1L);
+    }
+
+    @Test
+    void overlappingSlots_alwaysShareABit() {
+        Random random = new Random(7);
+        for (int i = 0; i < CASES; i++) {
+            TimeSlot a = randomSlot(random, 5);
+            TimeSlot b = randomSlot(random, 5);
+            if (WeeklySchedule.overlaps(a, b)) {
+                assertThat(WeeklySchedule.mask(a) & WeeklySchedule.mask(b))
+                        .as("%s and %s", describe(a), describe(b))
+                        .isNotZero();
+            }
+        }
+    }
+
+    @Test
+    void hourAlignedSlots_shareABitOnlyWhenOverlapping() {
+        Random random = new Random(11);
+        for (int i = 0; i < CASES; i++) {
+            TimeSlot a = randomSlot(random, 60);
+            TimeSlot b = randomSlot(random, 60);
+            assertThat((WeeklySchedule.mask(a) & WeeklySchedule.mask(b)) != 0)
+                    .as("%s and %s", describe(a), describe(b))
+                    .isEqualTo(WeeklySchedule.overlaps(a, b));
+        }
+    }
+
+    @Test
+    void overlaps_isSymmetric() {
+        Random random = new Random(13);
+        for (int i = 0; i < CASES; i++) {
+            TimeSlot a = randomSlot(random, 5);
+            TimeSlot b = randomSlot(random, 5);
+            assertThat(WeeklySchedule.overlaps(a, b)).isEqualTo(WeeklySchedule.overlaps(b, a));
+        }
+    }
+
+    @Test
+    void examsOverlap_isSymmetricAndBoundedByDuration() {
+        Duration duration = Duration.ofHours(2);
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 8, 0);
+        Random random = new Random(17);
+        for (int i = 0; i < CASES; i++) {
+            LocalDateTime a = base.plusMinutes(random.nextInt(3 * 24 * 60));
+            LocalDateTime b = base.plusMinutes(random.nextInt(3 * 24 * 60));
+            boolean overlap = WeeklySchedule.examsOverlap(a, b, duration);
+
+            assertThat(overlap).isEqualTo(WeeklySchedule.examsOverlap(b, a, duration));
+            assertThat(overlap).isEqualTo(Duration.between(a, b).abs().toMinutes() < 120);
+        }
+        assertThat(WeeklySchedule.examsOverlap(base, base, duration)).isTrue();
+        assertThat(WeeklySchedule.examsOverlap(base, base.plusHours(2), duration)).isFalse();
+    }
+
+    /**
+     * Returns a slot between 08:00 and 20:00 whose boundaries are multiples of {@code step} minutes.
+     */
+    private static TimeSlot randomSlot(Random random, int step) {
+        int steps = 12 * 60 / step;
+        int start = random.nextInt(steps);
+        int end = start + 1 + random.nextInt(steps - start);
+        return TimeSlot.builder()
+                .dayOfWeek(DAYS[random.nextInt(DAYS.length)])
+                .startTime(LocalTime.of(8, 0).plusMinutes((long) start * step))
+                .endTime(LocalTime.of(8, 0).plusMinutes((long) end * step))
+                .build();
+    }
+
+    private static String describe(TimeSlot slot) {
+        return slot.getDayOfWeek() + " " + slot.getStartTime() + "-" + slot.getEndTime();
+    }
+}